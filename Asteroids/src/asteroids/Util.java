@@ -6,7 +6,17 @@ public class Util {
   public static boolean fuzzyEquals(double x, double y) {
     if (Double.isNaN(x) || Double.isNaN(y))
       return false;
-    return Math.abs(x - y) <= EPSILON || Double.valueOf(x).equals(Double.valueOf(y));
+    return Math.abs(x - y) <= EPSILON || x == y;
+  }
+
+  /**
+   * Store in the given result whether the elements of x and y at the same index are fuzzy equal.
+   * The loop has no branches, so the virtual machine can compile it to vector instructions.
+   */
+  public static void fuzzyEquals(double[] x, double[] y, boolean[] result) {
+    checkLengths(x, y, result);
+    for (int i = 0; i < result.length; i++)
+      result[i] = (Math.abs(x[i] - y[i]) <= EPSILON) | (x[i] == y[i]);
   }
 
   public static boolean fuzzyLessThanOrEqualTo(double x, double y) {
@@ -16,6 +26,27 @@ public class Util {
       return Double.compare(x, y) < 0;
     }
   }
+
+  /**
+   * Store in the given result whether the element of x is fuzzy less than or equal to the element of y at the same index.
+   * The loop has no branches, so the virtual machine can compile it to vector instructions.
+   */
+  public static void fuzzyLessThanOrEqualTo(double[] x, double[] y, boolean[] result) {
+    checkLengths(x, y, result);
+    for (int i = 0; i < result.length; i++) {
+      double xi = x[i];
+      double yi = y[i];
+      // Double.compare orders every number before NaN, and -0.0 before 0.0, which is fuzzy equal to it.
+      result[i] = (Math.abs(xi - yi) <= EPSILON) | (xi <= yi) | ((yi != yi) & (xi == xi));
+    }
+  }
+
+  private static void checkLengths(double[] x, double[] y, boolean[] result) {
+    if (x == null || y == null || result == null)
+      throw new IllegalArgumentException();
+    if (x.length != result.length || y.length != result.length)
+      throw new IllegalArgumentException();
+  }
   
   public static double absoluteError(double expected, double actual) {
     return Math.abs(expected - actual);
@@ -0,0 +1,87 @@
+package asteroids.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+import asteroids.model.*;
+
+/**
+ * A benchmark that measures the memory allocated by adding a space object to a world
+ * and removing it again, for worlds of different sizes.
+ * The allocated bytes are read from the thread MXBean of the running virtual machine,
+ * which must support thread allocation measurement.
+ *
+ * Usage: AllocationBenchmark [number of asteroids]...
+ * Without arguments, worlds of 100, 1000 and 10000 asteroids are measured.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class AllocationBenchmark {
+
+	private static final int OPERATIONS = 1000;
+
+	public static void main(String[] args)
+	{
+		List<Integer> sizes = new ArrayList<Integer>();
+		for(String arg: args)
+			sizes.add(Integer.parseInt(arg));
+		if(sizes.isEmpty())
+			sizes = Arrays.asList(100, 1000, 10000);
+
+		if(!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean))
+		{
+			System.out.println("Thread allocation measurement is not supported by this virtual machine.");
+			return;
+		}
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		for(int size: sizes)
+		{
+			World world = WorldBenchmark.createWorld(size, new Random(size));
+			double x = world.getWidth() / 2;
+			double y = world.getHeight() / 2;
+
+			// Warm up, so class loading and compilation are not measured.
+			addAndRemove(world, createBullets(x, y, OPERATIONS));
+
+			List<Bullet> bullets = createBullets(x, y, OPERATIONS);
+			long before = threads.getThreadAllocatedBytes(thread);
+			long start = System.nanoTime();
+			addAndRemove(world, bullets);
+			long elapsed = System.nanoTime() - start;
+			long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+			System.out.printf("%d objects: %d bytes and %.1f us per add and remove%n", size,
+					allocated / OPERATIONS, elapsed / 1e3 / OPERATIONS);
+		}
+	}
+
+	/**
+	 * Return the given number of new bullets at the given position.
+	 * A bullet that died cannot fly into a world again, so every operation needs a bullet of its own.
+	 */
+	private static List<Bullet> createBullets(double x, double y, int operations)
+	{
+		List<Bullet> bullets = new ArrayList<Bullet>(operations);
+		for(int i = 0; i < operations; i++)
+			bullets.add(new Bullet(x, y, 0, 0));
+		return bullets;
+	}
+
+	/**
+	 * Let every given bullet fly into the given world and die again.
+	 */
+	private static void addAndRemove(World world, List<Bullet> bullets)
+	{
+		for(Bullet bullet: bullets)
+		{
+			bullet.flyIntoWorld(world);
+			bullet.die();
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package asteroids.benchmarks;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * The benchmark suite that measures the average time per operation of the physics and the program interpreter.
+ * Every benchmark first runs a number of warm up iterations, so the measured code is compiled, and then a number of
+ * measured iterations. Every iteration performs as many operations as fit in the iteration time.
+ * The score is the mean time per operation over the measured iterations, with the half width of its 99.9% confidence interval
+ * as error. The results can be written as JSON in the layout of the JMH result files, so the existing tools to compare
+ * JMH runs can be used to catch regressions.
+ *
+ * Usage: BenchmarkSuite [-filter text] [-warmup n] [-iterations n] [-time ms] [-json file]
+ * With -filter, only the benchmarks whose name contains the given text are run.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class BenchmarkSuite {
+
+	/**
+	 * The quantiles of Student's t distribution for a two-sided 99.9% confidence interval,
+	 * indexed by the number of degrees of freedom.
+	 */
+	private static final double[] T_999 = { Double.NaN,
+			636.619, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408, 5.041, 4.781, 4.587,
+			4.437, 4.318, 4.221, 4.140, 4.073, 4.015, 3.965, 3.922, 3.883, 3.850,
+			3.819, 3.792, 3.768, 3.745, 3.725, 3.707, 3.690, 3.674, 3.659, 3.646 };
+
+	/**
+	 * The quantile of the standard normal distribution for a two-sided 99.9% confidence interval.
+	 */
+	private static final double Z_999 = 3.2905;
+
+	/**
+	 * A value that depends on the results of all benchmarks, so their work cannot be left out.
+	 */
+	public static volatile double sink;
+
+	public static void main(String[] args) throws Exception
+	{
+		String filter = "";
+		int warmup = 3;
+		int iterations = 5;
+		long time = 500;
+		String json = null;
+		for(int i = 0; i < args.length; i++)
+		{
+			String arg = args[i];
+			if(arg.equals("-filter") && i + 1 < args.length)
+				filter = args[++i];
+			else if(arg.equals("-warmup") && i + 1 < args.length)
+				warmup = Integer.parseInt(args[++i]);
+			else if(arg.equals("-iterations") && i + 1 < args.length)
+				iterations = Integer.parseInt(args[++i]);
+			else if(arg.equals("-time") && i + 1 < args.length)
+				time = Long.parseLong(args[++i]);
+			else if(arg.equals("-json") && i + 1 < args.length)
+				json = args[++i];
+			else
+			{
+				System.out.println("unknown option: " + arg);
+				return;
+			}
+		}
+
+		List<MicroBenchmark> benchmarks = new ArrayList<MicroBenchmark>();
+		benchmarks.addAll(PhysicsBenchmarks.create());
+		benchmarks.addAll(ProgramBenchmarks.create());
+
+		List<String> results = new ArrayList<String>();
+		for(MicroBenchmark benchmark: benchmarks)
+		{
+			if(!benchmark.getName().contains(filter))
+				continue;
+			double[] scores = measure(benchmark, warmup, iterations, time * 1000000);
+			double mean = getMean(scores);
+			double error = (scores.length > 1) ? getT999(scores.length - 1) * getStandardDeviation(scores, mean) / Math.sqrt(scores.length) : Double.NaN;
+			System.out.printf("%-45s %-30s %14.1f +- %10.1f ns/op%n", benchmark.getName(), benchmark.getParameters(), mean, error);
+			results.add(toJson(benchmark, warmup, time, mean, error, scores));
+		}
+
+		if(json != null)
+		{
+			Writer writer = new FileWriter(json);
+			try
+			{
+				writer.write("[\n");
+				for(int i = 0; i < results.size(); i++)
+					writer.write(results.get(i) + (i + 1 < results.size() ? ",\n" : "\n"));
+				writer.write("]\n");
+			}
+			finally
+			{
+				writer.close();
+			}
+		}
+	}
+
+	/**
+	 * Return the time per operation in nanoseconds of every measured iteration of the given benchmark.
+	 */
+	private static double[] measure(MicroBenchmark benchmark, int warmup, int iterations, long iterationTime) throws Exception
+	{
+		benchmark.setUp();
+
+		// The number of operations per iteration doubles until a calibration iteration takes a tenth of the iteration time.
+		int operations = 1;
+		long elapsed = runIteration(benchmark, operations);
+		while(elapsed < iterationTime / 10 && operations < Integer.MAX_VALUE / 2)
+		{
+			operations *= 2;
+			elapsed = runIteration(benchmark, operations);
+		}
+		operations = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (double) operations * iterationTime / Math.max(1, elapsed)));
+
+		for(int i = 0; i < warmup; i++)
+			runIteration(benchmark, operations);
+		double[] scores = new double[iterations];
+		for(int i = 0; i < iterations; i++)
+			scores[i] = (double) runIteration(benchmark, operations) / operations;
+
+		benchmark.tearDown();
+		return scores;
+	}
+
+	/**
+	 * Return the time in nanoseconds that the given benchmark takes to perform the given number of operations.
+	 */
+	private static long runIteration(MicroBenchmark benchmark, int operations) throws Exception
+	{
+		long start = System.nanoTime();
+		double result = benchmark.run(operations);
+		long elapsed = System.nanoTime() - start;
+		sink += result;
+		return elapsed;
+	}
+
+	/**
+	 * Return the quantile of Student's t distribution with the given number of degrees of freedom
+	 * for a two-sided 99.9% confidence interval, like JMH computes the error of its scores.
+	 * Beyond the table, the quantile is approximated by its Cornish-Fisher expansion around the normal quantile.
+	 */
+	private static double getT999(int degreesOfFreedom)
+	{
+		if(degreesOfFreedom < T_999.length)
+			return T_999[degreesOfFreedom];
+		double z = Z_999;
+		double n = degreesOfFreedom;
+		return z + (Math.pow(z, 3) + z) / (4 * n)
+				+ (5 * Math.pow(z, 5) + 16 * Math.pow(z, 3) + 3 * z) / (96 * n * n)
+				+ (3 * Math.pow(z, 7) + 19 * Math.pow(z, 5) + 17 * Math.pow(z, 3) - 15 * z) / (384 * n * n * n);
+	}
+
+	private static double getMean(double[] values)
+	{
+		double sum = 0;
+		for(double value: values)
+			sum += value;
+		return sum / values.length;
+	}
+
+	private static double getStandardDeviation(double[] values, double mean)
+	{
+		double sum = 0;
+		for(double value: values)
+			sum += (value - mean) * (value - mean);
+		return Math.sqrt(sum / (values.length - 1));
+	}
+
+	/**
+	 * Return the result of the given benchmark as a JSON object in the layout of a JMH result.
+	 */
+	private static String toJson(MicroBenchmark benchmark, int warmup, long time, double mean, double error, double[] scores)
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append("  {\n");
+		builder.append("    \"benchmark\" : \"asteroids.").append(benchmark.getName()).append("\",\n");
+		builder.append("    \"mode\" : \"avgt\",\n");
+		builder.append("    \"threads\" : 1,\n");
+		builder.append("    \"warmupIterations\" : ").append(warmup).append(",\n");
+		builder.append("    \"warmupTime\" : \"").append(time).append(" ms\",\n");
+		builder.append("    \"measurementIterations\" : ").append(scores.length).append(",\n");
+		builder.append("    \"measurementTime\" : \"").append(time).append(" ms\",\n");
+		builder.append("    \"params\" : {");
+		if(!benchmark.getParameters().isEmpty())
+		{
+			String separator = "";
+			for(String parameter: benchmark.getParameters().split(","))
+			{
+				String[] pair = parameter.split("=", 2);
+				builder.append(separator).append("\n      \"").append(pair[0]).append("\" : \"").append(pair[1]).append("\"");
+				separator = ",";
+			}
+			builder.append("\n    ");
+		}
+		builder.append("},\n");
+		builder.append("    \"primaryMetric\" : {\n");
+		builder.append("      \"score\" : ").append(toJson(mean)).append(",\n");
+		builder.append("      \"scoreError\" : ").append(toJson(error)).append(",\n");
+		builder.append("      \"scoreUnit\" : \"ns/op\",\n");
+		builder.append("      \"rawData\" : [ [ ");
+		for(int i = 0; i < scores.length; i++)
+			builder.append(i > 0 ? ", " : "").append(toJson(scores[i]));
+		builder.append(" ] ]\n");
+		builder.append("    }\n");
+		builder.append("  }");
+		return builder.toString();
+	}
+
+	private static String toJson(double value)
+	{
+		return (Double.isNaN(value) || Double.isInfinite(value)) ? "\"NaN\"" : Double.toString(value);
+	}
+}
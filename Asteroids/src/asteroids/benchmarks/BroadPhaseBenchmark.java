@@ -0,0 +1,97 @@
+package asteroids.benchmarks;
+
+import java.util.*;
+
+import asteroids.model.*;
+
+/**
+ * A benchmark that compares the broad phases of the collision detection on a uniform and a clustered asteroid field.
+ * In the uniform field, the asteroids are spread over a grid that covers the whole world.
+ * In the clustered field, the same number of asteroids is packed in a few narrow belts with open space in between.
+ * The exhaustive broad phase keeps a collision for every pair of objects, so it is only measured for small fields.
+ *
+ * Usage: BroadPhaseBenchmark [number of asteroids]...
+ * Without arguments, fields of 1000 and 10000 asteroids are measured.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class BroadPhaseBenchmark {
+
+	private static final int WARMUP_TICKS = 20;
+	private static final int MEASURED_TICKS = 100;
+	private static final double TICK = 1d / 60;
+	private static final double RADIUS = 5;
+	private static final double SPEED = 20;
+	private static final double BELT_SPACING = 12;
+	private static final int BELTS = 4;
+	private static final int MAX_EXHAUSTIVE_SIZE = 2000;
+
+	public static void main(String[] args)
+	{
+		List<Integer> sizes = new ArrayList<Integer>();
+		for(String arg: args)
+			sizes.add(Integer.parseInt(arg));
+		if(sizes.isEmpty())
+			sizes = Arrays.asList(1000, 10000);
+
+		for(int size: sizes)
+		{
+			for(String field: Arrays.asList("uniform", "clustered"))
+			{
+				if(size <= MAX_EXHAUSTIVE_SIZE)
+					measure(field, size, new ExhaustiveBroadPhase());
+				measure(field, size, new SpatialHashBroadPhase());
+				measure(field, size, new SweepAndPruneBroadPhase());
+			}
+		}
+	}
+
+	/**
+	 * Print the time per tick of a field of the given kind and size with the given broad phase.
+	 */
+	private static void measure(String field, int size, BroadPhase broadPhase)
+	{
+		Random random = new Random(size);
+		World world = field.equals("uniform") ? WorldBenchmark.createWorld(size, random) : createClusteredWorld(size, random);
+		world.setBroadPhase(broadPhase);
+
+		for(int tick = 0; tick < WARMUP_TICKS; tick++)
+			world.evolve(TICK, null);
+
+		long start = System.nanoTime();
+		for(int tick = 0; tick < MEASURED_TICKS; tick++)
+			world.evolve(TICK, null);
+		long elapsed = System.nanoTime() - start;
+
+		System.out.printf("%s %d objects, %s: %.2f ms/tick%n", field, world.getSpaceObjects().size(),
+				broadPhase.getClass().getSimpleName(), elapsed / 1e6 / MEASURED_TICKS);
+	}
+
+	/**
+	 * Return a new square world with the given number of asteroids packed in horizontal belts.
+	 * The world is as large as the uniform world with the same number of asteroids.
+	 */
+	public static World createClusteredWorld(int size, Random random)
+	{
+		double side = Math.ceil(Math.sqrt(size)) * 40;
+		World world = new World(side, side);
+		int columns = (int) (side / BELT_SPACING) - 1;
+		int rowsPerBelt = (int) Math.ceil((double) size / columns / BELTS);
+		List<Asteroid> asteroids = new ArrayList<Asteroid>(size);
+		for(int i = 0; i < size; i++)
+		{
+			int row = i / columns;
+			int belt = row / rowsPerBelt;
+			double x = (i % columns) * BELT_SPACING + BELT_SPACING;
+			double y = (belt + 0.5) * side / BELTS + (row % rowsPerBelt) * BELT_SPACING;
+			double angle = random.nextDouble() * 2 * Math.PI;
+			asteroids.add(new Asteroid(x, y, SPEED * Math.cos(angle), SPEED * Math.sin(angle), RADIUS, random));
+		}
+		world.addAll(asteroids);
+		return world;
+	}
+}
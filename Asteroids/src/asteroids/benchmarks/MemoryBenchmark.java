@@ -0,0 +1,76 @@
+package asteroids.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.*;
+
+import asteroids.model.*;
+
+/**
+ * A benchmark that measures the memory a world keeps for its collision detection, for worlds of different sizes.
+ * Every world evolves for one second, after which the number of collisions and collision events that it keeps
+ * is reported through World.getNmbOfStoredCollisions() and World.getNmbOfCollisionEvents(), together with the heap
+ * that stays in use after a garbage collection. For the same density, all three should grow linearly with the number
+ * of asteroids, so their values per asteroid should stay about the same.
+ *
+ * Usage: MemoryBenchmark [number of asteroids]...
+ * Without arguments, worlds of 1000, 5000 and 10000 asteroids are measured.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class MemoryBenchmark {
+
+	private static final double TICK = 1d / 60;
+	private static final int TICKS = 60;
+
+	/**
+	 * The densities of the worlds, with the spacing of their grid. The asteroids have a radius of 5 km.
+	 */
+	private static final String[] DENSITIES = { "sparse", "dense" };
+	private static final double[] SPACINGS = { 40, 15 };
+
+	public static void main(String[] args)
+	{
+		List<Integer> sizes = new ArrayList<Integer>();
+		for(String arg: args)
+			sizes.add(Integer.parseInt(arg));
+		if(sizes.isEmpty())
+			sizes = Arrays.asList(1000, 5000, 10000);
+
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		World world = null;
+		for(int i = 0; i < DENSITIES.length; i++)
+		{
+			for(int size: sizes)
+			{
+				long before = getUsedHeap(memory);
+
+				world = WorldBenchmark.createWorld(size, SPACINGS[i], new Random(size));
+				for(int tick = 0; tick < TICKS; tick++)
+					world.evolve(TICK, null);
+
+				long used = getUsedHeap(memory) - before;
+
+				System.out.printf("%-6s %6d objects: %8d collisions (%5.2f per object), %8d events (%5.2f per object), %6d bytes per object%n",
+						DENSITIES[i], size, world.getNmbOfStoredCollisions(), (double) world.getNmbOfStoredCollisions() / size,
+						world.getNmbOfCollisionEvents(), (double) world.getNmbOfCollisionEvents() / size, used / size);
+				// The world is released before the next world is measured.
+				world = null;
+			}
+		}
+	}
+
+	/**
+	 * Return the heap that stays in use after a few garbage collections, so garbage left by an earlier world is not counted.
+	 */
+	private static long getUsedHeap(MemoryMXBean memory)
+	{
+		for(int i = 0; i < 3; i++)
+			memory.gc();
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+}
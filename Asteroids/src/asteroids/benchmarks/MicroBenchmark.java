@@ -0,0 +1,65 @@
+package asteroids.benchmarks;
+
+/**
+ * A class representing one measured operation of the benchmark suite, with the parameters it is measured for.
+ * The suite calls setUp once, and then run repeatedly with the number of operations that fit in one iteration.
+ * Every operation must contribute to the result of run, so the virtual machine cannot leave the work out.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public abstract class MicroBenchmark {
+
+	/**
+	 * Initializes a new benchmark with the given name and parameters.
+	 *
+	 * @param 	name
+	 * 			The name of the measured operation, such as "World.evolve".
+	 * @param 	parameters
+	 * 			The parameters as name=value pairs separated by commas, or an empty string.
+	 */
+	protected MicroBenchmark(String name, String parameters)
+	{
+		this.name = name;
+		this.parameters = parameters;
+	}
+
+	private final String name;
+	private final String parameters;
+
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public String getParameters()
+	{
+		return this.parameters;
+	}
+
+	/**
+	 * Prepare the state that the operations work on. This is not measured.
+	 */
+	public void setUp() throws Exception
+	{
+	}
+
+	/**
+	 * Restore what the set up changed outside of this benchmark, such as static settings of the model. This is not measured.
+	 */
+	public void tearDown() throws Exception
+	{
+	}
+
+	/**
+	 * Perform the given number of operations.
+	 *
+	 * @param 	operations
+	 * 			The number of operations to perform.
+	 * @return	A value that depends on every operation that was performed.
+	 */
+	public abstract double run(int operations) throws Exception;
+}
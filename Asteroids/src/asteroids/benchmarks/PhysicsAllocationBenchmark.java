@@ -0,0 +1,126 @@
+package asteroids.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+import asteroids.Util;
+import asteroids.model.*;
+
+/**
+ * A benchmark that measures the memory allocated by the calculations of the physics that run for every tick:
+ * predicting a collision between two objects, bouncing two objects off each other and thrusting a ship,
+ * and by the fuzzy comparisons of Util that these calculations use, one at a time and in batches.
+ * None of these should allocate, so every line should report 0 bytes per operation.
+ * The allocated bytes are read from the thread MXBean of the running virtual machine,
+ * which must support thread allocation measurement.
+ *
+ * Usage: PhysicsAllocationBenchmark [number of operations]
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class PhysicsAllocationBenchmark {
+
+	private static final int PAIRS = 1024;
+	private static final double SPACING = 15;
+	private static final double TICK = 1d / 60;
+	private static final int VALUES = 1024;
+
+	/**
+	 * A value that depends on the results of all operations, so their work cannot be left out.
+	 */
+	public static volatile double sink;
+
+	public static void main(String[] args)
+	{
+		int operations = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+
+		if(!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean))
+		{
+			System.out.println("Thread allocation measurement is not supported by this virtual machine.");
+			return;
+		}
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		World world = WorldBenchmark.createWorld(PAIRS * 2, SPACING, new Random(PAIRS));
+		List<SpaceObject> asteroids = new ArrayList<SpaceObject>(world.getSpaceObjects());
+		Collision[] collisions = new Collision[PAIRS];
+		for(int i = 0; i < PAIRS; i++)
+			collisions[i] = new Collision(asteroids.get(2 * i + 1), asteroids.get(2 * i));
+
+		Ship ship = new Ship(0, 0, 0, 0, 10, Math.PI / 3, 5E15);
+		ship.setThruster(true, 1.1E18);
+
+		// Neighbouring values differ by a multiple of the precision of the fuzzy comparisons.
+		Random random = new Random(VALUES);
+		double[] values = new double[VALUES + 1];
+		for(int i = 0; i < values.length; i++)
+			values[i] = random.nextInt(100) * Util.EPSILON;
+		double[] first = Arrays.copyOfRange(values, 0, VALUES);
+		double[] second = Arrays.copyOfRange(values, 1, VALUES + 1);
+		boolean[] equals = new boolean[VALUES];
+
+		String[] names = { "prediction", "bounce off", "thrust", "fuzzyEquals", "fuzzyEquals of " + VALUES + " values" };
+		for(int method = 0; method < names.length; method++)
+		{
+			// Warm up, so class loading and compilation are not measured.
+			run(method, collisions, ship, first, second, equals, operations);
+
+			long before = threads.getThreadAllocatedBytes(thread);
+			long start = System.nanoTime();
+			sink += run(method, collisions, ship, first, second, equals, operations);
+			long elapsed = System.nanoTime() - start;
+			long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+			System.out.printf("%-28s %8.3f bytes and %7.1f ns per operation%n", names[method] + ":",
+					(double) allocated / operations, (double) elapsed / operations);
+		}
+	}
+
+	/**
+	 * Perform the given number of operations of the method with the given number.
+	 * The fuzzy comparisons compare the values of first with the values of second at the same index.
+	 */
+	private static double run(int method, Collision[] collisions, Ship ship, double[] first, double[] second, boolean[] equals,
+			int operations)
+	{
+		double result = 0;
+		int mask = PAIRS - 1;
+		for(int i = 0; i < operations; i++)
+		{
+			if(method == 0)
+			{
+				Collision collision = collisions[i & mask];
+				collision.calculateTimeToCollision();
+				result += collision.getTimeToCollision();
+			}
+			else if(method == 1)
+			{
+				Collision collision = collisions[i & mask];
+				collision.bounceOff();
+				result += collision.getObject1().getXVelocity();
+			}
+			else if(method == 2)
+			{
+				ship.thrust(TICK);
+				result += ship.getXVelocity();
+			}
+			else if(method == 3)
+			{
+				if(Util.fuzzyEquals(first[i & (VALUES - 1)], second[i & (VALUES - 1)]))
+					result++;
+			}
+			else
+			{
+				Util.fuzzyEquals(first, second, equals);
+				if(equals[i & (VALUES - 1)])
+					result++;
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,263 @@
+package asteroids.benchmarks;
+
+import java.util.*;
+
+import asteroids.model.*;
+import asteroids.model.Vector;
+
+/**
+ * The benchmarks of the suite that measure the physics of a world: evolving it, predicting collisions and vector arithmetic.
+ * The worlds are filled with asteroids on a grid; the density is the spacing of that grid.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class PhysicsBenchmarks {
+
+	private static final double TICK = 1d / 60;
+	private static final int PAIRS = 1024;
+	private static final int VALUES = 1024;
+
+	/**
+	 * The densities of the worlds, with the spacing of their grid. The asteroids have a radius of 5 km.
+	 */
+	private static final String[] DENSITIES = { "sparse", "dense" };
+	private static final double[] SPACINGS = { 40, 15 };
+
+	private static final int[] SIZES = { 1000, 10000 };
+
+	/**
+	 * The arithmetic policies of Vector that the collision predictions and the component arithmetic are measured for.
+	 */
+	private static final Vector.Arithmetic[] ARITHMETICS = { Vector.Arithmetic.STRICT, Vector.Arithmetic.FAST };
+
+	/**
+	 * Return the physics benchmarks for every combination of their parameters.
+	 */
+	public static List<MicroBenchmark> create()
+	{
+		List<MicroBenchmark> benchmarks = new ArrayList<MicroBenchmark>();
+		for(int size: SIZES)
+		{
+			for(int i = 0; i < DENSITIES.length; i++)
+				benchmarks.add(new Evolve(size, DENSITIES[i], SPACINGS[i], false));
+		}
+		// The overhead of measuring the evolves, compared with the same worlds without a metrics listener.
+		for(int i = 0; i < DENSITIES.length; i++)
+			benchmarks.add(new Evolve(SIZES[0], DENSITIES[i], SPACINGS[i], true));
+		for(int i = 0; i < DENSITIES.length; i++)
+		{
+			for(Vector.Arithmetic arithmetic: ARITHMETICS)
+				benchmarks.add(new TimeToCollision(DENSITIES[i], SPACINGS[i], arithmetic));
+			benchmarks.add(new CollisionPosition(DENSITIES[i], SPACINGS[i]));
+		}
+		for(Vector.Arithmetic arithmetic: ARITHMETICS)
+		{
+			benchmarks.add(new VectorArithmetic("sumOfComponents", arithmetic));
+			benchmarks.add(new VectorArithmetic("multiplyComponents", arithmetic));
+		}
+		benchmarks.add(new VectorArithmetic("getModulus", Vector.Arithmetic.STRICT));
+		benchmarks.add(new VectorArithmetic("dotProduct", Vector.Arithmetic.STRICT));
+		return benchmarks;
+	}
+
+	/**
+	 * Return collisions between neighbouring asteroids of a world with the given spacing.
+	 */
+	private static List<Collision> createCollisions(double spacing)
+	{
+		World world = WorldBenchmark.createWorld(PAIRS * 2, spacing, new Random(PAIRS));
+		List<SpaceObject> asteroids = new ArrayList<SpaceObject>(world.getSpaceObjects());
+		List<Collision> collisions = new ArrayList<Collision>();
+		for(int i = 0; i + 1 < asteroids.size() && collisions.size() < PAIRS; i += 2)
+			collisions.add(new Collision(asteroids.get(i + 1), asteroids.get(i)));
+		return collisions;
+	}
+
+	/**
+	 * One operation lets a world evolve one tick of 1/60 s, with or without statistics attached as metrics listener.
+	 */
+	private static class Evolve extends MicroBenchmark {
+
+		private Evolve(int size, String density, double spacing, boolean metrics)
+		{
+			super("World.evolve", "objects=" + size + ",density=" + density + (metrics ? ",metrics=on" : ""));
+			this.size = size;
+			this.spacing = spacing;
+			this.metrics = metrics;
+		}
+
+		private final int size;
+		private final double spacing;
+		private final boolean metrics;
+		private World world;
+
+		@Override
+		public void setUp()
+		{
+			this.world = WorldBenchmark.createWorld(this.size, this.spacing, new Random(this.size));
+			if(this.metrics)
+				this.world.addMetricsListener(new WorldStatistics());
+		}
+
+		@Override
+		public double run(int operations)
+		{
+			for(int i = 0; i < operations; i++)
+				this.world.evolve(TICK, null);
+			return this.world.getTime();
+		}
+	}
+
+	/**
+	 * One operation calculates when two neighbouring asteroids collide, with the given arithmetic of Vector.
+	 */
+	private static class TimeToCollision extends MicroBenchmark {
+
+		private TimeToCollision(String density, double spacing, Vector.Arithmetic arithmetic)
+		{
+			super("Collision.getTimeToCollisionWithObject", "density=" + density + ",arithmetic=" + arithmetic.name().toLowerCase());
+			this.spacing = spacing;
+			this.arithmetic = arithmetic;
+		}
+
+		private final double spacing;
+		private final Vector.Arithmetic arithmetic;
+		private Collision[] collisions;
+
+		@Override
+		public void setUp()
+		{
+			this.collisions = createCollisions(this.spacing).toArray(new Collision[0]);
+			Vector.setArithmetic(this.arithmetic);
+		}
+
+		@Override
+		public void tearDown()
+		{
+			Vector.setArithmetic(Vector.Arithmetic.STRICT);
+		}
+
+		@Override
+		public double run(int operations)
+		{
+			double result = 0;
+			for(int i = 0; i < operations; i++)
+			{
+				double time = this.collisions[i & (PAIRS - 1)].getTimeToCollisionWithObject();
+				if(time != Double.POSITIVE_INFINITY)
+					result += time;
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * One operation calculates where two neighbouring asteroids collide.
+	 * The time to their collision is predicted during the set up, so only the position is measured.
+	 */
+	private static class CollisionPosition extends MicroBenchmark {
+
+		private CollisionPosition(String density, double spacing)
+		{
+			super("Collision.getCollisionPosition", "density=" + density);
+			this.spacing = spacing;
+		}
+
+		private final double spacing;
+		private Collision[] collisions;
+
+		@Override
+		public void setUp()
+		{
+			this.collisions = createCollisions(this.spacing).toArray(new Collision[0]);
+			for(Collision collision: this.collisions)
+				collision.getTimeToCollision();
+		}
+
+		@Override
+		public double run(int operations)
+		{
+			double result = 0;
+			for(int i = 0; i < operations; i++)
+			{
+				double[] position = this.collisions[i & (PAIRS - 1)].getCollisionPosition();
+				if(position != null)
+					result += position[0];
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * One operation applies the given method of Vector to the next values of a fixed random sequence,
+	 * with the given arithmetic of Vector.
+	 */
+	private static class VectorArithmetic extends MicroBenchmark {
+
+		private VectorArithmetic(String method, Vector.Arithmetic arithmetic)
+		{
+			super("Vector." + method, "arithmetic=" + arithmetic.name().toLowerCase());
+			this.method = method;
+			this.arithmetic = arithmetic;
+		}
+
+		private final String method;
+		private final Vector.Arithmetic arithmetic;
+		private double[] values;
+		private Vector[] vectors;
+
+		@Override
+		public void setUp()
+		{
+			Random random = new Random(VALUES);
+			this.values = new double[VALUES];
+			this.vectors = new Vector[VALUES];
+			for(int i = 0; i < VALUES; i++)
+			{
+				this.values[i] = random.nextDouble() * 2000 - 1000;
+				this.vectors[i] = new Vector(random.nextDouble() * 2000 - 1000, random.nextDouble() * 2000 - 1000);
+			}
+			Vector.setArithmetic(this.arithmetic);
+		}
+
+		@Override
+		public void tearDown()
+		{
+			Vector.setArithmetic(Vector.Arithmetic.STRICT);
+		}
+
+		@Override
+		public double run(int operations)
+		{
+			double[] values = this.values;
+			Vector[] vectors = this.vectors;
+			int mask = VALUES - 1;
+			double result = 0;
+			if(this.method.equals("sumOfComponents"))
+			{
+				for(int i = 0; i < operations; i++)
+					result += Vector.sumOfComponents(values[i & mask], values[(i + 1) & mask]);
+			}
+			else if(this.method.equals("multiplyComponents"))
+			{
+				for(int i = 0; i < operations; i++)
+					result += Vector.multiplyComponents(values[i & mask], values[(i + 1) & mask]);
+			}
+			else if(this.method.equals("getModulus"))
+			{
+				for(int i = 0; i < operations; i++)
+					result += Vector.getModulus(values[i & mask], values[(i + 1) & mask]);
+			}
+			else
+			{
+				for(int i = 0; i < operations; i++)
+					result += Vector.dotProduct(vectors[i & mask], vectors[(i + 1) & mask]);
+			}
+			return result;
+		}
+	}
+}
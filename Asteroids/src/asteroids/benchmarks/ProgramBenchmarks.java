@@ -0,0 +1,206 @@
+package asteroids.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+
+import asteroids.IFacade.ParseOutcome;
+import asteroids.model.*;
+import asteroids.model.programs.*;
+import asteroids.model.programs.expressions.Expression;
+import asteroids.model.programs.generated.ProgramClassGenerator;
+import asteroids.model.programs.parsing.ProgramParser;
+import asteroids.model.programs.statements.Statement;
+
+/**
+ * The benchmarks of the suite that measure the program interpreter: executing the bundled program and parsing programs.
+ * The large program repeats the loop of the bundled program, after its declarations.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class ProgramBenchmarks {
+
+	private static final String PROGRAM = "asteroids/resources/program.txt";
+	private static final int LARGE_PROGRAM_LOOPS = 50;
+	private static final int[] ASTEROIDS = { 10, 1000 };
+	private static final String[] BACKENDS = { "tree", "closures", "bytecode", "generated" };
+	private static final double SPACING = 40;
+
+	/**
+	 * Return the program benchmarks for every combination of their parameters.
+	 */
+	public static List<MicroBenchmark> create()
+	{
+		List<MicroBenchmark> benchmarks = new ArrayList<MicroBenchmark>();
+		for(int asteroids: ASTEROIDS)
+			for(String backend: BACKENDS)
+				benchmarks.add(new Execute(asteroids, backend));
+		benchmarks.add(new Parse("small"));
+		benchmarks.add(new Parse("large"));
+		return benchmarks;
+	}
+
+	/**
+	 * Return the text of the bundled program.
+	 */
+	public static String loadProgram() throws IOException
+	{
+		InputStream stream = ProgramBenchmarks.class.getClassLoader().getResourceAsStream(PROGRAM);
+		if(stream == null)
+			throw new IOException(PROGRAM + " not found");
+		try
+		{
+			Scanner scanner = new Scanner(stream, "UTF-8").useDelimiter("\\A");
+			return scanner.hasNext() ? scanner.next() : "";
+		}
+		finally
+		{
+			stream.close();
+		}
+	}
+
+	/**
+	 * Return a program with the declarations of the given program, followed by the given number of copies of its statement.
+	 * The statement of the given program must be its last part and start with "while".
+	 */
+	public static String repeatStatement(String program, int copies)
+	{
+		int start = program.indexOf("while");
+		StringBuilder builder = new StringBuilder(program.substring(0, start));
+		for(int i = 0; i < copies; i++)
+			builder.append(program.substring(start)).append('\n');
+		return builder.toString();
+	}
+
+	/**
+	 * One operation executes the bundled program until it performs its next action.
+	 * The ship running the program is in a world with the given number of asteroids, which the program iterates over.
+	 * The output of the print statements is discarded.
+	 * The program is executed by its statements themselves ("tree"), compiled into closures first ("closures"),
+	 * compiled into bytecode that a virtual machine executes ("bytecode") or by the class generated for it ("generated").
+	 * The time to generate the class is not measured.
+	 */
+	private static class Execute extends MicroBenchmark {
+
+		private Execute(int asteroids, String backend)
+		{
+			super("Program.execute", "asteroids=" + asteroids + ",backend=" + backend);
+			this.asteroids = asteroids;
+			this.backend = backend;
+		}
+
+		private final int asteroids;
+		private final String backend;
+		private Program program;
+		private Ship ship;
+
+		@Override
+		public void setUp() throws IOException
+		{
+			Facade facade = new Facade();
+			int columns = (int) Math.ceil(Math.sqrt(this.asteroids));
+			World world = facade.createWorld(columns * SPACING, (columns + 1) * SPACING);
+			List<SpaceObject> spaceObjects = new ArrayList<SpaceObject>();
+			for(int i = 0; i < this.asteroids; i++)
+				spaceObjects.add(facade.createAsteroid((i % columns + 0.5) * SPACING, (i / columns + 1.5) * SPACING, 0, 0, 5));
+			// The ship is in the row below the asteroids.
+			this.ship = facade.createShip(SPACING / 2, SPACING / 2, 0, 0, 10, 0, 5E15);
+			spaceObjects.add(this.ship);
+			facade.addSpaceObjects(world, spaceObjects);
+
+			ParseOutcome<Program> outcome = facade.parseProgram(loadProgram());
+			if(!outcome.isSuccessful())
+				throw new IllegalStateException(outcome.getMessage());
+			this.program = outcome.getProgram();
+			facade.setShipProgram(this.ship, this.program);
+			if(!facade.typeCheckProgram(this.program).isSuccessful())
+				throw new IllegalStateException("program does not type check");
+			if(this.backend.equals("closures"))
+				this.program.compile();
+			else if(this.backend.equals("bytecode"))
+				this.program.executeBytecode(this.program.compileBytecode());
+			else if(this.backend.equals("generated"))
+			{
+				// The generated class takes over at the first execution, once it is generated.
+				this.program.setGenerationThreshold(0);
+				try
+				{
+					ProgramClassGenerator.generate(this.program).get();
+				}
+				catch(InterruptedException e)
+				{
+					throw new IllegalStateException(e);
+				}
+				catch(ExecutionException e)
+				{
+					throw new IllegalStateException(e.getCause());
+				}
+			}
+		}
+
+		@Override
+		public double run(int operations)
+		{
+			PrintStream out = System.out;
+			System.setOut(new PrintStream(new OutputStream() {
+				@Override
+				public void write(int b) {}
+			}));
+			try
+			{
+				for(int i = 0; i < operations; i++)
+					this.program.execute(1);
+			}
+			finally
+			{
+				System.setOut(out);
+			}
+			return this.ship.getDirection();
+		}
+	}
+
+	/**
+	 * One operation parses a small or large program with a new parser.
+	 */
+	private static class Parse extends MicroBenchmark {
+
+		private Parse(String size)
+		{
+			super("ProgramParser.parse", "program=" + size);
+			this.size = size;
+		}
+
+		private final String size;
+		private String text;
+
+		@Override
+		public void setUp() throws IOException
+		{
+			this.text = loadProgram();
+			if(this.size.equals("large"))
+				this.text = repeatStatement(this.text, LARGE_PROGRAM_LOOPS);
+		}
+
+		@Override
+		public double run(int operations)
+		{
+			double result = 0;
+			for(int i = 0; i < operations; i++)
+			{
+				ProgramParser<Expression, Statement, Type> parser = new ProgramParser<Expression, Statement, Type>(new ProgramFactoryImpl());
+				parser.parse(this.text);
+				if(!parser.getErrors().isEmpty())
+					throw new IllegalStateException(parser.getErrors().get(0));
+				result += parser.getGlobals().size();
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package asteroids.benchmarks;
+
+import java.util.*;
+
+import asteroids.model.*;
+
+/**
+ * A benchmark that measures the tick throughput of a world filled with asteroids.
+ * The asteroids are placed on a grid, so none of them overlap, and get a random velocity.
+ * They fly into the world at once, so the reported setup time is the time to load a level of that size.
+ *
+ * Usage: WorldBenchmark [-parallel] [number of asteroids]...
+ * Without sizes, worlds of 10000 and 100000 asteroids are measured.
+ * With -parallel, the worlds move their objects and predict their collisions in parallel.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class WorldBenchmark {
+
+	private static final int WARMUP_TICKS = 20;
+	private static final int MEASURED_TICKS = 100;
+	private static final double TICK = 1d / 60;
+	private static final double SPACING = 40;
+	private static final double RADIUS = 5;
+	private static final double SPEED = 20;
+
+	public static void main(String[] args)
+	{
+		boolean parallel = false;
+		List<Integer> sizes = new ArrayList<Integer>();
+		for(String arg: args)
+		{
+			if(arg.equals("-parallel"))
+				parallel = true;
+			else
+				sizes.add(Integer.parseInt(arg));
+		}
+		if(sizes.isEmpty())
+			sizes = Arrays.asList(10000, 100000);
+
+		for(int size: sizes)
+		{
+			long start = System.nanoTime();
+			World world = createWorld(size, new Random(size));
+			world.setParallel(parallel);
+			long setup = System.nanoTime() - start;
+
+			for(int tick = 0; tick < WARMUP_TICKS; tick++)
+				world.evolve(TICK, null);
+
+			start = System.nanoTime();
+			for(int tick = 0; tick < MEASURED_TICKS; tick++)
+				world.evolve(TICK, null);
+			long elapsed = System.nanoTime() - start;
+
+			System.out.printf("%d objects: setup %.1f ms, %.2f ms/tick, %.1f ticks/s%n", world.getSpaceObjects().size(),
+					setup / 1e6, elapsed / 1e6 / MEASURED_TICKS, MEASURED_TICKS / (elapsed / 1e9));
+		}
+	}
+
+	/**
+	 * Return a new square world with the given number of asteroids on a grid.
+	 */
+	public static World createWorld(int size, Random random)
+	{
+		return createWorld(size, SPACING, random);
+	}
+
+	/**
+	 * Return a new square world with the given number of asteroids on a grid with the given spacing.
+	 * The spacing must be larger than the diameter of the asteroids.
+	 */
+	public static World createWorld(int size, double spacing, Random random)
+	{
+		int columns = (int) Math.ceil(Math.sqrt(size));
+		World world = new World(columns * spacing, columns * spacing);
+		List<Asteroid> asteroids = new ArrayList<Asteroid>(size);
+		for(int i = 0; i < size; i++)
+		{
+			double x = (i % columns) * spacing + spacing / 2;
+			double y = (i / columns) * spacing + spacing / 2;
+			double angle = random.nextDouble() * 2 * Math.PI;
+			asteroids.add(new Asteroid(x, y, SPEED * Math.cos(angle), SPEED * Math.sin(angle), RADIUS, random));
+		}
+		world.addAll(asteroids);
+		return world;
+	}
+}
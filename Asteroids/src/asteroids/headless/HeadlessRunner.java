@@ -0,0 +1,230 @@
+package asteroids.headless;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.Arrays;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import asteroids.CollisionListener;
+import asteroids.ModelException;
+import asteroids.model.*;
+import asteroids.model.programs.Program;
+
+/**
+ * An entry point that runs a scenario without a screen, as fast as possible, and reports its throughput.
+ * The world of the scenario is built through the facade and advanced by a fixed step simulator,
+ * so two runs of the same scenario take the same steps.
+ *
+ * Usage: HeadlessRunner [scenario file] [-ticks n] [-ai program file] [-parallel] [-fast] [-metrics] [-jfr file]
+ *                       [-generate n]
+ * Without a scenario file, the scenario in the resources is run.
+ * With -fast, vectors use the fast arithmetic instead of the strict arithmetic.
+ * With -metrics, the evolves of the world are measured; the totals are registered with the platform MBean server
+ * as "asteroids:type=WorldStatistics,name=headless" while the scenario runs and are printed at the end.
+ * With -jfr, the run is recorded by the flight recorder with its default settings and written to the given file,
+ * which RecordingAnalyzer reads.
+ * With -generate, a class is generated for a program after it executed the given number of times with its statements.
+ * Without it, no classes are generated.
+ * Ships in the scenario with "ai" as program run the given AI program, or the program in the resources.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class HeadlessRunner {
+
+	public static void main(String[] args)
+	{
+		URL scenarioUrl = HeadlessRunner.class.getClassLoader().getResource("asteroids/resources/scenario.txt");
+		URL aiProgramUrl = HeadlessRunner.class.getClassLoader().getResource("asteroids/resources/program.txt");
+		int ticks = -1;
+		boolean parallel = false;
+		boolean metrics = false;
+		String recordingFile = null;
+		try
+		{
+			for(int i = 0; i < args.length; i++)
+			{
+				String arg = args[i];
+				if(arg.equals("-ticks") && i + 1 < args.length)
+					ticks = Integer.parseInt(args[++i]);
+				else if(arg.equals("-ai") && i + 1 < args.length)
+					aiProgramUrl = toUrl(args[++i]);
+				else if(arg.equals("-parallel"))
+					parallel = true;
+				else if(arg.equals("-fast"))
+					Vector.setArithmetic(Vector.Arithmetic.FAST);
+				else if(arg.equals("-metrics"))
+					metrics = true;
+				else if(arg.equals("-jfr") && i + 1 < args.length)
+					recordingFile = args[++i];
+				else if(arg.equals("-generate") && i + 1 < args.length)
+					Program.setDefaultGenerationThreshold(Integer.parseInt(args[++i]));
+				else if(!arg.startsWith("-"))
+					scenarioUrl = toUrl(arg);
+				else
+				{
+					System.out.println("unknown option: " + arg);
+					return;
+				}
+			}
+
+			Scenario scenario = Scenario.load(scenarioUrl);
+			if(ticks >= 0)
+				scenario.setTicks(ticks);
+			Facade facade = new Facade();
+			World world = scenario.createWorld(facade, aiProgramUrl);
+			world.setParallel(parallel);
+			WorldStatistics statistics = null;
+			if(metrics)
+			{
+				statistics = new WorldStatistics();
+				statistics.register("headless");
+				world.addMetricsListener(statistics);
+			}
+
+			System.out.println("scenario: " + scenarioUrl);
+			printObjectCounts("objects at start", facade, world);
+			Recording recording = null;
+			if(recordingFile != null)
+			{
+				recording = new Recording(Configuration.getConfiguration("default"));
+				recording.setDestination(Paths.get(recordingFile));
+				recording.start();
+			}
+			run(scenario, facade, world);
+			if(recording != null)
+			{
+				recording.stop();
+				recording.close();
+				System.out.println("recording: " + recordingFile);
+			}
+			printObjectCounts("objects at end", facade, world);
+			if(statistics != null)
+			{
+				printStatistics(statistics);
+				WorldStatistics.unregister("headless");
+			}
+		}
+		catch(IOException e)
+		{
+			System.out.println(e.getMessage());
+		}
+		catch(NumberFormatException e)
+		{
+			System.out.println("invalid number: " + e.getMessage());
+		}
+		catch(IllegalArgumentException e)
+		{
+			System.out.println(e.getMessage());
+		}
+		catch(ModelException e)
+		{
+			System.out.println(e.getMessage());
+		}
+		catch(ParseException e)
+		{
+			System.out.println(e.getMessage());
+		}
+	}
+
+	/**
+	 * Step the given world for the ticks of the given scenario and print the throughput and the wall time per tick.
+	 */
+	private static void run(Scenario scenario, Facade facade, World world)
+	{
+		FixedStepSimulator simulator = new FixedStepSimulator(world, scenario.getStep(), 1);
+		CollisionCounter counter = new CollisionCounter();
+		long[] tickTimes = new long[scenario.getTicks()];
+
+		long start = System.nanoTime();
+		for(int tick = 0; tick < tickTimes.length; tick++)
+		{
+			long tickStart = System.nanoTime();
+			simulator.step(counter);
+			tickTimes[tick] = System.nanoTime() - tickStart;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("ticks: %d in %.3f s (%.1f ticks/s, %.3f s simulated)%n", tickTimes.length, seconds,
+				tickTimes.length / seconds, simulator.getStepCount() * simulator.getStep());
+		System.out.printf("collisions resolved: %d (%.1f/s), %d with a boundary, %d between objects%n",
+				counter.boundaryCollisions + counter.objectCollisions, (counter.boundaryCollisions + counter.objectCollisions) / seconds,
+				counter.boundaryCollisions, counter.objectCollisions);
+		if(tickTimes.length > 0)
+		{
+			Arrays.sort(tickTimes);
+			System.out.printf("wall time per tick: p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+					getPercentile(tickTimes, 50) / 1e6, getPercentile(tickTimes, 90) / 1e6,
+					getPercentile(tickTimes, 99) / 1e6, tickTimes[tickTimes.length - 1] / 1e6);
+		}
+	}
+
+	/**
+	 * Return the given percentile of the given sorted times, using the nearest rank.
+	 */
+	private static long getPercentile(long[] sortedTimes, int percentile)
+	{
+		int rank = (int) Math.ceil(percentile / 100d * sortedTimes.length);
+		return sortedTimes[Math.max(0, rank - 1)];
+	}
+
+	/**
+	 * Print the totals of the given statistics, with the time of every phase per evolve.
+	 */
+	private static void printStatistics(WorldStatistics statistics)
+	{
+		long evolves = Math.max(1, statistics.getNmbOfEvolves());
+		System.out.printf("per evolve: %.2f iterations, %.1f predictions, %.2f program steps%n",
+				(double) statistics.getNmbOfIterations() / evolves, (double) statistics.getNmbOfPredictions() / evolves,
+				(double) statistics.getNmbOfProgramSteps() / evolves);
+		System.out.printf("time per evolve: advance %.3f ms, prediction %.3f ms, resolution %.3f ms%n",
+				statistics.getAdvanceTime() / 1e6 / evolves, statistics.getPredictionTime() / 1e6 / evolves,
+				statistics.getResolutionTime() / 1e6 / evolves);
+		System.out.printf("collisions: %d with a boundary, %d between objects, %d kills; objects: %d spawned, %d removed%n",
+				statistics.getNmbOfBorderCollisions(), statistics.getNmbOfObjectCollisions(), statistics.getNmbOfKills(),
+				statistics.getNmbOfSpawnedObjects(), statistics.getNmbOfRemovedObjects());
+	}
+
+	private static void printObjectCounts(String label, Facade facade, World world)
+	{
+		System.out.printf("%s: %d ships, %d asteroids, %d bullets%n", label, facade.getShips(world).size(),
+				facade.getAsteroids(world).size(), facade.getBullets(world).size());
+	}
+
+	private static URL toUrl(String path) throws IOException
+	{
+		File file = new File(path);
+		if(!file.exists())
+			throw new IOException("file " + path + " not found");
+		return file.toURI().toURL();
+	}
+
+	/**
+	 * A collision listener that counts the collisions it is notified of.
+	 */
+	private static class CollisionCounter implements CollisionListener {
+
+		private long boundaryCollisions;
+		private long objectCollisions;
+
+		@Override
+		public void boundaryCollision(Object entity, double x, double y)
+		{
+			this.boundaryCollisions++;
+		}
+
+		@Override
+		public void objectCollision(Object entity1, Object entity2, double x, double y)
+		{
+			this.objectCollisions++;
+		}
+	}
+}
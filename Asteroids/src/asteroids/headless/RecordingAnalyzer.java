@@ -0,0 +1,193 @@
+package asteroids.headless;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.*;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * An offline analyzer of flight recordings of a running world. It reads the recording, prints a summary
+ * of the durations of the evolves and then the slowest evolves with the time of each phase, the number of steps,
+ * collisions, asteroid splits and program steps in them, and the garbage collections and sampled allocations
+ * that overlap with them.
+ * A recording is made with HeadlessRunner -jfr, or with -XX:StartFlightRecording on any virtual machine that runs a world.
+ *
+ * Usage: RecordingAnalyzer recording file [-top n]
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class RecordingAnalyzer {
+
+	private static final int DEFAULT_TOP = 10;
+
+	public static void main(String[] args)
+	{
+		String file = null;
+		int top = DEFAULT_TOP;
+		try
+		{
+			for(int i = 0; i < args.length; i++)
+			{
+				String arg = args[i];
+				if(arg.equals("-top") && i + 1 < args.length)
+					top = Integer.parseInt(args[++i]);
+				else if(!arg.startsWith("-") && file == null)
+					file = arg;
+				else
+				{
+					System.out.println("unknown option: " + arg);
+					return;
+				}
+			}
+			if(file == null)
+			{
+				System.out.println("Usage: RecordingAnalyzer recording file [-top n]");
+				return;
+			}
+			analyze(RecordingFile.readAllEvents(Paths.get(file)), top);
+		}
+		catch(IOException e)
+		{
+			System.out.println(e.getMessage());
+		}
+		catch(NumberFormatException e)
+		{
+			System.out.println("invalid number: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Print the summary of the evolves among the given events and the given number of slowest evolves.
+	 */
+	private static void analyze(List<RecordedEvent> events, int top)
+	{
+		List<RecordedEvent> evolves = new ArrayList<RecordedEvent>();
+		List<RecordedEvent> others = new ArrayList<RecordedEvent>();
+		for(RecordedEvent event: events)
+		{
+			String name = event.getEventType().getName();
+			if(name.equals("asteroids.Evolve"))
+				evolves.add(event);
+			else if(name.startsWith("asteroids.") || name.equals("jdk.GarbageCollection") || name.equals("jdk.ObjectAllocationSample"))
+				others.add(event);
+		}
+		if(evolves.isEmpty())
+		{
+			System.out.println("no evolves recorded");
+			return;
+		}
+
+		Collections.sort(evolves, BY_START);
+		Map<RecordedEvent, Integer> ticks = new HashMap<RecordedEvent, Integer>();
+		long[] durations = new long[evolves.size()];
+		for(int i = 0; i < evolves.size(); i++)
+		{
+			ticks.put(evolves.get(i), i);
+			durations[i] = evolves.get(i).getDuration().toNanos();
+		}
+		Arrays.sort(durations);
+		System.out.printf("evolves: %d, duration p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms%n", durations.length,
+				getPercentile(durations, 50) / 1e6, getPercentile(durations, 90) / 1e6,
+				getPercentile(durations, 99) / 1e6, durations[durations.length - 1] / 1e6);
+
+		List<RecordedEvent> slowest = new ArrayList<RecordedEvent>(evolves);
+		Collections.sort(slowest, new Comparator<RecordedEvent>() {
+			@Override
+			public int compare(RecordedEvent event1, RecordedEvent event2)
+			{
+				return event2.getDuration().compareTo(event1.getDuration());
+			}
+		});
+		long origin = toNanos(evolves.get(0).getStartTime());
+		System.out.printf("slowest %d evolves:%n", Math.min(top, slowest.size()));
+		for(RecordedEvent evolve: slowest.subList(0, Math.min(top, slowest.size())))
+			printEvolve(evolve, ticks.get(evolve), origin, others);
+	}
+
+	/**
+	 * Print the given evolve with its phases and the given events that overlap with it.
+	 */
+	private static void printEvolve(RecordedEvent evolve, int tick, long origin, List<RecordedEvent> events)
+	{
+		long start = toNanos(evolve.getStartTime());
+		long end = toNanos(evolve.getEndTime());
+		long duration = end - start;
+		long advance = evolve.getLong("advanceTime");
+		long prediction = evolve.getLong("predictionTime");
+		long resolution = evolve.getLong("resolutionTime");
+
+		int steps = 0;
+		int kills = 0;
+		int splits = 0;
+		long programSteps = 0;
+		Set<Integer> ships = new HashSet<Integer>();
+		long gcTime = 0;
+		List<String> gcNames = new ArrayList<String>();
+		long allocated = 0;
+		for(RecordedEvent event: events)
+		{
+			long eventStart = toNanos(event.getStartTime());
+			long eventEnd = toNanos(event.getEndTime());
+			if(eventEnd < start || eventStart > end)
+				continue;
+			String name = event.getEventType().getName();
+			if(name.equals("asteroids.EvolveStep"))
+				steps++;
+			else if(name.equals("asteroids.CollisionExecution") && event.getBoolean("isKill"))
+				kills++;
+			else if(name.equals("asteroids.AsteroidSplit") && event.getInt("nmbOfChildren") > 0)
+				splits++;
+			else if(name.equals("asteroids.ProgramExecution"))
+			{
+				programSteps += event.getLong("nmbOfSteps");
+				ships.add(event.getInt("shipId"));
+			}
+			else if(name.equals("jdk.GarbageCollection"))
+			{
+				gcTime += Math.min(end, eventEnd) - Math.max(start, eventStart);
+				gcNames.add(event.getString("name"));
+			}
+			else if(name.equals("jdk.ObjectAllocationSample"))
+				allocated += event.getLong("weight");
+		}
+
+		System.out.printf("  tick %d at %.3f s: %.3f ms, %d objects%n", tick, (start - origin) / 1e9, duration / 1e6,
+				evolve.getInt("nmbOfObjects"));
+		System.out.printf("    advance %.3f ms, prediction %.3f ms, resolution %.3f ms, other %.3f ms%n", advance / 1e6,
+				prediction / 1e6, resolution / 1e6, (duration - advance - prediction - resolution) / 1e6);
+		System.out.printf("    %d iterations (%d steps recorded), %d collisions (%d kills), %d predictions, %d asteroid splits%n",
+				evolve.getInt("nmbOfIterations"), steps, evolve.getInt("nmbOfCollisions"), kills,
+				evolve.getLong("nmbOfPredictions"), splits);
+		System.out.printf("    %d program steps by %d ships%n", programSteps, ships.size());
+		System.out.printf("    garbage collection %.3f ms %s, about %d KB allocated%n", gcTime / 1e6, gcNames, allocated / 1024);
+	}
+
+	private static final Comparator<RecordedEvent> BY_START = new Comparator<RecordedEvent>() {
+		@Override
+		public int compare(RecordedEvent event1, RecordedEvent event2)
+		{
+			return event1.getStartTime().compareTo(event2.getStartTime());
+		}
+	};
+
+	private static long toNanos(Instant instant)
+	{
+		return instant.getEpochSecond() * 1000000000L + instant.getNano();
+	}
+
+	/**
+	 * Return the given percentile of the given sorted durations, using the nearest rank.
+	 */
+	private static long getPercentile(long[] sortedDurations, int percentile)
+	{
+		int rank = (int) Math.ceil(percentile / 100d * sortedDurations.length);
+		return sortedDurations[Math.max(0, rank - 1)];
+	}
+}
@@ -0,0 +1,353 @@
+package asteroids.headless;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.*;
+
+import asteroids.IFacade.ParseOutcome;
+import asteroids.IFacade.TypeCheckOutcome;
+import asteroids.model.*;
+import asteroids.model.programs.Program;
+
+/**
+ * A class representing the description of a simulation: the size of the world, the objects in it
+ * and how long and in which steps it is simulated.
+ * A scenario is read from a text with one instruction per line. Empty lines and everything after a # are ignored.
+ *
+ * 	world <width> <height>
+ * 	ticks <number of ticks>
+ * 	step <duration of a tick in seconds>
+ * 	seed <seed of the random generator>
+ * 	broadphase hash | sweep | exhaustive
+ * 	ship <x> <y> <xVelocity> <yVelocity> <radius> <angle> <mass> [<program file> | ai]
+ * 	asteroid <x> <y> <xVelocity> <yVelocity> <radius>
+ * 	field <number of asteroids> <radius> <speed>
+ *
+ * A program file is looked up relative to the scenario; a ship with "ai" as program runs the AI program given to the runner.
+ * A field spreads the given number of asteroids with a random direction over free cells of a grid that covers the world.
+ * All fields share one grid, so the asteroids of different fields never overlap.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class Scenario {
+
+	/**
+	 * Initializes a new scenario from the given description.
+	 *
+	 * @param 	description
+	 * 			The text that describes the scenario.
+	 * @param 	base
+	 * 			The location relative to which program files are looked up, or null.
+	 * @throws	IllegalArgumentException
+	 * 			The given description is null or contains an invalid line.
+	 */
+	public Scenario(String description, URL base) throws IllegalArgumentException
+	{
+		if(description == null)
+			throw new IllegalArgumentException("no scenario description");
+		this.base = base;
+
+		int lineNumber = 0;
+		for(String line: description.split("\r?\n"))
+		{
+			lineNumber++;
+			int comment = line.indexOf('#');
+			if(comment >= 0)
+				line = line.substring(0, comment);
+			line = line.trim();
+			if(line.isEmpty())
+				continue;
+			try
+			{
+				this.parseLine(line.split("\\s+"));
+			}
+			catch(NumberFormatException e)
+			{
+				throw new IllegalArgumentException("line " + lineNumber + ": invalid number in \"" + line + "\"");
+			}
+			catch(IllegalArgumentException e)
+			{
+				throw new IllegalArgumentException("line " + lineNumber + ": " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Return the scenario that is described at the given location.
+	 *
+	 * @param 	url
+	 * 			The location of the description.
+	 * @throws	IOException
+	 * 			The description could not be read.
+	 * @throws	IllegalArgumentException
+	 * 			The description contains an invalid line.
+	 */
+	public static Scenario load(URL url) throws IOException, IllegalArgumentException
+	{
+		return new Scenario(read(url), url);
+	}
+
+	private final URL base;
+	private double width = 1000;
+	private double height = 1000;
+	private int ticks = 600;
+	private double step = FixedStepSimulator.DEFAULT_STEP;
+	private long seed = 0;
+	private String broadPhase = "hash";
+	private final List<double[]> ships = new ArrayList<double[]>();
+	private final List<String> shipPrograms = new ArrayList<String>();
+	private final List<double[]> asteroids = new ArrayList<double[]>();
+	private final List<double[]> fields = new ArrayList<double[]>();
+
+	public double getWidth()
+	{
+		return this.width;
+	}
+
+	public double getHeight()
+	{
+		return this.height;
+	}
+
+	public int getTicks()
+	{
+		return this.ticks;
+	}
+
+	/**
+	 * Set the number of ticks of this scenario, overriding its description.
+	 *
+	 * @param 	ticks
+	 * @throws	IllegalArgumentException
+	 * 			| ticks < 0
+	 */
+	public void setTicks(int ticks) throws IllegalArgumentException
+	{
+		if(ticks < 0)
+			throw new IllegalArgumentException("negative number of ticks");
+		this.ticks = ticks;
+	}
+
+	public double getStep()
+	{
+		return this.step;
+	}
+
+	public long getSeed()
+	{
+		return this.seed;
+	}
+
+	private void parseLine(String[] words) throws IllegalArgumentException, NumberFormatException
+	{
+		String keyword = words[0];
+		if(keyword.equals("world"))
+		{
+			checkArguments(words, 2, 2);
+			this.width = Double.parseDouble(words[1]);
+			this.height = Double.parseDouble(words[2]);
+		}
+		else if(keyword.equals("ticks"))
+		{
+			checkArguments(words, 1, 1);
+			this.setTicks(Integer.parseInt(words[1]));
+		}
+		else if(keyword.equals("step"))
+		{
+			checkArguments(words, 1, 1);
+			this.step = Double.parseDouble(words[1]);
+			if(!FixedStepSimulator.isValidStep(this.step))
+				throw new IllegalArgumentException("invalid step " + words[1]);
+		}
+		else if(keyword.equals("seed"))
+		{
+			checkArguments(words, 1, 1);
+			this.seed = Long.parseLong(words[1]);
+		}
+		else if(keyword.equals("broadphase"))
+		{
+			checkArguments(words, 1, 1);
+			createBroadPhase(words[1]);
+			this.broadPhase = words[1];
+		}
+		else if(keyword.equals("ship"))
+		{
+			checkArguments(words, 7, 8);
+			this.ships.add(parseNumbers(words, 7));
+			this.shipPrograms.add(words.length > 8 ? words[8] : null);
+		}
+		else if(keyword.equals("asteroid"))
+		{
+			checkArguments(words, 5, 5);
+			this.asteroids.add(parseNumbers(words, 5));
+		}
+		else if(keyword.equals("field"))
+		{
+			checkArguments(words, 3, 3);
+			this.fields.add(parseNumbers(words, 3));
+		}
+		else
+			throw new IllegalArgumentException("unknown instruction " + keyword);
+	}
+
+	private static void checkArguments(String[] words, int min, int max) throws IllegalArgumentException
+	{
+		if(words.length - 1 < min || words.length - 1 > max)
+			throw new IllegalArgumentException("wrong number of arguments for " + words[0]);
+	}
+
+	private static double[] parseNumbers(String[] words, int count) throws NumberFormatException
+	{
+		double[] numbers = new double[count];
+		for(int i = 0; i < count; i++)
+			numbers[i] = Double.parseDouble(words[i + 1]);
+		return numbers;
+	}
+
+	/**
+	 * Return a new broad phase of the given kind.
+	 */
+	private static BroadPhase createBroadPhase(String kind) throws IllegalArgumentException
+	{
+		if(kind.equals("hash"))
+			return new SpatialHashBroadPhase();
+		if(kind.equals("sweep"))
+			return new SweepAndPruneBroadPhase();
+		if(kind.equals("exhaustive"))
+			return new ExhaustiveBroadPhase();
+		throw new IllegalArgumentException("unknown broad phase " + kind);
+	}
+
+	/**
+	 * Return a new world with the objects of this scenario, built through the given facade.
+	 * All the objects fly into the world at once, and every ship with a program gets a program of its own.
+	 *
+	 * @param 	facade
+	 * 			The facade that creates the world and its objects.
+	 * @param 	aiProgram
+	 * 			The location of the program for the ships with "ai" as program.
+	 * @throws	IOException
+	 * 			A program could not be read.
+	 * @throws	IllegalArgumentException
+	 * 			A program could not be parsed or type checked, or the objects do not fit in the world.
+	 */
+	public World createWorld(Facade facade, URL aiProgram) throws IOException, IllegalArgumentException
+	{
+		World world = facade.createWorld(this.width, this.height);
+		world.setBroadPhase(createBroadPhase(this.broadPhase));
+
+		List<SpaceObject> spaceObjects = new ArrayList<SpaceObject>();
+		List<Ship> ships = new ArrayList<Ship>();
+		for(double[] ship: this.ships)
+			ships.add(facade.createShip(ship[0], ship[1], ship[2], ship[3], ship[4], ship[5], ship[6]));
+		spaceObjects.addAll(ships);
+		for(double[] asteroid: this.asteroids)
+			spaceObjects.add(facade.createAsteroid(asteroid[0], asteroid[1], asteroid[2], asteroid[3], asteroid[4]));
+
+		spaceObjects.addAll(this.createFields(facade, spaceObjects));
+		facade.addSpaceObjects(world, spaceObjects);
+
+		Map<URL, String> texts = new HashMap<URL, String>();
+		for(int i = 0; i < ships.size(); i++)
+		{
+			String path = this.shipPrograms.get(i);
+			if(path == null)
+				continue;
+			URL url = path.equals("ai") ? aiProgram : new URL(this.base, path);
+			if(!texts.containsKey(url))
+				texts.put(url, read(url));
+			facade.setShipProgram(ships.get(i), parseProgram(facade, texts.get(url), url));
+		}
+		return world;
+	}
+
+	/**
+	 * Return the asteroids of the fields of this scenario on free cells of a grid that covers the world of this scenario.
+	 * The cells are four times as wide as the largest radius of the fields, so every cell holds one asteroid.
+	 * A cell is free if it does not overlap with one of the given space objects.
+	 */
+	private List<Asteroid> createFields(Facade facade, List<SpaceObject> spaceObjects) throws IllegalArgumentException
+	{
+		List<Asteroid> asteroids = new ArrayList<Asteroid>();
+		if(this.fields.isEmpty())
+			return asteroids;
+
+		double spacing = 0;
+		int count = 0;
+		for(double[] field: this.fields)
+		{
+			spacing = Math.max(spacing, 4 * field[1]);
+			count += (int) field[0];
+		}
+		int columns = (int) (this.width / spacing);
+		int rows = (int) (this.height / spacing);
+		List<Integer> cells = new ArrayList<Integer>();
+		for(int cell = 0; cell < columns * rows; cell++)
+		{
+			double x = (cell % columns + 0.5) * spacing;
+			double y = (cell / columns + 0.5) * spacing;
+			boolean isFree = true;
+			for(SpaceObject spaceObject: spaceObjects)
+			{
+				if(Math.hypot(spaceObject.getX() - x, spaceObject.getY() - y) < spaceObject.getRadius() + spacing / 2)
+				{
+					isFree = false;
+					break;
+				}
+			}
+			if(isFree)
+				cells.add(cell);
+		}
+		if(cells.size() < count)
+			throw new IllegalArgumentException("fields of " + count + " asteroids do not fit in the world");
+
+		Random random = new Random(this.seed);
+		Collections.shuffle(cells, random);
+		int next = 0;
+		for(double[] field: this.fields)
+		{
+			for(int i = 0; i < (int) field[0]; i++)
+			{
+				int cell = cells.get(next++);
+				double angle = random.nextDouble() * 2 * Math.PI;
+				asteroids.add(facade.createAsteroid((cell % columns + 0.5) * spacing, (cell / columns + 0.5) * spacing,
+						field[2] * Math.cos(angle), field[2] * Math.sin(angle), field[1], random));
+			}
+		}
+		return asteroids;
+	}
+
+	private static Program parseProgram(Facade facade, String text, URL url) throws IllegalArgumentException
+	{
+		ParseOutcome<Program> parseOutcome = facade.parseProgram(text);
+		if(!parseOutcome.isSuccessful())
+			throw new IllegalArgumentException(url + ": " + parseOutcome.getMessage());
+		Program program = parseOutcome.getProgram();
+		if(facade.isTypeCheckingSupported())
+		{
+			TypeCheckOutcome typeCheckOutcome = facade.typeCheckProgram(program);
+			if(!typeCheckOutcome.isSuccessful())
+				throw new IllegalArgumentException(url + ": " + typeCheckOutcome.getMessage());
+		}
+		return program;
+	}
+
+	private static String read(URL url) throws IOException
+	{
+		InputStream stream = url.openStream();
+		try
+		{
+			Scanner scanner = new Scanner(stream, "UTF-8").useDelimiter("\\A");
+			return scanner.hasNext() ? scanner.next() : "";
+		}
+		finally
+		{
+			stream.close();
+		}
+	}
+}
@@ -3,6 +3,7 @@ package asteroids.model;
 import java.util.Random;
 
 import asteroids.Util;
+import asteroids.model.jfr.AsteroidSplitEvent;
 
 /**
  * A class representing an asteroid with a specified position, velocity and radius.
@@ -214,8 +215,11 @@ public class Asteroid extends SpaceObject {
 	 */
 	@Override
 	public void die() throws IllegalStateException{
+		AsteroidSplitEvent event = new AsteroidSplitEvent();
+		event.begin();
 		World currentWorld = this.getWorld();
 		super.die();
+		int nmbOfChildren = 0;
 		
 		if(this.getRadius()>=30 && getRandom() != null){
 			double randomDouble = getRandom().nextDouble();
@@ -244,14 +248,16 @@ public class Asteroid extends SpaceObject {
 					-1*newXVelocity,-1*newYVelocity,this.getRadius()/2,this.getRandom());
 			try{
 				child1.flyIntoWorld(currentWorld);
+				nmbOfChildren++;
 				child2.flyIntoWorld(currentWorld);
+				nmbOfChildren++;
 			}
 			catch(IllegalArgumentException iae){
 				
 			}
 			
 		}
-		
+		event.end(currentWorld, this.getRadius(), nmbOfChildren);
 	}
 
 	/**
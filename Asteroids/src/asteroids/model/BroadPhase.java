@@ -0,0 +1,81 @@
+package asteroids.model;
+
+import java.util.List;
+
+/**
+ * An interface for the broad phase of the collision detection of a world.
+ * A broad phase keeps track of the space objects of a world and returns the collisions
+ * between those space objects that are possible within a given time horizon.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public interface BroadPhase {
+
+	/**
+	 * Start tracking the given space object.
+	 *
+	 * @param 	spaceObject
+	 * 			The space object to track.
+	 * @throws	IllegalArgumentException
+	 * 			| spaceObject == null
+	 */
+	public void addSpaceObject(SpaceObject spaceObject) throws IllegalArgumentException;
+
+	/**
+	 * Stop tracking the given space object.
+	 * Nothing happens if the given space object is not tracked by this broad phase.
+	 *
+	 * @param 	spaceObject
+	 * 			The space object to stop tracking.
+	 */
+	public void removeSpaceObject(SpaceObject spaceObject);
+
+	/**
+	 * Return the collisions between the tracked space objects that can happen within the given horizon.
+	 *
+	 * @param 	horizon
+	 * 			The time span in which the returned collisions can happen.
+	 * @return	...
+	 * 			| for each collision in result:
+	 * 			|	collision.getObject2() != null
+	 * @return	Every collision between two tracked objects that happens within the horizon is in the result.
+	 * 			| for each collision between two tracked objects:
+	 * 			|	if(collision.getTimeToCollision() <= horizon)
+	 * 			|		then result.contains(collision)
+	 */
+	public List<Collision> getCandidateCollisions(double horizon);
+
+	/**
+	 * Return the collisions between the given space object and the other tracked space objects
+	 * that can happen within the given horizon.
+	 * A broad phase may assume that the other space objects still move as they did at the last query of all
+	 * candidate collisions, except for the space objects whose collisions were queried since, and that the
+	 * given horizon does not reach beyond the horizon of that query, as in the collision queue of a world.
+	 *
+	 * @param 	spaceObject
+	 * 			The space object whose collisions are returned.
+	 * @param 	horizon
+	 * 			The time span in which the returned collisions can happen.
+	 * @return	...
+	 * 			| for each collision in result:
+	 * 			|	collision.contains(spaceObject) && collision.getObject2() != null
+	 * @return	...
+	 * 			| for each collision in this.getCandidateCollisions(horizon):
+	 * 			|	if(collision.contains(spaceObject))
+	 * 			|		then result.contains(collision)
+	 */
+	public List<Collision> getCandidateCollisions(SpaceObject spaceObject, double horizon);
+
+	/**
+	 * Return the number of collisions that this broad phase keeps in memory between queries.
+	 * This number shows how the memory of the collision detection grows with the number of tracked space objects.
+	 *
+	 * @return	...
+	 * 			| result >= 0
+	 */
+	public int getNmbOfCollisions();
+}
@@ -1,6 +1,7 @@
 package asteroids.model;
  
 import asteroids.Util;
+import asteroids.model.jfr.CollisionExecutionEvent;
 import be.kuleuven.cs.som.annotate.*;
 
 /**
@@ -293,38 +294,91 @@ public class Collision {
 	 */
 	public double getTimeToCollisionWithObject()
 	{
-		double dt;
+		WorldState storage = getObject1().getStorage();
+		if(storage != null && storage == getObject2().getStorage())
+			return storage.getTimeToCollision(getObject1().getHandle(), getObject2().getHandle());
 		
-		Vector dv = Vector.subtraction(getObject1().getVelocity(), getObject2().getVelocity());
-		Vector dr = Vector.subtraction(getObject1().getPosition(), getObject2().getPosition());
-		double dvdr = Vector.dotProduct(dv, dr);
-		double dvdv = Vector.dotProduct(dv, dv);
+		SpaceObject object1 = getObject1();
+		SpaceObject object2 = getObject2();
+		return getTimeToCollision(object1.getX(), object1.getY(), object1.getXVelocity(), object1.getYVelocity(), object1.getRadius(),
+				object2.getX(), object2.getY(), object2.getXVelocity(), object2.getYVelocity(), object2.getRadius());
+	}
+	
+	/**
+	 * Return when two circles with the given positions, velocities and radii will touch.
+	 * Both the prediction of a collision and the world state use this calculation.
+	 * 
+	 * @return	...
+	 * 			| if(Vector.dotProduct(xVelocity1 - xVelocity2, yVelocity1 - yVelocity2, x1 - x2, y1 - y2) >= 0)
+	 * 			|	then result == Double.POSITIVE_INFINITY
+	 */
+	static double getTimeToCollision(double x1, double y1, double xVelocity1, double yVelocity1, double radius1,
+			double x2, double y2, double xVelocity2, double yVelocity2, double radius2)
+	{
+		double dvx = Vector.sumOfComponents(xVelocity1, -xVelocity2);
+		double dvy = Vector.sumOfComponents(yVelocity1, -yVelocity2);
+		double drx = Vector.sumOfComponents(x1, -x2);
+		double dry = Vector.sumOfComponents(y1, -y2);
+		double dvdr = Vector.dotProduct(dvx, dvy, drx, dry);
+		double dvdv = Vector.dotProduct(dvx, dvy, dvx, dvy);
 		double d1 = Vector.multiplyComponents((dvdr),(dvdr)) ;
-		double sigma = Vector.sumOfComponents(getObject1().getRadius(),getObject2().getRadius());
+		double sigma = Vector.sumOfComponents(radius1, radius2);
 		double sigmaSquare = Vector.multiplyComponents(sigma, sigma);
-		double d2 = Vector.multiplyComponents(dvdv, Vector.sumOfComponents(Vector.dotProduct(dr, dr), -sigmaSquare) );
+		double d2 = Vector.multiplyComponents(dvdv, Vector.sumOfComponents(Vector.dotProduct(drx, dry, drx, dry), -sigmaSquare) );
 		double d = Vector.sumOfComponents(d1, -d2);
-					
+		
 		if(dvdr >= 0 || d <= 0)
+			return Double.POSITIVE_INFINITY;
+		return -(Vector.multiplyComponents(Vector.sumOfComponents(dvdr, Math.sqrt(d)),(1d/(dvdv))));
+	}
+	
+	/**
+	 * Return the time to this collision. The prediction is only calculated again
+	 * when the motion version of one of the objects changed since the last prediction,
+	 * otherwise the time to collision follows from the predicted time and the time of the world.
+	 * The result is the same whether or not the prediction was calculated again.
+	 * 
+	 * @return	...
+	 * 			| if(getObject1().getWorld() != null)
+	 * 			|	then result == (new this).predictedTime - getObject1().getWorld().getTime()
+	 * @effect	...
+	 * 			| if(!isPredictionUpToDate())
+	 * 			|	then calculateTimeToCollision()
+	 * @return	...
+	 * 			| if(getObject1().getWorld() == null)
+	 * 			|	then result == this.timeToCollision
+	 */
+	public double getTimeToCollision() 
+	{
+		if(!isPredictionUpToDate())
 		{
-			dt = Double.POSITIVE_INFINITY;
-		}		
-		else{
-			dt = -(Vector.multiplyComponents(Vector.sumOfComponents(dvdr, Math.sqrt(d)),(1d/(dvdv))));
+			calculateTimeToCollision();
+			if(this.predictionWorld == null)
+				return this.timeToCollision;
 		}
-								
-		return dt;
+		return this.predictedTime - this.predictionWorld.getTime();
 	}
 	
+	private World predictionWorld;
+	private double predictedTime;
+	private long motionVersion1;
+	private long motionVersion2;
+	
 	/**
+	 * Check whether the predicted time of this collision is still up to date.
 	 * 
 	 * @return	...
-	 * 			| result == this.timeToCollision
+	 * 			| result == (this.predictionWorld != null && this.predictionWorld == getObject1().getWorld()
+	 * 			|		&& this.motionVersion1 == getObject1().getMotionVersion()
+	 * 			|		&& (getObject2() == null || this.motionVersion2 == getObject2().getMotionVersion()))
 	 */
-	public double getTimeToCollision() 
+	public boolean isPredictionUpToDate()
 	{
-		calculateTimeToCollision();
-		return this.timeToCollision;		
+		if(this.predictionWorld == null || this.predictionWorld != getObject1().getWorld())
+			return false;
+		if(this.motionVersion1 != getObject1().getMotionVersion())
+			return false;
+		return (getObject2() == null) || (this.motionVersion2 == getObject2().getMotionVersion());
 	}
 	
 	/**
@@ -360,6 +414,10 @@ public class Collision {
 	 * 			|	then setTimeToCollision(getTimeToCollisionWithBorder())
 	 * 			| else
 	 * 			|	then setTimeToCollision(getTimeToCollisionWithObject())
+	 * @post	If the first object is in a world, the predicted time is remembered against the time of that world
+	 * 			together with the motion versions of the objects.
+	 * 			| if(getObject1().getWorld() != null)
+	 * 			|	then (new this).isPredictionUpToDate()
 	 */
 	public void calculateTimeToCollision()
 	{
@@ -371,30 +429,16 @@ public class Collision {
 		{
 			this.setTimeToCollision(getTimeToCollisionWithObject());
 		}
-	}
-	
-	/*public void updateTimeToCollision(double dt)
-	{
-		double newTime = this.getTimeToCollision() - dt;
 		
-		if(Util.fuzzyLessThanOrEqualTo(newTime, 0))
+		this.predictionWorld = getObject1().getWorld();
+		if(this.predictionWorld != null)
 		{
-			this.calculateTimeToCollision();
+			this.predictedTime = this.predictionWorld.getTime() + this.timeToCollision;
+			this.motionVersion1 = getObject1().getMotionVersion();
+			if(getObject2() != null)
+				this.motionVersion2 = getObject2().getMotionVersion();
 		}
-		else if(Ship.class.isInstance(getObject1()) && (((Ship)getObject1()).isThrusterEnabled()))
-		{
-			this.calculateTimeToCollision();
-		}
-		else if(Ship.class.isInstance(getObject2()) && (((Ship)getObject2()).isThrusterEnabled()))
-		{
-			this.calculateTimeToCollision();
-		}
-		else
-		{
-			this.setTimeToCollision(newTime);
-		}
-			
-	}*/
+	}
 	
 	/**
 	 * Return where two spaceObjects will collide.
@@ -421,33 +465,38 @@ public class Collision {
 		}
 		else{
 						
-			Vector newPositionspaceObject1 = new Vector(getObject1().getPosition().getXComp() + getObject1().getXVelocity() * time, getObject1().getPosition().getYComp() + getObject1().getYVelocity() * time);
-			Vector newPositionspaceObject2 = new Vector(getObject2().getPosition().getXComp() + getObject2().getXVelocity() * time, getObject2().getPosition().getYComp() + getObject2().getYVelocity() * time);
-			Vector directionCollision = Vector.subtraction(newPositionspaceObject1, newPositionspaceObject2);
+			SpaceObject object1 = getObject1();
+			SpaceObject object2 = getObject2();
+			double newX1 = object1.getX() + object1.getXVelocity() * time;
+			double newY1 = object1.getY() + object1.getYVelocity() * time;
+			double newX2 = object2.getX() + object2.getXVelocity() * time;
+			double newY2 = object2.getY() + object2.getYVelocity() * time;
+			double directionX = Vector.sumOfComponents(newX1, -newX2);
+			double directionY = Vector.sumOfComponents(newY1, -newY2);
 			
-			double alpha = (Math.atan(Math.abs(directionCollision.getYComp())/Math.abs(directionCollision.getXComp())));
+			double alpha = (Math.atan(Math.abs(directionY)/Math.abs(directionX)));
 			
-			if(directionCollision.getYComp() == 0) {
-				if(Math.signum(directionCollision.getXComp()) < 0)
+			if(directionY == 0) {
+				if(Math.signum(directionX) < 0)
 					alpha = PI;
 				else
 					alpha = 0;
 			}
-			if(directionCollision.getXComp() == 0) {
-				if(Math.signum(directionCollision.getYComp()) < 0)
+			if(directionX == 0) {
+				if(Math.signum(directionY) < 0)
 					alpha = -PI/2;
 				else
 					alpha = PI/2;
 			}
-			if(directionCollision.getXComp() < 0 && directionCollision.getYComp() > 0 )
+			if(directionX < 0 && directionY > 0 )
 				alpha = PI - alpha;
-			if(directionCollision.getXComp() < 0 && directionCollision.getYComp() < 0 )
+			if(directionX < 0 && directionY < 0 )
 				alpha = PI + alpha;
-			if(directionCollision.getXComp() > 0 && directionCollision.getYComp() < 0 )
+			if(directionX > 0 && directionY < 0 )
 				alpha = - alpha;
 			
-			double collisionPositionX = getObject1().getPosition().getXComp() + getObject1().getXVelocity() * time - Math.cos(alpha) * getObject1().getRadius() ;
-			double collisionPositionY = getObject1().getPosition().getYComp() + getObject1().getYVelocity() * time - Math.sin(alpha) * getObject1().getRadius() ;
+			double collisionPositionX = newX1 - Math.cos(alpha) * object1.getRadius() ;
+			double collisionPositionY = newY1 - Math.sin(alpha) * object1.getRadius() ;
 			
 			collision[0] = collisionPositionX; 
 			collision[1] = collisionPositionY; 
@@ -547,23 +596,29 @@ public class Collision {
 	 */
 	public void bounceOff() 
 	{
-		Vector dv = Vector.subtraction(getObject2().getVelocity(), getObject1().getVelocity());
-		Vector dr = Vector.subtraction(getObject2().getPosition(), getObject1().getPosition());
-		double dvdr = Vector.dotProduct(dv, dr);
-		double sigma = Vector.sumOfComponents(getObject1().getRadius(),getObject2().getRadius());
+		SpaceObject object1 = getObject1();
+		SpaceObject object2 = getObject2();
+		double dvx = Vector.sumOfComponents(object2.getXVelocity(), -object1.getXVelocity());
+		double dvy = Vector.sumOfComponents(object2.getYVelocity(), -object1.getYVelocity());
+		double drx = Vector.sumOfComponents(object2.getX(), -object1.getX());
+		double dry = Vector.sumOfComponents(object2.getY(), -object1.getY());
+		double dvdr = Vector.dotProduct(dvx, dvy, drx, dry);
+		double sigma = Vector.sumOfComponents(object1.getRadius(),object2.getRadius());
 		
-		double mi = getObject1().getMass();
-		double mj = getObject2().getMass();
+		double mi = object1.getMass();
+		double mj = object2.getMass();
 		
 		double J = (2*mi*mj*dvdr)/(sigma*(mi+mj));
-		double Jx = (J*dr.getXComp())/sigma;
-		double Jy = (J*dr.getYComp())/sigma; 
+		double Jx = (J*drx)/sigma;
+		double Jy = (J*dry)/sigma; 
 		
-		Vector newVelocityThis = new Vector(getObject1().getVelocity().getXComp() + (Jx/mi), getObject1().getVelocity().getYComp() + (Jy/mi));
-		Vector newVelocityOther = new Vector(getObject2().getVelocity().getXComp() - (Jx/mj), getObject2().getVelocity().getYComp() - (Jy/mj));
+		double newVxThis = object1.getXVelocity() + (Jx/mi);
+		double newVyThis = object1.getYVelocity() + (Jy/mi);
+		double newVxOther = object2.getXVelocity() - (Jx/mj);
+		double newVyOther = object2.getYVelocity() - (Jy/mj);
 		
-		getObject1().setVelocity(newVelocityThis);
-		getObject2().setVelocity(newVelocityOther);
+		object1.setVelocity(newVxThis, newVyThis);
+		object2.setVelocity(newVxOther, newVyOther);
 	}
 	
 	/**
@@ -653,6 +708,9 @@ public class Collision {
 	 */
 	public void execute() 
 	{
+		CollisionExecutionEvent event = new CollisionExecutionEvent();
+		event.begin();
+		World world = getObject1().getWorld();
 		this.nmbOfCollisions ++;
 				
 		if(getObject2()== null )
@@ -663,5 +721,6 @@ public class Collision {
 		{
 			executeWithObject();
 		}				
+		event.end(getObject1(), getObject2(), world);
 	}
 }
@@ -0,0 +1,95 @@
+package asteroids.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class representing a predicted collision at an absolute time of the simulation of a world.
+ * The event remembers the event counts of the objects of its collision at the moment of the prediction,
+ * so the event can be recognized as outdated once one of these objects changed its course.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+@Value
+public class CollisionEvent implements Comparable<CollisionEvent> {
+
+	/**
+	 * Initializes a new collision event.
+	 *
+	 * @param 	collision
+	 * 			The predicted collision.
+	 * @param 	time
+	 * 			The absolute time at which the collision happens.
+	 * @param 	count1
+	 * 			The event count of the first object of the collision at the moment of the prediction.
+	 * @param 	count2
+	 * 			The event count of the second object of the collision at the moment of the prediction.
+	 * @param 	sequence
+	 * 			The sequence number of this event, used to order events that happen at the same time.
+	 * @throws	IllegalArgumentException
+	 * 			| collision == null || Double.isNaN(time)
+	 */
+	public CollisionEvent(Collision collision, double time, int count1, int count2, long sequence) throws IllegalArgumentException
+	{
+		if(collision == null || Double.isNaN(time))
+			throw new IllegalArgumentException();
+		this.collision = collision;
+		this.time = time;
+		this.count1 = count1;
+		this.count2 = count2;
+		this.sequence = sequence;
+	}
+
+	private final Collision collision;
+	private final double time;
+	private final int count1;
+	private final int count2;
+	private final long sequence;
+
+	@Basic @Immutable
+	public Collision getCollision()
+	{
+		return this.collision;
+	}
+
+	@Basic @Immutable
+	public double getTime()
+	{
+		return this.time;
+	}
+
+	@Basic @Immutable
+	public int getCount1()
+	{
+		return this.count1;
+	}
+
+	@Basic @Immutable
+	public int getCount2()
+	{
+		return this.count2;
+	}
+
+	/**
+	 * Compare this event with the given event on their time and, for equal times, on their sequence number.
+	 *
+	 * @param 	other
+	 * 			The event to compare with.
+	 * @return	...
+	 * 			| if(this.getTime() != other.getTime())
+	 * 			|	then result == Double.compare(this.getTime(), other.getTime())
+	 * 			| else
+	 * 			|	then result == Long.compare(this.sequence, other.sequence)
+	 */
+	@Override
+	public int compareTo(CollisionEvent other)
+	{
+		int result = Double.compare(this.getTime(), other.getTime());
+		if(result != 0)
+			return result;
+		return Long.compare(this.sequence, other.sequence);
+	}
+}
@@ -0,0 +1,217 @@
+package asteroids.model;
+
+import java.util.*;
+
+/**
+ * A class representing a set of collisions that is indexed by the space objects involved.
+ * Every collision is stored with each of its space objects, so the collisions of one space object can be found
+ * and removed in a time that depends on the number of collisions of that object, not on the number of collisions
+ * in the index. A collision with the border of a world is stored with its only space object.
+ * The collisions of a space object are kept in the order in which they were added.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class CollisionIndex {
+
+	/**
+	 * Initializes a new empty collision index.
+	 *
+	 * @post	...
+	 * 			| (new this).size() == 0
+	 */
+	public CollisionIndex()
+	{
+	}
+
+	/**
+	 * The collisions of every space object, by the other space object of the collision.
+	 * A collision with the border is stored with null as the other space object.
+	 */
+	private final Map<SpaceObject, Map<SpaceObject, Collision>> adjacency = new LinkedHashMap<SpaceObject, Map<SpaceObject, Collision>>();
+	private int size;
+
+	private static final int INITIAL_PAIRS_CAPACITY = 4;
+
+	/**
+	 * Return the number of collisions in this index.
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * Return the collision in this index between the two given space objects, in either order.
+	 *
+	 * @param 	spaceObject1
+	 * 			One of the space objects of the collision.
+	 * @param 	spaceObject2
+	 * 			The other space object of the collision, or null for the collision of the first space object with the border.
+	 * @return	...
+	 * 			| if(result != null)
+	 * 			|	then result.contains(spaceObject1) && (spaceObject2 == null ? result.getObject2() == null : result.contains(spaceObject2))
+	 */
+	public Collision get(SpaceObject spaceObject1, SpaceObject spaceObject2)
+	{
+		Map<SpaceObject, Collision> pairs = this.adjacency.get(spaceObject1);
+		if(pairs == null)
+			return null;
+		return pairs.get(spaceObject2);
+	}
+
+	/**
+	 * Check whether this index contains the given collision.
+	 *
+	 * @param 	collision
+	 * @return	...
+	 * 			| result == (collision != null && this.get(collision.getObject1(), collision.getObject2()) == collision)
+	 */
+	public boolean contains(Collision collision)
+	{
+		return (collision != null) && (this.get(collision.getObject1(), collision.getObject2()) == collision);
+	}
+
+	/**
+	 * Return the collisions of the given space object in this index, in the order in which they were added.
+	 *
+	 * @param 	spaceObject
+	 * @return	...
+	 * 			| for each collision in result:
+	 * 			|	this.contains(collision) && collision.contains(spaceObject)
+	 */
+	public Collection<Collision> getCollisions(SpaceObject spaceObject)
+	{
+		Map<SpaceObject, Collision> pairs = this.adjacency.get(spaceObject);
+		if(pairs == null)
+			return Collections.emptyList();
+		return Collections.unmodifiableCollection(pairs.values());
+	}
+
+	/**
+	 * Return all collisions in this index, each collision once.
+	 *
+	 * @return	...
+	 * 			| for each collision in result:
+	 * 			|	this.contains(collision)
+	 * @return	...
+	 * 			| result.size() == this.size()
+	 */
+	public List<Collision> getCollisions()
+	{
+		List<Collision> collisions = new ArrayList<Collision>(this.size);
+		for(Map.Entry<SpaceObject, Map<SpaceObject, Collision>> entry: this.adjacency.entrySet())
+		{
+			for(Collision collision: entry.getValue().values())
+			{
+				if(collision.getObject1() == entry.getKey())
+					collisions.add(collision);
+			}
+		}
+		return collisions;
+	}
+
+	/**
+	 * Add the given collision to this index. A collision between the same space objects that was added before is replaced.
+	 *
+	 * @param 	collision
+	 * 			The collision to add.
+	 * @post	...
+	 * 			| (new this).contains(collision)
+	 * @throws	IllegalArgumentException
+	 * 			| collision == null
+	 */
+	public void add(Collision collision) throws IllegalArgumentException
+	{
+		if(collision == null)
+			throw new IllegalArgumentException();
+		SpaceObject object1 = collision.getObject1();
+		SpaceObject object2 = collision.getObject2();
+		if(this.getPairs(object1).put(object2, collision) == null)
+			this.size++;
+		if(object2 != null)
+			this.getPairs(object2).put(object1, collision);
+	}
+
+	/**
+	 * Remove the given collision from this index.
+	 *
+	 * @param 	collision
+	 * 			The collision to remove.
+	 * @return	...
+	 * 			| result == this.contains(collision)
+	 * @post	...
+	 * 			| !(new this).contains(collision)
+	 */
+	public boolean remove(Collision collision)
+	{
+		if(!this.contains(collision))
+			return false;
+		this.removePair(collision.getObject1(), collision.getObject2());
+		if(collision.getObject2() != null)
+			this.removePair(collision.getObject2(), collision.getObject1());
+		this.size--;
+		return true;
+	}
+
+	/**
+	 * Remove all collisions of the given space object from this index.
+	 *
+	 * @param 	spaceObject
+	 * 			The space object whose collisions are removed.
+	 * @return	The removed collisions, in the order in which they were added.
+	 * 			| result.containsAll(this.getCollisions(spaceObject)) && this.getCollisions(spaceObject).containsAll(result)
+	 * @post	...
+	 * 			| (new this).getCollisions(spaceObject).isEmpty()
+	 */
+	public List<Collision> removeAll(SpaceObject spaceObject)
+	{
+		Map<SpaceObject, Collision> pairs = this.adjacency.remove(spaceObject);
+		if(pairs == null)
+			return Collections.emptyList();
+		for(SpaceObject other: pairs.keySet())
+		{
+			if(other != null)
+				this.removePair(other, spaceObject);
+		}
+		this.size -= pairs.size();
+		return new ArrayList<Collision>(pairs.values());
+	}
+
+	/**
+	 * Remove all collisions from this index.
+	 *
+	 * @post	...
+	 * 			| (new this).size() == 0
+	 */
+	public void clear()
+	{
+		this.adjacency.clear();
+		this.size = 0;
+	}
+
+	private Map<SpaceObject, Collision> getPairs(SpaceObject spaceObject)
+	{
+		Map<SpaceObject, Collision> pairs = this.adjacency.get(spaceObject);
+		if(pairs == null)
+		{
+			// Most space objects only have a few collisions at a time.
+			pairs = new LinkedHashMap<SpaceObject, Collision>(INITIAL_PAIRS_CAPACITY);
+			this.adjacency.put(spaceObject, pairs);
+		}
+		return pairs;
+	}
+
+	private void removePair(SpaceObject spaceObject, SpaceObject other)
+	{
+		Map<SpaceObject, Collision> pairs = this.adjacency.get(spaceObject);
+		if(pairs == null)
+			return;
+		pairs.remove(other);
+		if(pairs.isEmpty())
+			this.adjacency.remove(spaceObject);
+	}
+}
@@ -0,0 +1,187 @@
+package asteroids.model;
+
+import java.util.*;
+
+import asteroids.Util;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class representing a priority queue of predicted collisions, ordered by the absolute time
+ * at which they happen. Every space object has an event count that is increased when the object
+ * changes its course; events that were predicted with an older count are discarded lazily.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class CollisionQueue {
+
+	/**
+	 * Initializes a new empty collision queue.
+	 *
+	 * @post	...
+	 * 			| !(new this).isBuiltUntil(0)
+	 */
+	public CollisionQueue()
+	{
+		this.end = Double.NaN;
+	}
+
+	private final PriorityQueue<CollisionEvent> events = new PriorityQueue<CollisionEvent>();
+	private final Map<SpaceObject, Integer> eventCounts = new HashMap<SpaceObject, Integer>();
+	private long sequence;
+	private double end;
+
+	/**
+	 * Return the absolute time until which this queue contains every predicted collision.
+	 *
+	 * @return	...
+	 * 			| this.end
+	 */
+	@Basic
+	public double getEnd()
+	{
+		return this.end;
+	}
+
+	/**
+	 *
+	 * @param 	end
+	 * @post	...
+	 * 			| (new this).getEnd() == end
+	 * @throws	IllegalArgumentException
+	 * 			| Double.isNaN(end)
+	 */
+	public void setEnd(double end) throws IllegalArgumentException
+	{
+		if(Double.isNaN(end))
+			throw new IllegalArgumentException();
+		this.end = end;
+	}
+
+	/**
+	 * Check whether this queue contains every predicted collision up to the given absolute time.
+	 *
+	 * @param 	time
+	 * @return	...
+	 * 			| result == ( !Double.isNaN(getEnd()) && Util.fuzzyLessThanOrEqualTo(time, getEnd()) )
+	 */
+	public boolean isBuiltUntil(double time)
+	{
+		if(Double.isNaN(this.getEnd()))
+			return false;
+		return (time == this.getEnd()) || Util.fuzzyLessThanOrEqualTo(time, this.getEnd());
+	}
+
+	/**
+	 * Remove all events and event counts from this queue.
+	 *
+	 * @post	...
+	 * 			| (new this).size() == 0
+	 * @post	...
+	 * 			| !(new this).isBuiltUntil(0)
+	 */
+	public void clear()
+	{
+		this.events.clear();
+		this.eventCounts.clear();
+		this.end = Double.NaN;
+	}
+
+	/**
+	 * Return the number of events in this queue, including outdated events.
+	 */
+	public int size()
+	{
+		return this.events.size();
+	}
+
+	/**
+	 * Return the event count of the given space object.
+	 *
+	 * @param 	spaceObject
+	 * @return	...
+	 * 			| if(spaceObject == null)
+	 * 			|	then result == 0
+	 */
+	public int getEventCount(SpaceObject spaceObject)
+	{
+		if(spaceObject == null)
+			return 0;
+		Integer count = this.eventCounts.get(spaceObject);
+		if(count == null)
+			return 0;
+		return count;
+	}
+
+	/**
+	 * Mark all events of the given space object as outdated.
+	 *
+	 * @param 	spaceObject
+	 * @post	...
+	 * 			| (new this).getEventCount(spaceObject) == this.getEventCount(spaceObject) + 1
+	 */
+	public void invalidate(SpaceObject spaceObject)
+	{
+		if(spaceObject != null)
+			this.eventCounts.put(spaceObject, this.getEventCount(spaceObject) + 1);
+	}
+
+	/**
+	 * Predict the given collision and add it to this queue.
+	 *
+	 * @param 	collision
+	 * 			The collision to predict.
+	 * @param 	now
+	 * 			The current absolute time.
+	 * @effect	...
+	 * 			| if(!Double.isInfinite(collision.getTimeToCollision()) && !Double.isNaN(collision.getTimeToCollision()))
+	 * 			|	then this.events.add(new CollisionEvent(collision, now + collision.getTimeToCollision(),
+	 * 			|		getEventCount(collision.getObject1()), getEventCount(collision.getObject2()), sequence))
+	 */
+	public void schedule(Collision collision, double now)
+	{
+		double timeToCollision = collision.getTimeToCollision();
+		if(Double.isInfinite(timeToCollision) || Double.isNaN(timeToCollision))
+			return;
+		this.events.add(new CollisionEvent(collision, now + timeToCollision, getEventCount(collision.getObject1()),
+				getEventCount(collision.getObject2()), this.sequence++));
+	}
+
+	/**
+	 * Check whether the given event is still up to date.
+	 *
+	 * @param 	event
+	 * @return	...
+	 * 			| result == (event.getCount1() == getEventCount(event.getCollision().getObject1()))
+	 * 			|		&& (event.getCount2() == getEventCount(event.getCollision().getObject2()))
+	 */
+	public boolean isValidEvent(CollisionEvent event)
+	{
+		return (event.getCount1() == getEventCount(event.getCollision().getObject1()))
+				&& (event.getCount2() == getEventCount(event.getCollision().getObject2()));
+	}
+
+	/**
+	 * Return the first event of this queue that is up to date, and discard all outdated events before it.
+	 *
+	 * @return	...
+	 * 			| if(result != null)
+	 * 			|	then isValidEvent(result)
+	 * 			|		&& for each event in this.events:
+	 * 			|			if(isValidEvent(event))
+	 * 			|				then event.compareTo(result) >= 0
+	 */
+	public CollisionEvent peek()
+	{
+		CollisionEvent event = this.events.peek();
+		while(event != null && !isValidEvent(event))
+		{
+			this.events.poll();
+			event = this.events.peek();
+		}
+		return event;
+	}
+}
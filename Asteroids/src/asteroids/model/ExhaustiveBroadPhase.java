@@ -0,0 +1,94 @@
+package asteroids.model;
+
+import java.util.*;
+
+/**
+ * A broad phase that keeps a collision for every valid pair of tracked space objects.
+ * This broad phase ignores the horizon and serves as the reference to verify other broad phases.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class ExhaustiveBroadPhase implements BroadPhase {
+
+	private final Set<SpaceObject> spaceObjects = new LinkedHashSet<SpaceObject>();
+	private final CollisionIndex collisions = new CollisionIndex();
+
+	/**
+	 * @param 	spaceObject
+	 * @effect	...
+	 * 			| for each object in this.spaceObjects:
+	 * 			|	if(new Collision(spaceObject, object).areValidObjects(spaceObject, object))
+	 * 			|		then this.collisions.add(new Collision(spaceObject, object))
+	 * @throws	IllegalArgumentException
+	 * 			| spaceObject == null
+	 */
+	@Override
+	public void addSpaceObject(SpaceObject spaceObject) throws IllegalArgumentException
+	{
+		if(spaceObject == null)
+			throw new IllegalArgumentException();
+
+		for(SpaceObject object: this.spaceObjects)
+		{
+			try
+			{
+				this.collisions.add(new Collision(spaceObject, object));
+			}
+			catch(IllegalArgumentException iae) // !collision.areValidObjects(spaceObject, object)
+			{}
+		}
+		this.spaceObjects.add(spaceObject);
+	}
+
+	/**
+	 * @param 	spaceObject
+	 * @post	...
+	 * 			| for each collision in (new this).getCandidateCollisions(Double.POSITIVE_INFINITY):
+	 * 			|	!collision.contains(spaceObject)
+	 */
+	@Override
+	public void removeSpaceObject(SpaceObject spaceObject)
+	{
+		if(!this.spaceObjects.remove(spaceObject))
+			return;
+
+		this.collisions.removeAll(spaceObject);
+	}
+
+	/**
+	 * @param 	horizon
+	 * @return	...
+	 * 			| result.equals(this.collisions.getCollisions())
+	 */
+	@Override
+	public List<Collision> getCandidateCollisions(double horizon)
+	{
+		return this.collisions.getCollisions();
+	}
+
+	/**
+	 * @param 	spaceObject
+	 * @param 	horizon
+	 * @return	...
+	 * 			| result.equals(this.collisions.getCollisions(spaceObject))
+	 */
+	@Override
+	public List<Collision> getCandidateCollisions(SpaceObject spaceObject, double horizon)
+	{
+		return new ArrayList<Collision>(this.collisions.getCollisions(spaceObject));
+	}
+
+	/**
+	 * @return	...
+	 * 			| result == this.collisions.size()
+	 */
+	@Override
+	public int getNmbOfCollisions()
+	{
+		return this.collisions.size();
+	}
+}
@@ -102,8 +102,7 @@ public class Facade implements IFacade<World,Ship,Asteroid,Bullet,Program> {
 	@Override
 	public Set<Ship> getShips(World world) {
 		try{
-			Set<Ship> objects = (Set<Ship>) world.getObjects(Ship.class);
-			return new HashSet<Ship>(objects);
+			return (Set<Ship>) world.getObjects(Ship.class);
 		}
 		catch(Exception e)
 		{
@@ -116,8 +115,7 @@ public class Facade implements IFacade<World,Ship,Asteroid,Bullet,Program> {
 	@Override
 	public Set<Asteroid> getAsteroids(World world) {
 		try{
-			Set<Asteroid> objects = (Set<Asteroid>) world.getObjects(Asteroid.class);
-			return new HashSet<Asteroid>(objects);
+			return (Set<Asteroid>) world.getObjects(Asteroid.class);
 		}
 		catch(Exception e)
 		{
@@ -129,8 +127,7 @@ public class Facade implements IFacade<World,Ship,Asteroid,Bullet,Program> {
 	@Override
 	public Set<Bullet> getBullets(World world) {
 		try{
-			Set<Bullet> objects = (Set<Bullet>) world.getObjects(Bullet.class);
-			return new HashSet<Bullet>(objects);
+			return (Set<Bullet>) world.getObjects(Bullet.class);
 		}
 		catch(Exception e)
 		{
@@ -158,6 +155,20 @@ public class Facade implements IFacade<World,Ship,Asteroid,Bullet,Program> {
 		}
 	}
 
+	/**
+	 * Let all the given ships, asteroids and bullets fly into the given world at once.
+	 * 
+	 * @see World#addAll(Collection)
+	 */
+	public void addSpaceObjects(World world, Collection<? extends SpaceObject> spaceObjects) throws ModelException{
+		try{
+			world.addAll(spaceObjects);
+		}
+		catch(Exception e){
+			throw new ModelException(e);
+		}
+	}
+
 	@Override
 	public void removeShip(World world, Ship ship) throws ModelException{
 		try{
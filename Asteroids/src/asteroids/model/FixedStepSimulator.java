@@ -0,0 +1,238 @@
+package asteroids.model;
+
+import asteroids.CollisionListener;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class for advancing a world in steps of a constant duration, independent of how much time elapses between two calls.
+ * The elapsed time is collected in an accumulator, and the world evolves one step for every full step in the accumulator.
+ * At most the maximum number of substeps is taken per call; when the simulation falls further behind, the rest of the
+ * elapsed time is dropped, so a slow frame never makes the next frame slower.
+ * The part of a step that is left in the accumulator is exposed as an interpolation alpha for rendering.
+ *
+ * @invar	The step of this simulator is always a valid step.
+ * 			| isValidStep(getStep())
+ * @invar	The maximum number of substeps of this simulator is always a valid maximum number of substeps.
+ * 			| isValidMaxSubsteps(getMaxSubsteps())
+ * @invar	The accumulator of this simulator is never negative and always smaller than the step.
+ * 			| 0 <= getAccumulator() && getAccumulator() < getStep()
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class FixedStepSimulator {
+
+	/**
+	 * The step used by a new simulator when no step is given, in seconds.
+	 */
+	public static final double DEFAULT_STEP = 1d / 60;
+
+	/**
+	 * The maximum number of substeps used by a new simulator when none is given.
+	 */
+	public static final int DEFAULT_MAX_SUBSTEPS = 8;
+
+	/**
+	 * Initializes a new simulator for the given world with the default step and maximum number of substeps.
+	 *
+	 * @param 	world
+	 * 			The world to advance.
+	 * @effect	...
+	 * 			| this(world, DEFAULT_STEP, DEFAULT_MAX_SUBSTEPS)
+	 */
+	public FixedStepSimulator(World world) throws IllegalArgumentException
+	{
+		this(world, DEFAULT_STEP, DEFAULT_MAX_SUBSTEPS);
+	}
+
+	/**
+	 * Initializes a new simulator for the given world.
+	 *
+	 * @param 	world
+	 * 			The world to advance.
+	 * @param 	step
+	 * 			The duration of one step, in seconds.
+	 * @param 	maxSubsteps
+	 * 			The maximum number of steps taken per call of advance.
+	 * @post	...
+	 * 			| (new this).getWorld() == world
+	 * @post	...
+	 * 			| (new this).getStep() == step
+	 * @post	...
+	 * 			| (new this).getMaxSubsteps() == maxSubsteps
+	 * @post	...
+	 * 			| (new this).getAccumulator() == 0 && (new this).getStepCount() == 0
+	 * @throws	IllegalArgumentException
+	 * 			| world == null || !isValidStep(step) || !isValidMaxSubsteps(maxSubsteps)
+	 */
+	public FixedStepSimulator(World world, double step, int maxSubsteps) throws IllegalArgumentException
+	{
+		if(world == null || !isValidStep(step) || !isValidMaxSubsteps(maxSubsteps))
+			throw new IllegalArgumentException();
+		this.world = world;
+		this.step = step;
+		this.maxSubsteps = maxSubsteps;
+	}
+
+	private final World world;
+	private final double step;
+	private final int maxSubsteps;
+	private double accumulator;
+	private long stepCount;
+	private double droppedTime;
+
+	/**
+	 *
+	 * @return	...
+	 * 			| this.world
+	 */
+	@Basic @Immutable
+	public World getWorld()
+	{
+		return this.world;
+	}
+
+	/**
+	 *
+	 * @return	...
+	 * 			| this.step
+	 */
+	@Basic @Immutable
+	public double getStep()
+	{
+		return this.step;
+	}
+
+	/**
+	 *
+	 * @param 	step
+	 * @return	...
+	 * 			| result == (!Double.isNaN(step) && !Double.isInfinite(step) && step > 0)
+	 */
+	public static boolean isValidStep(double step)
+	{
+		return !Double.isNaN(step) && !Double.isInfinite(step) && step > 0;
+	}
+
+	/**
+	 *
+	 * @return	...
+	 * 			| this.maxSubsteps
+	 */
+	@Basic @Immutable
+	public int getMaxSubsteps()
+	{
+		return this.maxSubsteps;
+	}
+
+	/**
+	 *
+	 * @param 	maxSubsteps
+	 * @return	...
+	 * 			| result == (maxSubsteps >= 1)
+	 */
+	public static boolean isValidMaxSubsteps(int maxSubsteps)
+	{
+		return maxSubsteps >= 1;
+	}
+
+	/**
+	 * Return the elapsed time that is not yet simulated, in seconds.
+	 */
+	@Basic
+	public double getAccumulator()
+	{
+		return this.accumulator;
+	}
+
+	/**
+	 * Return the number of steps this simulator has taken.
+	 * The simulated time is this number of steps times the step.
+	 */
+	@Basic
+	public long getStepCount()
+	{
+		return this.stepCount;
+	}
+
+	/**
+	 * Return the elapsed time that was dropped because more steps were needed than the maximum number of substeps, in seconds.
+	 */
+	@Basic
+	public double getDroppedTime()
+	{
+		return this.droppedTime;
+	}
+
+	/**
+	 * Return how far the elapsed time has progressed into the next step.
+	 * A renderer can use it to interpolate between the previous and the current state of the world.
+	 *
+	 * @return	...
+	 * 			| result == getAccumulator() / getStep()
+	 */
+	public double getAlpha()
+	{
+		return this.getAccumulator() / this.getStep();
+	}
+
+	/**
+	 * Advance the world of this simulator by the given elapsed time, in steps of the step of this simulator.
+	 *
+	 * @param 	elapsed
+	 * 			The time that elapsed since the last call, in seconds.
+	 * @param 	collisionListener
+	 * 			The listener that is notified of the collisions, or null.
+	 * @return	The number of steps taken, which is at most the maximum number of substeps.
+	 * 			| result == min(getMaxSubsteps(), floor((getAccumulator() + elapsed) / getStep()))
+	 * @effect	...
+	 * 			| for each of the result steps:
+	 * 			|	this.step(collisionListener)
+	 * @post	The time that is not simulated stays in the accumulator, except for the full steps beyond the maximum 
+	 * 			number of substeps, which are dropped.
+	 * 			| (new this).getAccumulator() == ((getAccumulator() + elapsed) - result * getStep()) % getStep()
+	 * 			| (new this).getDroppedTime() == getDroppedTime() + (getAccumulator() + elapsed) - result * getStep() 
+	 * 			|									- (new this).getAccumulator()
+	 * @throws	IllegalArgumentException
+	 * 			| Double.isNaN(elapsed) || Double.isInfinite(elapsed) || elapsed < 0
+	 */
+	public int advance(double elapsed, CollisionListener collisionListener) throws IllegalArgumentException
+	{
+		if(Double.isNaN(elapsed) || Double.isInfinite(elapsed) || elapsed < 0)
+			throw new IllegalArgumentException();
+
+		this.accumulator += elapsed;
+		int steps = 0;
+		while(this.accumulator >= this.getStep() && steps < this.getMaxSubsteps())
+		{
+			this.step(collisionListener);
+			this.accumulator -= this.getStep();
+			steps++;
+		}
+		if(this.accumulator >= this.getStep())
+		{
+			double kept = this.accumulator % this.getStep();
+			this.droppedTime += this.accumulator - kept;
+			this.accumulator = kept;
+		}
+		return steps;
+	}
+
+	/**
+	 * Let the world of this simulator evolve exactly one step, regardless of the accumulator.
+	 *
+	 * @param 	collisionListener
+	 * 			The listener that is notified of the collisions, or null.
+	 * @effect	...
+	 * 			| getWorld().evolve(getStep(), collisionListener)
+	 * @post	...
+	 * 			| (new this).getStepCount() == this.getStepCount() + 1
+	 */
+	public void step(CollisionListener collisionListener)
+	{
+		this.getWorld().evolve(this.getStep(), collisionListener);
+		this.stepCount++;
+	}
+}
@@ -0,0 +1,122 @@
+package asteroids.model;
+
+import java.util.*;
+
+/**
+ * A class representing a collision queue that a world keeps from one step to the next.
+ * The predicted collisions in the queue are certificates: they stay correct as long as the objects involved
+ * fly in a straight line. The queue therefore remembers which space objects changed their trajectory
+ * since their collisions were last predicted, such as objects that bounced, ships that thrust or objects
+ * whose position or velocity was set. Only the collisions of these objects have to be predicted again
+ * before the world evolves further.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class KineticCollisionQueue extends CollisionQueue {
+
+	/**
+	 * Initializes a new empty kinetic collision queue.
+	 *
+	 * @effect	...
+	 * 			| super()
+	 * @post	...
+	 * 			| !(new this).hasChangedObjects()
+	 */
+	public KineticCollisionQueue()
+	{
+		super();
+	}
+
+	private final Set<SpaceObject> changedObjects = new LinkedHashSet<SpaceObject>();
+
+	/**
+	 * Check whether the given space object changed its trajectory since its collisions were last predicted.
+	 *
+	 * @param 	spaceObject
+	 * @return	...
+	 * 			| result == this.changedObjects.contains(spaceObject)
+	 */
+	public synchronized boolean isChanged(SpaceObject spaceObject)
+	{
+		return this.changedObjects.contains(spaceObject);
+	}
+
+	/**
+	 * Check whether some space object changed its trajectory since its collisions were last predicted.
+	 *
+	 * @return	...
+	 * 			| result == !this.changedObjects.isEmpty()
+	 */
+	public synchronized boolean hasChangedObjects()
+	{
+		return !this.changedObjects.isEmpty();
+	}
+
+	/**
+	 * Remember that the given space object changed its trajectory.
+	 * Ships can thrust in parallel, so this method can be called from several threads at once.
+	 *
+	 * @param 	spaceObject
+	 * @post	...
+	 * 			| if(spaceObject != null)
+	 * 			|	then (new this).isChanged(spaceObject)
+	 */
+	public synchronized void markChanged(SpaceObject spaceObject)
+	{
+		if(spaceObject != null)
+			this.changedObjects.add(spaceObject);
+	}
+
+	/**
+	 * Return the space objects that changed their trajectory, in the order in which they first changed,
+	 * and forget them.
+	 *
+	 * @return	...
+	 * 			| result.containsAll(this.changedObjects) && this.changedObjects.containsAll(result)
+	 * @post	...
+	 * 			| !(new this).hasChangedObjects()
+	 */
+	public synchronized List<SpaceObject> takeChangedObjects()
+	{
+		List<SpaceObject> result = new ArrayList<SpaceObject>(this.changedObjects);
+		this.changedObjects.clear();
+		return result;
+	}
+
+	/**
+	 * Mark all events of the given space object as outdated. The collisions of the given space object
+	 * are about to be predicted again, so it no longer counts as changed.
+	 *
+	 * @param 	spaceObject
+	 * @effect	...
+	 * 			| super.invalidate(spaceObject)
+	 * @post	...
+	 * 			| !(new this).isChanged(spaceObject)
+	 */
+	@Override
+	public synchronized void invalidate(SpaceObject spaceObject)
+	{
+		super.invalidate(spaceObject);
+		this.changedObjects.remove(spaceObject);
+	}
+
+	/**
+	 * Remove all events, event counts and changed space objects from this queue.
+	 * When the queue is built again, every collision is predicted again.
+	 *
+	 * @effect	...
+	 * 			| super.clear()
+	 * @post	...
+	 * 			| !(new this).hasChangedObjects()
+	 */
+	@Override
+	public synchronized void clear()
+	{
+		super.clear();
+		this.changedObjects.clear();
+	}
+}
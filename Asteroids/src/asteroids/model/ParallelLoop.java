@@ -0,0 +1,96 @@
+package asteroids.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A class for running the iterations of a loop over a range of indices on the common fork/join pool.
+ * The range is split in halves until the parts are smaller than the given grain.
+ * The iterations must be independent of each other, so the result does not depend on the order in which they run.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class ParallelLoop {
+
+	/**
+	 * The body of a loop, run for a part of the range of the loop.
+	 */
+	@FunctionalInterface
+	public interface Body {
+
+		/**
+		 * Run the iterations from the given index up to, but not including, the given end index.
+		 *
+		 * @param 	from
+		 * @param 	to
+		 */
+		public void run(int from, int to);
+	}
+
+	/**
+	 * Return the number of threads that run the parallel loops.
+	 */
+	public static int getParallelism()
+	{
+		return ForkJoinPool.getCommonPoolParallelism();
+	}
+
+	/**
+	 * Run the given body for every index from 0 up to the given size.
+	 *
+	 * @param 	size
+	 * 			The number of iterations.
+	 * @param 	grain
+	 * 			The maximum number of iterations that are run by one task.
+	 * @param 	body
+	 * 			The body of the loop.
+	 * @effect	...
+	 * 			| body.run(0, size)
+	 * @throws	IllegalArgumentException
+	 * 			| size < 0 || grain < 1 || body == null
+	 */
+	public static void forEach(int size, int grain, Body body) throws IllegalArgumentException
+	{
+		if(size < 0 || grain < 1 || body == null)
+			throw new IllegalArgumentException();
+		if(size <= grain)
+			body.run(0, size);
+		else
+			ForkJoinPool.commonPool().invoke(new RangeAction(body, 0, size, grain));
+	}
+
+	private static class RangeAction extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private RangeAction(Body body, int from, int to, int grain)
+		{
+			this.body = body;
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+		}
+
+		private final Body body;
+		private final int from;
+		private final int to;
+		private final int grain;
+
+		@Override
+		protected void compute()
+		{
+			if(this.to - this.from <= this.grain)
+			{
+				this.body.run(this.from, this.to);
+				return;
+			}
+			int middle = (this.from + this.to) >>> 1;
+			invokeAll(new RangeAction(this.body, this.from, middle, this.grain),
+					new RangeAction(this.body, middle, this.to, this.grain));
+		}
+	}
+}
@@ -290,10 +290,11 @@ public class Ship extends SpaceObject{
 		if( isValidDuration(time))
 		{
 			Thruster thruster = this.getThruster();
-			Vector newAcceleration = thruster.generateAcceleration(this.getDirection(), this.getMass());
+			double direction = this.getDirection();
+			double mass = this.getMass();
 									
-			double newVx = this.getXVelocity() + newAcceleration.getXComp()* time;
-			double newVy = this.getYVelocity() + newAcceleration.getYComp()* time;
+			double newVx = this.getXVelocity() + thruster.generateXAcceleration(direction, mass)* time;
+			double newVy = this.getYVelocity() + thruster.generateYAcceleration(direction, mass)* time;
 
 			this.setVelocity(newVx,newVy);
 		}				
@@ -57,7 +57,7 @@ public abstract class SpaceObject {
 		
 		setPosition(0,0);
 		setVelocity(0, 0);
-		this.radius = 11;
+		this.storeRadius(11);
 		setState(State.CREATED);
 
 	}
@@ -101,14 +101,138 @@ public abstract class SpaceObject {
 		setVelocity(xVelocity, yVelocity);
 		if (!isValidRadius(radius))
 			throw new IllegalArgumentException();
-		this.radius = radius;
+		this.storeRadius(radius);
 		setState(State.CREATED);
 	}
 	
 
-	// Position: defensive programming
+	// Storage
+	
+	private WorldState storage;
+	private int handle = -1;
+	
+	/**
+	 * The motion data of this spaceObject while it is not stored in a world state.
+	 */
+	private double x, y, xVelocity, yVelocity, radius, mass;
+	
+	/**
+	 * Returns the world state in which the motion data of this spaceObject is stored.
+	 * A spaceObject in a world is stored in the world state of that world,
+	 * any other spaceObject keeps its motion data itself and has no world state.
+	 */
+	@Basic @Raw
+	WorldState getStorage() {
+		return this.storage;
+	}
+	
+	/**
+	 * Returns the handle of this spaceObject in its world state.
+	 */
+	@Basic @Raw
+	int getHandle() {
+		return this.handle;
+	}
+	
+	/**
+	 * Set the world state and the handle at which the motion data of this spaceObject is stored.
+	 * The motion data itself is not copied.
+	 * 
+	 * @param 	storage
+	 * @param 	handle
+	 * @pre		...
+	 * 			| storage != null && storage.getSpaceObject(handle) == this
+	 * @post	...
+	 * 			| (new this).getStorage() == storage && (new this).getHandle() == handle
+	 */
+	@Raw
+	void setStorage(WorldState storage, int handle) {
+		assert (storage != null) && (storage.getSpaceObject(handle) == this);
+		this.storage = storage;
+		this.handle = handle;
+	}
+	
+	/**
+	 * Move the motion data of this spaceObject to the end of the given world state.
+	 * 
+	 * @param 	storage
+	 * 			The world state to move to.
+	 * @post	...
+	 * 			| (new this).getStorage() == storage
+	 * @post	...
+	 * 			| (new this).getX() == this.getX() && (new this).getY() == this.getY()
+	 * 			|	&& (new this).getXVelocity() == this.getXVelocity() && (new this).getYVelocity() == this.getYVelocity()
+	 * 			|	&& (new this).getRadius() == this.getRadius() && (new this).getMass() == this.getMass()
+	 */
+	@Raw
+	void moveToStorage(WorldState storage) {
+		if(storage == this.storage)
+			return;
+		int newHandle = storage.add(this, getX(), getY(), getXVelocity(), getYVelocity(), getRadius(), getMass());
+		if(this.storage != null)
+			this.storage.remove(this.handle);
+		this.storage = storage;
+		this.handle = newHandle;
+	}
+	
+	/**
+	 * Move the motion data of this spaceObject out of its world state, so this spaceObject keeps it itself.
+	 * 
+	 * @post	...
+	 * 			| (new this).getStorage() == null
+	 * @post	...
+	 * 			| (new this).getX() == this.getX() && (new this).getY() == this.getY()
+	 * 			|	&& (new this).getXVelocity() == this.getXVelocity() && (new this).getYVelocity() == this.getYVelocity()
+	 * 			|	&& (new this).getRadius() == this.getRadius() && (new this).getMass() == this.getMass()
+	 */
+	@Raw
+	void detachFromStorage() {
+		if(this.storage == null)
+			return;
+		this.x = getX();
+		this.y = getY();
+		this.xVelocity = getXVelocity();
+		this.yVelocity = getYVelocity();
+		this.radius = getRadius();
+		this.mass = getMass();
+		this.storage.remove(this.handle);
+		this.storage = null;
+		this.handle = -1;
+	}
+	
+	private void storePosition(double x, double y) {
+		if(this.storage == null) {
+			this.x = x;
+			this.y = y;
+		}
+		else
+			this.storage.setPosition(this.handle, x, y);
+	}
+	
+	private void storeVelocity(double xVelocity, double yVelocity) {
+		if(this.storage == null) {
+			this.xVelocity = xVelocity;
+			this.yVelocity = yVelocity;
+		}
+		else
+			this.storage.setVelocity(this.handle, xVelocity, yVelocity);
+	}
 	
-	private Vector position = new Vector();
+	private void storeRadius(double radius) {
+		if(this.storage == null)
+			this.radius = radius;
+		else
+			this.storage.setRadius(this.handle, radius);
+	}
+	
+	private void storeMass(double mass) {
+		if(this.storage == null)
+			this.mass = mass;
+		else
+			this.storage.setMass(this.handle, mass);
+	}
+	
+	// Position: defensive programming
 	
 	/**
 	 * Returns the x Position of the spaceObject.
@@ -118,7 +242,9 @@ public abstract class SpaceObject {
 	 */
 	@Basic
 	public double getX() {
-		return this.position.getXComp();
+		if(this.storage == null)
+			return this.x;
+		return this.storage.getX(this.handle);
 	}
 
 	/**
@@ -129,18 +255,20 @@ public abstract class SpaceObject {
 	 */
 	@Basic
 	public double getY() {
-		return this.position.getYComp();
+		if(this.storage == null)
+			return this.y;
+		return this.storage.getY(this.handle);
 	}
 	
 	/**
 	 * Returns the position of the spaceObject.
 	 * 
 	 * @return 	position
-	 * 			the position vector of the spaceObject
+	 * 			a new position vector of the spaceObject
+	 * 			| result.getXComp() == getX() && result.getYComp() == getY()
 	 */
-	@Basic
 	public Vector getPosition() {
-		return this.position;
+		return new Vector(this.getX(), this.getY());
 	}
 
 	/**
@@ -164,6 +292,9 @@ public abstract class SpaceObject {
 	 * @post 	The new x and y position of this spaceObject are equal to the given x and y position of this spaceObject. 
 	 * 			| (new this).getX() == x
 	 * 			| (new this).getY() == y
+	 * @post	If the position of this spaceObject changes, the motion version of this spaceObject changes.
+	 * 			| if(x != this.getX() || y != this.getY())
+	 * 			|	then (new this).getMotionVersion() != this.getMotionVersion()
 	 * @throws IllegalArgumentException
 	 *         The given x position is not a valid x position. 
 	 *         | !isValidPositionComp(x)
@@ -174,12 +305,47 @@ public abstract class SpaceObject {
 	public void setPosition(double x, double y) throws IllegalArgumentException {
 		if (!isValidPositionComp(x) || !isValidPositionComp(y))
 			throw new IllegalArgumentException();
-		this.position.setComp(x,y);
+		boolean changed = (x != this.getX() || y != this.getY());
+		this.storePosition(x, y);
+		if(changed)
+			this.changeMotion();
+	}
+	
+	// Motion version
+	
+	private long motionVersion;
+	
+	/**
+	 * Returns the motion version of the spaceObject.
+	 * The motion version changes every time the position is set or the velocity changes, 
+	 * so predictions about the motion of this spaceObject can be recognized as outdated.
+	 * Moving the spaceObject along its velocity does not change the motion version.
+	 * 
+	 * @return	...
+	 * 			| this.motionVersion
+	 */
+	@Basic
+	public long getMotionVersion() {
+		return this.motionVersion;
+	}
+	
+	/**
+	 * Change the motion version of this spaceObject and let its world know that its trajectory changed.
+	 * 
+	 * @post	...
+	 * 			| (new this).getMotionVersion() != this.getMotionVersion()
+	 * @effect	...
+	 * 			| if(this.getWorld() != null)
+	 * 			|	then this.getWorld().motionChanged(this)
+	 */
+	private void changeMotion() {
+		this.motionVersion++;
+		if(this.getWorld() != null)
+			this.getWorld().motionChanged(this);
 	}
 
 	// Velocity: total programming
 
-	private Vector velocity = new Vector();
 	private double maxV;					// in km/s
 
 	public static final double	LIGHTSPEED	= 300000;
@@ -189,7 +355,9 @@ public abstract class SpaceObject {
 	 */
 	@Basic
 	public double getXVelocity() {
-		return this.velocity.getXComp();
+		if(this.storage == null)
+			return this.xVelocity;
+		return this.storage.getXVelocity(this.handle);
 	}
 
 	/**
@@ -197,15 +365,16 @@ public abstract class SpaceObject {
 	 */
 	@Basic
 	public double getYVelocity() {
-		return this.velocity.getYComp();
+		if(this.storage == null)
+			return this.yVelocity;
+		return this.storage.getYVelocity(this.handle);
 	}
 	
 	/**
-	 * Returns the velocity of the spaceObject.
+	 * Returns a new vector with the velocity of the spaceObject.
 	 */
-	@Basic
 	public Vector getVelocity() {
-		return this.velocity;
+		return new Vector(this.getXVelocity(), this.getYVelocity());
 	}
 
 	/**
@@ -317,10 +486,15 @@ public abstract class SpaceObject {
 	 * 			| if(!isValidVelocity(vx,vy) && (isValidVelocityComp(vx) && isValidVelocityComp(vy)))
 	 * 			|		then ((new this).getXVelocity() == vx * scaleFactor) && ((new this).getYVelocity() == vy * scaleFactor) 
 	 * 						&& ((new this).getVelocity().getModulus() == getMaxVelocity())
+	 * @post	If the velocity of this spaceObject changes, the motion version of this spaceObject changes.
+	 * 			| if((new this).getXVelocity() != this.getXVelocity() || (new this).getYVelocity() != this.getYVelocity())
+	 * 			|	then (new this).getMotionVersion() != this.getMotionVersion()
 	 */
 	public void setVelocity(double vx, double vy) {
+		double oldVx = this.getXVelocity();
+		double oldVy = this.getYVelocity();
 		if (isValidVelocity(vx, vy)) {
-			this.velocity.setComp(vx, vy);
+			this.storeVelocity(vx, vy);
 		}
 		else {
 			if(isValidVelocityComp(vx) && isValidVelocityComp(vy))
@@ -329,9 +503,13 @@ public abstract class SpaceObject {
 				double tempVx = vx * tempAmount;
 				double tempVy = vy * tempAmount;
 	
-				this.velocity.setComp(tempVx, tempVy);
+				if(Double.isNaN(tempVx) || Double.isNaN(tempVy))
+					throw new IllegalArgumentException();
+				this.storeVelocity(tempVx, tempVy);
 			}
 		}
+		if(this.getXVelocity() != oldVx || this.getYVelocity() != oldVy)
+			this.changeMotion();
 	}
 	
 	/**
@@ -348,7 +526,6 @@ public abstract class SpaceObject {
 	
 	// Radius
 
-	private final double	radius; // in km
 	private static double	lowerBoundRadius = 0;
 
 	/**
@@ -403,7 +580,9 @@ public abstract class SpaceObject {
 	 */
 	@Basic
 	public double getRadius() {
-		return this.radius;
+		if(this.storage == null)
+			return this.radius;
+		return this.storage.getRadius(this.handle);
 	}
 
 	/**
@@ -448,6 +627,9 @@ public abstract class SpaceObject {
 	 *       	of this spaceObject incremented with the product of the y-velocity of the
 	 *       	spaceObject with the given time duration. 
 	 *       	|	(new this).getY() == this.getY() + this.getYVelocity()*duration
+	 * @post	Moving along the velocity keeps the motion version of this spaceObject, 
+	 * 			since the world advances its clock together with its spaceObjects.
+	 * 			| (new this).getMotionVersion() == this.getMotionVersion()
 	 * @throws 	IllegalArgumentException
 	 *          The given duration is not a valid duration. 
 	 *          |!isValidDuration(duration)
@@ -455,13 +637,16 @@ public abstract class SpaceObject {
 	public void move(double duration) throws IllegalArgumentException {
 		if (!isValidDuration(duration))
 			throw new IllegalArgumentException();
-		setPosition(getX() + getXVelocity() * duration, getY() + getYVelocity() * duration);
+		double x = getX() + getXVelocity() * duration;
+		double y = getY() + getYVelocity() * duration;
+		if (!isValidPositionComp(x) || !isValidPositionComp(y))
+			throw new IllegalArgumentException();
+		this.storePosition(x, y);
 		
 	}
 	
 	// Mass
 	
-	private double mass; // in kg
 	
 	/**
 	 * Return the mass of this ship.
@@ -470,7 +655,9 @@ public abstract class SpaceObject {
 	 */
 	@Basic
 	public double getMass(){
-		return this.mass;
+		if(this.storage == null)
+			return this.mass;
+		return this.storage.getMass(this.handle);
 	}
 	
 	/**
@@ -501,7 +688,7 @@ public abstract class SpaceObject {
 	public void setMass(double mass) throws IllegalArgumentException{
 		if(!isValidMass(mass))
 			throw new IllegalArgumentException();
-		this.mass = mass;
+		this.storeMass(mass);
 	}
 	
 	/**
@@ -533,6 +720,37 @@ public abstract class SpaceObject {
 			
 	}
 	
+	/**
+	 * Return a boolean reflecting whether the given spaceObjects are not getting closer to each other.
+	 * Two such spaceObjects can not collide before one of them changes its velocity.
+	 * 
+	 * @param 	spaceObject1
+	 * 			The first spaceObject to compare with the other spaceObject.
+	 * @param 	spaceObject2
+	 * 			The second spaceObject to compare with the other spaceObject.
+	 * @return	...
+	 * 			| result == (Vector.dotProduct(spaceObject1.getXVelocity() - spaceObject2.getXVelocity(), spaceObject1.getYVelocity() - spaceObject2.getYVelocity(),
+	 * 			|		spaceObject1.getX() - spaceObject2.getX(), spaceObject1.getY() - spaceObject2.getY()) >= 0)
+	 * @throws	IllegalArgumentException
+	 * 			Throws exception when one of the given spaceObjects is null.
+	 * 			| (spaceObject1 == null) || (spaceObject2 == null)
+	 */
+	public static boolean areMovingApart(SpaceObject spaceObject1, SpaceObject spaceObject2) throws IllegalArgumentException
+	{
+		if((spaceObject1 == null) || (spaceObject2 == null))
+			throw new IllegalArgumentException();
+		
+		WorldState storage = spaceObject1.getStorage();
+		if(storage != null && storage == spaceObject2.getStorage())
+			return storage.areMovingApart(spaceObject1.getHandle(), spaceObject2.getHandle());
+		
+		double dvx = Vector.sumOfComponents(spaceObject1.getXVelocity(), -spaceObject2.getXVelocity());
+		double dvy = Vector.sumOfComponents(spaceObject1.getYVelocity(), -spaceObject2.getYVelocity());
+		double drx = Vector.sumOfComponents(spaceObject1.getX(), -spaceObject2.getX());
+		double dry = Vector.sumOfComponents(spaceObject1.getY(), -spaceObject2.getY());
+		return (Vector.dotProduct(dvx, dvy, drx, dry) >= 0);
+	}
+	
 	/**
 	 * Return a boolean reflecting whether the given spaceObject overlaps with the other given spaceObject.	
 	 * 
@@ -692,6 +910,24 @@ public abstract class SpaceObject {
 	public boolean canHaveAsWorld(World world){
 		if(world == null)
 			return true;
+		return this.liesWithinBordersOf(world);
+	}
+	
+	/**
+	 * Checks whether this SpaceObject lies between the borders of a given world.
+	 * 
+	 * @param 	world
+	 * 			The world to check.
+	 * @return	Returns true if and only if this SpaceObject lies between the borders of the given world.
+	 * 			| result == ( 0 <= [this.getXPosition() - this.getRadius(), this.getXPosition() + this.getRadius()] <= world.getWidth()
+	 * 			|			&&   0 <= [this.getYPosition() - this.getRadius(), this.getYPosition() + this.getRadius()] <= world.getHeight() )
+	 * @throws	IllegalArgumentException
+	 * 			| world == null
+	 */
+	@Raw
+	public boolean liesWithinBordersOf(World world) throws IllegalArgumentException{
+		if(world == null)
+			throw new IllegalArgumentException();
 		if(!world.pointInWorld(new Vector(this.getX() + this.getRadius(), this.getY())))
 			return false;
 		if(!world.pointInWorld(new Vector(this.getX() - this.getRadius(), this.getY())))
@@ -722,6 +958,20 @@ public abstract class SpaceObject {
 		
 	}
 		
+	/**
+	 * Sets the world of this SpaceObject, without checking whether this object can have it as its world.
+	 * This is used by a world that has already checked all the space objects it adds at once.
+	 * 
+	 * @param 	world
+	 * 			The world to set.
+	 * @post	...
+	 * 			| (new this).getWorld() == world
+	 */
+	@Raw
+	void enterWorld(World world){
+		this.world = world;
+	}
+		
 	/**
 	 * Checks whether this SpaceObject has a proper world.
 	 * 
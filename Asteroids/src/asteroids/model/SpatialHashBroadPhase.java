@@ -0,0 +1,416 @@
+package asteroids.model;
+
+import java.util.*;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A broad phase that hashes the swept bounds of the tracked space objects into a uniform grid.
+ * Only space objects that share a cell of the grid and whose swept bounds overlap within
+ * the horizon are paired into a collision.
+ *
+ * @invar	The cell size of this broad phase must always be a valid cell size.
+ * 			| isValidCellSize(getCellSize())
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class SpatialHashBroadPhase extends SweptBoundsBroadPhase {
+
+	/**
+	 * The maximum number of cells a space object may cover along one axis.
+	 * Space objects with larger swept bounds are tested against every other space object.
+	 */
+	private static final int MAX_CELLS_PER_AXIS = 16;
+
+	/**
+	 * Initializes a new spatial hash broad phase with a cell size that adapts
+	 * to the swept bounds of the tracked space objects.
+	 *
+	 * @post	...
+	 * 			| (new this).getCellSize() == 0
+	 */
+	public SpatialHashBroadPhase()
+	{
+		this.cellSize = 0;
+	}
+
+	/**
+	 * Initializes a new spatial hash broad phase with the given cell size.
+	 *
+	 * @param 	cellSize
+	 * 			The size of the cells of the grid.
+	 * @post	...
+	 * 			| (new this).getCellSize() == cellSize
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidCellSize(cellSize)
+	 */
+	public SpatialHashBroadPhase(double cellSize) throws IllegalArgumentException
+	{
+		if(!isValidCellSize(cellSize))
+			throw new IllegalArgumentException();
+		this.cellSize = cellSize;
+	}
+
+	private final double cellSize;
+
+	/**
+	 * Return the cell size of this broad phase. A cell size of zero means that the cell size
+	 * adapts to the average swept bounds of the tracked space objects.
+	 *
+	 * @return	...
+	 * 			| this.cellSize
+	 */
+	@Basic @Immutable
+	public double getCellSize()
+	{
+		return this.cellSize;
+	}
+
+	/**
+	 *
+	 * @param 	cellSize
+	 * @return	...
+	 * 			| result == (!Double.isNaN(cellSize) && !Double.isInfinite(cellSize) && cellSize >= 0)
+	 */
+	public static boolean isValidCellSize(double cellSize)
+	{
+		return (!Double.isNaN(cellSize) && !Double.isInfinite(cellSize) && cellSize >= 0);
+	}
+
+	/**
+	 * The tracked space objects, in the order in which they were added, with the number of their addition.
+	 */
+	private final Map<SpaceObject, Long> spaceObjects = new LinkedHashMap<SpaceObject, Long>();
+	private long nextOrder;
+
+	/**
+	 * The grid of the last query of all candidate collisions: the tracked objects of that query by index,
+	 * and for every cell an object covered an entry with the number of the cell in the high bits and
+	 * the index of the object in the low bits, sorted. The grid is null before the first such query.
+	 */
+	private SpaceObject[] gridObjects;
+	private long[] gridEntries;
+	private double gridCellSize;
+	private long gridMinX, gridMinY, gridWidth, gridHeight;
+
+	/**
+	 * The tracked objects whose cells in the grid do not cover their motion: the objects that were too large
+	 * for the grid, were added after it was made or whose collisions were queried since.
+	 */
+	private final Set<SpaceObject> unhashed = new LinkedHashSet<SpaceObject>();
+
+	/**
+	 * @param 	spaceObject
+	 * @effect	...
+	 * 			| this.spaceObjects.put(spaceObject, this.nextOrder++)
+	 * @throws	IllegalArgumentException
+	 * 			| spaceObject == null
+	 */
+	@Override
+	public void addSpaceObject(SpaceObject spaceObject) throws IllegalArgumentException
+	{
+		if(spaceObject == null)
+			throw new IllegalArgumentException();
+		if(this.spaceObjects.containsKey(spaceObject))
+			return;
+		this.spaceObjects.put(spaceObject, this.nextOrder++);
+		if(this.gridObjects != null)
+			this.unhashed.add(spaceObject);
+	}
+
+	/**
+	 * @param 	spaceObject
+	 * @effect	...
+	 * 			| this.spaceObjects.remove(spaceObject)
+	 */
+	@Override
+	public void removeSpaceObject(SpaceObject spaceObject)
+	{
+		if(this.spaceObjects.remove(spaceObject) == null)
+			return;
+		
+		this.unhashed.remove(spaceObject);
+		this.getCollisions().removeAll(spaceObject);
+	}
+
+	/**
+	 * @param 	horizon
+	 * @return	...
+	 * 			| for each collision in result:
+	 * 			|	sweptBoundsOverlap(collision.getObject1(), collision.getObject2(), horizon)
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidHorizon(horizon)
+	 */
+	@Override
+	public List<Collision> getCandidateCollisions(double horizon) throws IllegalArgumentException
+	{
+		if(!isValidHorizon(horizon))
+			throw new IllegalArgumentException();
+
+		int n = this.spaceObjects.size();
+		SpaceObject[] objects = this.spaceObjects.keySet().toArray(new SpaceObject[n]);
+		double[] minX = new double[n];
+		double[] minY = new double[n];
+		double[] maxX = new double[n];
+		double[] maxY = new double[n];
+
+		for(int i = 0; i < n; i++)
+			setSweptBounds(objects[i], i, horizon, minX, minY, maxX, maxY);
+
+		double size = this.getCellSize();
+		if(size == 0)
+			size = getAdaptiveCellSize(minX, minY, maxX, maxY);
+
+		int[] cellMinX = new int[n];
+		int[] cellMinY = new int[n];
+		int[] cellMaxX = new int[n];
+		int[] cellMaxY = new int[n];
+		boolean[] isOversized = new boolean[n];
+		List<Integer> oversized = new ArrayList<Integer>();
+		long gridMinX, gridMinY, gridWidth, gridHeight;
+
+		// The cells of the grid are numbered within the bounding box of all covered cells.
+		// The cell size is doubled until these numbers fit in an int.
+		while(true)
+		{
+			gridMinX = Long.MAX_VALUE;
+			gridMinY = Long.MAX_VALUE;
+			long gridMaxX = Long.MIN_VALUE;
+			long gridMaxY = Long.MIN_VALUE;
+			oversized.clear();
+			for(int i = 0; i < n; i++)
+			{
+				double cx1 = Math.floor(minX[i] / size);
+				double cy1 = Math.floor(minY[i] / size);
+				double cx2 = Math.floor(maxX[i] / size);
+				double cy2 = Math.floor(maxY[i] / size);
+				isOversized[i] = !isCellRange(cx1, cx2) || !isCellRange(cy1, cy2);
+				if(isOversized[i])
+				{
+					oversized.add(i);
+					continue;
+				}
+				cellMinX[i] = (int) cx1;
+				cellMinY[i] = (int) cy1;
+				cellMaxX[i] = (int) cx2;
+				cellMaxY[i] = (int) cy2;
+				gridMinX = Math.min(gridMinX, cellMinX[i]);
+				gridMinY = Math.min(gridMinY, cellMinY[i]);
+				gridMaxX = Math.max(gridMaxX, cellMaxX[i]);
+				gridMaxY = Math.max(gridMaxY, cellMaxY[i]);
+			}
+			gridWidth = gridMaxX - gridMinX + 1;
+			gridHeight = gridMaxY - gridMinY + 1;
+			if(oversized.size() == n || gridWidth * gridHeight <= Integer.MAX_VALUE)
+				break;
+			size = size * 2;
+		}
+
+		// Every cell that an object covers gives an entry with the number of the cell in the high bits
+		// and the index of the object in the low bits, so sorting the entries groups them per cell.
+		int nmbOfEntries = 0;
+		for(int i = 0; i < n; i++)
+		{
+			if(!isOversized[i])
+				nmbOfEntries += (cellMaxX[i] - cellMinX[i] + 1) * (cellMaxY[i] - cellMinY[i] + 1);
+		}
+		long[] entries = new long[nmbOfEntries];
+		int k = 0;
+		for(int i = 0; i < n; i++)
+		{
+			if(isOversized[i])
+				continue;
+			for(int cx = cellMinX[i]; cx <= cellMaxX[i]; cx++)
+			{
+				for(int cy = cellMinY[i]; cy <= cellMaxY[i]; cy++)
+				{
+					long cell = (cx - gridMinX) * gridHeight + (cy - gridMinY);
+					entries[k++] = (cell << 32) | i;
+				}
+			}
+		}
+		Arrays.sort(entries);
+
+		List<Collision> collisions = new ArrayList<Collision>();
+		CollisionIndex reported = new CollisionIndex();
+
+		int start = 0;
+		while(start < nmbOfEntries)
+		{
+			long cell = entries[start] >>> 32;
+			int end = start + 1;
+			while(end < nmbOfEntries && (entries[end] >>> 32) == cell)
+				end++;
+			long cx = cell / gridHeight + gridMinX;
+			long cy = cell % gridHeight + gridMinY;
+			for(int a = start; a < end; a++)
+			{
+				int i = (int) entries[a];
+				for(int b = a + 1; b < end; b++)
+				{
+					int j = (int) entries[b];
+					// Only the first cell that both objects cover reports the pair.
+					if(cx != Math.max(cellMinX[i], cellMinX[j]) || cy != Math.max(cellMinY[i], cellMinY[j]))
+						continue;
+					if(overlap(i, j, minX, minY, maxX, maxY))
+						addCollision(collisions, reported, objects[Math.max(i, j)], objects[Math.min(i, j)]);
+				}
+			}
+			start = end;
+		}
+
+		this.unhashed.clear();
+		for(int i: oversized)
+		{
+			this.unhashed.add(objects[i]);
+			for(int j = 0; j < n; j++)
+			{
+				if(j == i || (isOversized[j] && j < i))
+					continue;
+				if(overlap(i, j, minX, minY, maxX, maxY))
+					addCollision(collisions, reported, objects[Math.max(i, j)], objects[Math.min(i, j)]);
+			}
+		}
+
+		this.gridObjects = objects;
+		this.gridEntries = entries;
+		this.gridCellSize = size;
+		this.gridMinX = gridMinX;
+		this.gridMinY = gridMinY;
+		this.gridWidth = gridWidth;
+		this.gridHeight = gridHeight;
+		this.setCollisions(reported);
+		return collisions;
+	}
+
+	/**
+	 * The swept bounds of the given space object are compared with the swept bounds of the objects that share
+	 * a cell with it in the grid of the last query of all candidate collisions, and of the objects that are not
+	 * in that grid. Before the first such query, they are compared with every other tracked space object.
+	 * 
+	 * @param 	spaceObject
+	 * @param 	horizon
+	 * @return	...
+	 * 			| for each collision in result:
+	 * 			|	sweptBoundsOverlap(collision.getObject1(), collision.getObject2(), horizon)
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidHorizon(horizon)
+	 */
+	@Override
+	public List<Collision> getCandidateCollisions(SpaceObject spaceObject, double horizon) throws IllegalArgumentException
+	{
+		if(!isValidHorizon(horizon))
+			throw new IllegalArgumentException();
+
+		List<Collision> collisions = new ArrayList<Collision>();
+		if(!this.spaceObjects.containsKey(spaceObject))
+			return collisions;
+		if(this.gridObjects == null)
+		{
+			this.addCollisions(collisions, spaceObject, this.spaceObjects.keySet(), horizon);
+			return collisions;
+		}
+
+		// The motion of the given object may have changed, so its cells in the grid are no longer used.
+		this.unhashed.add(spaceObject);
+		double size = this.gridCellSize;
+		double cx1 = Math.floor(getSweptMin(spaceObject.getX(), spaceObject.getXVelocity(), spaceObject.getRadius(), horizon) / size);
+		double cy1 = Math.floor(getSweptMin(spaceObject.getY(), spaceObject.getYVelocity(), spaceObject.getRadius(), horizon) / size);
+		double cx2 = Math.floor(getSweptMax(spaceObject.getX(), spaceObject.getXVelocity(), spaceObject.getRadius(), horizon) / size);
+		double cy2 = Math.floor(getSweptMax(spaceObject.getY(), spaceObject.getYVelocity(), spaceObject.getRadius(), horizon) / size);
+		if(!isCellRange(cx1, cx2) || !isCellRange(cy1, cy2))
+		{
+			this.addCollisions(collisions, spaceObject, this.spaceObjects.keySet(), horizon);
+			return collisions;
+		}
+
+		Set<SpaceObject> others = new LinkedHashSet<SpaceObject>(this.unhashed);
+		long[] entries = this.gridEntries;
+		if(entries.length > 0)
+		{
+			// Only the cells within the grid have entries, and the entries of a cell are found by binary search.
+			for(long cx = Math.max((long) cx1, this.gridMinX); cx <= Math.min((long) cx2, this.gridMinX + this.gridWidth - 1); cx++)
+			{
+				for(long cy = Math.max((long) cy1, this.gridMinY); cy <= Math.min((long) cy2, this.gridMinY + this.gridHeight - 1); cy++)
+				{
+					long cell = (cx - this.gridMinX) * this.gridHeight + (cy - this.gridMinY);
+					int k = Arrays.binarySearch(entries, cell << 32);
+					if(k < 0)
+						k = -k - 1;
+					for(; k < entries.length && (entries[k] >>> 32) == cell; k++)
+						others.add(this.gridObjects[(int) entries[k]]);
+				}
+			}
+		}
+		this.addCollisions(collisions, spaceObject, others, horizon);
+		return collisions;
+	}
+
+	/**
+	 * Add the collisions between the given space object and those of the given other space objects that are
+	 * still tracked and whose swept bounds overlap with the swept bounds of the given space object.
+	 */
+	private void addCollisions(List<Collision> collisions, SpaceObject spaceObject, Collection<SpaceObject> others, double horizon)
+	{
+		long order = this.spaceObjects.get(spaceObject);
+		for(SpaceObject other: others)
+		{
+			Long otherOrder = this.spaceObjects.get(other);
+			if(other == spaceObject || otherOrder == null || !sweptBoundsOverlap(spaceObject, other, horizon))
+				continue;
+			if(otherOrder > order)
+				addCollision(collisions, this.getCollisions(), other, spaceObject);
+			else
+				addCollision(collisions, this.getCollisions(), spaceObject, other);
+		}
+	}
+
+	/**
+	 * Store the bounds that the given object sweeps within the given horizon at the given index.
+	 */
+	private static void setSweptBounds(SpaceObject object, int i, double horizon, double[] minX, double[] minY, double[] maxX, double[] maxY)
+	{
+		minX[i] = getSweptMin(object.getX(), object.getXVelocity(), object.getRadius(), horizon);
+		maxX[i] = getSweptMax(object.getX(), object.getXVelocity(), object.getRadius(), horizon);
+		minY[i] = getSweptMin(object.getY(), object.getYVelocity(), object.getRadius(), horizon);
+		maxY[i] = getSweptMax(object.getY(), object.getYVelocity(), object.getRadius(), horizon);
+	}
+
+	private static boolean overlap(int i, int j, double[] minX, double[] minY, double[] maxX, double[] maxY)
+	{
+		return (minX[i] <= maxX[j]) && (minX[j] <= maxX[i]) && (minY[i] <= maxY[j]) && (minY[j] <= maxY[i]);
+	}
+
+	private static boolean isCellRange(double cellMin, double cellMax)
+	{
+		if(Double.isInfinite(cellMin) || Double.isInfinite(cellMax) || Double.isNaN(cellMin) || Double.isNaN(cellMax))
+			return false;
+		if(Math.abs(cellMin) > Integer.MAX_VALUE / 2 || Math.abs(cellMax) > Integer.MAX_VALUE / 2)
+			return false;
+		return (cellMax - cellMin) < MAX_CELLS_PER_AXIS;
+	}
+
+	/**
+	 * Return a cell size equal to the average extent of the finite swept bounds.
+	 */
+	private static double getAdaptiveCellSize(double[] minX, double[] minY, double[] maxX, double[] maxY)
+	{
+		double total = 0;
+		int count = 0;
+		for(int i = 0; i < minX.length; i++)
+		{
+			double extent = Math.max(maxX[i] - minX[i], maxY[i] - minY[i]);
+			if(!Double.isInfinite(extent) && !Double.isNaN(extent))
+			{
+				total += extent;
+				count++;
+			}
+		}
+		if(count == 0 || total <= 0 || Double.isInfinite(total))
+			return 1;
+		return total / count;
+	}
+}
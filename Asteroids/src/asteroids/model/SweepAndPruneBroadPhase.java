@@ -0,0 +1,342 @@
+package asteroids.model;
+
+import java.util.*;
+
+/**
+ * A broad phase that keeps the tracked space objects sorted along the x-axis by the lower bound of the interval
+ * they sweep within the horizon. Only space objects whose swept intervals overlap along the x-axis are compared,
+ * and only those whose swept intervals also overlap along the y-axis are paired into a collision.
+ * The order of the previous query is kept, so that insertion sort only has to repair the few objects that
+ * passed each other since then. When too many objects changed places, the objects are sorted from scratch.
+ * The collisions of a single object are found by binary search in the sorted objects of the last query.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class SweepAndPruneBroadPhase extends SweptBoundsBroadPhase {
+
+	/**
+	 * The number of moves per tracked object that insertion sort may make before the objects are sorted from scratch.
+	 */
+	private static final int MAX_MOVES_PER_OBJECT = 8;
+
+	/**
+	 * The number of times the average width of the swept intervals along the x-axis that the swept interval
+	 * of an object may be wide before the object is left out of the binary search and compared separately.
+	 */
+	private static final int MAX_WIDTH_PER_AVERAGE = 16;
+
+	/**
+	 * A tracked space object with the interval it sweeps within the horizon of the last query.
+	 */
+	private static class Entry {
+
+		private Entry(SpaceObject spaceObject, long order)
+		{
+			this.spaceObject = spaceObject;
+			this.order = order;
+		}
+
+		private final SpaceObject spaceObject;
+		private final long order;
+		private boolean isRemoved;
+		private boolean isWide;
+		private boolean isRefreshed;
+		private double minX;
+		private double maxX;
+		private double minY;
+		private double maxY;
+	}
+
+	private static final Comparator<Entry> BY_MIN_X = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry entry1, Entry entry2)
+		{
+			return Double.compare(entry1.minX, entry2.minX);
+		}
+	};
+
+	private Entry[] entries = new Entry[16];
+	private int size;
+	private long nextOrder;
+	private final Map<SpaceObject, Entry> tracked = new HashMap<SpaceObject, Entry>();
+
+	/**
+	 * The number of objects that were sorted by the last query of all candidate collisions,
+	 * and the largest width of the swept intervals along the x-axis of those that are not too wide.
+	 */
+	private int sortedSize;
+	private double maxWidth;
+
+	/**
+	 * The sorted objects whose swept interval of the last query is too wide for the binary search,
+	 * and the tracked objects whose collisions were queried since, so that their swept interval is outdated.
+	 */
+	private final List<Entry> wide = new ArrayList<Entry>();
+	private final List<Entry> refreshed = new ArrayList<Entry>();
+
+	/**
+	 * The given space object is put at the end of the sorted objects and moved to its place at the next query.
+	 *
+	 * @param 	spaceObject
+	 * @throws	IllegalArgumentException
+	 * 			| spaceObject == null
+	 */
+	@Override
+	public void addSpaceObject(SpaceObject spaceObject) throws IllegalArgumentException
+	{
+		if(spaceObject == null)
+			throw new IllegalArgumentException();
+		if(this.tracked.containsKey(spaceObject))
+			return;
+
+		Entry entry = new Entry(spaceObject, this.nextOrder++);
+		entry.minX = Double.POSITIVE_INFINITY;
+		if(this.size == this.entries.length)
+			this.entries = Arrays.copyOf(this.entries, this.size * 2);
+		this.entries[this.size++] = entry;
+		this.tracked.put(spaceObject, entry);
+	}
+
+	/**
+	 * The given space object is marked as removed and left out of the sorted objects at the next query.
+	 *
+	 * @param 	spaceObject
+	 */
+	@Override
+	public void removeSpaceObject(SpaceObject spaceObject)
+	{
+		Entry entry = this.tracked.remove(spaceObject);
+		if(entry == null)
+			return;
+
+		entry.isRemoved = true;
+		this.getCollisions().removeAll(spaceObject);
+	}
+
+	/**
+	 * @param 	horizon
+	 * @return	...
+	 * 			| for each collision in result:
+	 * 			|	sweptBoundsOverlap(collision.getObject1(), collision.getObject2(), horizon)
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidHorizon(horizon)
+	 */
+	@Override
+	public List<Collision> getCandidateCollisions(double horizon) throws IllegalArgumentException
+	{
+		if(!isValidHorizon(horizon))
+			throw new IllegalArgumentException();
+
+		// The removed objects are left out and the swept intervals of the others are brought up to date.
+		Entry[] entries = this.entries;
+		int n = 0;
+		for(int i = 0; i < this.size; i++)
+		{
+			Entry entry = entries[i];
+			if(entry.isRemoved)
+				continue;
+			setSweptBounds(entry, horizon);
+			entry.isRefreshed = false;
+			entries[n++] = entry;
+		}
+		Arrays.fill(entries, n, this.size, null);
+		this.size = n;
+		this.sort();
+		this.sortedSize = n;
+		this.refreshed.clear();
+		this.setWidths();
+
+		List<Collision> collisions = new ArrayList<Collision>();
+		CollisionIndex reported = new CollisionIndex();
+		for(int i = 0; i < n; i++)
+		{
+			Entry entry = entries[i];
+			for(int j = i + 1; j < n && entries[j].minX <= entry.maxX; j++)
+			{
+				Entry other = entries[j];
+				if((entry.minY <= other.maxY) && (other.minY <= entry.maxY))
+					this.addCollision(collisions, reported, entry, other);
+			}
+		}
+
+		this.setCollisions(reported);
+		return collisions;
+	}
+
+	/**
+	 * The swept bounds of the given space object are compared with the swept bounds of the objects whose swept
+	 * interval along the x-axis of the last query of all candidate collisions may overlap with it, which are found
+	 * by binary search, and with the objects that were too wide, added or queried since that query.
+	 * Before the first such query, they are compared with every other tracked space object.
+	 *
+	 * @param 	spaceObject
+	 * @param 	horizon
+	 * @return	...
+	 * 			| for each collision in result:
+	 * 			|	sweptBoundsOverlap(collision.getObject1(), collision.getObject2(), horizon)
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidHorizon(horizon)
+	 */
+	@Override
+	public List<Collision> getCandidateCollisions(SpaceObject spaceObject, double horizon) throws IllegalArgumentException
+	{
+		if(!isValidHorizon(horizon))
+			throw new IllegalArgumentException();
+
+		List<Collision> collisions = new ArrayList<Collision>();
+		Entry entry = this.tracked.get(spaceObject);
+		if(entry == null)
+			return collisions;
+
+		double minX = getSweptMin(spaceObject.getX(), spaceObject.getXVelocity(), spaceObject.getRadius(), horizon);
+		double maxX = getSweptMax(spaceObject.getX(), spaceObject.getXVelocity(), spaceObject.getRadius(), horizon);
+		if(Double.isNaN(minX) || Double.isNaN(maxX) || Double.isInfinite(maxX - minX))
+		{
+			for(int i = 0; i < this.size; i++)
+				this.addCollision(collisions, entry, this.entries[i], horizon);
+			return collisions;
+		}
+
+		// The motion of the given object may have changed, so its swept interval of the last query is no longer used.
+		if(!entry.isRefreshed)
+		{
+			entry.isRefreshed = true;
+			this.refreshed.add(entry);
+		}
+		// No sorted object starts before the given object starts minus the largest width and overlaps with it.
+		int low = 0;
+		int high = this.sortedSize;
+		while(low < high)
+		{
+			int middle = (low + high) >>> 1;
+			if(this.entries[middle].minX < minX - this.maxWidth)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		for(int i = low; i < this.sortedSize && this.entries[i].minX <= maxX; i++)
+		{
+			Entry other = this.entries[i];
+			if(!other.isWide && !other.isRefreshed)
+				this.addCollision(collisions, entry, other, horizon);
+		}
+		for(Entry other: this.wide)
+		{
+			if(!other.isRefreshed)
+				this.addCollision(collisions, entry, other, horizon);
+		}
+		for(int i = this.sortedSize; i < this.size; i++)
+		{
+			if(!this.entries[i].isRefreshed)
+				this.addCollision(collisions, entry, this.entries[i], horizon);
+		}
+		for(Entry other: this.refreshed)
+			this.addCollision(collisions, entry, other, horizon);
+		return collisions;
+	}
+
+	/**
+	 * Add the collision between the objects of the given entries if the other entry is still tracked
+	 * and the bounds that both objects sweep within the given horizon overlap.
+	 */
+	private void addCollision(List<Collision> collisions, Entry entry, Entry other, double horizon)
+	{
+		if(other != entry && !other.isRemoved && sweptBoundsOverlap(entry.spaceObject, other.spaceObject, horizon))
+			this.addCollision(collisions, this.getCollisions(), entry, other);
+	}
+
+	/**
+	 * Mark the sorted objects whose swept interval along the x-axis is too wide for the binary search,
+	 * and store the largest width of the others.
+	 */
+	private void setWidths()
+	{
+		double total = 0;
+		int count = 0;
+		for(int i = 0; i < this.sortedSize; i++)
+		{
+			double width = this.entries[i].maxX - this.entries[i].minX;
+			if(!Double.isInfinite(width))
+			{
+				total += width;
+				count++;
+			}
+		}
+		double limit = (count == 0) ? 0 : MAX_WIDTH_PER_AVERAGE * total / count;
+		this.maxWidth = 0;
+		this.wide.clear();
+		for(int i = 0; i < this.sortedSize; i++)
+		{
+			Entry entry = this.entries[i];
+			double width = entry.maxX - entry.minX;
+			entry.isWide = !(width <= limit);
+			if(entry.isWide)
+				this.wide.add(entry);
+			else
+				this.maxWidth = Math.max(this.maxWidth, width);
+		}
+	}
+
+	/**
+	 * Sort the tracked objects on the lower bound of their swept interval along the x-axis.
+	 * Insertion sort is used as long as the objects stay nearly in the order of the previous query;
+	 * after too many moves, the remaining objects are sorted from scratch.
+	 */
+	private void sort()
+	{
+		Entry[] entries = this.entries;
+		long movesLeft = (long) MAX_MOVES_PER_OBJECT * this.size;
+		for(int i = 1; i < this.size; i++)
+		{
+			Entry entry = entries[i];
+			int j = i - 1;
+			while(j >= 0 && entries[j].minX > entry.minX)
+			{
+				entries[j + 1] = entries[j];
+				j--;
+			}
+			entries[j + 1] = entry;
+			movesLeft -= i - 1 - j;
+			if(movesLeft < 0)
+			{
+				Arrays.sort(entries, 0, this.size, BY_MIN_X);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Store the bounds that the object of the given entry sweeps within the given horizon in that entry.
+	 */
+	private static void setSweptBounds(Entry entry, double horizon)
+	{
+		SpaceObject object = entry.spaceObject;
+		entry.minX = getSweptMin(object.getX(), object.getXVelocity(), object.getRadius(), horizon);
+		entry.maxX = getSweptMax(object.getX(), object.getXVelocity(), object.getRadius(), horizon);
+		entry.minY = getSweptMin(object.getY(), object.getYVelocity(), object.getRadius(), horizon);
+		entry.maxY = getSweptMax(object.getY(), object.getYVelocity(), object.getRadius(), horizon);
+		// A NaN bound would break the order of the sweep, so such an object gets an infinite interval,
+		// which puts it at the start of the sorted objects and pairs it with every other object.
+		if(Double.isNaN(entry.minX) || Double.isNaN(entry.maxX))
+		{
+			entry.minX = Double.NEGATIVE_INFINITY;
+			entry.maxX = Double.POSITIVE_INFINITY;
+		}
+	}
+
+	/**
+	 * Add the collision between the objects of the given entries to the given list and remember it as reported.
+	 * The object that was tracked last is the first object of the collision.
+	 */
+	private void addCollision(List<Collision> collisions, CollisionIndex reported, Entry entry1, Entry entry2)
+	{
+		if(entry1.order > entry2.order)
+			this.addCollision(collisions, reported, entry1.spaceObject, entry2.spaceObject);
+		else
+			this.addCollision(collisions, reported, entry2.spaceObject, entry1.spaceObject);
+	}
+}
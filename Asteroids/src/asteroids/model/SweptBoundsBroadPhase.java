@@ -0,0 +1,146 @@
+package asteroids.model;
+
+import java.util.List;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A broad phase that pairs tracked space objects only when the bounds they sweep within the horizon overlap.
+ * The collisions returned by the last query are kept, so their predicted time is only calculated again
+ * when the motion of one of their objects changed.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public abstract class SweptBoundsBroadPhase implements BroadPhase {
+
+	/**
+	 * The collisions that were returned by the last query, indexed by their space objects.
+	 */
+	private CollisionIndex collisions = new CollisionIndex();
+
+	/**
+	 * Return the collisions that were returned by the last query.
+	 */
+	@Basic
+	protected CollisionIndex getCollisions()
+	{
+		return this.collisions;
+	}
+
+	/**
+	 * Keep the given collisions as the collisions returned by the last query.
+	 *
+	 * @param 	collisions
+	 * @post	...
+	 * 			| (new this).getCollisions() == collisions
+	 */
+	protected void setCollisions(CollisionIndex collisions)
+	{
+		this.collisions = collisions;
+	}
+
+	/**
+	 * @return	...
+	 * 			| result == this.getCollisions().size()
+	 */
+	@Override
+	public int getNmbOfCollisions()
+	{
+		return this.getCollisions().size();
+	}
+
+	/**
+	 * Check whether the given horizon is a valid horizon for a query.
+	 *
+	 * @param 	horizon
+	 * @return	...
+	 * 			| result == (!Double.isNaN(horizon) && horizon >= 0)
+	 */
+	public static boolean isValidHorizon(double horizon)
+	{
+		return !Double.isNaN(horizon) && horizon >= 0;
+	}
+
+	/**
+	 * Add the collision between the given tracked objects to the given list and remember it as reported.
+	 * The first object must be the object that was tracked last, so it is the first object of the collision.
+	 * A collision that was returned by the last query is reused.
+	 * Objects that move apart can not collide until one of them changes its velocity, so no collision
+	 * is made for them and a collision that was returned before is dropped.
+	 */
+	protected void addCollision(List<Collision> collisions, CollisionIndex reported, SpaceObject object1, SpaceObject object2)
+	{
+		if(SpaceObject.areMovingApart(object1, object2))
+		{
+			this.getCollisions().remove(this.getCollisions().get(object1, object2));
+			return;
+		}
+
+		Collision collision = this.getCollisions().get(object1, object2);
+		if(collision == null)
+		{
+			try
+			{
+				collision = new Collision(object1, object2);
+			}
+			catch(IllegalArgumentException iae) // !collision.areValidObjects(object1, object2)
+			{
+				return;
+			}
+		}
+
+		reported.add(collision);
+		collisions.add(collision);
+	}
+
+	/**
+	 * Check whether the bounds that the given space objects sweep within the given horizon overlap.
+	 *
+	 * @param 	spaceObject1
+	 * @param 	spaceObject2
+	 * @param 	horizon
+	 * @return	...
+	 * 			| result == for some time in 0..horizon:
+	 * 			|	the bounding boxes of spaceObject1 and spaceObject2 moved over their velocity times time overlap
+	 */
+	public static boolean sweptBoundsOverlap(SpaceObject spaceObject1, SpaceObject spaceObject2, double horizon)
+	{
+		return sweptOverlap(spaceObject1.getX(), spaceObject1.getXVelocity(), spaceObject1.getRadius(),
+					spaceObject2.getX(), spaceObject2.getXVelocity(), spaceObject2.getRadius(), horizon)
+				&& sweptOverlap(spaceObject1.getY(), spaceObject1.getYVelocity(), spaceObject1.getRadius(),
+					spaceObject2.getY(), spaceObject2.getYVelocity(), spaceObject2.getRadius(), horizon);
+	}
+
+	/**
+	 * Check whether the intervals that two objects sweep along one axis within the given horizon overlap.
+	 */
+	private static boolean sweptOverlap(double position1, double velocity1, double radius1,
+			double position2, double velocity2, double radius2, double horizon)
+	{
+		return (getSweptMin(position1, velocity1, radius1, horizon) <= getSweptMax(position2, velocity2, radius2, horizon))
+				&& (getSweptMin(position2, velocity2, radius2, horizon) <= getSweptMax(position1, velocity1, radius1, horizon));
+	}
+
+	/**
+	 * Return the lower bound of the interval that an object sweeps along one axis within the given horizon.
+	 * An object that stands still along the axis sweeps no distance, even over an infinite horizon.
+	 */
+	protected static double getSweptMin(double position, double velocity, double radius, double horizon)
+	{
+		double distance = (velocity == 0) ? 0 : velocity * horizon;
+		return Math.min(position, position + distance) - radius;
+	}
+
+	/**
+	 * Return the upper bound of the interval that an object sweeps along one axis within the given horizon.
+	 */
+	protected static double getSweptMax(double position, double velocity, double radius, double horizon)
+	{
+		double distance = (velocity == 0) ? 0 : velocity * horizon;
+		return Math.max(position, position + distance) + radius;
+	}
+}
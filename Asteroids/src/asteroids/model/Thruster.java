@@ -123,25 +123,39 @@ public class Thruster {
 	 * @throws IllegalArgumentException
 	 */
 	public Vector generateAcceleration (double direction, double mass) throws IllegalArgumentException {
-		if(this.isThrusterEnabled()) 
-		{
-			double a = Vector.multiplyComponents((this.getPowerOutput()),(1/mass));
-			double x;
-			double y;
-			
-			if(Util.fuzzyEquals(Math.cos(direction), 0))
-				x = 0;
-			else
-				x = a * Math.cos(direction);
-			
-			if(Util.fuzzyEquals(Math.sin(direction), 0))
-				y = 0;
-			else
-				y = a * Math.sin(direction);
-			return new Vector(x,y);
-		}
-		else
-			return new Vector(0,0);
+		return new Vector(generateXAcceleration(direction, mass), generateYAcceleration(direction, mass));
+	}
+	
+	/**
+	 * Generates the x component of the acceleration in a given direction for a given mass, without creating a vector.
+	 * 
+	 * @param 	direction
+	 * 			The given direction in which the acceleration should point.
+	 * @param 	mass
+	 * 			The given mass that has to be accelerated by this thruster.
+	 * @return	The x component of the acceleration vector generated by this thruster.
+	 * 			| result == generateAcceleration(direction, mass).getXComp()
+	 */
+	public double generateXAcceleration (double direction, double mass) throws IllegalArgumentException {
+		if(!this.isThrusterEnabled() || Util.fuzzyEquals(Math.cos(direction), 0))
+			return 0;
+		return Vector.multiplyComponents((this.getPowerOutput()),(1/mass)) * Math.cos(direction);
+	}
+	
+	/**
+	 * Generates the y component of the acceleration in a given direction for a given mass, without creating a vector.
+	 * 
+	 * @param 	direction
+	 * 			The given direction in which the acceleration should point.
+	 * @param 	mass
+	 * 			The given mass that has to be accelerated by this thruster.
+	 * @return	The y component of the acceleration vector generated by this thruster.
+	 * 			| result == generateAcceleration(direction, mass).getYComp()
+	 */
+	public double generateYAcceleration (double direction, double mass) throws IllegalArgumentException {
+		if(!this.isThrusterEnabled() || Util.fuzzyEquals(Math.sin(direction), 0))
+			return 0;
+		return Vector.multiplyComponents((this.getPowerOutput()),(1/mass)) * Math.sin(direction);
 	}
 	
 }
@@ -114,6 +114,57 @@ public class Vector {
 		return modulus;
 	}
 	
+	// Arithmetic
+	
+	/**
+	 * A enumeration class to describe how the components of vectors are added and multiplied.
+	 * STRICT checks the components and clamps the results that overflow or underflow.
+	 * FAST uses plain floating point arithmetic. The components are then only checked where they enter
+	 * the model, for instance when the position or velocity of a space object is set.
+	 * 
+	 * @author Julie Wouters & Stijn Wellens
+	 *
+	 */
+	public enum Arithmetic {
+		STRICT, FAST
+	}
+	
+	/**
+	 * The arithmetic is a single setting for the whole virtual machine: it applies to every world at once,
+	 * so it is meant to be chosen once before the worlds evolve, as the headless runner and the benchmarks do.
+	 * It is volatile so a world that evolves on another thread sees the arithmetic that was set.
+	 */
+	private static volatile Arithmetic arithmetic = Arithmetic.STRICT;
+	
+	/**
+	 * Return the arithmetic used to add and multiply vector components in every world.
+	 * 
+	 * @return	...
+	 * 			| Vector.arithmetic
+	 */
+	@Basic
+	public static Arithmetic getArithmetic()
+	{
+		return arithmetic;
+	}
+	
+	/**
+	 * Set the arithmetic used to add and multiply vector components in every world.
+	 * 
+	 * @param 	arithmetic
+	 * 			The arithmetic to use.
+	 * @post	...
+	 * 			| Vector.getArithmetic() == arithmetic
+	 * @throws	IllegalArgumentException
+	 * 			| arithmetic == null
+	 */
+	public static void setArithmetic(Arithmetic arithmetic) throws IllegalArgumentException
+	{
+		if(arithmetic == null)
+			throw new IllegalArgumentException();
+		Vector.arithmetic = arithmetic;
+	}
+	
 	/**
 	 * Calculate the sum of two given components of a vector.
 	 * 
@@ -123,15 +174,18 @@ public class Vector {
 	 * 			The second given vector component.
 	 * @return	The sum of the two given vector components.
 	 * 			| result == comp1 + comp2
-	 * @return	The maximum value of a double, when the sum exceeds the maximum value.
-	 * 			| if(comp1+comp2 > Double.MAX_VALUE)
+	 * @return	The maximum value of a double, when the sum exceeds the maximum value and the arithmetic is strict.
+	 * 			| if(comp1+comp2 > Double.MAX_VALUE && getArithmetic() == Arithmetic.STRICT)
 	 * 			|	then result == Double.MAX_VALUE
 	 * @throws 	IllegalArgumentException
-	 * 			Throws exception when one of the given doubles is not a number.
-	 * 			| Double.isNaN(comp1) || Double.isNaN(comp2)
+	 * 			Throws exception when one of the given doubles is not a number and the arithmetic is strict.
+	 * 			| (Double.isNaN(comp1) || Double.isNaN(comp2)) && getArithmetic() == Arithmetic.STRICT
 	 */
 	public static double sumOfComponents(double comp1, double comp2) throws IllegalArgumentException
 	{
+		if(arithmetic == Arithmetic.FAST)
+			return comp1 + comp2;
+		
 		if(Double.isNaN(comp1) || Double.isNaN(comp2))
 			throw new IllegalArgumentException();
 		
@@ -152,16 +206,21 @@ public class Vector {
 	 * 			The second given vector component.
 	 * @return	The multiplication of the two given components.
 	 * 			| result == comp1 * comp2
-	 * @return	The minimum value of a double when the multiplication is lower than the minimum value of a double.
+	 * @return	The minimum value of a double when the multiplication is lower than the minimum value of a double
+	 * 			and the arithmetic is strict.
 	 * 			| result == Double.MIN_VALUE
-	 * @return	The maximum value of a double when the multiplication exceeds the maximum value of a double.
+	 * @return	The maximum value of a double when the multiplication exceeds the maximum value of a double
+	 * 			and the arithmetic is strict.
 	 * 			| result == Double.MAX_VALUE
 	 * @throws 	IllegalArgumentException
-	 * 			Throws exception when one of the given doubles is not a number.
-	 * 			| Double.isNaN(comp1) || Double.isNaN(comp2) 			
+	 * 			Throws exception when one of the given doubles is not a number and the arithmetic is strict.
+	 * 			| (Double.isNaN(comp1) || Double.isNaN(comp2)) && getArithmetic() == Arithmetic.STRICT
 	 */
 	public static double multiplyComponents(double comp1, double comp2) throws IllegalArgumentException
 	{
+		if(arithmetic == Arithmetic.FAST)
+			return comp1 * comp2;
+		
 		if(Double.isNaN(comp1) || Double.isNaN(comp2))
 			throw new IllegalArgumentException();
 		
@@ -199,10 +258,33 @@ public class Vector {
 		if(vector1 == null || vector2 == null)
 			throw new IllegalArgumentException();
 		
-		double newX = multiplyComponents(vector1.getXComp(),vector2.getXComp());
-		double newY = multiplyComponents(vector1.getYComp(),vector2.getYComp());
+		return dotProduct(vector1.getXComp(), vector1.getYComp(), vector2.getXComp(), vector2.getYComp());
+	}
+	
+	/**
+	 * Calculate the dot product of two vectors, given by their components.
+	 * No vector is created, so the physics calculations that run for every prediction use this method.
+	 * 
+	 * @param 	x1
+	 * 			The x component of the first vector.
+	 * @param 	y1
+	 * 			The y component of the first vector.
+	 * @param 	x2
+	 * 			The x component of the second vector.
+	 * @param 	y2
+	 * 			The y component of the second vector.
+	 * @return	The dot product of the two vectors.
+	 * 			| result == sumOfComponents(multiplyComponents(x1,x2), multiplyComponents(y1,y2))
+	 * @throws 	IllegalArgumentException
+	 * 			Throws exception when one of the given components is not a number and the arithmetic is strict.
+	 * 			| (Double.isNaN(x1) || Double.isNaN(y1) || Double.isNaN(x2) || Double.isNaN(y2))
+	 * 			|	&& getArithmetic() == Arithmetic.STRICT
+	 */
+	public static double dotProduct(double x1, double y1, double x2, double y2) throws IllegalArgumentException
+	{
+		double newX = multiplyComponents(x1,x2);
+		double newY = multiplyComponents(y1,y2);
 		
-				
 		return (sumOfComponents(newX,newY));
 	}
 	
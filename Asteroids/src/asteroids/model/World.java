@@ -2,9 +2,11 @@ package asteroids.model;
 
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import asteroids.CollisionListener;
 import asteroids.Util;
+import asteroids.model.jfr.*;
 import be.kuleuven.cs.som.annotate.*;
 
 /**
@@ -228,8 +230,10 @@ public class World {
 	 * 
 	 * @pre		...
 	 * 			| (spaceObject != null) && (spaceObject.getWorld() == this)
+	 * @post	...
+	 * 			| (new this).getSpaceObjects().contains(spaceObject)
 	 * @effect	...
-	 * 			| (new this).getSpaceObjects() == this.getSpaceObjects().add(spaceObject)
+	 * 			| spaceObject.moveToStorage(this.getWorldState())
 	 * @effect	...
 	 * 			| this.addCollisions(spaceObject)
 	 */
@@ -238,12 +242,163 @@ public class World {
 	{
 		assert (spaceObject != null) && (spaceObject.getWorld() == this);
 		
-		Set<SpaceObject> objects = this.getSpaceObjects();
-		objects.add(spaceObject);
-		this.setSpaceObjects(objects);
+		this.storeSpaceObject(spaceObject);
 		this.addCollisions(spaceObject);
 	}
 	
+	/**
+	 * Put the given space object in the space objects, the type indices and the world state of this world.
+	 */
+	private void storeSpaceObject(SpaceObject spaceObject)
+	{
+		if(this.metrics != null)
+			this.metrics.addSpawnedObject();
+		this.spaceObjects.add(spaceObject);
+		for(Map.Entry<Class<? extends SpaceObject>, Set<SpaceObject>> index: this.typeIndices.entrySet())
+		{
+			if(index.getKey().isInstance(spaceObject))
+				index.getValue().add(spaceObject);
+		}
+		spaceObject.moveToStorage(this.getWorldState());
+	}
+	
+	/**
+	 * Let all the given space objects fly into this world at once.
+	 * The result is the same as letting them fly into this world one by one in the order of the given collection, 
+	 * but the overlaps are checked in one pass over a temporary grid instead of once per space object over all 
+	 * the space objects of this world, and the collision queue of this world is only built again at the next evolve.
+	 * Either all the given space objects fly into this world, or none of them does.
+	 * 
+	 * @param 	spaceObjects
+	 * 			The space objects that fly into this world.
+	 * @effect	...
+	 * 			| for each spaceObject in spaceObjects:
+	 * 			|	spaceObject.flyIntoWorld(this)
+	 * @throws	IllegalArgumentException
+	 * 			| spaceObjects == null || spaceObjects.contains(null)
+	 * @throws	IllegalArgumentException
+	 * 			The given collection contains the same space object twice.
+	 * @throws	IllegalArgumentException
+	 * 			| for some spaceObject in spaceObjects:
+	 * 			|	!spaceObject.liesWithinBordersOf(this)
+	 * @throws	IllegalArgumentException
+	 * 			A ship or asteroid of the given collection overlaps with a ship or asteroid of this world 
+	 * 			or with another ship or asteroid of the given collection.
+	 * @throws	IllegalStateException
+	 * 			| for some spaceObject in spaceObjects:
+	 * 			|	(spaceObject.getState() != State.CREATED) || (spaceObject.getWorld() != null)
+	 */
+	public void addAll(Collection<? extends SpaceObject> spaceObjects) throws IllegalArgumentException, IllegalStateException
+	{
+		if(spaceObjects == null)
+			throw new IllegalArgumentException();
+		Set<SpaceObject> checked = new HashSet<SpaceObject>();
+		for(SpaceObject spaceObject: spaceObjects)
+		{
+			if(spaceObject == null || !checked.add(spaceObject))
+				throw new IllegalArgumentException();
+			if((spaceObject.getState() != SpaceObject.State.CREATED) || (spaceObject.getWorld() != null))
+				throw new IllegalStateException();
+			if(!spaceObject.liesWithinBordersOf(this))
+				throw new IllegalArgumentException();
+		}
+		if(this.overlapWithSpaceObjects(spaceObjects))
+			throw new IllegalArgumentException();
+		
+		for(SpaceObject spaceObject: spaceObjects)
+		{
+			spaceObject.enterWorld(this);
+			this.storeSpaceObject(spaceObject);
+			this.trackCollisions(spaceObject);
+			spaceObject.setState(SpaceObject.State.ACTIVE);
+			if(Bullet.class.isInstance(spaceObject) && ((Bullet) spaceObject).getSource() != null)
+				((Bullet) spaceObject).getSource().addActiveBullet((Bullet) spaceObject);
+		}
+		this.collisionQueue.clear();
+	}
+	
+	/**
+	 * Checks whether one of the given ships or asteroids overlaps with a ship or asteroid of this world 
+	 * or with another ship or asteroid of the given space objects.
+	 * The ships and asteroids are put in a temporary grid with cells as large as the largest diameter, 
+	 * so only the space objects in neighbouring cells can overlap.
+	 * 
+	 * @param 	spaceObjects
+	 * 			The space objects to check.
+	 * @return	...
+	 * 			| result == for some spaceObject in spaceObjects:
+	 * 			|	!Bullet.class.isInstance(spaceObject) && 
+	 * 			|	( spaceObject.overlapWithWorldObject(this) 
+	 * 			|		|| for some other in spaceObjects:
+	 * 			|			other != spaceObject && !Bullet.class.isInstance(other) && SpaceObject.overlap(spaceObject, other) )
+	 */
+	private boolean overlapWithSpaceObjects(Collection<? extends SpaceObject> spaceObjects)
+	{
+		List<SpaceObject> added = new ArrayList<SpaceObject>();
+		double largestRadius = 0;
+		for(SpaceObject spaceObject: spaceObjects)
+		{
+			if(!Bullet.class.isInstance(spaceObject))
+			{
+				added.add(spaceObject);
+				largestRadius = Math.max(largestRadius, spaceObject.getRadius());
+			}
+		}
+		if(added.isEmpty())
+			return false;
+		for(SpaceObject spaceObject: this.spaceObjects)
+		{
+			if(!Bullet.class.isInstance(spaceObject))
+				largestRadius = Math.max(largestRadius, spaceObject.getRadius());
+		}
+		
+		double cellSize = (largestRadius > 0) ? 2 * largestRadius : 1;
+		Map<Long, List<SpaceObject>> grid = new HashMap<Long, List<SpaceObject>>();
+		for(SpaceObject spaceObject: this.spaceObjects)
+		{
+			if(!Bullet.class.isInstance(spaceObject))
+				addToGrid(grid, spaceObject, cellSize);
+		}
+		for(SpaceObject spaceObject: added)
+		{
+			long column = (long) Math.floor(spaceObject.getX() / cellSize);
+			long row = (long) Math.floor(spaceObject.getY() / cellSize);
+			for(long i = column - 1; i <= column + 1; i++)
+			{
+				for(long j = row - 1; j <= row + 1; j++)
+				{
+					List<SpaceObject> cell = grid.get(getGridKey(i, j));
+					if(cell == null)
+						continue;
+					for(SpaceObject other: cell)
+					{
+						if(SpaceObject.overlap(other, spaceObject))
+							return true;
+					}
+				}
+			}
+			addToGrid(grid, spaceObject, cellSize);
+		}
+		return false;
+	}
+	
+	private static void addToGrid(Map<Long, List<SpaceObject>> grid, SpaceObject spaceObject, double cellSize)
+	{
+		long key = getGridKey((long) Math.floor(spaceObject.getX() / cellSize), (long) Math.floor(spaceObject.getY() / cellSize));
+		List<SpaceObject> cell = grid.get(key);
+		if(cell == null)
+		{
+			cell = new ArrayList<SpaceObject>(2);
+			grid.put(key, cell);
+		}
+		cell.add(spaceObject);
+	}
+	
+	private static long getGridKey(long column, long row)
+	{
+		return (column << 32) ^ (row & 0xffffffffL);
+	}
+	
 	/**
 	 * 
 	 * @param spaceObject
@@ -259,13 +414,16 @@ public class World {
 	}
 	
 	/**
+	 * Return a read-only view on the space objects of this world.
+	 * The view follows the changes of this world, so it must not be iterated while space objects 
+	 * are added to or removed from this world.
 	 * 
 	 * @return 	...
-	 * 			| this.spaceObjects
+	 * 			| result == Collections.unmodifiableSet(this.spaceObjects)
 	 */
 	@Basic
 	public Set<SpaceObject> getSpaceObjects() {
-		return new HashSet<SpaceObject>(this.spaceObjects);
+		return this.spaceObjectsView;
 	}
 	
 	/**
@@ -273,36 +431,152 @@ public class World {
 	 * @param 	objects
 	 * 
 	 * @post	...
-	 * 			| (new this).getSpaceObjects() == objects
+	 * 			| (new this).getSpaceObjects().equals(objects)
 	 */
 	public void setSpaceObjects(Set<SpaceObject> objects)
 	{
-		this.spaceObjects = new HashSet<SpaceObject>(objects);
+		this.spaceObjects.clear();
+		this.spaceObjects.addAll(objects);
+		for(Map.Entry<Class<? extends SpaceObject>, Set<SpaceObject>> index: this.typeIndices.entrySet())
+		{
+			index.getValue().clear();
+			for(SpaceObject spaceObject: objects)
+			{
+				if(index.getKey().isInstance(spaceObject))
+					index.getValue().add(spaceObject);
+			}
+		}
 	}
 	
 	
 	
 	/**
+	 * Return a read-only view on the space objects of this world that are instances of the given class.
+	 * The view follows the changes of this world, so it must not be iterated while space objects 
+	 * are added to or removed from this world.
+	 * Ships, asteroids and bullets are kept in an index per type, so their views are not filtered.
 	 * 
 	 * @param	clazz
 	 * 			The subclass from SpaceObject from which a set must be returned.
 	 * @return	...
-	 * 			| result == (setObjects == new HashSet<(clazz.getClass())>())
-	 * 			|	&& for each spaceObject in setObjects: 
-	 * 			|		(clazz.getClass()).isInstance(spaceObject)
+	 * 			| for each spaceObject in this.getSpaceObjects():
+	 * 			|	result.contains(spaceObject) == clazz.isInstance(spaceObject)
 	 */
-	public Set<? extends SpaceObject> getObjects(Class<? extends SpaceObject> clazz) 
+	public Set<? extends SpaceObject> getObjects(final Class<? extends SpaceObject> clazz) 
 	{
-		Set<SpaceObject> setObjects = new HashSet<SpaceObject>();
-		for(SpaceObject spaceObject: getSpaceObjects())
-		{
-			if(((clazz)).isInstance(spaceObject))
-				setObjects.add(spaceObject);
-		}
-		return setObjects;
+		if(clazz == SpaceObject.class)
+			return this.getSpaceObjects();
+		Set<SpaceObject> view = this.typeIndexViews.get(clazz);
+		if(view != null)
+			return view;
+		
+		return new AbstractSet<SpaceObject>() {
+			
+			@Override
+			public boolean contains(Object object)
+			{
+				return clazz.isInstance(object) && spaceObjects.contains(object);
+			}
+			
+			@Override
+			public Iterator<SpaceObject> iterator()
+			{
+				final Iterator<SpaceObject> all = spaceObjects.iterator();
+				return new Iterator<SpaceObject>() {
+					
+					private SpaceObject next = findNext();
+					
+					private SpaceObject findNext()
+					{
+						while(all.hasNext())
+						{
+							SpaceObject spaceObject = all.next();
+							if(clazz.isInstance(spaceObject))
+								return spaceObject;
+						}
+						return null;
+					}
+					
+					@Override
+					public boolean hasNext()
+					{
+						return this.next != null;
+					}
+					
+					@Override
+					public SpaceObject next()
+					{
+						if(this.next == null)
+							throw new NoSuchElementException();
+						SpaceObject result = this.next;
+						this.next = findNext();
+						return result;
+					}
+					
+					@Override
+					public void remove()
+					{
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+			
+			@Override
+			public int size()
+			{
+				int size = 0;
+				for(SpaceObject spaceObject: spaceObjects)
+				{
+					if(clazz.isInstance(spaceObject))
+						size++;
+				}
+				return size;
+			}
+		};
 	}
 	
-	private Set<SpaceObject> spaceObjects = new HashSet<SpaceObject>();
+	private final Set<SpaceObject> spaceObjects = new HashSet<SpaceObject>();
+	private final Set<SpaceObject> spaceObjectsView = Collections.unmodifiableSet(this.spaceObjects);
+	
+	private final Map<Class<? extends SpaceObject>, Set<SpaceObject>> typeIndices = createTypeIndices();
+	private final Map<Class<? extends SpaceObject>, Set<SpaceObject>> typeIndexViews = createTypeIndexViews(this.typeIndices);
+	
+	/**
+	 * Return a new empty index for each type of space object that this world keeps an index of: ships, asteroids and bullets.
+	 */
+	private static Map<Class<? extends SpaceObject>, Set<SpaceObject>> createTypeIndices()
+	{
+		Map<Class<? extends SpaceObject>, Set<SpaceObject>> indices = new HashMap<Class<? extends SpaceObject>, Set<SpaceObject>>();
+		indices.put(Ship.class, new HashSet<SpaceObject>());
+		indices.put(Asteroid.class, new HashSet<SpaceObject>());
+		indices.put(Bullet.class, new HashSet<SpaceObject>());
+		return indices;
+	}
+	
+	/**
+	 * Return a read-only view on each of the given indices.
+	 */
+	private static Map<Class<? extends SpaceObject>, Set<SpaceObject>> createTypeIndexViews(Map<Class<? extends SpaceObject>, Set<SpaceObject>> indices)
+	{
+		Map<Class<? extends SpaceObject>, Set<SpaceObject>> views = new HashMap<Class<? extends SpaceObject>, Set<SpaceObject>>();
+		for(Map.Entry<Class<? extends SpaceObject>, Set<SpaceObject>> index: indices.entrySet())
+			views.put(index.getKey(), Collections.unmodifiableSet(index.getValue()));
+		return views;
+	}
+	
+	private final WorldState worldState = new WorldState();
+	
+	/**
+	 * Return the world state in which the motion data of the space objects of this world is stored.
+	 * 
+	 * @return	...
+	 * 			| this.worldState
+	 */
+	@Basic @Immutable
+	public WorldState getWorldState()
+	{
+		return this.worldState;
+	}
 	
 	/**
 	 * 
@@ -312,17 +586,22 @@ public class World {
 	 * 			| (spaceObject != null) && (spaceObject.getWorld()==this) && this.containsSpaceObject(spaceObject)
 	 * @effect	...
 	 * 			| this.removeCollisions(spaceObject)
+	 * @post	...
+	 * 			| !(new this).getSpaceObjects().contains(spaceObject)
 	 * @effect	...
-	 * 			| (new this).getSpaceObjects() == this.getSpaceObjects().remove(spaceObject)
+	 * 			| spaceObject.detachFromStorage()
 	 */
 	@Raw
 	public void removeSpaceObject(SpaceObject spaceObject) {
 		assert (spaceObject != null) && (spaceObject.getWorld() == this) && containsSpaceObject(spaceObject);
 		
-		Set<SpaceObject> objects = this.getSpaceObjects();
-		objects.remove(spaceObject);
+		if(this.metrics != null)
+			this.metrics.addRemovedObject();
+		this.spaceObjects.remove(spaceObject);
+		for(Set<SpaceObject> index: this.typeIndices.values())
+			index.remove(spaceObject);
 		this.removeCollisions(spaceObject);
-		this.setSpaceObjects(objects);
+		spaceObject.detachFromStorage();
 		
 	}
 	
@@ -348,19 +627,58 @@ public class World {
 		return true;
 	}
 	
-	private ArrayList<Collision> possibleCollisions;
+	private final CollisionIndex possibleCollisions = new CollisionIndex();
 	
 	/**
 	 * 
 	 * @return	...
-	 * 			| this.possibleCollisions
+	 * 			| this.getPossibleCollisions(Double.POSITIVE_INFINITY)
 	 */
-	@Basic
 	public ArrayList<Collision> getPossibleCollisions()
 	{
-		if(this.possibleCollisions == null)
-			return null;
-		return new ArrayList<Collision>(possibleCollisions);
+		return this.getPossibleCollisions(Double.POSITIVE_INFINITY);
+	}
+	
+	/**
+	 * Return the collisions registered in this world together with the collisions
+	 * between space objects that the broad phase of this world reports for the given horizon.
+	 * 
+	 * @param	horizon
+	 * 			The time span in which the collisions between space objects can happen.
+	 * @return	...
+	 * 			| result == this.possibleCollisions + this.getBroadPhase().getCandidateCollisions(horizon)
+	 */
+	public ArrayList<Collision> getPossibleCollisions(double horizon)
+	{
+		ArrayList<Collision> collisions = new ArrayList<Collision>(this.possibleCollisions.getCollisions());
+		collisions.addAll(this.getBroadPhase().getCandidateCollisions(horizon));
+		return collisions;
+	}
+	
+	/**
+	 * Return the number of collisions that this world keeps in memory: the collisions with the border
+	 * and the collisions that the broad phase of this world keeps between its queries.
+	 * The collisions between space objects are only made for pairs that can collide within the horizon of the
+	 * last query and that are not moving apart, so this number grows linearly with the number of space objects
+	 * as long as their density stays the same.
+	 * 
+	 * @return	...
+	 * 			| result == this.possibleCollisions.size() + this.getBroadPhase().getNmbOfCollisions()
+	 */
+	public int getNmbOfStoredCollisions()
+	{
+		return this.possibleCollisions.size() + this.getBroadPhase().getNmbOfCollisions();
+	}
+	
+	/**
+	 * Return the number of events in the collision queue of this world, including outdated events.
+	 * 
+	 * @return	...
+	 * 			| result == this.collisionQueue.size()
+	 */
+	public int getNmbOfCollisionEvents()
+	{
+		return this.collisionQueue.size();
 	}
 	
 	/**
@@ -368,32 +686,31 @@ public class World {
 	 * @param 	collisions
 	 * @post	...
 	 * 			| if(collisions == null) 
-	 * 			|   then( (new this).possibleCollisions == new ArrayList<Collision>())
+	 * 			|   then (new this).possibleCollisions.isEmpty()
 	 * @post	...
-	 * 			| (new this).possibleCollisions == collisions	
+	 * 			| for each collision in collisions:
+	 * 			|	(new this).possibleCollisions.contains(collision)
 	 */
 	public void setPossibleCollisions(List<Collision> collisions)
 	{
-		if(collisions == null)
-			this.possibleCollisions = new ArrayList<Collision>();
-		else
-			this.possibleCollisions = new ArrayList<Collision>(collisions);
+		this.possibleCollisions.clear();
+		if(collisions != null)
+		{
+			for(Collision collision: collisions)
+				this.possibleCollisions.add(collision);
+		}
 	}
 	
 	/**
 	 * 
 	 * @param 	spaceObject
 	 * @effect	...
-	 * 			| if( this.getPossibleCollisions == null )
-	 * 				then ( List<Collision> collisions = new ArrayList<Collision>())
-	 * 			| 		else (List<Collision> collisions = new ArrayList<Collision>(this.getPossibleCollisions()))
-	 * 			|		 Collision collisionWithBorder = new Collision(spaceObject)
-	 * 			| 	 		collisions.add(collisionWithBorder)
-	 * 			|			 for each object in this.getSpaceObjects():
-	 * 			|				(Collision collision = new Collision(spaceObject, object)
-	 * 			|							with collision.areValidObjects(spaceObject,object) == true
-	 *			|						collisions.add(collision))
-	 *			|						this.setPossibleCollisions(collisions)
+	 * 			| if(new Collision(spaceObject).isValidObject(spaceObject))
+	 * 			|	then this.possibleCollisions.add(new Collision(spaceObject))
+	 * @effect	...
+	 * 			| this.getBroadPhase().addSpaceObject(spaceObject)
+	 * @effect	...
+	 * 			| this.scheduleCollisions(spaceObject)
 	 * @throws	IllegalArgumentException
 	 * 			| spaceObject == null
 	 */
@@ -402,99 +719,516 @@ public class World {
 		if(spaceObject == null)
 			throw new IllegalArgumentException();
 		
-		List<Collision> collisions;
-		if(this.getPossibleCollisions() == null)
-			collisions = new ArrayList<Collision>();
-		else
-			collisions = new ArrayList<Collision>(this.getPossibleCollisions());
-		
-		List<SpaceObject> objects = new ArrayList<SpaceObject>(this.getSpaceObjects());
-		
+		this.trackCollisions(spaceObject);
+		this.scheduleCollisions(spaceObject);
+	}
+	
+	/**
+	 * Add the collision of the given space object with the borders of this world to the possible collisions 
+	 * and the given space object to the broad phase of this world, without predicting any collision.
+	 */
+	private void trackCollisions(SpaceObject spaceObject)
+	{
 		try{
 			Collision collisionWithBorder = new Collision(spaceObject);
-			collisions.add(collisionWithBorder);
+			this.possibleCollisions.add(collisionWithBorder);
 		}
 		catch(IllegalArgumentException iae) {}
-				
-		for(int i = 0; i < objects.size(); i++)
-		{
-			
-			try
-			{
-				Collision collision = new Collision(spaceObject, objects.get(i));
-				collisions.add(collision);
-			}
-			catch(IllegalArgumentException iae) // !collision.areValidObjects(spaceObject, objects.get(i))
-			{}
-				
-		}		
 		
-		this.setPossibleCollisions(collisions);
+		this.getBroadPhase().addSpaceObject(spaceObject);
 	}
 	
 	/**
+	 * Remove the collisions of the given space object from this world. Only the collisions of the given space object are visited.
 	 * 
 	 * @param 	spaceObject
 	 * @post	...
 	 * 			| for each collision in (new this).getPossibleCollisions():
 	 * 			|	!collision.contains(spaceObject)
+	 * @effect	...
+	 * 			| this.getBroadPhase().removeSpaceObject(spaceObject)
+	 * @effect	...
+	 * 			| this.collisionQueue.invalidate(spaceObject)
 	 */
 	public void removeCollisions(SpaceObject spaceObject)
 	{
-		List<Collision> collisions;
-		if(this.getPossibleCollisions() == null)
-			collisions = new ArrayList<Collision>();
-		else
-			collisions = new ArrayList<Collision>(this.getPossibleCollisions());
-		
-		Iterator<Collision> it = collisions.iterator(); 
+		this.possibleCollisions.removeAll(spaceObject);
 		
-		while(it.hasNext())
-		{
-			Collision collision = it.next();
-			if(collision.contains(spaceObject))
-				it.remove();					
-		}		
-		
-		this.setPossibleCollisions(collisions);
+		this.getBroadPhase().removeSpaceObject(spaceObject);
+		this.collisionQueue.invalidate(spaceObject);
+	}
+	
+	private BroadPhase broadPhase = new SpatialHashBroadPhase();
+	
+	/**
+	 * Return the broad phase that pairs the space objects of this world into possible collisions.
+	 * 
+	 * @return	...
+	 * 			| this.broadPhase
+	 */
+	@Basic
+	public BroadPhase getBroadPhase()
+	{
+		return this.broadPhase;
+	}
+	
+	/**
+	 * 
+	 * @param 	broadPhase
+	 * @return	...
+	 * 			| result == (broadPhase != null)
+	 */
+	public boolean isValidBroadPhase(BroadPhase broadPhase)
+	{
+		return (broadPhase != null);
+	}
+	
+	/**
+	 * Set the broad phase of this world. Use an ExhaustiveBroadPhase to fall back to pairing
+	 * every two space objects of this world.
+	 * 
+	 * @param 	broadPhase
+	 * 			The new broad phase of this world.
+	 * @post	...
+	 * 			| (new this).getBroadPhase() == broadPhase
+	 * @effect	...
+	 * 			| for each spaceObject in this.getSpaceObjects():
+	 * 			|	broadPhase.addSpaceObject(spaceObject)
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidBroadPhase(broadPhase)
+	 */
+	public void setBroadPhase(BroadPhase broadPhase) throws IllegalArgumentException
+	{
+		if(!isValidBroadPhase(broadPhase))
+			throw new IllegalArgumentException();
+		for(SpaceObject spaceObject: this.spaceObjects)
+			broadPhase.addSpaceObject(spaceObject);
+		this.broadPhase = broadPhase;
+		this.collisionQueue.clear();
 	}
 	
 	/**
 	 * 
 	 * @return	...
-	 * 			| for each collision in this.getPossibleCollisions():
-	 * 			|	collision.getTimeToCollision() >= result.getTimeToCollision()
+	 * 			| result == this.getFirstCollision(Double.POSITIVE_INFINITY)
 	 */
 	public Collision getFirstCollision()
 	{
-		List<Collision> collisions = this.getPossibleCollisions();
+		return this.getFirstCollision(Double.POSITIVE_INFINITY);
+	}
+	
+	/**
+	 * Return the first collision among the possible collisions for the given horizon.
+	 * 
+	 * @param	horizon
+	 * 			The time span in which the collisions between space objects can happen.
+	 * @return	...
+	 * 			| if(this.getFirstCollisionEvent(horizon) == null)
+	 * 			|	then result == null
+	 * 			| else
+	 * 			|	then result == this.getFirstCollisionEvent(horizon).getCollision()
+	 */
+	public Collision getFirstCollision(double horizon)
+	{
+		CollisionEvent event = this.getFirstCollisionEvent(horizon);
+		if(event == null)
+			return null;
+		return event.getCollision();
+	}
+	
+	private final KineticCollisionQueue collisionQueue = new KineticCollisionQueue();
+	
+	/**
+	 * Remember that the trajectory of the given space object of this world changed, so its collisions
+	 * are predicted again before this world evolves further.
+	 * 
+	 * @param 	spaceObject
+	 * 			The space object whose position or velocity changed.
+	 * @effect	...
+	 * 			| this.collisionQueue.markChanged(spaceObject)
+	 */
+	void motionChanged(SpaceObject spaceObject)
+	{
+		this.collisionQueue.markChanged(spaceObject);
+	}
+	
+	/**
+	 * Predict the collisions of the space objects that changed their trajectory since their collisions were last predicted.
+	 * 
+	 * @effect	...
+	 * 			| this.rescheduleCollisions(this.collisionQueue.takeChangedObjects())
+	 */
+	private void rescheduleChangedCollisions()
+	{
+		if(!this.collisionQueue.hasChangedObjects())
+			return;
+		List<SpaceObject> changedObjects = this.collisionQueue.takeChangedObjects();
+		this.rescheduleCollisions(changedObjects.toArray(new SpaceObject[changedObjects.size()]));
+	}
+	
+	/**
+	 * The default time span for which this world predicts all collisions at once.
+	 */
+	public static final double DEFAULT_COLLISION_LOOKAHEAD = 0.5;
+	
+	private double collisionLookahead = DEFAULT_COLLISION_LOOKAHEAD;
+	
+	/**
+	 * Return the time span for which this world predicts all collisions at once.
+	 * While no space object changes its trajectory, the world evolves for this time span
+	 * before it has to predict all collisions again.
+	 * 
+	 * @return	...
+	 * 			| this.collisionLookahead
+	 */
+	@Basic
+	public double getCollisionLookahead()
+	{
+		return this.collisionLookahead;
+	}
+	
+	/**
+	 * 
+	 * @param 	collisionLookahead
+	 * @return	...
+	 * 			| result == (!Double.isNaN(collisionLookahead) && !Double.isInfinite(collisionLookahead) && collisionLookahead >= 0)
+	 */
+	public static boolean isValidCollisionLookahead(double collisionLookahead)
+	{
+		return (!Double.isNaN(collisionLookahead) && !Double.isInfinite(collisionLookahead) && collisionLookahead >= 0);
+	}
+	
+	/**
+	 * 
+	 * @param 	collisionLookahead
+	 * @post	...
+	 * 			| (new this).getCollisionLookahead() == collisionLookahead
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidCollisionLookahead(collisionLookahead)
+	 */
+	public void setCollisionLookahead(double collisionLookahead) throws IllegalArgumentException
+	{
+		if(!isValidCollisionLookahead(collisionLookahead))
+			throw new IllegalArgumentException();
+		this.collisionLookahead = collisionLookahead;
+	}
+	
+	/**
+	 * Return the first predicted collision event among the possible collisions for the given horizon.
+	 * The collision queue of this world is only rebuilt when it does not cover the given horizon yet.
+	 * 
+	 * @param	horizon
+	 * 			The time span in which the collisions between space objects can happen.
+	 * @return	...
+	 * 			| for each collision in this.getPossibleCollisions(horizon):
+	 * 			|	this.getTime() + collision.getTimeToCollision() >= result.getTime()
+	 * @effect	...
+	 * 			| if(!this.collisionQueue.isBuiltUntil(this.getTime() + horizon))
+	 * 			|	then this.buildCollisionQueue(horizon)
+	 */
+	public CollisionEvent getFirstCollisionEvent(double horizon)
+	{
+		if(!this.collisionQueue.isBuiltUntil(this.getTime() + horizon))
+			this.buildCollisionQueue(horizon);
+		return this.collisionQueue.peek();
+	}
+	
+	/**
+	 * Predict all possible collisions within the given horizon and put them in the collision queue of this world.
+	 * The predictions are calculated in parallel if this world is parallel and there are at least as many 
+	 * possible collisions as the parallel threshold of this world.
+	 * 
+	 * @param 	horizon
+	 * 			The time span in which the collisions between space objects can happen.
+	 * @effect	...
+	 * 			| this.collisionQueue.clear()
+	 * @effect	...
+	 * 			| for each collision in this.getPossibleCollisions(horizon):
+	 * 			|	this.collisionQueue.schedule(collision, this.getTime())
+	 * @effect	...
+	 * 			| this.collisionQueue.setEnd(this.getTime() + horizon)
+	 */
+	private void buildCollisionQueue(double horizon)
+	{
+		this.collisionQueue.clear();
+		final List<Collision> collisions = this.getPossibleCollisions(horizon);
+		if(this.isParallelFor(collisions.size()))
+		{
+			// Every collision is predicted once in parallel; scheduling them in order then only reads the predictions.
+			ParallelLoop.forEach(collisions.size(), this.getParallelGrain(collisions.size()), (from, to) -> {
+				for(int i = from; i < to; i++)
+					collisions.get(i).getTimeToCollision();
+			});
+		}
+		for(Collision collision: collisions)
+			this.predictCollision(collision);
+		this.collisionQueue.setEnd(this.getTime() + horizon);
+	}
+	
+	/**
+	 * Predict the collisions of the given space object up to the end of the collision queue of this world
+	 * and put them in that queue. Nothing happens when the collision queue is not built.
+	 * 
+	 * @param 	spaceObject
+	 * 			The space object whose collisions are predicted.
+	 * @effect	...
+	 * 			| for each collision in this.possibleCollisions.getCollisions(spaceObject):
+	 * 			|	this.collisionQueue.schedule(collision, this.getTime())
+	 * @effect	...
+	 * 			| for each collision in this.getBroadPhase().getCandidateCollisions(spaceObject, 
+	 * 			|			this.collisionQueue.getEnd() - this.getTime()):
+	 * 			|	this.collisionQueue.schedule(collision, this.getTime())
+	 */
+	private void scheduleCollisions(SpaceObject spaceObject)
+	{
+		if(!this.collisionQueue.isBuiltUntil(this.getTime()))
+			return;
 		
-		Collision firstCollision = null;
-		double time = Double.POSITIVE_INFINITY;
+		for(Collision collision: this.possibleCollisions.getCollisions(spaceObject))
+			this.predictCollision(collision);
 		
-		for(Collision collision: collisions)
+		double horizon = Math.max(0, this.collisionQueue.getEnd() - this.getTime());
+		for(Collision collision: this.getBroadPhase().getCandidateCollisions(spaceObject, horizon))
+			this.predictCollision(collision);
+	}
+	
+	/**
+	 * Predict the given collision and put it in the collision queue of this world.
+	 * 
+	 * @param 	collision
+	 * 			The collision to predict.
+	 * @effect	...
+	 * 			| this.collisionQueue.schedule(collision, this.getTime())
+	 */
+	private void predictCollision(Collision collision)
+	{
+		this.collisionQueue.schedule(collision, this.getTime());
+		if(this.metrics != null)
+			this.metrics.addPredictions(1);
+	}
+	
+	/**
+	 * Mark the predicted collisions of the given space objects as outdated and predict them again.
+	 * Collisions between two of the given space objects are only predicted once.
+	 * 
+	 * @param 	spaceObjects
+	 * 			The space objects that changed their course.
+	 * @effect	...
+	 * 			| for each spaceObject in spaceObjects:
+	 * 			|	this.collisionQueue.invalidate(spaceObject)
+	 * @effect	...
+	 * 			| for each spaceObject in spaceObjects:
+	 * 			|	if(this.containsSpaceObject(spaceObject))
+	 * 			|		then this.scheduleCollisions(spaceObject)
+	 */
+	private void rescheduleCollisions(SpaceObject... spaceObjects)
+	{
+		for(SpaceObject spaceObject: spaceObjects)
+			this.collisionQueue.invalidate(spaceObject);
+		if(!this.collisionQueue.isBuiltUntil(this.getTime()))
+			return;
+		
+		double horizon = Math.max(0, this.collisionQueue.getEnd() - this.getTime());
+		Set<SpaceObject> done = new HashSet<SpaceObject>();
+		for(SpaceObject spaceObject: spaceObjects)
 		{
-			double timeToCollision = collision.getTimeToCollision();
-			if(time > timeToCollision)
+			if(!this.containsSpaceObject(spaceObject))
+				continue;
+			
+			for(Collision collision: this.possibleCollisions.getCollisions(spaceObject))
+				this.predictCollision(collision);
+			for(Collision collision: this.getBroadPhase().getCandidateCollisions(spaceObject, horizon))
 			{
-				time = timeToCollision;
-				firstCollision = collision;
+				if(!done.contains(collision.getObject1()) && !done.contains(collision.getObject2()))
+					this.predictCollision(collision);
 			}
+			done.add(spaceObject);
 		}
-		
-		return firstCollision;
-		
+	}
+	
+	// Metrics
+	
+	private final List<WorldMetricsListener> metricsListeners = new CopyOnWriteArrayList<WorldMetricsListener>();
+	
+	/**
+	 * The metrics of the evolve that is running, or null if this world does not measure that evolve.
+	 */
+	private WorldMetrics metrics;
+	
+	/**
+	 * Check whether the given metrics listener is attached to this world.
+	 * 
+	 * @param 	metricsListener
+	 * @return	...
+	 * 			| result == this.metricsListeners.contains(metricsListener)
+	 */
+	public boolean hasAsMetricsListener(WorldMetricsListener metricsListener)
+	{
+		return this.metricsListeners.contains(metricsListener);
+	}
+	
+	/**
+	 * Attach the given metrics listener to this world, so it receives the metrics of every following evolve.
+	 * This world only measures its evolves while a metrics listener is attached.
+	 * 
+	 * @param 	metricsListener
+	 * 			The metrics listener to attach.
+	 * @post	...
+	 * 			| (new this).hasAsMetricsListener(metricsListener)
+	 * @throws	IllegalArgumentException
+	 * 			| metricsListener == null
+	 */
+	public void addMetricsListener(WorldMetricsListener metricsListener) throws IllegalArgumentException
+	{
+		if(metricsListener == null)
+			throw new IllegalArgumentException();
+		if(!this.metricsListeners.contains(metricsListener))
+			this.metricsListeners.add(metricsListener);
+	}
+	
+	/**
+	 * Detach the given metrics listener from this world.
+	 * 
+	 * @param 	metricsListener
+	 * 			The metrics listener to detach.
+	 * @post	...
+	 * 			| !(new this).hasAsMetricsListener(metricsListener)
+	 */
+	public void removeMetricsListener(WorldMetricsListener metricsListener)
+	{
+		this.metricsListeners.remove(metricsListener);
+	}
+	
+	/**
+	 * Return the current time of the clock that measures the evolve that is running, or zero if it is not measured.
+	 */
+	private long getMetricsClock()
+	{
+		return (this.metrics == null) ? 0 : System.nanoTime();
+	}
+	
+	// Parallel execution
+	
+	private boolean parallel;
+	private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+	
+	/**
+	 * The default minimal number of items for which this world runs a loop in parallel.
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+	
+	/**
+	 * Check whether this world moves its space objects, thrusts its ships and predicts its collisions in parallel.
+	 * A parallel world gives exactly the same results as a serial world.
+	 * 
+	 * @return	...
+	 * 			| this.parallel
+	 */
+	@Basic
+	public boolean isParallel()
+	{
+		return this.parallel;
+	}
+	
+	/**
+	 * 
+	 * @param 	parallel
+	 * @post	...
+	 * 			| (new this).isParallel() == parallel
+	 */
+	public void setParallel(boolean parallel)
+	{
+		this.parallel = parallel;
+	}
+	
+	/**
+	 * Return the minimal number of items for which this world runs a loop in parallel.
+	 * 
+	 * @return	...
+	 * 			| this.parallelThreshold
+	 */
+	@Basic
+	public int getParallelThreshold()
+	{
+		return this.parallelThreshold;
+	}
+	
+	/**
+	 * 
+	 * @param 	parallelThreshold
+	 * @return	...
+	 * 			| result == (parallelThreshold >= 1)
+	 */
+	public static boolean isValidParallelThreshold(int parallelThreshold)
+	{
+		return (parallelThreshold >= 1);
+	}
+	
+	/**
+	 * 
+	 * @param 	parallelThreshold
+	 * @post	...
+	 * 			| (new this).getParallelThreshold() == parallelThreshold
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidParallelThreshold(parallelThreshold)
+	 */
+	public void setParallelThreshold(int parallelThreshold) throws IllegalArgumentException
+	{
+		if(!isValidParallelThreshold(parallelThreshold))
+			throw new IllegalArgumentException();
+		this.parallelThreshold = parallelThreshold;
+	}
+	
+	/**
+	 * Check whether this world runs a loop over the given number of items in parallel.
+	 * 
+	 * @param 	size
+	 * @return	...
+	 * 			| result == (this.isParallel() && size >= this.getParallelThreshold())
+	 */
+	private boolean isParallelFor(int size)
+	{
+		return this.isParallel() && (size >= this.getParallelThreshold());
+	}
+	
+	/**
+	 * Return the number of items of a parallel loop over the given number of items that one task handles.
+	 */
+	private int getParallelGrain(int size)
+	{
+		return Math.max(1, size / (4 * ParallelLoop.getParallelism()));
+	}
+	
+	private double time;
+	
+	/**
+	 * Return the absolute time of the simulation of this world.
+	 * 
+	 * @return	...
+	 * 			| this.time
+	 */
+	@Basic
+	public double getTime()
+	{
+		return this.time;
 	}
 	
 	/**
 	 * 
 	 * @param 	time
+	 * @post	...
+	 * 			| (new this).getTime() == this.getTime() + time
+	 * @effect	The space objects are moved and the ships are thrusted in parallel if this world is parallel
+	 * 			and there are at least as many of them as the parallel threshold of this world.
+	 * 			| this.getWorldState().move(time)
 	 * @effect	...
 	 * 			| for each spaceObject in this.getSpaceObjects():
-	 * 			|	if( spaceObject != null)
-	 * 			|	 then ( spaceObject.move(time)
-	 * 			|				if(Ship.class.isInstance(spaceObject))
-	 * 			|					then ( ((Ship)spaceObject).thrust(time)))
+	 * 			|	if(Ship.class.isInstance(spaceObject))
+	 * 			|		then ((Ship)spaceObject).thrust(time)
+	 * @effect	...
+	 * 			| for each spaceObject in this.getSpaceObjects():
+	 * 			|	if(Ship.class.isInstance(spaceObject) && ((Ship)spaceObject).isThrusterEnabled())
+	 * 			|		then this.rescheduleCollisions(spaceObject)
 	 * @effect	...
 	 * 			| for each spaceObject in this.getSpaceObjects():
 	 * 			|	if(spaceObject != null && Ship.class.isInstance(spaceObject) &&
@@ -503,28 +1237,57 @@ public class World {
 	 */
 	public void advanceObjects(double time) throws IllegalArgumentException
 	{
+		long start = this.getMetricsClock();
 		double nmbOfExecutions = ( time/0.2);
-		for(SpaceObject spaceObject: this.getSpaceObjects())
+		final WorldState worldState = this.getWorldState();
+		final double duration = time;
+		if(this.isParallelFor(worldState.size()))
 		{
-			if(spaceObject != null)
-			{
-				spaceObject.move(time);
-				
-				if(Ship.class.isInstance(spaceObject))
-				{
-					((Ship)spaceObject).thrust(time);
-					
-				}				
-			}
-		}	
-		for(SpaceObject spaceObject: this.getSpaceObjects())
+			if(worldState.size() > 0 && !worldState.getSpaceObject(0).isValidDuration(duration))
+				throw new IllegalArgumentException();
+			ParallelLoop.forEach(worldState.size(), this.getParallelGrain(worldState.size()),
+					(from, to) -> worldState.move(duration, from, to));
+		}
+		else
+			worldState.move(duration);
+		this.time += time;
+		
+		final List<Ship> ships = new ArrayList<Ship>();
+		for(int handle = 0; handle < worldState.size(); handle++)
+		{
+			SpaceObject spaceObject = worldState.getSpaceObject(handle);
+			if(Ship.class.isInstance(spaceObject))
+				ships.add((Ship)spaceObject);
+		}
+		if(this.isParallelFor(ships.size()))
+		{
+			ParallelLoop.forEach(ships.size(), this.getParallelGrain(ships.size()), (from, to) -> {
+				for(int i = from; i < to; i++)
+					ships.get(i).thrust(duration);
+			});
+		}
+		else
+		{
+			for(Ship ship: ships)
+				ship.thrust(duration);
+		}
+		for(Ship ship: ships)
+		{
+			if(ship.isThrusterEnabled())
+				this.rescheduleCollisions(ship);
+		}
+		for(Ship ship: ships)
 		{
-			if(spaceObject != null && Ship.class.isInstance(spaceObject))
+			if(ship.getProgram() != null && !ship.getProgram().isFinished()  )
 			{
-				if(((Ship)spaceObject).getProgram() != null && !((Ship)spaceObject).getProgram().isFinished()  )
-					((Ship)spaceObject).getProgram().execute(nmbOfExecutions);
+				long steps = ship.getProgram().getNmbOfExecutedSteps();
+				ship.getProgram().execute(nmbOfExecutions);
+				if(this.metrics != null)
+					this.metrics.addProgramSteps(ship.getProgram().getNmbOfExecutedSteps() - steps);
 			}
 		}
+		if(this.metrics != null)
+			this.metrics.addAdvanceTime(System.nanoTime() - start);
 	}
 	
 	/**
@@ -533,14 +1296,14 @@ public class World {
 	 * @param	collisionListener
 	 * @return	...
 	 * 			| if( result == Double.POSITIVE_INFINITY )
-	 * 			|	then ( this.getFirstCollision() == null)
+	 * 			|	then ( this.getFirstCollisionEvent(dt) == null)
 	 * @return	...
 	 * 			| if ( result != Double.POSITIVE_INFINITY )
-	 * 			|	then (result == this.getFirstCollision().getTimeToCollision() )
+	 * 			|	then (result == this.getFirstCollisionEvent(dt).getTime() - this.getTime() )
 	 * @effect	...
-	 * 			| if( this.getFirstCollision() != null)
-	 * 			|	then ( Collision firstCollision = this.getFirstCollision()
-	 * 			|			double tc = firstCollision.getTimeToCollision()
+	 * 			| if( this.getFirstCollisionEvent(dt) != null)
+	 * 			|	then ( Collision firstCollision = this.getFirstCollisionEvent(dt).getCollision()
+	 * 			|			double tc = this.getFirstCollisionEvent(dt).getTime() - this.getTime()
 	 * 			|	 if (tc < dt)
 	 * 			|		then (if(!Util.fuzzyLessThanOrEqualTo(tc,0))
 	 * 			|		      then ( this.advanceObjects(tc) )
@@ -554,24 +1317,30 @@ public class World {
 	 *	    	|			 				firstCollision.getObject2(), 
 	 *	    	|			 				firstCollision.getCollisionPosition()[0],
 	 *	    	|			 				firstCollision.getCollisionPosition()[1]))))
-	 *			|		firstCollision.execute()			
+	 *			|		if(this.collisionQueue.isValidEvent(this.getFirstCollisionEvent(dt)))
+	 *			|		then firstCollision.execute()
+	 *			|		this.rescheduleCollisions(firstCollision.getObject1(), firstCollision.getObject2()) )
 	 */
 	public double evolveBeforeCollision(double dt, CollisionListener collisionListener) throws IllegalArgumentException
 	{
 		double tc = Double.POSITIVE_INFINITY;
-		double collisionTime;
-		Collision firstCollision;
 		
-		try{
-			firstCollision = this.getFirstCollision();
-			collisionTime = firstCollision.getTimeToCollision();
-		}
-		catch(NullPointerException npe)
+		EvolveStepEvent stepEvent = new EvolveStepEvent();
+		stepEvent.begin();
+		if(this.metrics != null)
+			this.metrics.addIteration();
+		long start = this.getMetricsClock();
+		CollisionEvent firstEvent = this.getFirstCollisionEvent(dt);
+		if(this.metrics != null)
+			this.metrics.addPredictionTime(System.nanoTime() - start);
+		if(firstEvent == null)
 		{
+			stepEvent.end(this, dt, tc, false);
 			return tc;
 		}
-				
-		tc = collisionTime;
+		
+		Collision firstCollision = firstEvent.getCollision();
+		tc = firstEvent.getTime() - this.getTime();
 		
 		if(tc <= dt)
 		{
@@ -580,6 +1349,14 @@ public class World {
 		           advanceObjects(tc);
 		     }
 			
+			// A thrusting ship changes its course while advancing, so its collision must be predicted again.
+			if(!this.collisionQueue.isValidEvent(firstEvent))
+			{
+				stepEvent.end(this, dt, tc, false);
+				return tc;
+			}
+			
+			start = this.getMetricsClock();
 			if(collisionListener != null){
 		    	 if(firstCollision.getObject2()==null){
 		    		 collisionListener.boundaryCollision(firstCollision.getObject1(), 
@@ -595,9 +1372,21 @@ public class World {
 		     }
 			
 			 firstCollision.execute();
-			
+			 if(this.metrics != null)
+			 {
+				 this.metrics.addCollision(firstCollision);
+				 this.metrics.addResolutionTime(System.nanoTime() - start);
+			 }
+			 
+			 start = this.getMetricsClock();
+			 this.rescheduleCollisions(firstCollision.getObject1(), firstCollision.getObject2());
+			 if(this.metrics != null)
+				 this.metrics.addPredictionTime(System.nanoTime() - start);
+			 stepEvent.end(this, dt, tc, true);
+			 return tc;
 		}		
 		
+		stepEvent.end(this, dt, tc, false);
 		return tc;
 	}
 	
@@ -614,12 +1403,34 @@ public class World {
 	 *			|	advanceObjects(newdt)
 	 * @throws 	IllegalArgumentException
 	 * 			| (Double.isNaN(dt) || Double.isInfinite(dt) || dt < 0)
+	 * @effect	The collisions predicted for an earlier step are kept, so only the collisions of the space objects that changed
+	 * 			their trajectory since then are predicted again. All collisions are predicted for the collision lookahead of 
+	 * 			this world when the collision queue does not cover the given time.
+	 * 			| if(this.collisionQueue.isBuiltUntil(this.getTime() + dt))
+	 * 			|	then this.rescheduleChangedCollisions()
+	 * 			| else
+	 * 			|	this.buildCollisionQueue(Math.max(dt, this.getCollisionLookahead()))
+	 * @effect	While a metrics listener is attached to this world, the evolve is measured and its metrics are passed 
+	 * 			to every metrics listener of this world at the end of the evolve.
+	 * 			| for each metricsListener in this.metricsListeners:
+	 * 			|	metricsListener.evolved(this, metrics)
 	 */
 	public void evolve(double dt, CollisionListener collisionListener) throws IllegalArgumentException
 	{
 		if(Double.isNaN(dt) || Double.isInfinite(dt) || dt < 0)
 			throw new IllegalArgumentException();
 		
+		// The flight recorder event of the evolve needs the metrics for its breakdown of the time per phase.
+		EvolveEvent event = new EvolveEvent();
+		event.begin();
+		this.metrics = (this.metricsListeners.isEmpty() && !event.isEnabled()) ? null : new WorldMetrics(dt);
+		long start = this.getMetricsClock();
+		if(this.collisionQueue.isBuiltUntil(this.getTime() + dt))
+			this.rescheduleChangedCollisions();
+		else
+			this.buildCollisionQueue(Math.max(dt, this.getCollisionLookahead()));
+		if(this.metrics != null)
+			this.metrics.addPredictionTime(System.nanoTime() - start);
 		double tc = evolveBeforeCollision(dt,collisionListener);
 		double newdt = dt;
 		
@@ -630,5 +1441,14 @@ public class World {
 		}
 		
 		advanceObjects(newdt);
+		
+		WorldMetrics metrics = this.metrics;
+		this.metrics = null;
+		if(metrics != null)
+		{
+			event.end(this, metrics);
+			for(WorldMetricsListener metricsListener: this.metricsListeners)
+				metricsListener.evolved(this, metrics);
+		}
 	}
 }
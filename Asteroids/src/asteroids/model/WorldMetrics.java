@@ -0,0 +1,222 @@
+package asteroids.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class representing the metrics of one evolve of a world: how often the world evolved before a collision,
+ * which collisions it resolved, how many collisions it predicted, how long it spent advancing the space objects,
+ * predicting collisions and resolving them, how many program steps the ships executed and how many space objects
+ * entered and left the world. A world only records these metrics while a metrics listener is attached to it
+ * or while the flight recorder records its evolves.
+ * The times are measured in nanoseconds with System.nanoTime().
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class WorldMetrics {
+
+	/**
+	 * Initializes new metrics for an evolve over the given time step, in which nothing happened yet.
+	 *
+	 * @param 	timeStep
+	 * 			The time step of the evolve.
+	 * @post	...
+	 * 			| (new this).getTimeStep() == timeStep
+	 */
+	WorldMetrics(double timeStep)
+	{
+		this.timeStep = timeStep;
+	}
+
+	private final double timeStep;
+	private int nmbOfIterations;
+	private int nmbOfBorderCollisions;
+	private int nmbOfObjectCollisions;
+	private int nmbOfKills;
+	private long nmbOfPredictions;
+	private long advanceTime;
+	private long predictionTime;
+	private long resolutionTime;
+	private long nmbOfProgramSteps;
+	private int nmbOfSpawnedObjects;
+	private int nmbOfRemovedObjects;
+
+	/**
+	 * Return the time step of the evolve, in seconds of the simulation.
+	 */
+	@Basic @Immutable
+	public double getTimeStep()
+	{
+		return this.timeStep;
+	}
+
+	/**
+	 * Return how often the world evolved before its first collision during the evolve.
+	 */
+	@Basic
+	public int getNmbOfIterations()
+	{
+		return this.nmbOfIterations;
+	}
+
+	/**
+	 * Return the number of resolved collisions with the border in which no space object died.
+	 */
+	@Basic
+	public int getNmbOfBorderCollisions()
+	{
+		return this.nmbOfBorderCollisions;
+	}
+
+	/**
+	 * Return the number of resolved collisions between two space objects that bounced off each other.
+	 */
+	@Basic
+	public int getNmbOfObjectCollisions()
+	{
+		return this.nmbOfObjectCollisions;
+	}
+
+	/**
+	 * Return the number of resolved collisions in which a space object died.
+	 */
+	@Basic
+	public int getNmbOfKills()
+	{
+		return this.nmbOfKills;
+	}
+
+	/**
+	 * Return the total number of resolved collisions.
+	 *
+	 * @return	...
+	 * 			| result == getNmbOfBorderCollisions() + getNmbOfObjectCollisions() + getNmbOfKills()
+	 */
+	public int getNmbOfCollisions()
+	{
+		return this.nmbOfBorderCollisions + this.nmbOfObjectCollisions + this.nmbOfKills;
+	}
+
+	/**
+	 * Return the number of collisions that were predicted and put in the collision queue of the world,
+	 * which is the number of pairs of space objects and of space objects with the border that were evaluated.
+	 */
+	@Basic
+	public long getNmbOfPredictions()
+	{
+		return this.nmbOfPredictions;
+	}
+
+	/**
+	 * Return the time spent advancing the space objects, which includes thrusting the ships and running their programs.
+	 */
+	@Basic
+	public long getAdvanceTime()
+	{
+		return this.advanceTime;
+	}
+
+	/**
+	 * Return the time spent predicting collisions and finding the first collision.
+	 */
+	@Basic
+	public long getPredictionTime()
+	{
+		return this.predictionTime;
+	}
+
+	/**
+	 * Return the time spent resolving collisions, which includes notifying the collision listener.
+	 */
+	@Basic
+	public long getResolutionTime()
+	{
+		return this.resolutionTime;
+	}
+
+	/**
+	 * Return the number of steps the programs of the ships executed. Every step executes the statements
+	 * of a program up to and including its next action statement.
+	 */
+	@Basic
+	public long getNmbOfProgramSteps()
+	{
+		return this.nmbOfProgramSteps;
+	}
+
+	/**
+	 * Return the number of space objects that entered the world, such as fired bullets and the parts of split asteroids.
+	 */
+	@Basic
+	public int getNmbOfSpawnedObjects()
+	{
+		return this.nmbOfSpawnedObjects;
+	}
+
+	/**
+	 * Return the number of space objects that left the world because they died.
+	 */
+	@Basic
+	public int getNmbOfRemovedObjects()
+	{
+		return this.nmbOfRemovedObjects;
+	}
+
+	void addIteration()
+	{
+		this.nmbOfIterations++;
+	}
+
+	/**
+	 * Count the given collision, which has just been executed.
+	 */
+	void addCollision(Collision collision)
+	{
+		SpaceObject object1 = collision.getObject1();
+		SpaceObject object2 = collision.getObject2();
+		if(object1.getState() == SpaceObject.State.TERMINATED || (object2 != null && object2.getState() == SpaceObject.State.TERMINATED))
+			this.nmbOfKills++;
+		else if(object2 == null)
+			this.nmbOfBorderCollisions++;
+		else
+			this.nmbOfObjectCollisions++;
+	}
+
+	void addPredictions(long nmbOfPredictions)
+	{
+		this.nmbOfPredictions += nmbOfPredictions;
+	}
+
+	void addAdvanceTime(long time)
+	{
+		this.advanceTime += time;
+	}
+
+	void addPredictionTime(long time)
+	{
+		this.predictionTime += time;
+	}
+
+	void addResolutionTime(long time)
+	{
+		this.resolutionTime += time;
+	}
+
+	void addProgramSteps(long nmbOfProgramSteps)
+	{
+		this.nmbOfProgramSteps += nmbOfProgramSteps;
+	}
+
+	void addSpawnedObject()
+	{
+		this.nmbOfSpawnedObjects++;
+	}
+
+	void addRemovedObject()
+	{
+		this.nmbOfRemovedObjects++;
+	}
+}
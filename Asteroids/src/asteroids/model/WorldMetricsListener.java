@@ -0,0 +1,26 @@
+package asteroids.model;
+
+/**
+ * The listener interface for receiving the metrics of every evolve of a world.
+ * A world only measures its evolves while at least one metrics listener is attached or the flight recorder
+ * records its evolves, so a world without metrics listeners evolves as fast as before.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public interface WorldMetricsListener {
+
+	/**
+	 * Invoked when <code>world</code> finished an evolve, with the metrics of that evolve.
+	 * Every evolve has metrics of its own, so the listener may keep them.
+	 *
+	 * @param 	world
+	 * 			The world that evolved.
+	 * @param 	metrics
+	 * 			The metrics of the evolve.
+	 */
+	public void evolved(World world, WorldMetrics metrics);
+}
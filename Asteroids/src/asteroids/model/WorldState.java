@@ -0,0 +1,382 @@
+package asteroids.model;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class representing the storage of the motion data of space objects.
+ * The position, velocity, radius and mass of every stored space object are kept in
+ * contiguous columns, indexed by the handle of the space object.
+ * The handles of the stored space objects are always 0 up to size() - 1; removing a space object
+ * moves the last stored space object to the freed handle.
+ *
+ * @invar	The size of this world state is never negative and never exceeds its capacity.
+ * 			| 0 <= size() && size() <= getCapacity()
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class WorldState {
+
+	/**
+	 * Initializes a new empty world state with a default capacity.
+	 *
+	 * @effect	...
+	 * 			| this(16)
+	 */
+	public WorldState()
+	{
+		this(16);
+	}
+
+	/**
+	 * Initializes a new empty world state with the given capacity.
+	 *
+	 * @param 	capacity
+	 * 			The number of space objects that can be stored before the columns grow.
+	 * @post	...
+	 * 			| (new this).size() == 0
+	 * @post	...
+	 * 			| (new this).getCapacity() == capacity
+	 * @throws	IllegalArgumentException
+	 * 			| capacity < 0
+	 */
+	public WorldState(int capacity) throws IllegalArgumentException
+	{
+		if(capacity < 0)
+			throw new IllegalArgumentException();
+		this.x = new double[capacity];
+		this.y = new double[capacity];
+		this.xVelocity = new double[capacity];
+		this.yVelocity = new double[capacity];
+		this.radius = new double[capacity];
+		this.mass = new double[capacity];
+		this.spaceObjects = new SpaceObject[capacity];
+	}
+
+	private double[] x;
+	private double[] y;
+	private double[] xVelocity;
+	private double[] yVelocity;
+	private double[] radius;	// in km
+	private double[] mass;		// in kg
+	private SpaceObject[] spaceObjects;
+	private int size;
+
+	/**
+	 * Return the number of space objects stored in this world state.
+	 *
+	 * @return	...
+	 * 			| this.size
+	 */
+	@Basic
+	public int size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * Return the number of space objects this world state can store before its columns grow.
+	 */
+	@Basic
+	public int getCapacity()
+	{
+		return this.x.length;
+	}
+
+	/**
+	 *
+	 * @param 	handle
+	 * @return	...
+	 * 			| result == (0 <= handle && handle < size())
+	 */
+	public boolean isValidHandle(int handle)
+	{
+		return (0 <= handle) && (handle < this.size());
+	}
+
+	/**
+	 * Return the space object stored at the given handle.
+	 *
+	 * @param 	handle
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 */
+	@Basic
+	public SpaceObject getSpaceObject(int handle)
+	{
+		return this.spaceObjects[handle];
+	}
+
+	/**
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 */
+	@Basic
+	public double getX(int handle)
+	{
+		return this.x[handle];
+	}
+
+	/**
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 */
+	@Basic
+	public double getY(int handle)
+	{
+		return this.y[handle];
+	}
+
+	/**
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 */
+	@Basic
+	public double getXVelocity(int handle)
+	{
+		return this.xVelocity[handle];
+	}
+
+	/**
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 */
+	@Basic
+	public double getYVelocity(int handle)
+	{
+		return this.yVelocity[handle];
+	}
+
+	/**
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 */
+	@Basic
+	public double getRadius(int handle)
+	{
+		return this.radius[handle];
+	}
+
+	/**
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 */
+	@Basic
+	public double getMass(int handle)
+	{
+		return this.mass[handle];
+	}
+
+	/**
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 * @post	...
+	 * 			| (new this).getX(handle) == x && (new this).getY(handle) == y
+	 */
+	void setPosition(int handle, double x, double y)
+	{
+		this.x[handle] = x;
+		this.y[handle] = y;
+	}
+
+	/**
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 * @post	...
+	 * 			| (new this).getXVelocity(handle) == xVelocity && (new this).getYVelocity(handle) == yVelocity
+	 */
+	void setVelocity(int handle, double xVelocity, double yVelocity)
+	{
+		this.xVelocity[handle] = xVelocity;
+		this.yVelocity[handle] = yVelocity;
+	}
+
+	/**
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 * @post	...
+	 * 			| (new this).getRadius(handle) == radius
+	 */
+	void setRadius(int handle, double radius)
+	{
+		this.radius[handle] = radius;
+	}
+
+	/**
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 * @post	...
+	 * 			| (new this).getMass(handle) == mass
+	 */
+	void setMass(int handle, double mass)
+	{
+		this.mass[handle] = mass;
+	}
+
+	/**
+	 * Store the given space object with the given motion data at the end of this world state.
+	 *
+	 * @param 	spaceObject
+	 * 			The space object to store.
+	 * @return	...
+	 * 			| result == this.size()
+	 * @post	...
+	 * 			| (new this).size() == this.size() + 1
+	 * @post	...
+	 * 			| (new this).getSpaceObject(result) == spaceObject && (new this).getX(result) == x
+	 * 			|	&& (new this).getY(result) == y && (new this).getXVelocity(result) == xVelocity
+	 * 			|	&& (new this).getYVelocity(result) == yVelocity && (new this).getRadius(result) == radius
+	 * 			|	&& (new this).getMass(result) == mass
+	 */
+	int add(SpaceObject spaceObject, double x, double y, double xVelocity, double yVelocity, double radius, double mass)
+	{
+		if(this.size == this.getCapacity())
+			this.grow();
+		int handle = this.size++;
+		this.spaceObjects[handle] = spaceObject;
+		this.x[handle] = x;
+		this.y[handle] = y;
+		this.xVelocity[handle] = xVelocity;
+		this.yVelocity[handle] = yVelocity;
+		this.radius[handle] = radius;
+		this.mass[handle] = mass;
+		return handle;
+	}
+
+	/**
+	 * Remove the space object at the given handle from this world state.
+	 * The last stored space object takes the given handle.
+	 *
+	 * @param 	handle
+	 * @pre		...
+	 * 			| isValidHandle(handle)
+	 * @post	...
+	 * 			| (new this).size() == this.size() - 1
+	 * @effect	...
+	 * 			| if(handle != this.size() - 1)
+	 * 			|	then this.getSpaceObject(this.size() - 1).setStorage(this, handle)
+	 */
+	void remove(int handle)
+	{
+		int last = --this.size;
+		if(handle != last)
+		{
+			this.spaceObjects[handle] = this.spaceObjects[last];
+			this.x[handle] = this.x[last];
+			this.y[handle] = this.y[last];
+			this.xVelocity[handle] = this.xVelocity[last];
+			this.yVelocity[handle] = this.yVelocity[last];
+			this.radius[handle] = this.radius[last];
+			this.mass[handle] = this.mass[last];
+			this.spaceObjects[handle].setStorage(this, handle);
+		}
+		this.spaceObjects[last] = null;
+	}
+
+	private void grow()
+	{
+		int capacity = Math.max(4, this.getCapacity() * 2);
+		this.x = Arrays.copyOf(this.x, capacity);
+		this.y = Arrays.copyOf(this.y, capacity);
+		this.xVelocity = Arrays.copyOf(this.xVelocity, capacity);
+		this.yVelocity = Arrays.copyOf(this.yVelocity, capacity);
+		this.radius = Arrays.copyOf(this.radius, capacity);
+		this.mass = Arrays.copyOf(this.mass, capacity);
+		this.spaceObjects = Arrays.copyOf(this.spaceObjects, capacity);
+	}
+
+	/**
+	 * Move every stored space object along its velocity during the given duration.
+	 *
+	 * @param 	duration
+	 * 			How long the space objects need to move.
+	 * @post	...
+	 * 			| for each handle in 0..size()-1:
+	 * 			|	(new this).getX(handle) == this.getX(handle) + this.getXVelocity(handle) * duration
+	 * 			|	&& (new this).getY(handle) == this.getY(handle) + this.getYVelocity(handle) * duration
+	 * @throws	IllegalArgumentException
+	 * 			| size() > 0 && !getSpaceObject(0).isValidDuration(duration)
+	 */
+	public void move(double duration) throws IllegalArgumentException
+	{
+		if(this.size == 0)
+			return;
+		if(!this.spaceObjects[0].isValidDuration(duration))
+			throw new IllegalArgumentException();
+		this.move(duration, 0, this.size);
+	}
+
+	/**
+	 * Move the space objects with a handle from the given index up to the given end index along their velocity.
+	 * Unlike SpaceObject.move(), the new positions are not checked: they are never NaN, because the given duration
+	 * is a valid duration and so finite, every velocity component is finite and every position in a world
+	 * lies within its finite width and height.
+	 *
+	 * @param 	duration
+	 * @param 	from
+	 * @param 	to
+	 * @pre		...
+	 * 			| 0 <= from && from <= to && to <= size()
+	 * @post	...
+	 * 			| for each handle in from..to-1:
+	 * 			|	(new this).getX(handle) == this.getX(handle) + this.getXVelocity(handle) * duration
+	 * 			|	&& (new this).getY(handle) == this.getY(handle) + this.getYVelocity(handle) * duration
+	 */
+	void move(double duration, int from, int to)
+	{
+		double[] x = this.x;
+		double[] y = this.y;
+		double[] xVelocity = this.xVelocity;
+		double[] yVelocity = this.yVelocity;
+		for(int i = from; i < to; i++)
+		{
+			x[i] = x[i] + xVelocity[i] * duration;
+			y[i] = y[i] + yVelocity[i] * duration;
+			assert this.spaceObjects[i].isValidPositionComp(x[i]) && this.spaceObjects[i].isValidPositionComp(y[i]);
+		}
+	}
+
+	/**
+	 * Return when the space objects with the given handles will collide, read directly from the columns.
+	 *
+	 * @param 	handle1
+	 * @param 	handle2
+	 * @pre		...
+	 * 			| isValidHandle(handle1) && isValidHandle(handle2)
+	 * @return	...
+	 * 			| result == new Collision(getSpaceObject(handle1), getSpaceObject(handle2)).getTimeToCollisionWithObject()
+	 */
+	public double getTimeToCollision(int handle1, int handle2)
+	{
+		return Collision.getTimeToCollision(this.x[handle1], this.y[handle1], this.xVelocity[handle1], this.yVelocity[handle1],
+				this.radius[handle1], this.x[handle2], this.y[handle2], this.xVelocity[handle2], this.yVelocity[handle2],
+				this.radius[handle2]);
+	}
+
+	/**
+	 * Check whether the space objects with the given handles are not getting closer to each other.
+	 * This is the first test of getTimeToCollision(handle1, handle2), so two such space objects never collide.
+	 *
+	 * @param 	handle1
+	 * @param 	handle2
+	 * @pre		...
+	 * 			| isValidHandle(handle1) && isValidHandle(handle2)
+	 * @return	...
+	 * 			| if(result)
+	 * 			|	then getTimeToCollision(handle1, handle2) == Double.POSITIVE_INFINITY
+	 */
+	public boolean areMovingApart(int handle1, int handle2)
+	{
+		double dvx = Vector.sumOfComponents(this.xVelocity[handle1], -this.xVelocity[handle2]);
+		double dvy = Vector.sumOfComponents(this.yVelocity[handle1], -this.yVelocity[handle2]);
+		double drx = Vector.sumOfComponents(this.x[handle1], -this.x[handle2]);
+		double dry = Vector.sumOfComponents(this.y[handle1], -this.y[handle2]);
+
+		double dvdr = Vector.sumOfComponents(Vector.multiplyComponents(dvx, drx), Vector.multiplyComponents(dvy, dry));
+		return (dvdr >= 0);
+	}
+}
@@ -0,0 +1,251 @@
+package asteroids.model;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.*;
+
+/**
+ * A metrics listener that adds up the metrics of the evolves of the worlds it is attached to.
+ * The totals can be read directly or through JMX, once the statistics are registered
+ * with the platform MBean server.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class WorldStatistics implements WorldMetricsListener, WorldStatisticsMBean {
+
+	/**
+	 * Initializes new statistics in which all totals are zero.
+	 *
+	 * @post	...
+	 * 			| (new this).getNmbOfEvolves() == 0
+	 */
+	public WorldStatistics()
+	{
+	}
+
+	private long nmbOfEvolves;
+	private long nmbOfIterations;
+	private long nmbOfBorderCollisions;
+	private long nmbOfObjectCollisions;
+	private long nmbOfKills;
+	private long nmbOfPredictions;
+	private long advanceTime;
+	private long predictionTime;
+	private long resolutionTime;
+	private long nmbOfProgramSteps;
+	private long nmbOfSpawnedObjects;
+	private long nmbOfRemovedObjects;
+
+	/**
+	 * Add the given metrics to the totals of these statistics.
+	 * The evolves of a world and the reads of a JMX client happen on different threads,
+	 * so the totals are only read and written while holding the lock of these statistics.
+	 *
+	 * @param 	world
+	 * @param 	metrics
+	 * @post	...
+	 * 			| (new this).getNmbOfEvolves() == this.getNmbOfEvolves() + 1
+	 */
+	@Override
+	public synchronized void evolved(World world, WorldMetrics metrics)
+	{
+		this.nmbOfEvolves++;
+		this.nmbOfIterations += metrics.getNmbOfIterations();
+		this.nmbOfBorderCollisions += metrics.getNmbOfBorderCollisions();
+		this.nmbOfObjectCollisions += metrics.getNmbOfObjectCollisions();
+		this.nmbOfKills += metrics.getNmbOfKills();
+		this.nmbOfPredictions += metrics.getNmbOfPredictions();
+		this.advanceTime += metrics.getAdvanceTime();
+		this.predictionTime += metrics.getPredictionTime();
+		this.resolutionTime += metrics.getResolutionTime();
+		this.nmbOfProgramSteps += metrics.getNmbOfProgramSteps();
+		this.nmbOfSpawnedObjects += metrics.getNmbOfSpawnedObjects();
+		this.nmbOfRemovedObjects += metrics.getNmbOfRemovedObjects();
+	}
+
+	@Override
+	public synchronized long getNmbOfEvolves()
+	{
+		return this.nmbOfEvolves;
+	}
+
+	@Override
+	public synchronized long getNmbOfIterations()
+	{
+		return this.nmbOfIterations;
+	}
+
+	@Override
+	public synchronized long getNmbOfBorderCollisions()
+	{
+		return this.nmbOfBorderCollisions;
+	}
+
+	@Override
+	public synchronized long getNmbOfObjectCollisions()
+	{
+		return this.nmbOfObjectCollisions;
+	}
+
+	@Override
+	public synchronized long getNmbOfKills()
+	{
+		return this.nmbOfKills;
+	}
+
+	@Override
+	public synchronized long getNmbOfPredictions()
+	{
+		return this.nmbOfPredictions;
+	}
+
+	@Override
+	public synchronized long getAdvanceTime()
+	{
+		return this.advanceTime;
+	}
+
+	@Override
+	public synchronized long getPredictionTime()
+	{
+		return this.predictionTime;
+	}
+
+	@Override
+	public synchronized long getResolutionTime()
+	{
+		return this.resolutionTime;
+	}
+
+	@Override
+	public synchronized long getNmbOfProgramSteps()
+	{
+		return this.nmbOfProgramSteps;
+	}
+
+	@Override
+	public synchronized long getNmbOfSpawnedObjects()
+	{
+		return this.nmbOfSpawnedObjects;
+	}
+
+	@Override
+	public synchronized long getNmbOfRemovedObjects()
+	{
+		return this.nmbOfRemovedObjects;
+	}
+
+	/**
+	 * @return	...
+	 * 			| if(getNmbOfEvolves() == 0)
+	 * 			|	then result == 0
+	 * 			| else
+	 * 			|	then result == (getAdvanceTime() + getPredictionTime() + getResolutionTime()) / getNmbOfEvolves()
+	 */
+	@Override
+	public synchronized double getAverageEvolveTime()
+	{
+		if(this.nmbOfEvolves == 0)
+			return 0;
+		return (double) (this.advanceTime + this.predictionTime + this.resolutionTime) / this.nmbOfEvolves;
+	}
+
+	/**
+	 * @post	...
+	 * 			| (new this).getNmbOfEvolves() == 0
+	 */
+	@Override
+	public synchronized void reset()
+	{
+		this.nmbOfEvolves = 0;
+		this.nmbOfIterations = 0;
+		this.nmbOfBorderCollisions = 0;
+		this.nmbOfObjectCollisions = 0;
+		this.nmbOfKills = 0;
+		this.nmbOfPredictions = 0;
+		this.advanceTime = 0;
+		this.predictionTime = 0;
+		this.resolutionTime = 0;
+		this.nmbOfProgramSteps = 0;
+		this.nmbOfSpawnedObjects = 0;
+		this.nmbOfRemovedObjects = 0;
+	}
+
+	/**
+	 * Return the name under which statistics with the given name are registered with the platform MBean server.
+	 *
+	 * @param 	name
+	 * 			The name of the statistics.
+	 * @throws	IllegalArgumentException
+	 * 			| name == null
+	 */
+	public static ObjectName getObjectName(String name) throws IllegalArgumentException
+	{
+		if(name == null)
+			throw new IllegalArgumentException();
+		try
+		{
+			return new ObjectName("asteroids:type=WorldStatistics,name=" + ObjectName.quote(name));
+		}
+		catch(MalformedObjectNameException e) // a quoted name is always valid
+		{
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/**
+	 * Register these statistics with the platform MBean server under the given name.
+	 *
+	 * @param 	name
+	 * 			The name of the statistics.
+	 * @effect	...
+	 * 			| ManagementFactory.getPlatformMBeanServer().registerMBean(this, getObjectName(name))
+	 * @throws	IllegalArgumentException
+	 * 			| name == null
+	 * @throws	IllegalStateException
+	 * 			Statistics are already registered under the given name.
+	 */
+	public void register(String name) throws IllegalArgumentException, IllegalStateException
+	{
+		try
+		{
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, getObjectName(name));
+		}
+		catch(InstanceAlreadyExistsException e)
+		{
+			throw new IllegalStateException(e);
+		}
+		catch(JMException e)
+		{
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/**
+	 * Remove the statistics registered under the given name from the platform MBean server.
+	 * Nothing happens if no statistics are registered under the given name.
+	 *
+	 * @param 	name
+	 * 			The name of the statistics.
+	 * @throws	IllegalArgumentException
+	 * 			| name == null
+	 */
+	public static void unregister(String name) throws IllegalArgumentException
+	{
+		try
+		{
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(getObjectName(name));
+		}
+		catch(InstanceNotFoundException e)
+		{
+		}
+		catch(MBeanRegistrationException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+}
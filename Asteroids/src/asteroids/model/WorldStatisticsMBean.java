@@ -0,0 +1,49 @@
+package asteroids.model;
+
+/**
+ * The management interface of the statistics of a world, through which JMX clients such as JConsole
+ * read the totals of the metrics of the evolves of that world.
+ * The times are in nanoseconds.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public interface WorldStatisticsMBean {
+
+	public long getNmbOfEvolves();
+
+	public long getNmbOfIterations();
+
+	public long getNmbOfBorderCollisions();
+
+	public long getNmbOfObjectCollisions();
+
+	public long getNmbOfKills();
+
+	public long getNmbOfPredictions();
+
+	public long getAdvanceTime();
+
+	public long getPredictionTime();
+
+	public long getResolutionTime();
+
+	public long getNmbOfProgramSteps();
+
+	public long getNmbOfSpawnedObjects();
+
+	public long getNmbOfRemovedObjects();
+
+	/**
+	 * Return the average time of the advance, prediction and resolution phases of an evolve, in nanoseconds.
+	 */
+	public double getAverageEvolveTime();
+
+	/**
+	 * Set all totals back to zero.
+	 */
+	public void reset();
+}
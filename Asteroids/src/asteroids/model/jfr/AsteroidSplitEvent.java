@@ -0,0 +1,51 @@
+package asteroids.model.jfr;
+
+import jdk.jfr.*;
+
+import asteroids.model.World;
+
+/**
+ * A flight recorder event for the death of an asteroid, which splits a large asteroid into two child asteroids.
+ * The children of a split can split again when they die, so a cascade of splits shows up as events
+ * with halving radii.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+@Name("asteroids.AsteroidSplit")
+@Label("Asteroid Split")
+@Category({ "Asteroids", "Collision" })
+@Description("The death of an asteroid and the child asteroids it split into")
+@StackTrace(false)
+public class AsteroidSplitEvent extends Event {
+
+	@Label("Radius")
+	@Description("The radius of the asteroid that died, in km")
+	double radius;
+
+	@Label("Children")
+	@Description("The number of child asteroids that flew into the world")
+	int nmbOfChildren;
+
+	@Label("Objects")
+	@Description("The number of space objects in the world after the split")
+	int nmbOfObjects;
+
+	/**
+	 * End the timing of this event and commit it for an asteroid of the given world with the given fields,
+	 * if the recording of this event is enabled and the event lasted long enough.
+	 */
+	public void end(World world, double radius, int nmbOfChildren)
+	{
+		this.end();
+		if(!this.shouldCommit())
+			return;
+		this.radius = radius;
+		this.nmbOfChildren = nmbOfChildren;
+		this.nmbOfObjects = (world == null) ? 0 : world.getWorldState().size();
+		this.commit();
+	}
+}
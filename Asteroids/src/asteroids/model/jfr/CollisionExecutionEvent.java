@@ -0,0 +1,58 @@
+package asteroids.model.jfr;
+
+import jdk.jfr.*;
+
+import asteroids.model.SpaceObject;
+import asteroids.model.World;
+
+/**
+ * A flight recorder event for the execution of a collision: two space objects bounce off each other,
+ * a space object bounces off the border, or a space object dies.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+@Name("asteroids.CollisionExecution")
+@Label("Collision Execution")
+@Category({ "Asteroids", "Collision" })
+@Description("The execution of a collision with another space object or with the border")
+@StackTrace(false)
+public class CollisionExecutionEvent extends Event {
+
+	@Label("First Object")
+	@Description("The type of the first space object")
+	String type1;
+
+	@Label("Second Object")
+	@Description("The type of the second space object, or border for a collision with the border")
+	String type2;
+
+	@Label("Kill")
+	@Description("Whether a space object died in the collision")
+	boolean isKill;
+
+	@Label("Objects")
+	@Description("The number of space objects in the world after the collision")
+	int nmbOfObjects;
+
+	/**
+	 * End the timing of this event and commit it for the collision between the given space objects in the given world,
+	 * if the recording of this event is enabled and the event lasted long enough.
+	 * The second space object is null for a collision with the border.
+	 */
+	public void end(SpaceObject object1, SpaceObject object2, World world)
+	{
+		this.end();
+		if(!this.shouldCommit())
+			return;
+		this.type1 = object1.getClass().getSimpleName();
+		this.type2 = (object2 == null) ? "border" : object2.getClass().getSimpleName();
+		this.isKill = (object1.getState() == SpaceObject.State.TERMINATED)
+				|| (object2 != null && object2.getState() == SpaceObject.State.TERMINATED);
+		this.nmbOfObjects = (world == null) ? 0 : world.getWorldState().size();
+		this.commit();
+	}
+}
@@ -0,0 +1,77 @@
+package asteroids.model.jfr;
+
+import jdk.jfr.*;
+
+import asteroids.model.World;
+import asteroids.model.WorldMetrics;
+
+/**
+ * A flight recorder event for one evolve of a world, with the time spent in each phase of the evolve.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+@Name("asteroids.Evolve")
+@Label("Evolve")
+@Category({ "Asteroids", "World" })
+@Description("One evolve of a world over a time step")
+@StackTrace(false)
+public class EvolveEvent extends Event {
+
+	@Label("Time Step")
+	@Description("The time step of the evolve, in seconds of the simulation")
+	double timeStep;
+
+	@Label("Objects")
+	@Description("The number of space objects in the world at the end of the evolve")
+	int nmbOfObjects;
+
+	@Label("Iterations")
+	@Description("How often the world evolved before its first collision")
+	int nmbOfIterations;
+
+	@Label("Collisions")
+	int nmbOfCollisions;
+
+	@Label("Predictions")
+	long nmbOfPredictions;
+
+	@Label("Advance Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long advanceTime;
+
+	@Label("Prediction Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long predictionTime;
+
+	@Label("Resolution Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long resolutionTime;
+
+	@Label("Program Steps")
+	long nmbOfProgramSteps;
+
+	/**
+	 * End the timing of this event and commit it with the given metrics of the evolve of the given world,
+	 * if the recording of this event is enabled and the event lasted long enough.
+	 */
+	public void end(World world, WorldMetrics metrics)
+	{
+		this.end();
+		if(!this.shouldCommit())
+			return;
+		this.timeStep = metrics.getTimeStep();
+		this.nmbOfObjects = world.getWorldState().size();
+		this.nmbOfIterations = metrics.getNmbOfIterations();
+		this.nmbOfCollisions = metrics.getNmbOfCollisions();
+		this.nmbOfPredictions = metrics.getNmbOfPredictions();
+		this.advanceTime = metrics.getAdvanceTime();
+		this.predictionTime = metrics.getPredictionTime();
+		this.resolutionTime = metrics.getResolutionTime();
+		this.nmbOfProgramSteps = metrics.getNmbOfProgramSteps();
+		this.commit();
+	}
+}
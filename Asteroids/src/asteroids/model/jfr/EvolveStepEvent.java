@@ -0,0 +1,54 @@
+package asteroids.model.jfr;
+
+import jdk.jfr.*;
+
+import asteroids.model.World;
+
+/**
+ * A flight recorder event for one call of World.evolveBeforeCollision: the world advances to its first collision
+ * within the remaining time step and resolves that collision.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+@Name("asteroids.EvolveStep")
+@Label("Evolve Step")
+@Category({ "Asteroids", "World" })
+@Description("An advance of a world up to its first collision within the remaining time step")
+@StackTrace(false)
+public class EvolveStepEvent extends Event {
+
+	@Label("Remaining Time Step")
+	@Description("The time left in the evolve, in seconds of the simulation")
+	double remainingTimeStep;
+
+	@Label("Time To Collision")
+	@Description("The time to the first collision, in seconds of the simulation, or infinity if there is none")
+	double timeToCollision;
+
+	@Label("Objects")
+	@Description("The number of space objects in the world after the step")
+	int nmbOfObjects;
+
+	@Label("Collision Resolved")
+	boolean isCollisionResolved;
+
+	/**
+	 * End the timing of this event and commit it for a step of the given world with the given fields,
+	 * if the recording of this event is enabled and the event lasted long enough.
+	 */
+	public void end(World world, double remainingTimeStep, double timeToCollision, boolean isCollisionResolved)
+	{
+		this.end();
+		if(!this.shouldCommit())
+			return;
+		this.remainingTimeStep = remainingTimeStep;
+		this.timeToCollision = timeToCollision;
+		this.nmbOfObjects = world.getWorldState().size();
+		this.isCollisionResolved = isCollisionResolved;
+		this.commit();
+	}
+}
@@ -0,0 +1,47 @@
+package asteroids.model.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A flight recorder event for the execution of the program of a ship during one advance of its world.
+ * A ship is identified by its identity hash code, which stays the same for the whole life of the ship.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+@Name("asteroids.ProgramExecution")
+@Label("Program Execution")
+@Category({ "Asteroids", "Program" })
+@Description("The execution of the program of a ship during one advance of its world")
+@StackTrace(false)
+public class ProgramExecutionEvent extends Event {
+
+	@Label("Ship")
+	@Description("The identity hash code of the ship running the program")
+	int shipId;
+
+	@Label("Steps")
+	@Description("The number of program steps executed, each up to and including an action statement")
+	long nmbOfSteps;
+
+	@Label("Finished")
+	boolean isFinished;
+
+	/**
+	 * End the timing of this event and commit it with the given fields,
+	 * if the recording of this event is enabled and the event lasted long enough.
+	 */
+	public void end(Object ship, long nmbOfSteps, boolean isFinished)
+	{
+		this.end();
+		if(!this.shouldCommit())
+			return;
+		this.shipId = System.identityHashCode(ship);
+		this.nmbOfSteps = nmbOfSteps;
+		this.isFinished = isFinished;
+		this.commit();
+	}
+}
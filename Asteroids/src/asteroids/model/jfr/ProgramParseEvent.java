@@ -0,0 +1,41 @@
+package asteroids.model.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A flight recorder event for parsing the text of a program.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+@Name("asteroids.ProgramParse")
+@Label("Program Parse")
+@Category({ "Asteroids", "Program" })
+@Description("Parsing the text of a program")
+@StackTrace(false)
+public class ProgramParseEvent extends Event {
+
+	@Label("Length")
+	@Description("The number of characters of the program text")
+	int length;
+
+	@Label("Errors")
+	int nmbOfErrors;
+
+	/**
+	 * End the timing of this event and commit it with the given fields,
+	 * if the recording of this event is enabled and the event lasted long enough.
+	 */
+	public void end(int length, int nmbOfErrors)
+	{
+		this.end();
+		if(!this.shouldCommit())
+			return;
+		this.length = length;
+		this.nmbOfErrors = nmbOfErrors;
+		this.commit();
+	}
+}
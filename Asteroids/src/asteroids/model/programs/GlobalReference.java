@@ -0,0 +1,59 @@
+package asteroids.model.programs;
+
+import be.kuleuven.cs.som.annotate.*;
+
+import asteroids.model.programs.expressions.Variable;
+
+/**
+ * A reference to the global with a given name in the program of a variable, an assignment or a foreach loop.
+ * The reference is resolved to the slot of the global in the program when the program is type checked,
+ * so that running the program reads the global from its slot instead of looking it up by name.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class GlobalReference {
+
+	/**
+	 * Initialize this new reference to the global with the given name in the program of the given controller.
+	 */
+	public GlobalReference(String name, ProgramController controller) {
+		this.name = name;
+		this.controller = controller;
+	}
+
+	@Basic @Immutable
+	public String getName() {
+		return this.name;
+	}
+
+	private final String name;
+	private final ProgramController controller;
+
+	/**
+	 * Resolve this reference to the slot of the global with its name in the program of its controller.
+	 *
+	 * @return	...
+	 * 			| result == (getGlobal() != null)
+	 */
+	public boolean resolve() {
+		this.slot = this.controller.getProgram().getSlot(this.getName());
+		return this.slot >= 0;
+	}
+
+	/**
+	 * Return the global that this reference refers to, or null if the program has no global with its name.
+	 * A reference that is not resolved, because its program is not type checked, looks the global up by name.
+	 */
+	public Variable getGlobal() {
+		Program program = this.controller.getProgram();
+		if(this.slot < 0)
+			return program.getGlobal(this.getName());
+		return program.getGlobal(this.slot);
+	}
+
+	private int slot = -1;
+}
@@ -1,12 +1,18 @@
 package asteroids.model.programs;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.*;
 import java.util.Map.Entry;
 
 import be.kuleuven.cs.som.annotate.*;
 
 import asteroids.Util;
 import asteroids.model.Ship;
+import asteroids.model.jfr.ProgramExecutionEvent;
+import asteroids.model.programs.bytecode.*;
+import asteroids.model.programs.closures.ClosureCompiler;
+import asteroids.model.programs.generated.*;
 import asteroids.model.programs.expressions.*;
 import asteroids.model.programs.statements.*;
 
@@ -20,7 +26,8 @@ import asteroids.model.programs.statements.*;
 public class Program {
 
 	public Program() {
-		this.globals = null;
+		this.globals = new Variable[0];
+		this.slots = new HashMap<String, Integer>();
 		this.statement = null;
 		this.controller = null;
 	}
@@ -30,15 +37,18 @@ public class Program {
 		if(globals == null || statement == null || controller == null)
 			throw new IllegalArgumentException();		
 		
-		Set<Variable> inputGlobals = new HashSet<Variable>();
+		Variable[] inputGlobals = new Variable[globals.size()];
+		Map<String, Integer> inputSlots = new HashMap<String, Integer>();
 		
 		int i = 0;
 		for(Entry<String, Type> entry: globals.entrySet() ) {
-			inputGlobals.add(new Variable(0,i,entry.getKey(),entry.getValue(), controller));
+			inputGlobals[i] = new Variable(0,i,entry.getKey(),entry.getValue(), controller);
+			inputSlots.put(entry.getKey(), i);
 			i++;
 		}
 		
 		this.globals = inputGlobals;
+		this.slots = inputSlots;
 		this.statement = statement;
 		this.controller = controller;
 		this.controller.initializeProgramController(this);
@@ -51,18 +61,51 @@ public class Program {
 	
 	@Basic @Immutable
 	public Set<Variable> getGlobals() {
-		return new HashSet<Variable>(this.globals);
+		return new HashSet<Variable>(Arrays.asList(this.globals));
 	}
 	
-	@Basic
+	/**
+	 * @return	...
+	 * 			| if(getSlot(name) < 0)
+	 * 			|	then result == null
+	 * 			| else
+	 * 			|	then result == getGlobal(getSlot(name))
+	 */
 	public Variable getGlobal(String name){
-		Set<Variable> setGlobals = this.getGlobals();
-		for(Variable global: setGlobals) {
-			if(global.getName().equals(name)) {
-				return global;
-			}
-		}
-		return null;
+		int slot = this.getSlot(name);
+		if(slot < 0)
+			return null;
+		return this.globals[slot];
+	}
+	
+	/**
+	 * Return the slot of the global with the given name, or -1 if this program has no global with the given name.
+	 * Variables, assignments and foreach loops resolve their global reference to its slot when they are type checked,
+	 * and then read and write their global through that slot.
+	 */
+	public int getSlot(String name) {
+		Integer slot = this.slots.get(name);
+		if(slot == null)
+			return -1;
+		return slot;
+	}
+	
+	/**
+	 * Return the global in the given slot.
+	 * 
+	 * @throws	IllegalArgumentException
+	 * 			| slot < 0 || slot >= getNmbOfGlobals()
+	 */
+	@Basic
+	public Variable getGlobal(int slot) throws IllegalArgumentException {
+		if(slot < 0 || slot >= this.globals.length)
+			throw new IllegalArgumentException();
+		return this.globals[slot];
+	}
+	
+	@Basic @Immutable
+	public int getNmbOfGlobals() {
+		return this.globals.length;
 	}
 	
 	@Basic @Immutable
@@ -71,7 +114,8 @@ public class Program {
 	}
 	
 	private final ProgramController controller;
-	private final Set<Variable> globals;
+	private final Variable[] globals;
+	private final Map<String, Integer> slots;
 	private final Statement statement;
 	
 	@Basic
@@ -100,6 +144,17 @@ public class Program {
 	
 	private double nmbOfExecutionsNotYetExecuted;
 	
+	/**
+	 * Return the number of steps this program executed. Every step executes the statements of this program
+	 * up to and including its next action statement.
+	 */
+	@Basic
+	public long getNmbOfExecutedSteps() {
+		return this.nmbOfExecutedSteps;
+	}
+	
+	private long nmbOfExecutedSteps;
+	
 	@Basic
 	public boolean isFinished() {
 		return this.isFinished;
@@ -111,16 +166,246 @@ public class Program {
 		return this.getStatement().typeCheck();
 	}
 	
+	/**
+	 * Return the backend that executes the statement of this program, or null if the statements
+	 * of this program execute themselves.
+	 */
+	@Basic
+	public ProgramBackend getBackend() {
+		return this.backend;
+	}
+	
+	/**
+	 * Let the given backend execute the statement of this program from now on.
+	 * If the given backend is null, the statements of this program execute themselves again.
+	 * 
+	 * @param	backend
+	 * 			The new backend of this program.
+	 * @post	...
+	 * 			| (new this).getBackend() == backend
+	 */
+	public void setBackend(ProgramBackend backend) {
+		this.backend = backend;
+	}
+	
+	private ProgramBackend backend;
+	
+	/**
+	 * Compile this program into closures and let them execute its statement from now on.
+	 * The closures continue where the statements of this program stopped.
+	 * 
+	 * @effect	...
+	 * 			| setBackend(ClosureCompiler.compile(this))
+	 * @throws	IllegalStateException
+	 * 			| !typeCheck()
+	 */
+	public void compile() throws IllegalStateException {
+		if(!this.typeCheck())
+			throw new IllegalStateException("Only a program that type checks can be compiled.");
+		this.setBackend(ClosureCompiler.compile(this));
+	}
+	
+	/**
+	 * Compile this program into bytecode, which can be executed for this program
+	 * and for every other ship running the same program.
+	 * 
+	 * @return	...
+	 * 			| result == BytecodeCompiler.compile(this)
+	 * @throws	IllegalStateException
+	 * 			| !typeCheck()
+	 */
+	public Bytecode compileBytecode() throws IllegalStateException {
+		if(!this.typeCheck())
+			throw new IllegalStateException("Only a program that type checks can be compiled.");
+		return BytecodeCompiler.compile(this);
+	}
+	
+	/**
+	 * Let a virtual machine execute the given bytecode for this program from now on.
+	 * The virtual machine continues where the statements of this program stopped.
+	 * 
+	 * @param	bytecode
+	 * 			The bytecode of this program to execute.
+	 * @effect	...
+	 * 			| setBackend(new VirtualMachine(bytecode, this))
+	 * @throws	IllegalArgumentException
+	 * 			The given bytecode is not compiled from a program with the globals of this program.
+	 * 			| bytecode == null || bytecode.getNmbOfGlobals() != getNmbOfGlobals() || ...
+	 */
+	public void executeBytecode(Bytecode bytecode) throws IllegalArgumentException {
+		VirtualMachine machine = new VirtualMachine(bytecode, this);
+		machine.importState();
+		this.setBackend(machine);
+	}
+	
+	/**
+	 * Execute the statement of this program up to and including its next action statement,
+	 * with the backend of this program if it has one, and return whether the statement finished.
+	 */
+	private boolean executeStep() {
+		if(this.getBackend() != null)
+			return this.getBackend().executeStep();
+		this.getStatement().execute();
+		return this.getStatement().isFinished();
+	}
+	
+	/**
+	 * The generation threshold of programs for which no class is ever generated.
+	 */
+	public static final int NO_GENERATION = -1;
+	
+	/**
+	 * Return the number of times programs without a generation threshold of their own execute with their statements
+	 * before a class is generated for them. By default, no class is generated for them.
+	 */
+	@Basic
+	public static int getDefaultGenerationThreshold() {
+		return defaultGenerationThreshold;
+	}
+	
+	/**
+	 * Check whether the given threshold is a valid generation threshold.
+	 * 
+	 * @return	...
+	 * 			| result == (threshold >= 0 || threshold == NO_GENERATION)
+	 */
+	public static boolean isValidGenerationThreshold(int threshold) {
+		return threshold >= 0 || threshold == NO_GENERATION;
+	}
+	
+	/**
+	 * Set the number of times programs without a generation threshold of their own execute with their statements
+	 * before a class is generated for them. Generating a class compiles Java source on a background thread,
+	 * so it is meant for long runs such as the headless runner and the benchmarks.
+	 * 
+	 * @param	threshold
+	 * 			The new default generation threshold, or NO_GENERATION to never generate classes.
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidGenerationThreshold(threshold)
+	 */
+	public static void setDefaultGenerationThreshold(int threshold) throws IllegalArgumentException {
+		if(!isValidGenerationThreshold(threshold))
+			throw new IllegalArgumentException();
+		defaultGenerationThreshold = threshold;
+	}
+	
+	private static volatile int defaultGenerationThreshold = NO_GENERATION;
+	
+	/**
+	 * Return the number of times this program executes with its statements before a class is generated for it.
+	 * 
+	 * @return	The default generation threshold, if no generation threshold is set for this program.
+	 * 			| if(!hasGenerationThreshold())
+	 * 			|	then result == getDefaultGenerationThreshold()
+	 */
+	public int getGenerationThreshold() {
+		if(this.generationThreshold == null)
+			return getDefaultGenerationThreshold();
+		return this.generationThreshold;
+	}
+	
+	/**
+	 * Return whether a generation threshold is set for this program itself.
+	 */
+	public boolean hasGenerationThreshold() {
+		return this.generationThreshold != null;
+	}
+	
+	/**
+	 * @param	threshold
+	 * 			The new generation threshold of this program, or NO_GENERATION to never generate a class for it.
+	 * @post	...
+	 * 			| (new this).getGenerationThreshold() == threshold
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidGenerationThreshold(threshold)
+	 */
+	public void setGenerationThreshold(int threshold) throws IllegalArgumentException {
+		if(!isValidGenerationThreshold(threshold))
+			throw new IllegalArgumentException();
+		this.generationThreshold = threshold;
+	}
+	
+	private Integer generationThreshold;
+	
+	/**
+	 * Once this program executed its generation threshold number of times with its statements, start generating
+	 * a class for it, and let the generated class execute its statement as soon as the class is generated.
+	 * The generated class continues where the statements of this program stopped.
+	 * If no class can be generated, for instance because there is no Java compiler, the generation is abandoned
+	 * with a warning in the log and the statements keep executing themselves.
+	 */
+	private void generateClass() {
+		if(this.getBackend() != null || this.isClassGenerationAbandoned())
+			return;
+		if(this.generatedClass == null) {
+			int threshold = this.getGenerationThreshold();
+			if(threshold == NO_GENERATION || this.nmbOfExecutionsByStatements++ < threshold)
+				return;
+			try {
+				if(!this.typeCheck())
+					throw new IllegalStateException("Only a program that type checks can be generated.");
+				this.generatedClass = ProgramClassGenerator.generate(this);
+			}
+			catch(RuntimeException e) {
+				this.abandonClassGeneration(e);
+				return;
+			}
+		}
+		if(this.generatedClass.isDone()) {
+			try {
+				GeneratedProgram generated = this.generatedClass.get().getConstructor(Program.class).newInstance(this);
+				generated.importState();
+				this.setBackend(generated);
+			}
+			catch(ExecutionException e) {
+				this.abandonClassGeneration(e.getCause());
+			}
+			catch(Exception e) {
+				this.abandonClassGeneration(e);
+			}
+		}
+	}
+	
+	/**
+	 * Stop trying to generate a class for this program and report why in the log.
+	 */
+	private void abandonClassGeneration(Throwable cause) {
+		this.isClassGenerationAbandoned = true;
+		logger.log(Level.WARNING, "No class can be generated for a program, its statements keep executing themselves.", cause);
+	}
+	
+	private static final Logger logger = Logger.getLogger(Program.class.getName());
+	
+	/**
+	 * Return whether generating a class for this program failed, so that its statements keep executing themselves.
+	 */
+	@Basic
+	public boolean isClassGenerationAbandoned() {
+		return this.isClassGenerationAbandoned;
+	}
+	
+	private int nmbOfExecutionsByStatements;
+	private Future<Class<? extends GeneratedProgram>> generatedClass;
+	private boolean isClassGenerationAbandoned;
+	
 	public void execute(double nmbOfExecutions) {
+		this.generateClass();
+		ProgramExecutionEvent event = new ProgramExecutionEvent();
+		event.begin();
+		long steps = this.nmbOfExecutedSteps;
 		double executions = nmbOfExecutions + this.nmbOfExecutionsNotYetExecuted;
 		while((!Util.fuzzyLessThanOrEqualTo(executions, 1) || Util.fuzzyEquals(executions, 1))
 					 && !isFinished()){
-			this.getStatement().execute();
+			boolean isStatementFinished = this.executeStep();
+			this.nmbOfExecutedSteps++;
 			executions--;
-			if(this.getStatement().isFinished())
+			if(isStatementFinished)
 				this.isFinished = true;
 		}
 		this.nmbOfExecutionsNotYetExecuted = executions;
+		// Most advances are too short for a step, so only the advances in which the program ran are recorded.
+		if(this.nmbOfExecutedSteps > steps)
+			event.end(this.getShipRunningProgram(), this.nmbOfExecutedSteps - steps, this.isFinished());
 	}
 	
 }
@@ -0,0 +1,20 @@
+package asteroids.model.programs;
+
+/**
+ * The interface of the backends that execute the statement of a program in place of the statements themselves.
+ * A backend resumes where its previous step stopped, exactly like the statement of the program would.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public interface ProgramBackend {
+
+	/**
+	 * Execute the statement of the program up to and including its next action statement,
+	 * and return whether the statement finished.
+	 */
+	public boolean executeStep();
+}
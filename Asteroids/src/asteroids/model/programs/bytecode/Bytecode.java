@@ -0,0 +1,212 @@
+package asteroids.model.programs.bytecode;
+
+import be.kuleuven.cs.som.annotate.*;
+
+import asteroids.model.programs.Type;
+
+/**
+ * A program compiled into register bytecode by the bytecode compiler. Bytecode is immutable and does not refer
+ * to the program it was compiled from, so one bytecode can be executed by the virtual machines of many ships
+ * that run the same program.
+ *
+ * The double registers hold the globals of type double and boolean at their slot, the constants of the program
+ * after the temporary registers, and the results of expressions in between. Booleans are 1 or 0.
+ * The entity registers hold the globals of type entity at their slot, null at the slot after the globals
+ * and the entities of expressions after that.
+ * Statements are numbered in the order in which they appear in the program, the statement of the program being 0,
+ * so the statements of every compound statement have consecutive numbers.
+ *
+ * Every instruction is an opcode followed by its operands, in the order documented at the opcode.
+ * "dst", "a" and "b" are double registers, "edst", "ea" and "eb" are entity registers, "id" is the number
+ * of a statement and "target" is the index of an instruction.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class Bytecode {
+
+	/** dst a b */
+	static final int ADD = 0;
+	/** dst a b */
+	static final int SUB = 1;
+	/** dst a b */
+	static final int MUL = 2;
+	/** dst a b, fails if b is zero */
+	static final int DIV = 3;
+	/** dst a, fails if a is negative */
+	static final int SQRT = 4;
+	/** dst a */
+	static final int SIN = 5;
+	/** dst a */
+	static final int COS = 6;
+	/** dst a b */
+	static final int LT = 7;
+	/** dst a b */
+	static final int LE = 8;
+	/** dst a b */
+	static final int GT = 9;
+	/** dst a b */
+	static final int GE = 10;
+	/** dst a b */
+	static final int EQ = 11;
+	/** dst a b */
+	static final int NE = 12;
+	/** dst ea eb */
+	static final int EQ_E = 13;
+	/** dst ea eb */
+	static final int NE_E = 14;
+	/** dst a */
+	static final int NOT = 15;
+	/** dst a */
+	static final int MOVE = 16;
+	/** dst ea */
+	static final int GETX = 17;
+	/** dst ea */
+	static final int GETY = 18;
+	/** dst ea */
+	static final int GETVX = 19;
+	/** dst ea */
+	static final int GETVY = 20;
+	/** dst ea */
+	static final int GETRADIUS = 21;
+	/** dst ea */
+	static final int GETDIR = 22;
+	/** edst */
+	static final int SELF = 23;
+	/** slot, fails if the global in the slot has no value */
+	static final int CHECK = 24;
+	/** target */
+	static final int JUMP = 25;
+	/** a target */
+	static final int JUMP_IF_FALSE = 26;
+	/** a target */
+	static final int JUMP_IF_TRUE = 27;
+	/** id target, jumps if the statement finished */
+	static final int JUMP_IF_FINISHED = 28;
+	/** id target, jumps if the statement did not finish */
+	static final int JUMP_IF_NOT_FINISHED = 29;
+	/** id */
+	static final int FINISH = 30;
+	/** id, counts a finished statement of a sequence */
+	static final int COUNT = 31;
+	/** id n default target0 ... target(n-1), jumps to the next statement of a sequence of n statements */
+	static final int SWITCH = 32;
+	/** id n, finishes a sequence of n statements if all of its statements finished */
+	static final int END_SEQUENCE = 33;
+	/** from to, resets the statements with numbers from up to but not including to */
+	static final int RESET = 34;
+	/** iterator type, with type 0 for any, 1 for asteroids, 2 for bullets and 3 for ships */
+	static final int ITERATE = 35;
+	/** iterator slot target, jumps if the iterator has no next entity */
+	static final int NEXT = 36;
+	/** slot a id */
+	static final int ASSIGN = 37;
+	/** slot ea id */
+	static final int ASSIGN_E = 38;
+	/** a id */
+	static final int PRINT_DOUBLE = 39;
+	/** a id */
+	static final int PRINT_BOOLEAN = 40;
+	/** ea id */
+	static final int PRINT_ENTITY = 41;
+	/** id */
+	static final int FIRE = 42;
+	/** a id */
+	static final int TURN = 43;
+	/** id */
+	static final int THRUST_ON = 44;
+	/** id */
+	static final int THRUST_OFF = 45;
+	/** ends the step */
+	static final int HALT = 46;
+
+	/**
+	 * Return the number of integers of the instruction at the given index in the given code.
+	 */
+	static int getInstructionLength(int[] code, int pc) throws IllegalArgumentException {
+		switch(code[pc]) {
+		case HALT:
+			return 1;
+		case SELF: case CHECK: case JUMP: case FINISH: case COUNT: case FIRE: case THRUST_ON: case THRUST_OFF:
+			return 2;
+		case SQRT: case SIN: case COS: case NOT: case MOVE:
+		case GETX: case GETY: case GETVX: case GETVY: case GETRADIUS: case GETDIR:
+		case JUMP_IF_FALSE: case JUMP_IF_TRUE: case JUMP_IF_FINISHED: case JUMP_IF_NOT_FINISHED:
+		case END_SEQUENCE: case RESET: case ITERATE:
+		case PRINT_DOUBLE: case PRINT_BOOLEAN: case PRINT_ENTITY: case TURN:
+			return 3;
+		case ADD: case SUB: case MUL: case DIV: case LT: case LE: case GT: case GE: case EQ: case NE:
+		case EQ_E: case NE_E: case NEXT: case ASSIGN: case ASSIGN_E:
+			return 4;
+		case SWITCH:
+			return 4 + code[pc + 2];
+		default:
+			throw new IllegalArgumentException("Unknown opcode " + code[pc] + " at " + pc);
+		}
+	}
+
+	/**
+	 * Initialize this new bytecode with the given code and layout.
+	 */
+	Bytecode(int[] code, String[] globalNames, Type[] globalTypes, double[] constants, int nmbOfTemporaries,
+			int nmbOfEntityRegisters, int nmbOfStatements, int nmbOfIterators) {
+		this.code = code;
+		this.globalNames = globalNames;
+		this.globalTypes = globalTypes;
+		this.constants = constants;
+		this.nmbOfTemporaries = nmbOfTemporaries;
+		this.nmbOfEntityRegisters = nmbOfEntityRegisters;
+		this.nmbOfStatements = nmbOfStatements;
+		this.nmbOfIterators = nmbOfIterators;
+	}
+
+	final int[] code;
+	final String[] globalNames;
+	final Type[] globalTypes;
+	final double[] constants;
+	private final int nmbOfTemporaries;
+	private final int nmbOfEntityRegisters;
+	private final int nmbOfStatements;
+	private final int nmbOfIterators;
+
+	/**
+	 * Return the number of integers in the code of this bytecode.
+	 */
+	@Basic @Immutable
+	public int getLength() {
+		return this.code.length;
+	}
+
+	@Basic @Immutable
+	public int getNmbOfGlobals() {
+		return this.globalNames.length;
+	}
+
+	/**
+	 * Return the number of double registers, which hold the globals, the temporaries and the constants.
+	 *
+	 * @return	...
+	 * 			| result == getNmbOfGlobals() + nmbOfTemporaries + nmbOfConstants
+	 */
+	public int getNmbOfRegisters() {
+		return this.globalNames.length + this.nmbOfTemporaries + this.constants.length;
+	}
+
+	@Basic @Immutable
+	public int getNmbOfEntityRegisters() {
+		return this.nmbOfEntityRegisters;
+	}
+
+	@Basic @Immutable
+	public int getNmbOfStatements() {
+		return this.nmbOfStatements;
+	}
+
+	@Basic @Immutable
+	public int getNmbOfIterators() {
+		return this.nmbOfIterators;
+	}
+}
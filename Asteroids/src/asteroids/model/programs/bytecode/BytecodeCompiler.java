@@ -0,0 +1,639 @@
+package asteroids.model.programs.bytecode;
+
+import java.util.*;
+
+import asteroids.model.programs.*;
+import asteroids.model.programs.expressions.*;
+import asteroids.model.programs.parsing.ProgramFactory.ForeachType;
+import asteroids.model.programs.statements.*;
+
+import static asteroids.model.programs.bytecode.Bytecode.*;
+
+/**
+ * A compiler that turns a type checked program into register bytecode.
+ *
+ * Like the statements of a program, the bytecode of a statement remembers whether it finished and,
+ * for a sequence, how many of its statements finished. Every step starts at the first instruction and follows
+ * those counters to the statement where the previous step stopped, evaluating the conditions of the loops and
+ * if statements on the way again, exactly like the statements do. The statements of a sequence stop the step
+ * after an action statement or after a statement that did not finish, and loops reset their body when it finished.
+ *
+ * Expressions of which all parts are constant are evaluated while compiling. Numbers and booleans are kept
+ * in double registers, so they are never boxed.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class BytecodeCompiler {
+
+	/**
+	 * Compile the given program into bytecode.
+	 *
+	 * @param 	program
+	 * 			The program to compile.
+	 * @throws	IllegalArgumentException
+	 * 			| program == null || program.getStatement() == null
+	 * @throws	IllegalArgumentException
+	 * 			The program contains a variable that is not a global of the program or an entity literal
+	 * 			other than null, which does not happen in a program that is parsed and type checks.
+	 */
+	public static Bytecode compile(Program program) throws IllegalArgumentException {
+		if(program == null || program.getStatement() == null)
+			throw new IllegalArgumentException();
+		return new BytecodeCompiler(program).compile();
+	}
+
+	/**
+	 * Return the statements of the given program in the order in which the bytecode compiler numbers them:
+	 * every statement comes before the statements it consists of, which come in the order of the program.
+	 */
+	public static List<Statement> getStatements(Program program) {
+		List<Statement> statements = new ArrayList<Statement>();
+		addStatements(program.getStatement(), statements);
+		return statements;
+	}
+
+	private static void addStatements(Statement statement, List<Statement> statements) {
+		statements.add(statement);
+		if(statement instanceof Sequence)
+			for(Statement part: ((Sequence) statement).getStatements())
+				addStatements(part, statements);
+		else if(statement instanceof IfThenElse) {
+			addStatements(((IfThenElse) statement).getThenStatement(), statements);
+			addStatements(((IfThenElse) statement).getOtherwiseStatement(), statements);
+		}
+		else if(statement instanceof WhileLoop)
+			addStatements(((WhileLoop) statement).getBody(), statements);
+		else if(statement instanceof ForEachLoop && ((ForEachLoop) statement).getBody() != null)
+			addStatements(((ForEachLoop) statement).getBody(), statements);
+	}
+
+	private BytecodeCompiler(Program program) {
+		this.program = program;
+		this.nmbOfGlobals = program.getNmbOfGlobals();
+		this.nextTemporary = this.nmbOfGlobals;
+		this.nextEntity = this.nmbOfGlobals + 1;
+	}
+
+	private final Program program;
+	private final int nmbOfGlobals;
+
+	private int[] code = new int[64];
+	private int length;
+
+	/**
+	 * The double registers that are constants are emitted as CONSTANT plus the index of the constant,
+	 * and are moved behind the temporaries once the number of temporaries is known.
+	 */
+	private static final int CONSTANT = 1 << 30;
+	private final List<Double> constants = new ArrayList<Double>();
+	private final List<Integer> constantOperands = new ArrayList<Integer>();
+
+	private int nextTemporary;
+	private int maxTemporary;
+	private int nextEntity;
+	private int maxEntity;
+	private int nextIterator;
+	private int maxIterator;
+	private int nextStatement;
+
+	/**
+	 * The slots of the globals that are known to have a value in the expression being compiled.
+	 */
+	private Set<Integer> checked = new HashSet<Integer>();
+
+	private Bytecode compile() {
+		this.compileStatement(this.program.getStatement());
+		this.emit(HALT);
+		this.threadJumps();
+		int nmbOfTemporaries = this.maxTemporary - this.nmbOfGlobals;
+		for(int operand: this.constantOperands)
+			this.code[operand] = this.code[operand] - CONSTANT + this.nmbOfGlobals + nmbOfTemporaries;
+		double[] constantValues = new double[this.constants.size()];
+		for(int i = 0; i < constantValues.length; i++)
+			constantValues[i] = this.constants.get(i);
+		String[] globalNames = new String[this.nmbOfGlobals];
+		Type[] globalTypes = new Type[this.nmbOfGlobals];
+		for(int slot = 0; slot < this.nmbOfGlobals; slot++) {
+			globalNames[slot] = this.program.getGlobal(slot).getName();
+			globalTypes[slot] = this.program.getGlobal(slot).getType();
+		}
+		return new Bytecode(Arrays.copyOf(this.code, this.length), globalNames, globalTypes, constantValues,
+				nmbOfTemporaries, Math.max(this.maxEntity, this.nmbOfGlobals + 1), this.nextStatement, this.maxIterator);
+	}
+
+	private void emit(int value) {
+		if(this.length == this.code.length)
+			this.code = Arrays.copyOf(this.code, 2 * this.code.length);
+		this.code[this.length++] = value;
+	}
+
+	private void emit(int opcode, int operand) {
+		this.emit(opcode);
+		this.emit(operand);
+	}
+
+	/**
+	 * Emit the given double register as operand.
+	 */
+	private void emitRegister(int register) {
+		if(register >= CONSTANT)
+			this.constantOperands.add(this.length);
+		this.emit(register);
+	}
+
+	/**
+	 * Emit a jump target that is not known yet, and return its position so it can be patched.
+	 */
+	private int emitTarget() {
+		this.emit(-1);
+		return this.length - 1;
+	}
+
+	private void patch(int position) {
+		if(position >= 0)
+			this.code[position] = this.length;
+	}
+
+	/**
+	 * Emit a jump to a target that is not known yet if the given condition is false, and return
+	 * the position of the target so it can be patched, or -1 if the condition is constantly true.
+	 */
+	private int emitJumpIfFalse(int condition) {
+		if(condition >= CONSTANT) {
+			if(this.constants.get(condition - CONSTANT) != 0)
+				return -1;
+			this.emit(JUMP);
+		}
+		else
+			this.emit(JUMP_IF_FALSE, condition);
+		return this.emitTarget();
+	}
+
+	/**
+	 * Let every jump go to the instruction where it ends up, instead of to another jump.
+	 */
+	private void threadJumps() {
+		for(int pc = 0; pc < this.length; pc += getInstructionLength(this.code, pc)) {
+			switch(this.code[pc]) {
+			case JUMP:
+				this.code[pc + 1] = this.getFinalTarget(this.code[pc + 1], -1);
+				break;
+			case JUMP_IF_FALSE: case JUMP_IF_TRUE: case JUMP_IF_NOT_FINISHED:
+				this.code[pc + 2] = this.getFinalTarget(this.code[pc + 2], -1);
+				break;
+			case JUMP_IF_FINISHED:
+				this.code[pc + 2] = this.getFinalTarget(this.code[pc + 2], this.code[pc + 1]);
+				break;
+			case NEXT:
+				this.code[pc + 3] = this.getFinalTarget(this.code[pc + 3], -1);
+				break;
+			case SWITCH:
+				for(int i = 3; i < 4 + this.code[pc + 2]; i++)
+					this.code[pc + i] = this.getFinalTarget(this.code[pc + i], -1);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Return the instruction where a jump to the given target ends up, following the jumps after it.
+	 * A jump that is only taken when the sequence with the given number finished also passes the end of that sequence,
+	 * which does nothing then.
+	 */
+	private int getFinalTarget(int target, int finishedSequence) {
+		// A loop of jumps, which the compiler does not emit, ends after as many jumps as there are instructions.
+		for(int i = 0; i < this.length; i++) {
+			if(this.code[target] == JUMP)
+				target = this.code[target + 1];
+			else if(this.code[target] == END_SEQUENCE && this.code[target + 1] == finishedSequence)
+				target += 3;
+			else
+				break;
+		}
+		return target;
+	}
+
+	private int allocateTemporary() {
+		int register = this.nextTemporary++;
+		this.maxTemporary = Math.max(this.maxTemporary, this.nextTemporary);
+		return register;
+	}
+
+	private int allocateEntity() {
+		int register = this.nextEntity++;
+		this.maxEntity = Math.max(this.maxEntity, this.nextEntity);
+		return register;
+	}
+
+	private int getConstant(double value) {
+		for(int i = 0; i < this.constants.size(); i++)
+			if(Double.doubleToLongBits(this.constants.get(i)) == Double.doubleToLongBits(value))
+				return CONSTANT + i;
+		this.constants.add(value);
+		return CONSTANT + this.constants.size() - 1;
+	}
+
+	private int getSlot(String name) throws IllegalArgumentException {
+		int slot = this.program.getSlot(name);
+		if(slot < 0)
+			throw new IllegalArgumentException("Unknown variable " + name);
+		return slot;
+	}
+
+	/**
+	 * Emit a check that the global in the given slot has a value, unless that is already checked earlier
+	 * in the expression being compiled.
+	 */
+	private void check(int slot) {
+		if(this.checked.add(slot))
+			this.emit(CHECK, slot);
+	}
+
+	/**
+	 * Return whether the given expression only consists of literals.
+	 */
+	private static boolean isConstant(Expression expression) {
+		if(expression instanceof DoubleLiteral || expression instanceof BooleanLiteral)
+			return true;
+		if(!(expression instanceof ComplexExpression) || expression instanceof GetExpression)
+			return false;
+		ComplexExpression complex = (ComplexExpression) expression;
+		for(int i = 1; i <= complex.getNmbOfParts(); i++)
+			if(!isConstant(complex.getPartAt(i)))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Compile the given top level expression of type double or boolean and return the register with its value.
+	 */
+	private int compileValue(Expression expression) throws IllegalArgumentException {
+		this.checked = new HashSet<Integer>();
+		return this.compileDouble(expression);
+	}
+
+	private int compileEntityValue(Expression expression) throws IllegalArgumentException {
+		this.checked = new HashSet<Integer>();
+		return this.compileEntity(expression);
+	}
+
+	/**
+	 * Compile the given expression of type double or boolean and return the register with its value.
+	 * Temporary registers above the current ones may be used.
+	 */
+	private int compileDouble(Expression expression) throws IllegalArgumentException {
+		if(expression instanceof DoubleLiteral)
+			return this.getConstant(expression.evalDouble());
+		if(expression instanceof BooleanLiteral)
+			return this.getConstant(expression.evalBoolean() ? 1 : 0);
+		if(expression instanceof Variable) {
+			int slot = this.getSlot(((Variable) expression).getName());
+			this.check(slot);
+			return slot;
+		}
+		if(isConstant(expression)) {
+			try {
+				if(expression.getType() == Type.BOOL)
+					return this.getConstant(expression.evalBoolean() ? 1 : 0);
+				return this.getConstant(expression.evalDouble());
+			}
+			catch(RuntimeException e) { // such as a division by zero, which must fail when the program runs
+			}
+		}
+		if(expression instanceof And || expression instanceof Or)
+			return this.compileLogical((BinaryExpression) expression);
+		if(expression instanceof EqualityExpression && ((BinaryExpression) expression).getLeftPart().getType() == Type.ENTITY)
+			return this.compileEntityEquality((BinaryExpression) expression);
+		if(expression instanceof BinaryExpression) {
+			int mark = this.nextTemporary;
+			int left, right;
+			// Like the expression, a division evaluates its divisor first.
+			if(expression instanceof Division) {
+				right = this.compileDouble(((BinaryExpression) expression).getRightPart());
+				left = this.compileDouble(((BinaryExpression) expression).getLeftPart());
+			}
+			else {
+				left = this.compileDouble(((BinaryExpression) expression).getLeftPart());
+				right = this.compileDouble(((BinaryExpression) expression).getRightPart());
+			}
+			this.nextTemporary = mark;
+			int result = this.allocateTemporary();
+			this.emit(getBinaryOpcode(expression));
+			this.emit(result);
+			this.emitRegister(left);
+			this.emitRegister(right);
+			return result;
+		}
+		if(expression instanceof GetExpression) {
+			int mark = this.nextEntity;
+			int part = this.compileEntity(((SingleExpression) expression).getPart());
+			this.nextEntity = mark;
+			int result = this.allocateTemporary();
+			this.emit(getGetOpcode(expression));
+			this.emit(result);
+			this.emit(part);
+			return result;
+		}
+		if(expression instanceof SingleExpression) {
+			int mark = this.nextTemporary;
+			int part = this.compileDouble(((SingleExpression) expression).getPart());
+			this.nextTemporary = mark;
+			int result = this.allocateTemporary();
+			if(expression instanceof SquareRoot)
+				this.emit(SQRT);
+			else if(expression instanceof Sine)
+				this.emit(SIN);
+			else if(expression instanceof Cosine)
+				this.emit(COS);
+			else if(expression instanceof Negation)
+				this.emit(NOT);
+			else
+				throw new IllegalArgumentException("Unknown expression " + expression);
+			this.emit(result);
+			this.emitRegister(part);
+			return result;
+		}
+		throw new IllegalArgumentException("Unknown expression " + expression);
+	}
+
+	private static int getBinaryOpcode(Expression expression) throws IllegalArgumentException {
+		if(expression instanceof Addition)
+			return ADD;
+		if(expression instanceof Subtraction)
+			return SUB;
+		if(expression instanceof Multiplication)
+			return MUL;
+		if(expression instanceof Division)
+			return DIV;
+		if(expression instanceof LessThan)
+			return LT;
+		if(expression instanceof LessThanOrEqualTo)
+			return LE;
+		if(expression instanceof LargerThan)
+			return GT;
+		if(expression instanceof LargerThanOrEqualTo)
+			return GE;
+		if(expression instanceof EqualTo)
+			return EQ;
+		if(expression instanceof NotEqualTo)
+			return NE;
+		throw new IllegalArgumentException("Unknown expression " + expression);
+	}
+
+	private static int getGetOpcode(Expression expression) throws IllegalArgumentException {
+		if(expression instanceof GetXOperator)
+			return GETX;
+		if(expression instanceof GetYOperator)
+			return GETY;
+		if(expression instanceof GetVxOperator)
+			return GETVX;
+		if(expression instanceof GetVyOperator)
+			return GETVY;
+		if(expression instanceof GetRadiusOperator)
+			return GETRADIUS;
+		if(expression instanceof GetDirectionOperator)
+			return GETDIR;
+		throw new IllegalArgumentException("Unknown expression " + expression);
+	}
+
+	/**
+	 * Compile a conjunction or disjunction, which only evaluates its right part if its left part does not decide it.
+	 */
+	private int compileLogical(BinaryExpression expression) throws IllegalArgumentException {
+		int result = this.allocateTemporary();
+		int mark = this.nextTemporary;
+		int left = this.compileDouble(expression.getLeftPart());
+		this.emit(MOVE, result);
+		this.emitRegister(left);
+		this.emit(expression instanceof And ? JUMP_IF_FALSE : JUMP_IF_TRUE, result);
+		int end = this.emitTarget();
+		// The right part is not always evaluated, so the globals it checks are not known to have a value afterwards.
+		Set<Integer> checkedBefore = new HashSet<Integer>(this.checked);
+		this.nextTemporary = mark;
+		int right = this.compileDouble(expression.getRightPart());
+		this.emit(MOVE, result);
+		this.emitRegister(right);
+		this.checked = checkedBefore;
+		this.patch(end);
+		this.nextTemporary = mark;
+		return result;
+	}
+
+	private int compileEntityEquality(BinaryExpression expression) throws IllegalArgumentException {
+		int mark = this.nextEntity;
+		int left = this.compileEntity(expression.getLeftPart());
+		int right = this.compileEntity(expression.getRightPart());
+		this.nextEntity = mark;
+		int result = this.allocateTemporary();
+		this.emit(expression instanceof EqualTo ? EQ_E : NE_E);
+		this.emit(result);
+		this.emit(left);
+		this.emit(right);
+		return result;
+	}
+
+	/**
+	 * Compile the given expression of type entity and return the entity register with its value.
+	 */
+	private int compileEntity(Expression expression) throws IllegalArgumentException {
+		if(expression instanceof EntityLiteral && expression.evalEntity() == null)
+			return this.nmbOfGlobals;
+		if(expression instanceof Variable) {
+			int slot = this.getSlot(((Variable) expression).getName());
+			this.check(slot);
+			return slot;
+		}
+		if(expression instanceof Self) {
+			int result = this.allocateEntity();
+			this.emit(SELF, result);
+			return result;
+		}
+		throw new IllegalArgumentException("Unknown expression " + expression);
+	}
+
+	/**
+	 * Compile the given statement, which gets the next number.
+	 */
+	private void compileStatement(Statement statement) throws IllegalArgumentException {
+		int id = this.nextStatement++;
+		if(statement instanceof Assignment) {
+			Assignment assignment = (Assignment) statement;
+			int slot = this.getSlot(assignment.getVariable());
+			if(this.program.getGlobal(slot).getType() == Type.ENTITY) {
+				int value = this.compileEntityValue(assignment.getExpression());
+				this.emit(ASSIGN_E, slot);
+				this.emit(value);
+			}
+			else {
+				int value = this.compileValue(assignment.getExpression());
+				this.emit(ASSIGN, slot);
+				this.emitRegister(value);
+			}
+			this.emit(id);
+		}
+		else if(statement instanceof PrintStatement) {
+			Expression expression = ((PrintStatement) statement).getExpression();
+			if(expression.getType() == Type.ENTITY) {
+				this.emit(PRINT_ENTITY, this.compileEntityValue(expression));
+			}
+			else {
+				int value = this.compileValue(expression);
+				this.emit(expression.getType() == Type.BOOL ? PRINT_BOOLEAN : PRINT_DOUBLE);
+				this.emitRegister(value);
+			}
+			this.emit(id);
+		}
+		else if(statement instanceof Sequence)
+			this.compileSequence((Sequence) statement, id);
+		else if(statement instanceof IfThenElse)
+			this.compileIfThenElse((IfThenElse) statement, id);
+		else if(statement instanceof WhileLoop)
+			this.compileWhileLoop((WhileLoop) statement, id);
+		else if(statement instanceof ForEachLoop)
+			this.compileForEachLoop((ForEachLoop) statement, id);
+		else if(statement instanceof Fire)
+			this.emit(FIRE, id);
+		else if(statement instanceof Turn) {
+			int angle = this.compileValue(((Turn) statement).getAngle());
+			this.emit(TURN);
+			this.emitRegister(angle);
+			this.emit(id);
+		}
+		else if(statement instanceof ThrusterEnabler)
+			this.emit(THRUST_ON, id);
+		else if(statement instanceof ThrusterDisabler)
+			this.emit(THRUST_OFF, id);
+		else if(statement instanceof Skip)
+			this.emit(FINISH, id);
+		else
+			throw new IllegalArgumentException("Unknown statement " + statement);
+	}
+
+	/**
+	 * A sequence jumps to the statement where it stopped. When a statement finishes, the sequence counts it
+	 * and goes on with the next one, unless the statement was an action. When a statement does not finish,
+	 * the sequence stops.
+	 */
+	private void compileSequence(Sequence sequence, int id) throws IllegalArgumentException {
+		List<Statement> statements = sequence.getStatements();
+		int n = statements.size();
+		List<Integer> stops = new ArrayList<Integer>();
+		this.emit(JUMP_IF_FINISHED, id);
+		stops.add(this.emitTarget());
+		this.emit(SWITCH, id);
+		this.emit(n);
+		int defaultTarget = this.emitTarget();
+		int table = this.length;
+		for(int i = 0; i < n; i++)
+			this.emitTarget();
+		for(int i = 0; i < n; i++) {
+			this.patch(table + i);
+			Statement statement = statements.get(i);
+			int statementId = this.nextStatement;
+			this.compileStatement(statement);
+			if(statement instanceof ActionStatement) {
+				this.emit(COUNT, id);
+				this.emit(JUMP);
+				stops.add(this.emitTarget());
+			}
+			else {
+				this.emit(JUMP_IF_NOT_FINISHED, statementId);
+				stops.add(this.emitTarget());
+				this.emit(COUNT, id);
+			}
+		}
+		this.patch(defaultTarget);
+		this.emit(FINISH, id);
+		for(int stop: stops)
+			this.patch(stop);
+		this.emit(END_SEQUENCE, id);
+		this.emit(n);
+	}
+
+	private void compileIfThenElse(IfThenElse ifThenElse, int id) throws IllegalArgumentException {
+		int otherwise = this.emitJumpIfFalse(this.compileValue(ifThenElse.getCondition()));
+		int thenId = this.nextStatement;
+		this.compileStatement(ifThenElse.getThenStatement());
+		this.emit(JUMP_IF_NOT_FINISHED, thenId);
+		int endThen = this.emitTarget();
+		this.emit(FINISH, id);
+		this.emit(JUMP);
+		int endFinished = this.emitTarget();
+		this.patch(otherwise);
+		int otherwiseId = this.nextStatement;
+		this.compileStatement(ifThenElse.getOtherwiseStatement());
+		this.emit(JUMP_IF_NOT_FINISHED, otherwiseId);
+		int endOtherwise = this.emitTarget();
+		this.emit(FINISH, id);
+		this.patch(endThen);
+		this.patch(endFinished);
+		this.patch(endOtherwise);
+	}
+
+	/**
+	 * A loop stops suddenly after its body if the body is an action statement, if the body did not finish
+	 * or if the loop contains no action statement at all. The body is reset whenever it finished.
+	 * Like the loop statement, the loop evaluates its condition once more before it stops suddenly.
+	 */
+	private void compileWhileLoop(WhileLoop loop, int id) throws IllegalArgumentException {
+		int start = this.length;
+		int done = this.emitJumpIfFalse(this.compileValue(loop.getCondition()));
+		int bodyId = this.nextStatement;
+		this.compileStatement(loop.getBody());
+		int bodyEnd = this.nextStatement;
+		int suddenStop;
+		if(loop.getBody() instanceof ActionStatement || !loop.containsActionStatement()) {
+			this.emit(JUMP_IF_NOT_FINISHED, bodyId);
+			suddenStop = this.emitTarget();
+			this.emit(RESET, bodyId);
+			this.emit(bodyEnd);
+		}
+		else {
+			this.emit(JUMP_IF_NOT_FINISHED, bodyId);
+			suddenStop = this.emitTarget();
+			this.emit(RESET, bodyId);
+			this.emit(bodyEnd);
+			this.emit(JUMP, start);
+		}
+		this.patch(suddenStop);
+		this.compileValue(loop.getCondition());
+		this.emit(JUMP);
+		int end = this.emitTarget();
+		this.patch(done);
+		this.emit(FINISH, id);
+		this.patch(end);
+	}
+
+	private void compileForEachLoop(ForEachLoop loop, int id) throws IllegalArgumentException {
+		if(loop.getBody() != null) {
+			int slot = this.getSlot(loop.getVariableName());
+			int iterator = this.nextIterator++;
+			this.maxIterator = Math.max(this.maxIterator, this.nextIterator);
+			this.emit(ITERATE, iterator);
+			this.emit(getTypeOperand(loop.getType()));
+			int start = this.length;
+			this.emit(NEXT, iterator);
+			this.emit(slot);
+			int end = this.emitTarget();
+			this.compileStatement(loop.getBody());
+			this.emit(JUMP, start);
+			this.patch(end);
+			this.nextIterator--;
+		}
+		this.emit(FINISH, id);
+	}
+
+	private static int getTypeOperand(ForeachType type) {
+		if(type.equals(ForeachType.ANY))
+			return 0;
+		if(type.equals(ForeachType.ASTEROID))
+			return 1;
+		if(type.equals(ForeachType.BULLET))
+			return 2;
+		return 3;
+	}
+}
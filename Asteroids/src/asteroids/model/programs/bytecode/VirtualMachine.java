@@ -0,0 +1,362 @@
+package asteroids.model.programs.bytecode;
+
+import java.util.*;
+
+import be.kuleuven.cs.som.annotate.*;
+
+import asteroids.Util;
+import asteroids.model.*;
+import asteroids.model.programs.*;
+import asteroids.model.programs.expressions.Variable;
+import asteroids.model.programs.exceptions.IllegalProgramException;
+import asteroids.model.programs.statements.*;
+
+/**
+ * A virtual machine that executes the bytecode of a program for the ship running that program.
+ * The bytecode can be shared by the virtual machines of many ships; only the registers, the state of the
+ * statements and the iterators of the foreach loops belong to a virtual machine.
+ *
+ * Every step the virtual machine executes from the first instruction until the program stops at an action,
+ * at a statement that did not finish or at its end. The state of the statements tells every next step
+ * where to go on.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class VirtualMachine implements ProgramBackend {
+
+	/**
+	 * Initialize this new virtual machine to execute the given bytecode for the given program,
+	 * in which no global has a value yet.
+	 *
+	 * @param 	bytecode
+	 * 			The bytecode to execute.
+	 * @param 	program
+	 * 			The program of which the ship is used by the actions of the bytecode.
+	 * @throws	IllegalArgumentException
+	 * 			| bytecode == null || program == null
+	 * @throws	IllegalArgumentException
+	 * 			The globals of the given bytecode do not have the names and types of the globals in the same slots
+	 * 			of the given program.
+	 */
+	public VirtualMachine(Bytecode bytecode, Program program) throws IllegalArgumentException {
+		if(bytecode == null || program == null)
+			throw new IllegalArgumentException();
+		if(bytecode.getNmbOfGlobals() != program.getNmbOfGlobals())
+			throw new IllegalArgumentException("The bytecode is not compiled from this program.");
+		for(int slot = 0; slot < bytecode.getNmbOfGlobals(); slot++) {
+			Variable global = program.getGlobal(slot);
+			if(!global.getName().equals(bytecode.globalNames[slot]) || global.getType() != bytecode.globalTypes[slot])
+				throw new IllegalArgumentException("The bytecode is not compiled from this program.");
+		}
+		this.bytecode = bytecode;
+		this.program = program;
+		this.registers = new double[bytecode.getNmbOfRegisters()];
+		System.arraycopy(bytecode.constants, 0, this.registers, this.registers.length - bytecode.constants.length,
+				bytecode.constants.length);
+		this.entities = new SpaceObject[bytecode.getNmbOfEntityRegisters()];
+		this.isAssigned = new boolean[bytecode.getNmbOfGlobals()];
+		this.isFinished = new boolean[bytecode.getNmbOfStatements()];
+		this.nmbOfDoneExecutions = new int[bytecode.getNmbOfStatements()];
+		this.iterators = new Iterator<?>[bytecode.getNmbOfIterators()];
+	}
+
+	@Basic @Immutable
+	public Bytecode getBytecode() {
+		return this.bytecode;
+	}
+
+	private final Bytecode bytecode;
+
+	@Basic @Immutable
+	public Program getProgram() {
+		return this.program;
+	}
+
+	private final Program program;
+
+	private final double[] registers;
+	private final SpaceObject[] entities;
+	private final boolean[] isAssigned;
+
+	/**
+	 * Whether each statement finished and, for sequences, how many of its statements finished.
+	 */
+	private final boolean[] isFinished;
+	private final int[] nmbOfDoneExecutions;
+
+	private final Iterator<?>[] iterators;
+
+	@Override
+	public boolean executeStep() throws IllegalProgramException {
+		final int[] code = this.bytecode.code;
+		final double[] r = this.registers;
+		final SpaceObject[] e = this.entities;
+		int pc = 0;
+		while(true) {
+			switch(code[pc]) {
+			case Bytecode.ADD:
+				r[code[pc + 1]] = r[code[pc + 2]] + r[code[pc + 3]];
+				pc += 4;
+				break;
+			case Bytecode.SUB:
+				r[code[pc + 1]] = r[code[pc + 2]] - r[code[pc + 3]];
+				pc += 4;
+				break;
+			case Bytecode.MUL:
+				r[code[pc + 1]] = r[code[pc + 2]] * r[code[pc + 3]];
+				pc += 4;
+				break;
+			case Bytecode.DIV: {
+				double divisor = r[code[pc + 3]];
+				if(Util.fuzzyEquals(divisor, 0))
+					throw new IllegalProgramException("Dividing by 0");
+				r[code[pc + 1]] = r[code[pc + 2]] / divisor;
+				pc += 4;
+				break;
+			}
+			case Bytecode.SQRT: {
+				double value = r[code[pc + 2]];
+				if(Util.fuzzyLessThanOrEqualTo(value, 0) && !Util.fuzzyEquals(value, 0))
+					throw new IllegalProgramException("Square root of negative value");
+				r[code[pc + 1]] = Math.sqrt(value);
+				pc += 3;
+				break;
+			}
+			case Bytecode.SIN:
+				r[code[pc + 1]] = Math.sin(r[code[pc + 2]]);
+				pc += 3;
+				break;
+			case Bytecode.COS:
+				r[code[pc + 1]] = Math.cos(r[code[pc + 2]]);
+				pc += 3;
+				break;
+			case Bytecode.LT:
+				r[code[pc + 1]] = r[code[pc + 2]] < r[code[pc + 3]] ? 1 : 0;
+				pc += 4;
+				break;
+			case Bytecode.LE:
+				r[code[pc + 1]] = r[code[pc + 2]] <= r[code[pc + 3]] ? 1 : 0;
+				pc += 4;
+				break;
+			case Bytecode.GT:
+				r[code[pc + 1]] = r[code[pc + 2]] > r[code[pc + 3]] ? 1 : 0;
+				pc += 4;
+				break;
+			case Bytecode.GE:
+				r[code[pc + 1]] = r[code[pc + 2]] >= r[code[pc + 3]] ? 1 : 0;
+				pc += 4;
+				break;
+			case Bytecode.EQ:
+				r[code[pc + 1]] = Double.compare(r[code[pc + 2]], r[code[pc + 3]]) == 0 ? 1 : 0;
+				pc += 4;
+				break;
+			case Bytecode.NE:
+				r[code[pc + 1]] = Double.compare(r[code[pc + 2]], r[code[pc + 3]]) != 0 ? 1 : 0;
+				pc += 4;
+				break;
+			case Bytecode.EQ_E:
+				r[code[pc + 1]] = e[code[pc + 2]] == e[code[pc + 3]] ? 1 : 0;
+				pc += 4;
+				break;
+			case Bytecode.NE_E:
+				r[code[pc + 1]] = e[code[pc + 2]] != e[code[pc + 3]] ? 1 : 0;
+				pc += 4;
+				break;
+			case Bytecode.NOT:
+				r[code[pc + 1]] = r[code[pc + 2]] == 0 ? 1 : 0;
+				pc += 3;
+				break;
+			case Bytecode.MOVE:
+				r[code[pc + 1]] = r[code[pc + 2]];
+				pc += 3;
+				break;
+			case Bytecode.GETX:
+				r[code[pc + 1]] = e[code[pc + 2]].getX();
+				pc += 3;
+				break;
+			case Bytecode.GETY:
+				r[code[pc + 1]] = e[code[pc + 2]].getY();
+				pc += 3;
+				break;
+			case Bytecode.GETVX:
+				r[code[pc + 1]] = e[code[pc + 2]].getXVelocity();
+				pc += 3;
+				break;
+			case Bytecode.GETVY:
+				r[code[pc + 1]] = e[code[pc + 2]].getYVelocity();
+				pc += 3;
+				break;
+			case Bytecode.GETRADIUS:
+				r[code[pc + 1]] = e[code[pc + 2]].getRadius();
+				pc += 3;
+				break;
+			case Bytecode.GETDIR: {
+				SpaceObject object = e[code[pc + 2]];
+				r[code[pc + 1]] = object instanceof Ship ? ((Ship) object).getDirection() : 0;
+				pc += 3;
+				break;
+			}
+			case Bytecode.SELF:
+				e[code[pc + 1]] = this.program.getShipRunningProgram();
+				pc += 2;
+				break;
+			case Bytecode.CHECK:
+				if(!this.isAssigned[code[pc + 1]])
+					throw new IllegalProgramException("Variable not declared or assigned.");
+				pc += 2;
+				break;
+			case Bytecode.JUMP:
+				pc = code[pc + 1];
+				break;
+			case Bytecode.JUMP_IF_FALSE:
+				pc = r[code[pc + 1]] == 0 ? code[pc + 2] : pc + 3;
+				break;
+			case Bytecode.JUMP_IF_TRUE:
+				pc = r[code[pc + 1]] != 0 ? code[pc + 2] : pc + 3;
+				break;
+			case Bytecode.JUMP_IF_FINISHED:
+				pc = this.isFinished[code[pc + 1]] ? code[pc + 2] : pc + 3;
+				break;
+			case Bytecode.JUMP_IF_NOT_FINISHED:
+				pc = this.isFinished[code[pc + 1]] ? pc + 3 : code[pc + 2];
+				break;
+			case Bytecode.FINISH:
+				this.isFinished[code[pc + 1]] = true;
+				pc += 2;
+				break;
+			case Bytecode.COUNT:
+				this.nmbOfDoneExecutions[code[pc + 1]]++;
+				pc += 2;
+				break;
+			case Bytecode.SWITCH: {
+				int done = this.nmbOfDoneExecutions[code[pc + 1]];
+				pc = done < code[pc + 2] ? code[pc + 4 + done] : code[pc + 3];
+				break;
+			}
+			case Bytecode.END_SEQUENCE:
+				if(this.nmbOfDoneExecutions[code[pc + 1]] >= code[pc + 2])
+					this.isFinished[code[pc + 1]] = true;
+				pc += 3;
+				break;
+			case Bytecode.RESET:
+				for(int id = code[pc + 1]; id < code[pc + 2]; id++) {
+					this.isFinished[id] = false;
+					this.nmbOfDoneExecutions[id] = 0;
+				}
+				pc += 3;
+				break;
+			case Bytecode.ITERATE:
+				this.iterators[code[pc + 1]] = this.getObjects(code[pc + 2]).iterator();
+				pc += 3;
+				break;
+			case Bytecode.NEXT: {
+				Iterator<?> iterator = this.iterators[code[pc + 1]];
+				if(iterator.hasNext()) {
+					e[code[pc + 2]] = (SpaceObject) iterator.next();
+					this.isAssigned[code[pc + 2]] = true;
+					pc += 4;
+				}
+				else {
+					this.iterators[code[pc + 1]] = null;
+					pc = code[pc + 3];
+				}
+				break;
+			}
+			case Bytecode.ASSIGN:
+				r[code[pc + 1]] = r[code[pc + 2]];
+				this.isAssigned[code[pc + 1]] = true;
+				this.isFinished[code[pc + 3]] = true;
+				pc += 4;
+				break;
+			case Bytecode.ASSIGN_E:
+				e[code[pc + 1]] = e[code[pc + 2]];
+				this.isAssigned[code[pc + 1]] = true;
+				this.isFinished[code[pc + 3]] = true;
+				pc += 4;
+				break;
+			case Bytecode.PRINT_DOUBLE:
+				System.out.println(r[code[pc + 1]]);
+				this.isFinished[code[pc + 2]] = true;
+				pc += 3;
+				break;
+			case Bytecode.PRINT_BOOLEAN:
+				System.out.println(r[code[pc + 1]] != 0);
+				this.isFinished[code[pc + 2]] = true;
+				pc += 3;
+				break;
+			case Bytecode.PRINT_ENTITY:
+				System.out.println(e[code[pc + 1]]);
+				this.isFinished[code[pc + 2]] = true;
+				pc += 3;
+				break;
+			case Bytecode.FIRE:
+				this.program.getShipRunningProgram().fireBullet();
+				this.isFinished[code[pc + 1]] = true;
+				pc += 2;
+				break;
+			case Bytecode.TURN:
+				this.program.getShipRunningProgram().turn(r[code[pc + 1]]);
+				this.isFinished[code[pc + 2]] = true;
+				pc += 3;
+				break;
+			case Bytecode.THRUST_ON:
+				this.program.getShipRunningProgram().getThruster().setEnabled(true);
+				this.isFinished[code[pc + 1]] = true;
+				pc += 2;
+				break;
+			case Bytecode.THRUST_OFF:
+				this.program.getShipRunningProgram().getThruster().setEnabled(false);
+				this.isFinished[code[pc + 1]] = true;
+				pc += 2;
+				break;
+			case Bytecode.HALT:
+				return this.isFinished[0];
+			default:
+				throw new IllegalStateException("Unknown opcode " + code[pc] + " at " + pc);
+			}
+		}
+	}
+
+	/**
+	 * Return the objects in the world of the ship over which a foreach loop of the given type iterates.
+	 */
+	private Set<? extends SpaceObject> getObjects(int type) {
+		World world = this.program.getShipRunningProgram().getWorld();
+		if(type == 0)
+			return world.getSpaceObjects();
+		if(type == 1)
+			return world.getObjects(Asteroid.class);
+		if(type == 2)
+			return world.getObjects(Bullet.class);
+		return world.getObjects(Ship.class);
+	}
+
+	/**
+	 * Take over the values of the globals of the program and the state of its statements,
+	 * so this virtual machine continues where the statements of the program stopped.
+	 */
+	public void importState() {
+		for(int slot = 0; slot < this.isAssigned.length; slot++) {
+			Variable global = this.getProgram().getGlobal(slot);
+			this.isAssigned[slot] = global.isValueSet();
+			if(!global.isValueSet())
+				continue;
+			if(global.getType() == Type.DOUBLE)
+				this.registers[slot] = global.evalDouble();
+			else if(global.getType() == Type.BOOL)
+				this.registers[slot] = global.evalBoolean() ? 1 : 0;
+			else
+				this.entities[slot] = global.evalEntity();
+		}
+		List<Statement> statements = BytecodeCompiler.getStatements(this.getProgram());
+		for(int id = 0; id < statements.size(); id++) {
+			this.isFinished[id] = statements.get(id).isFinished();
+			if(statements.get(id) instanceof Sequence)
+				this.nmbOfDoneExecutions[id] = ((Sequence) statements.get(id)).getNmbOfDoneExecutions();
+		}
+	}
+}
@@ -0,0 +1,552 @@
+package asteroids.model.programs.closures;
+
+import java.util.*;
+
+import asteroids.Util;
+import asteroids.model.*;
+import asteroids.model.programs.*;
+import asteroids.model.programs.exceptions.IllegalProgramException;
+import asteroids.model.programs.expressions.*;
+import asteroids.model.programs.parsing.ProgramFactory.ForeachType;
+import asteroids.model.programs.statements.*;
+
+/**
+ * A compiler that turns a type checked program into a tree of closures. Every closure is specialized
+ * for the type of its expression, so numbers and booleans are never boxed, and reads the globals from
+ * their slots in the compiled program. Expressions of which all parts are constant are evaluated once,
+ * while compiling. The properties of statements that do not change while a program runs,
+ * such as whether a loop contains an action statement, are looked up while compiling as well.
+ *
+ * The compiled statements stop and resume at the same places as the statements of the program,
+ * so a compiled program executes every step exactly like the program itself.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class ClosureCompiler {
+
+	/**
+	 * Compile the given program into closures, which continue where the statements of the program stopped.
+	 *
+	 * @param 	program
+	 * 			The program to compile.
+	 * @throws	IllegalArgumentException
+	 * 			| program == null || program.getStatement() == null
+	 * @throws	IllegalArgumentException
+	 * 			The program contains a variable that is not a global of the program,
+	 * 			which does not happen in a program that type checks.
+	 */
+	public static ClosureProgram compile(Program program) throws IllegalArgumentException {
+		if(program == null || program.getStatement() == null)
+			throw new IllegalArgumentException();
+		ClosureProgram result = new ClosureProgram(program);
+		result.setStatement(new ClosureCompiler(result).compileStatement(program.getStatement()));
+		result.importState();
+		return result;
+	}
+
+	private ClosureCompiler(ClosureProgram target) {
+		this.program = target.getProgram();
+		this.doubles = target.doubles;
+		this.booleans = target.booleans;
+		this.entities = target.entities;
+		this.isAssigned = target.isAssigned;
+		this.target = target;
+	}
+
+	private final Program program;
+	private final ClosureProgram target;
+	private final double[] doubles;
+	private final boolean[] booleans;
+	private final SpaceObject[] entities;
+	private final boolean[] isAssigned;
+
+	/**
+	 * Return the slot of the global with the given name.
+	 *
+	 * @throws	IllegalArgumentException
+	 * 			The program has no global with the given name.
+	 */
+	private int getSlot(String name) throws IllegalArgumentException {
+		int slot = this.program.getSlot(name);
+		if(slot < 0)
+			throw new IllegalArgumentException("Unknown variable " + name);
+		return slot;
+	}
+
+	/**
+	 * Return a constant closure with the value of the given closure if all parts of its expression are constant
+	 * and its value can be computed, and the given closure otherwise.
+	 */
+	private static DoubleClosure fold(DoubleClosure closure, boolean isConstant) {
+		if(!isConstant)
+			return closure;
+		try {
+			return DoubleClosure.constant(closure.eval());
+		}
+		catch(RuntimeException e) { // such as a division by zero, which must fail when the program runs
+			return closure;
+		}
+	}
+
+	private static BooleanClosure fold(BooleanClosure closure, boolean isConstant) {
+		if(!isConstant)
+			return closure;
+		try {
+			return BooleanClosure.constant(closure.eval());
+		}
+		catch(RuntimeException e) {
+			return closure;
+		}
+	}
+
+	private DoubleClosure compileDouble(Expression expression) throws IllegalArgumentException {
+		if(expression instanceof DoubleLiteral)
+			return DoubleClosure.constant(expression.evalDouble());
+		if(expression instanceof Variable) {
+			final int slot = this.getSlot(((Variable) expression).getName());
+			return () -> {
+				target.checkAssigned(slot);
+				return doubles[slot];
+			};
+		}
+		if(expression instanceof MathBinaryExpression) {
+			final DoubleClosure left = this.compileDouble(((BinaryExpression) expression).getLeftPart());
+			final DoubleClosure right = this.compileDouble(((BinaryExpression) expression).getRightPart());
+			DoubleClosure closure;
+			if(expression instanceof Addition)
+				closure = () -> left.eval() + right.eval();
+			else if(expression instanceof Subtraction)
+				closure = () -> left.eval() - right.eval();
+			else if(expression instanceof Multiplication)
+				closure = () -> left.eval() * right.eval();
+			else if(expression instanceof Division)
+				closure = () -> {
+					double divisor = right.eval();
+					if(Util.fuzzyEquals(divisor, 0))
+						throw new IllegalProgramException("Dividing by 0");
+					return left.eval() / divisor;
+				};
+			else
+				throw new IllegalArgumentException("Unknown expression " + expression);
+			return fold(closure, left.isConstant() && right.isConstant());
+		}
+		if(expression instanceof MathSingleExpression) {
+			final DoubleClosure part = this.compileDouble(((SingleExpression) expression).getPart());
+			DoubleClosure closure;
+			if(expression instanceof SquareRoot)
+				closure = () -> {
+					double value = part.eval();
+					if(Util.fuzzyLessThanOrEqualTo(value, 0) && !Util.fuzzyEquals(value, 0))
+						throw new IllegalProgramException("Square root of negative value");
+					return Math.sqrt(value);
+				};
+			else if(expression instanceof Sine)
+				closure = () -> Math.sin(part.eval());
+			else if(expression instanceof Cosine)
+				closure = () -> Math.cos(part.eval());
+			else
+				throw new IllegalArgumentException("Unknown expression " + expression);
+			return fold(closure, part.isConstant());
+		}
+		if(expression instanceof GetExpression) {
+			final EntityClosure part = this.compileEntity(((SingleExpression) expression).getPart());
+			if(expression instanceof GetXOperator)
+				return () -> part.eval().getX();
+			if(expression instanceof GetYOperator)
+				return () -> part.eval().getY();
+			if(expression instanceof GetVxOperator)
+				return () -> part.eval().getXVelocity();
+			if(expression instanceof GetVyOperator)
+				return () -> part.eval().getYVelocity();
+			if(expression instanceof GetRadiusOperator)
+				return () -> part.eval().getRadius();
+			if(expression instanceof GetDirectionOperator)
+				return () -> {
+					SpaceObject object = part.eval();
+					if(object instanceof Ship)
+						return ((Ship) object).getDirection();
+					return 0.;
+				};
+		}
+		throw new IllegalArgumentException("Unknown expression " + expression);
+	}
+
+	private BooleanClosure compileBoolean(Expression expression) throws IllegalArgumentException {
+		if(expression instanceof BooleanLiteral)
+			return BooleanClosure.constant(expression.evalBoolean());
+		if(expression instanceof Variable) {
+			final int slot = this.getSlot(((Variable) expression).getName());
+			return () -> {
+				target.checkAssigned(slot);
+				return booleans[slot];
+			};
+		}
+		if(expression instanceof ComparisonExpression) {
+			final DoubleClosure left = this.compileDouble(((BinaryExpression) expression).getLeftPart());
+			final DoubleClosure right = this.compileDouble(((BinaryExpression) expression).getRightPart());
+			BooleanClosure closure;
+			if(expression instanceof LessThan)
+				closure = () -> left.eval() < right.eval();
+			else if(expression instanceof LessThanOrEqualTo)
+				closure = () -> left.eval() <= right.eval();
+			else if(expression instanceof LargerThan)
+				closure = () -> left.eval() > right.eval();
+			else if(expression instanceof LargerThanOrEqualTo)
+				closure = () -> left.eval() >= right.eval();
+			else
+				throw new IllegalArgumentException("Unknown expression " + expression);
+			return fold(closure, left.isConstant() && right.isConstant());
+		}
+		if(expression instanceof LogicalExpression) {
+			final BooleanClosure left = this.compileBoolean(((BinaryExpression) expression).getLeftPart());
+			final BooleanClosure right = this.compileBoolean(((BinaryExpression) expression).getRightPart());
+			BooleanClosure closure;
+			if(expression instanceof And)
+				closure = () -> left.eval() && right.eval();
+			else if(expression instanceof Or)
+				closure = () -> left.eval() || right.eval();
+			else
+				throw new IllegalArgumentException("Unknown expression " + expression);
+			return fold(closure, left.isConstant() && right.isConstant());
+		}
+		if(expression instanceof Negation) {
+			final BooleanClosure part = this.compileBoolean(((SingleExpression) expression).getPart());
+			return fold(() -> !part.eval(), part.isConstant());
+		}
+		if(expression instanceof EqualityExpression) {
+			BooleanClosure equality = this.compileEquality((BinaryExpression) expression);
+			if(expression instanceof EqualTo)
+				return equality;
+			if(expression instanceof NotEqualTo) {
+				final BooleanClosure part = equality;
+				return fold(() -> !part.eval(), part.isConstant());
+			}
+		}
+		throw new IllegalArgumentException("Unknown expression " + expression);
+	}
+
+	/**
+	 * Compile whether both parts of the given expression are equal. Numbers and booleans are compared
+	 * by value and entities by identity, like the equality expressions do.
+	 */
+	private BooleanClosure compileEquality(BinaryExpression expression) throws IllegalArgumentException {
+		Type type = expression.getLeftPart().getType();
+		if(type == Type.DOUBLE) {
+			final DoubleClosure left = this.compileDouble(expression.getLeftPart());
+			final DoubleClosure right = this.compileDouble(expression.getRightPart());
+			return fold(() -> Double.compare(left.eval(), right.eval()) == 0, left.isConstant() && right.isConstant());
+		}
+		if(type == Type.BOOL) {
+			final BooleanClosure left = this.compileBoolean(expression.getLeftPart());
+			final BooleanClosure right = this.compileBoolean(expression.getRightPart());
+			return fold(() -> left.eval() == right.eval(), left.isConstant() && right.isConstant());
+		}
+		final EntityClosure left = this.compileEntity(expression.getLeftPart());
+		final EntityClosure right = this.compileEntity(expression.getRightPart());
+		return fold(() -> left.eval() == right.eval(), left.isConstant() && right.isConstant());
+	}
+
+	private EntityClosure compileEntity(Expression expression) throws IllegalArgumentException {
+		if(expression instanceof EntityLiteral)
+			return EntityClosure.constant(expression.evalEntity());
+		if(expression instanceof Self)
+			return () -> program.getShipRunningProgram();
+		if(expression instanceof Variable) {
+			final int slot = this.getSlot(((Variable) expression).getName());
+			return () -> {
+				target.checkAssigned(slot);
+				return entities[slot];
+			};
+		}
+		throw new IllegalArgumentException("Unknown expression " + expression);
+	}
+
+	private StatementClosure compileStatement(Statement statement) throws IllegalArgumentException {
+		if(statement instanceof Assignment)
+			return this.compileAssignment((Assignment) statement);
+		if(statement instanceof PrintStatement)
+			return this.compilePrint((PrintStatement) statement);
+		if(statement instanceof Sequence)
+			return this.compileSequence((Sequence) statement);
+		if(statement instanceof IfThenElse)
+			return this.compileIfThenElse((IfThenElse) statement);
+		if(statement instanceof WhileLoop)
+			return this.compileWhileLoop((WhileLoop) statement);
+		if(statement instanceof ForEachLoop)
+			return this.compileForEachLoop((ForEachLoop) statement);
+		if(statement instanceof ActionStatement)
+			return this.compileAction((ActionStatement) statement);
+		throw new IllegalArgumentException("Unknown statement " + statement);
+	}
+
+	private StatementClosure compileAssignment(Assignment assignment) throws IllegalArgumentException {
+		final int slot = this.getSlot(assignment.getVariable());
+		Type type = this.program.getGlobal(slot).getType();
+		if(type == Type.DOUBLE) {
+			final DoubleClosure value = this.compileDouble(assignment.getExpression());
+			return new StatementClosure(assignment) {
+				@Override
+				public void execute() {
+					doubles[slot] = value.eval();
+					isAssigned[slot] = true;
+					this.setFinished(true);
+				}
+			};
+		}
+		if(type == Type.BOOL) {
+			final BooleanClosure value = this.compileBoolean(assignment.getExpression());
+			return new StatementClosure(assignment) {
+				@Override
+				public void execute() {
+					booleans[slot] = value.eval();
+					isAssigned[slot] = true;
+					this.setFinished(true);
+				}
+			};
+		}
+		final EntityClosure value = this.compileEntity(assignment.getExpression());
+		return new StatementClosure(assignment) {
+			@Override
+			public void execute() {
+				entities[slot] = value.eval();
+				isAssigned[slot] = true;
+				this.setFinished(true);
+			}
+		};
+	}
+
+	private StatementClosure compilePrint(PrintStatement print) throws IllegalArgumentException {
+		Type type = print.getExpression().getType();
+		if(type == Type.DOUBLE) {
+			final DoubleClosure value = this.compileDouble(print.getExpression());
+			return new StatementClosure(print) {
+				@Override
+				public void execute() {
+					System.out.println(value.eval());
+					this.setFinished(true);
+				}
+			};
+		}
+		if(type == Type.BOOL) {
+			final BooleanClosure value = this.compileBoolean(print.getExpression());
+			return new StatementClosure(print) {
+				@Override
+				public void execute() {
+					System.out.println(value.eval());
+					this.setFinished(true);
+				}
+			};
+		}
+		final EntityClosure value = this.compileEntity(print.getExpression());
+		return new StatementClosure(print) {
+			@Override
+			public void execute() {
+				System.out.println(value.eval());
+				this.setFinished(true);
+			}
+		};
+	}
+
+	private StatementClosure compileSequence(final Sequence sequence) throws IllegalArgumentException {
+		List<Statement> statements = sequence.getStatements();
+		final StatementClosure[] closures = new StatementClosure[statements.size()];
+		for(int i = 0; i < closures.length; i++)
+			closures[i] = this.compileStatement(statements.get(i));
+		return new StatementClosure(sequence) {
+			private int nmbOfDoneExecutions;
+
+			@Override
+			public void execute() {
+				boolean actionEncountered = false;
+				while(!actionEncountered && !this.isFinished()) {
+					if(this.nmbOfDoneExecutions < closures.length) {
+						StatementClosure closure = closures[this.nmbOfDoneExecutions];
+						closure.execute();
+						if(closure.isAction())
+							actionEncountered = true;
+						if(closure.isFinished())
+							this.nmbOfDoneExecutions++;
+						else
+							actionEncountered = true;
+					}
+					else
+						this.setFinished(true);
+				}
+				if(this.nmbOfDoneExecutions >= closures.length)
+					this.setFinished(true);
+			}
+
+			@Override
+			public void reset() {
+				super.reset();
+				this.nmbOfDoneExecutions = 0;
+				for(StatementClosure closure: closures)
+					closure.reset();
+			}
+
+			@Override
+			public void importState() {
+				super.importState();
+				this.nmbOfDoneExecutions = sequence.getNmbOfDoneExecutions();
+				for(StatementClosure closure: closures)
+					closure.importState();
+			}
+		};
+	}
+
+	private StatementClosure compileIfThenElse(IfThenElse ifThenElse) throws IllegalArgumentException {
+		final BooleanClosure condition = this.compileBoolean(ifThenElse.getCondition());
+		final StatementClosure then = this.compileStatement(ifThenElse.getThenStatement());
+		final StatementClosure otherwise = this.compileStatement(ifThenElse.getOtherwiseStatement());
+		return new StatementClosure(ifThenElse) {
+			@Override
+			public void execute() {
+				StatementClosure branch = condition.eval() ? then : otherwise;
+				branch.execute();
+				if(branch.isFinished())
+					this.setFinished(true);
+			}
+
+			@Override
+			public void reset() {
+				super.reset();
+				otherwise.reset();
+				then.reset();
+			}
+
+			@Override
+			public void importState() {
+				super.importState();
+				then.importState();
+				otherwise.importState();
+			}
+		};
+	}
+
+	private StatementClosure compileWhileLoop(WhileLoop loop) throws IllegalArgumentException {
+		final BooleanClosure condition = this.compileBoolean(loop.getCondition());
+		final StatementClosure body = this.compileStatement(loop.getBody());
+		final boolean containsActionStatement = loop.containsActionStatement();
+		return new StatementClosure(loop) {
+			@Override
+			public void execute() {
+				boolean suddenStop = false;
+				while(condition.eval() && !suddenStop) {
+					body.execute();
+					if(body.isAction() || !body.isFinished())
+						suddenStop = true;
+					if(body.isFinished())
+						body.reset();
+					if(!containsActionStatement)
+						suddenStop = true;
+				}
+				if(!suddenStop)
+					this.setFinished(true);
+			}
+
+			@Override
+			public void reset() {
+				super.reset();
+				body.reset();
+			}
+
+			@Override
+			public void importState() {
+				super.importState();
+				body.importState();
+			}
+		};
+	}
+
+	private StatementClosure compileForEachLoop(ForEachLoop loop) throws IllegalArgumentException {
+		final int slot = this.getSlot(loop.getVariableName());
+		final ForeachType type = loop.getType();
+		final StatementClosure body = loop.getBody() == null ? null : this.compileStatement(loop.getBody());
+		return new StatementClosure(loop) {
+			@Override
+			public void execute() {
+				if(body != null) {
+					World world = program.getShipRunningProgram().getWorld();
+					Set<? extends SpaceObject> objects;
+					if(type.equals(ForeachType.ANY))
+						objects = world.getSpaceObjects();
+					else if(type.equals(ForeachType.ASTEROID))
+						objects = world.getObjects(Asteroid.class);
+					else if(type.equals(ForeachType.BULLET))
+						objects = world.getObjects(Bullet.class);
+					else
+						objects = world.getObjects(Ship.class);
+					for(SpaceObject object: objects) {
+						entities[slot] = object;
+						isAssigned[slot] = true;
+						body.execute();
+					}
+				}
+				this.setFinished(true);
+			}
+
+			@Override
+			public void reset() {
+				super.reset();
+				if(body != null)
+					body.reset();
+			}
+
+			@Override
+			public void importState() {
+				super.importState();
+				if(body != null)
+					body.importState();
+			}
+		};
+	}
+
+	private StatementClosure compileAction(ActionStatement action) throws IllegalArgumentException {
+		if(action instanceof Fire)
+			return new StatementClosure(action) {
+				@Override
+				public void execute() {
+					program.getShipRunningProgram().fireBullet();
+					this.setFinished(true);
+				}
+			};
+		if(action instanceof Turn) {
+			final DoubleClosure angle = this.compileDouble(((Turn) action).getAngle());
+			return new StatementClosure(action) {
+				@Override
+				public void execute() {
+					program.getShipRunningProgram().turn(angle.eval());
+					this.setFinished(true);
+				}
+			};
+		}
+		if(action instanceof ThrusterEnabler)
+			return new StatementClosure(action) {
+				@Override
+				public void execute() {
+					program.getShipRunningProgram().getThruster().setEnabled(true);
+					this.setFinished(true);
+				}
+			};
+		if(action instanceof ThrusterDisabler)
+			return new StatementClosure(action) {
+				@Override
+				public void execute() {
+					program.getShipRunningProgram().getThruster().setEnabled(false);
+					this.setFinished(true);
+				}
+			};
+		if(action instanceof Skip)
+			return new StatementClosure(action) {
+				@Override
+				public void execute() {
+					this.setFinished(true);
+				}
+			};
+		throw new IllegalArgumentException("Unknown statement " + action);
+	}
+}
@@ -0,0 +1,103 @@
+package asteroids.model.programs.closures;
+
+import be.kuleuven.cs.som.annotate.*;
+
+import asteroids.model.SpaceObject;
+import asteroids.model.programs.*;
+import asteroids.model.programs.expressions.Variable;
+import asteroids.model.programs.exceptions.IllegalProgramException;
+
+/**
+ * A program compiled into closures by the closure compiler. The values of the globals of the program
+ * are kept in arrays, at the slot of each global in the program, so the closures read and write them directly.
+ * The globals of the program itself are not updated while the closures execute the program.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class ClosureProgram implements ProgramBackend {
+
+	/**
+	 * Initialize this new compiled program for the given program, in which no global has a value yet.
+	 *
+	 * @param 	program
+	 * 			The program that is compiled.
+	 */
+	ClosureProgram(Program program) {
+		int nmbOfGlobals = program.getNmbOfGlobals();
+		this.program = program;
+		this.doubles = new double[nmbOfGlobals];
+		this.booleans = new boolean[nmbOfGlobals];
+		this.entities = new SpaceObject[nmbOfGlobals];
+		this.isAssigned = new boolean[nmbOfGlobals];
+	}
+
+	@Basic @Immutable
+	public Program getProgram() {
+		return this.program;
+	}
+
+	private final Program program;
+
+	/**
+	 * The values of the globals of type double, boolean and entity, and whether each global has a value.
+	 */
+	final double[] doubles;
+	final boolean[] booleans;
+	final SpaceObject[] entities;
+	final boolean[] isAssigned;
+
+	/**
+	 * Check whether the global in the given slot has a value.
+	 *
+	 * @throws	IllegalProgramException
+	 * 			| !isAssigned[slot]
+	 */
+	void checkAssigned(int slot) throws IllegalProgramException {
+		if(!this.isAssigned[slot])
+			throw new IllegalProgramException("Variable not declared or assigned.");
+	}
+
+	/**
+	 * Return the compiled statement of the program.
+	 */
+	@Basic
+	public StatementClosure getStatement() {
+		return this.statement;
+	}
+
+	void setStatement(StatementClosure statement) {
+		this.statement = statement;
+	}
+
+	private StatementClosure statement;
+
+	@Override
+	public boolean executeStep() {
+		this.getStatement().execute();
+		return this.getStatement().isFinished();
+	}
+
+	/**
+	 * Take over the values of the globals of the program and the state of its statements,
+	 * so the closures continue where the statements of the program stopped.
+	 */
+	public void importState() {
+		for(int slot = 0; slot < this.isAssigned.length; slot++) {
+			Variable global = this.getProgram().getGlobal(slot);
+			this.isAssigned[slot] = global.isValueSet();
+			if(!global.isValueSet())
+				continue;
+			if(global.getType() == Type.DOUBLE)
+				this.doubles[slot] = global.evalDouble();
+			else if(global.getType() == Type.BOOL)
+				this.booleans[slot] = global.evalBoolean();
+			else
+				this.entities[slot] = global.evalEntity();
+		}
+		this.getStatement().importState();
+	}
+}
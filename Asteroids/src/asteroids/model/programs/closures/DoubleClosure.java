@@ -0,0 +1,43 @@
+package asteroids.model.programs.closures;
+
+/**
+ * A compiled expression of type double.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+@FunctionalInterface
+public interface DoubleClosure {
+
+	/**
+	 * Return the value of the compiled expression.
+	 */
+	public double eval();
+
+	/**
+	 * Return whether this closure always has the same value, so that the expressions that use it can be folded.
+	 */
+	public default boolean isConstant() {
+		return false;
+	}
+
+	/**
+	 * Return a closure with the given value as constant value.
+	 */
+	public static DoubleClosure constant(final double value) {
+		return new DoubleClosure() {
+			@Override
+			public double eval() {
+				return value;
+			}
+
+			@Override
+			public boolean isConstant() {
+				return true;
+			}
+		};
+	}
+}
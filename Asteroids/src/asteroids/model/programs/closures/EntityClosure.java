@@ -0,0 +1,45 @@
+package asteroids.model.programs.closures;
+
+import asteroids.model.SpaceObject;
+
+/**
+ * A compiled expression of type entity.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+@FunctionalInterface
+public interface EntityClosure {
+
+	/**
+	 * Return the value of the compiled expression.
+	 */
+	public SpaceObject eval();
+
+	/**
+	 * Return whether this closure always has the same value, so that the expressions that use it can be folded.
+	 */
+	public default boolean isConstant() {
+		return false;
+	}
+
+	/**
+	 * Return a closure with the given value as constant value.
+	 */
+	public static EntityClosure constant(final SpaceObject value) {
+		return new EntityClosure() {
+			@Override
+			public SpaceObject eval() {
+				return value;
+			}
+
+			@Override
+			public boolean isConstant() {
+				return true;
+			}
+		};
+	}
+}
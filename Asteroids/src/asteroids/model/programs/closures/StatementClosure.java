@@ -0,0 +1,83 @@
+package asteroids.model.programs.closures;
+
+import be.kuleuven.cs.som.annotate.*;
+
+import asteroids.model.programs.statements.*;
+
+/**
+ * A compiled statement. A compiled statement keeps the same state as the statement it was compiled from:
+ * whether it finished and, for a sequence, how many of its statements finished. It therefore stops and
+ * resumes at the same places, and it can take over the state of its statement at any time.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public abstract class StatementClosure {
+
+	/**
+	 * Initialize this new closure as the compiled form of the given statement.
+	 *
+	 * @param 	statement
+	 * 			The statement this closure is compiled from.
+	 */
+	protected StatementClosure(Statement statement) {
+		this.statement = statement;
+		this.isAction = statement instanceof ActionStatement;
+	}
+
+	/**
+	 * Return the statement this closure is compiled from.
+	 */
+	@Basic @Immutable
+	public Statement getStatement() {
+		return this.statement;
+	}
+
+	private final Statement statement;
+
+	/**
+	 * Return whether this closure is compiled from an action statement.
+	 */
+	@Basic @Immutable
+	public boolean isAction() {
+		return this.isAction;
+	}
+
+	private final boolean isAction;
+
+	/**
+	 * Execute this closure like its statement would be executed.
+	 */
+	public abstract void execute();
+
+	@Basic
+	public boolean isFinished() {
+		return this.isFinished;
+	}
+
+	public void setFinished(boolean finished) {
+		this.isFinished = finished;
+	}
+
+	private boolean isFinished;
+
+	/**
+	 * Reset this closure like its statement would be reset.
+	 */
+	public void reset() {
+		this.setFinished(false);
+	}
+
+	/**
+	 * Take over the state of the statement of this closure.
+	 *
+	 * @post	...
+	 * 			| (new this).isFinished() == getStatement().isFinished()
+	 */
+	public void importState() {
+		this.setFinished(this.getStatement().isFinished());
+	}
+}
@@ -8,8 +8,8 @@ public class And extends LogicalExpression {
 	}
 
 	@Override
-	public Boolean getValue() {
-		return (Boolean)(this.getLeftPart().getValue()) && (Boolean)(this.getRightPart().getValue());
+	public boolean evalBoolean() {
+		return this.getLeftPart().evalBoolean() && this.getRightPart().evalBoolean();
 	}
 
 	@Override
@@ -20,6 +20,11 @@ public class BooleanLiteral extends StandardExpression {
 	public Boolean getValue() {
 		return value;
 	}
+	
+	@Override
+	public boolean evalBoolean() {
+		return value;
+	}
 
 	@Override
 	public int hashCode() {
@@ -14,6 +14,14 @@ public abstract class ComparisonExpression extends BinaryExpression {
 		return Type.BOOL;
 	}
 	
+	@Override
+	public Boolean getValue() {
+		return this.evalBoolean();
+	}
+	
+	@Override
+	public abstract boolean evalBoolean();
+	
 	@Override
 	public boolean typeCheck() {
 		return (super.typeCheck() && this.getLeftPart().getType().equals(Type.DOUBLE));
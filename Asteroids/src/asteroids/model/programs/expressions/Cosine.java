@@ -7,8 +7,8 @@ public class Cosine extends MathSingleExpression {
 	}
 
 	@Override
-	public Double getValue() {
-		return Math.cos((Double)this.getPart().getValue());
+	public double evalDouble() {
+		return Math.cos(this.getPart().evalDouble());
 	}
 
 	@Override
@@ -10,10 +10,11 @@ public class Division extends MathBinaryExpression {
 	}
 
 	@Override
-	public Double getValue() {
-		if(Util.fuzzyEquals((Double)this.getRightPart().getValue(),0))
+	public double evalDouble() {
+		double right = this.getRightPart().evalDouble();
+		if(Util.fuzzyEquals(right,0))
 			throw new IllegalProgramException("Dividing by 0");
-		return (Double)(this.getLeftPart().getValue()) / (Double)(this.getRightPart().getValue());
+		return this.getLeftPart().evalDouble() / right;
 	}
 	
 	@Override
@@ -20,6 +20,11 @@ public class DoubleLiteral extends StandardExpression {
 	public Double getValue() {
 		return value;
 	}
+	
+	@Override
+	public double evalDouble() {
+		return value;
+	}
 
 	@Override
 	public int hashCode() {
@@ -21,6 +21,11 @@ public class EntityLiteral extends StandardExpression {
 	public SpaceObject getValue() {
 		return this.value;
 	}
+	
+	@Override
+	public SpaceObject evalEntity() {
+		return this.value;
+	}
 
 	@Override
 	public int hashCode() {
@@ -8,12 +8,8 @@ public class EqualTo extends EqualityExpression {
 	}
 
 	@Override
-	public Boolean getValue() {
-		if(this.getLeftPart().getValue() == null && this.getRightPart().getValue() == null)
-			return true;
-		if(this.getLeftPart().getValue() == null)
-			return false;
-		return (this.getLeftPart().getValue()).equals(this.getRightPart().getValue());
+	public boolean evalBoolean() {
+		return this.areEqualParts();
 	}
 
 	@Override
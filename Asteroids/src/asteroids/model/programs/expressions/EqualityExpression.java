@@ -14,4 +14,33 @@ public abstract class EqualityExpression extends BinaryExpression {
 		return Type.BOOL;
 	}
 	
+	@Override
+	public Boolean getValue() {
+		return this.evalBoolean();
+	}
+	
+	@Override
+	public abstract boolean evalBoolean();
+	
+	/**
+	 * Return whether both parts of this expression have the same value.
+	 * Numbers and booleans are compared without boxing them and entities are compared by identity,
+	 * as long as both parts have the same type.
+	 */
+	protected boolean areEqualParts() {
+		Type type = this.getLeftPart().getType();
+		if(type != null && type.equals(this.getRightPart().getType())) {
+			if(type == Type.DOUBLE)
+				return Double.compare(this.getLeftPart().evalDouble(), this.getRightPart().evalDouble()) == 0;
+			if(type == Type.BOOL)
+				return this.getLeftPart().evalBoolean() == this.getRightPart().evalBoolean();
+			return this.getLeftPart().evalEntity() == this.getRightPart().evalEntity();
+		}
+		Object left = this.getLeftPart().getValue();
+		Object right = this.getRightPart().getValue();
+		if(left == null)
+			return right == null;
+		return left.equals(right);
+	}
+	
 }
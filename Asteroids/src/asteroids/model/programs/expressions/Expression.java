@@ -1,5 +1,6 @@
 package asteroids.model.programs.expressions;
 
+import asteroids.model.SpaceObject;
 import asteroids.model.programs.Type;
 
 public abstract class Expression {
@@ -15,6 +16,38 @@ public abstract class Expression {
 	
 	public abstract Object getValue();
 	
+	/**
+	 * Return the value of this expression of type double, without boxing it.
+	 * The expressions that compute a number override this method, and their getValue() boxes its result.
+	 * 
+	 * @return	...
+	 * 			| result == (Double) getValue()
+	 */
+	public double evalDouble() {
+		return (Double) this.getValue();
+	}
+	
+	/**
+	 * Return the value of this expression of type boolean, without boxing it.
+	 * The expressions that compute a boolean override this method, and their getValue() boxes its result.
+	 * 
+	 * @return	...
+	 * 			| result == (Boolean) getValue()
+	 */
+	public boolean evalBoolean() {
+		return (Boolean) this.getValue();
+	}
+	
+	/**
+	 * Return the value of this expression of type entity.
+	 * 
+	 * @return	...
+	 * 			| result == (SpaceObject) getValue()
+	 */
+	public SpaceObject evalEntity() {
+		return (SpaceObject) this.getValue();
+	}
+	
 	private int line;
 	private int column;
 	
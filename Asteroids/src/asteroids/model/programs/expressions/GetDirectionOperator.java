@@ -10,9 +10,10 @@ public class GetDirectionOperator extends GetExpression {
 	}
 
 	@Override
-	public Double getValue() {
-		if((this.getPart().getValue()) instanceof Ship) {
-			return ((Ship)(this.getPart().getValue())).getDirection();
+	public double evalDouble() {
+		SpaceObject part = this.getPart().evalEntity();
+		if(part instanceof Ship) {
+			return ((Ship) part).getDirection();
 		}
 		return 0.;
 	}
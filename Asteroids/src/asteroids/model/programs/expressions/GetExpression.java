@@ -13,6 +13,14 @@ public abstract class GetExpression extends SingleExpression {
 		return Type.DOUBLE;
 	}
 	
+	@Override
+	public Double getValue() {
+		return this.evalDouble();
+	}
+	
+	@Override
+	public abstract double evalDouble();
+	
 	@Override
 	public boolean typeCheck() {
 		return(super.typeCheck() && (this.getPart().getType().equals(Type.ENTITY)));
@@ -9,8 +9,8 @@ public class GetRadiusOperator extends GetExpression {
 	}
 
 	@Override
-	public Double getValue() {
-		return ((SpaceObject)(this.getPart().getValue())).getRadius();
+	public double evalDouble() {
+		return this.getPart().evalEntity().getRadius();
 	}
 	
 	@Override
@@ -9,8 +9,8 @@ public class GetVxOperator extends GetExpression {
 	}
 
 	@Override
-	public Double getValue() {
-		return (((SpaceObject) this.getPart().getValue())).getXVelocity();
+	public double evalDouble() {
+		return this.getPart().evalEntity().getXVelocity();
 	}
 
 	@Override
@@ -9,8 +9,8 @@ public class GetVyOperator extends GetExpression {
 	}
 
 	@Override
-	public Double getValue() {
-		return ((SpaceObject)(this.getPart().getValue())).getYVelocity();
+	public double evalDouble() {
+		return this.getPart().evalEntity().getYVelocity();
 	}
 
 	@Override
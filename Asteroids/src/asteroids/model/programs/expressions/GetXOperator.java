@@ -9,8 +9,8 @@ public class GetXOperator extends GetExpression {
 	}
 
 	@Override
-	public Double getValue() {
-		return ((SpaceObject)(this.getPart().getValue())).getX();
+	public double evalDouble() {
+		return this.getPart().evalEntity().getX();
 	}
 
 	@Override
@@ -9,8 +9,8 @@ public class GetYOperator extends GetExpression {
 	}
 
 	@Override
-	public Double getValue() {
-		return ((SpaceObject)(this.getPart().getValue())).getY();
+	public double evalDouble() {
+		return this.getPart().evalEntity().getY();
 	}
 
 	@Override
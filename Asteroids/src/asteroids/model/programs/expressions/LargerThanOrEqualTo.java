@@ -8,8 +8,8 @@ public class LargerThanOrEqualTo extends ComparisonExpression {
 	}
 
 	@Override
-	public Boolean getValue() {
-		return (Double)(this.getLeftPart().getValue()) >= (Double)(this.getRightPart().getValue());
+	public boolean evalBoolean() {
+		return this.getLeftPart().evalDouble() >= this.getRightPart().evalDouble();
 	}
 
 	@Override
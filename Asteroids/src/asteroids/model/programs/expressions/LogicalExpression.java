@@ -12,6 +12,14 @@ public abstract class LogicalExpression extends BinaryExpression {
 	public Type getType() {
 		return Type.BOOL;
 	}
+	
+	@Override
+	public Boolean getValue() {
+		return this.evalBoolean();
+	}
+	
+	@Override
+	public abstract boolean evalBoolean();
 
 	@Override
 	public boolean typeCheck() {
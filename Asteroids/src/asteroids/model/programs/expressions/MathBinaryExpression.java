@@ -15,6 +15,14 @@ public abstract class MathBinaryExpression extends BinaryExpression {
 		return Type.DOUBLE;
 	}
 	
+	@Override
+	public Double getValue() {
+		return this.evalDouble();
+	}
+	
+	@Override
+	public abstract double evalDouble();
+	
 	@Override
 	public boolean typeCheck() {
 		return(super.typeCheck() && this.getLeftPart().getType().equals(Type.DOUBLE));
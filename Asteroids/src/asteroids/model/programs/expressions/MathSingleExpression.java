@@ -14,6 +14,14 @@ public abstract class MathSingleExpression extends SingleExpression {
 		return Type.DOUBLE;
 	}
 	
+	@Override
+	public Double getValue() {
+		return this.evalDouble();
+	}
+	
+	@Override
+	public abstract double evalDouble();
+	
 	@Override
 	public String toString(){
 		String result = getSymbol() + "(" + this.getPart().toString() + ")";
@@ -7,8 +7,8 @@ public class Multiplication extends MathBinaryExpression {
 	}
 
 	@Override
-	public Double getValue() {
-		return (Double)(this.getLeftPart().getValue()) * (Double)(this.getRightPart().getValue());
+	public double evalDouble() {
+		return this.getLeftPart().evalDouble() * this.getRightPart().evalDouble();
 	}
 
 	@Override
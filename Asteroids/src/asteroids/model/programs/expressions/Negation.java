@@ -17,7 +17,12 @@ public class Negation extends SingleExpression {
 
 	@Override
 	public Boolean getValue() {
-		return !(Boolean)(this.getPart().getValue());
+		return this.evalBoolean();
+	}
+	
+	@Override
+	public boolean evalBoolean() {
+		return !this.getPart().evalBoolean();
 	}
 
 	@Override
@@ -8,12 +8,8 @@ public class NotEqualTo extends EqualityExpression {
 	}
 
 	@Override
-	public Boolean getValue() {
-		if(this.getLeftPart().getValue() == null && this.getRightPart().getValue() == null)
-			return false;
-		if(this.getLeftPart().getValue() == null)
-			return true;
-		return !(this.getLeftPart().getValue()).equals(this.getRightPart().getValue());
+	public boolean evalBoolean() {
+		return !this.areEqualParts();
 	}
 
 	@Override
@@ -25,6 +25,11 @@ public class Self extends StandardExpression {
 			return null;
 	}
 	
+	@Override
+	public SpaceObject evalEntity() {
+		return this.getValue();
+	}
+	
 	@Override
 	public String toString(){
 		return "self";
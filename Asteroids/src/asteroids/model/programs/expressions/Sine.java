@@ -7,8 +7,8 @@ public class Sine extends MathSingleExpression {
 	}
 
 	@Override
-	public Double getValue() {
-		return Math.sin((Double)this.getPart().getValue());
+	public double evalDouble() {
+		return Math.sin(this.getPart().evalDouble());
 	}
 
 	@Override
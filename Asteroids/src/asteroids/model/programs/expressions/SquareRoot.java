@@ -10,10 +10,11 @@ public class SquareRoot extends MathSingleExpression {
 	}
 
 	@Override
-	public Double getValue() {
-		if(Util.fuzzyLessThanOrEqualTo((Double)this.getPart().getValue(),0) && !Util.fuzzyEquals((Double)this.getPart().getValue(),0) )
+	public double evalDouble() {
+		double value = this.getPart().evalDouble();
+		if(Util.fuzzyLessThanOrEqualTo(value,0) && !Util.fuzzyEquals(value,0) )
 			throw new IllegalProgramException("Square root of negative value");
-		return Math.sqrt((Double)this.getPart().getValue());
+		return Math.sqrt(value);
 	}
 	
 	@Override
@@ -1,6 +1,7 @@
 package asteroids.model.programs.expressions;
 
 import be.kuleuven.cs.som.annotate.Basic;
+import asteroids.model.SpaceObject;
 import asteroids.model.programs.*;
 import asteroids.model.programs.exceptions.IllegalProgramException;
 
@@ -12,6 +13,7 @@ public class Variable extends StandardExpression {
 		this.type = null;
 		this.value = null;
 		this.controller = controller;
+		this.global = new GlobalReference(name, controller);
 	}
 	
 	public Variable(int line, int column, String name, Type type, ProgramController controller) {
@@ -20,6 +22,7 @@ public class Variable extends StandardExpression {
 		this.type = type;
 		this.value = null;
 		this.controller = controller;
+		this.global = new GlobalReference(name, controller);
 		this.isTypeSet = true;
 	}
 	
@@ -34,12 +37,17 @@ public class Variable extends StandardExpression {
 	
 	private Type type;
 	
+	/**
+	 * The global of the program of this variable with the name of this variable.
+	 */
+	private GlobalReference global;
+	
 	@Override @Basic
 	public Type getType() {
 		if(!this.controller.isInitialized() || this.isTypeSet())
 			return this.type;
 		else {
-			Variable global = controller.getProgram().getGlobal(this.getName());
+			Variable global = this.global.getGlobal();
 			if(global != null && global.isTypeSet())
 				return global.getType();
 			else
@@ -52,24 +60,83 @@ public class Variable extends StandardExpression {
 		this.isTypeSet = true;
 	}
 	
+	/**
+	 * The value of this variable if it is an entity. Numbers and booleans are kept unboxed in
+	 * doubleValue and booleanValue, so assigning them and reading them does not allocate.
+	 */
 	private Object value;
+	private double doubleValue;
+	private boolean booleanValue;
+	
+	/**
+	 * Return the variable that holds the value of this variable: this variable itself if it has a value
+	 * or if its program is not initialized yet, and otherwise the global with its name.
+	 * 
+	 * @throws	IllegalProgramException
+	 * 			The global with the name of this variable does not exist or has no value.
+	 */
+	private Variable getHolder() throws IllegalProgramException {
+		if(!this.controller.isInitialized() || this.isValueSet())
+			return this;
+		Variable global = this.global.getGlobal();
+		if(global != null && global.isValueSet())
+			return global;
+		throw new IllegalProgramException("Variable not declared or assigned.");
+	}
 	
 	@Override @Basic
 	public Object getValue() {
-		if(!this.controller.isInitialized() || this.isValueSet())
+		return this.getHolder().getOwnValue();
+	}
+	
+	/**
+	 * Return the value of this variable itself, boxed if it is a number or a boolean.
+	 */
+	private Object getOwnValue() {
+		if(!this.isValueSet())
 			return this.value;
-		else {
-			Variable global = this.controller.getProgram().getGlobal(this.getName());
-			if(global != null && global.isValueSet())
-				return global.getValue();
-			else
-				throw new IllegalProgramException("Variable not declared or assigned.");
-		}
+		if(this.type == Type.DOUBLE)
+			return this.doubleValue;
+		if(this.type == Type.BOOL)
+			return this.booleanValue;
+		return this.value;
+	}
+	
+	@Override
+	public double evalDouble() {
+		Variable holder = this.getHolder();
+		if(holder.isValueSet() && holder.type == Type.DOUBLE)
+			return holder.doubleValue;
+		return super.evalDouble();
+	}
+	
+	@Override
+	public boolean evalBoolean() {
+		Variable holder = this.getHolder();
+		if(holder.isValueSet() && holder.type == Type.BOOL)
+			return holder.booleanValue;
+		return super.evalBoolean();
 	}
 
 	public void setValue(Expression value) {
 		if(isTypeSet() && value.getType().equals(this.getType())) {
-			this.value = value.getValue();
+			if(this.type == Type.DOUBLE)
+				this.doubleValue = value.evalDouble();
+			else if(this.type == Type.BOOL)
+				this.booleanValue = value.evalBoolean();
+			else
+				this.value = value.getValue();
+			this.isValueSet = true;
+		}
+	}
+	
+	/**
+	 * Set the value of this variable of type entity to the given space object,
+	 * without wrapping the space object in an expression.
+	 */
+	public void setValue(SpaceObject value) {
+		if(isTypeSet() && Type.ENTITY.equals(this.getType())) {
+			this.value = value;
 			this.isValueSet = true;
 		}
 	}
@@ -104,8 +171,7 @@ public class Variable extends StandardExpression {
 	
 	@Override
 	public boolean typeCheck() {
-		Variable global = this.controller.getProgram().getGlobal(this.getName());
-		if(global == null || !global.willBeAssigned())
+		if(!this.global.resolve() || !this.global.getGlobal().willBeAssigned())
 			return false;
 		return super.typeCheck(); 
 	}
@@ -117,16 +183,17 @@ public class Variable extends StandardExpression {
 	
 	@Override
 	public int hashCode() {
-		if(!isValueSet() && !isTypeSet() || (this.value == null && this.type == null)) {
+		Object value = this.getOwnValue();
+		if(!isValueSet() && !isTypeSet() || (value == null && this.type == null)) {
 			return ("" + this.getName().hashCode() + "null" + "null").hashCode();
 		}
-		if(!isValueSet() || this.value == null) {
+		if(!isValueSet() || value == null) {
 			return ("" + this.getName().hashCode() + "null" + this.type.hashCode()).hashCode();
 		}
 		if(!isTypeSet() || this.type == null) {
-			return ("" + this.getName().hashCode() + this.value.hashCode() + "null").hashCode();
+			return ("" + this.getName().hashCode() + value.hashCode() + "null").hashCode();
 		}
-		return ("" + this.getName().hashCode() + this.value.hashCode() + this.type.hashCode()).hashCode();
+		return ("" + this.getName().hashCode() + value.hashCode() + this.type.hashCode()).hashCode();
 	}
 	
 }
@@ -0,0 +1,175 @@
+package asteroids.model.programs.generated;
+
+import java.util.*;
+
+import be.kuleuven.cs.som.annotate.*;
+
+import asteroids.Util;
+import asteroids.model.*;
+import asteroids.model.programs.*;
+import asteroids.model.programs.bytecode.BytecodeCompiler;
+import asteroids.model.programs.exceptions.IllegalProgramException;
+import asteroids.model.programs.statements.*;
+
+/**
+ * The superclass of the classes that are generated for programs by the program class generator.
+ * A generated class keeps the values of the globals and the state of the statements of its program in fields,
+ * and resumes every step where the previous step stopped, exactly like the statements of the program.
+ * The statements are numbered in the same order as by the bytecode compiler.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public abstract class GeneratedProgram implements ProgramBackend {
+
+	/**
+	 * Initialize this new generated program for the given program, in which no global has a value yet.
+	 *
+	 * @param 	program
+	 * 			The program for which the class of this generated program is generated.
+	 * @throws	IllegalArgumentException
+	 * 			| program == null
+	 */
+	protected GeneratedProgram(Program program) throws IllegalArgumentException {
+		if(program == null)
+			throw new IllegalArgumentException();
+		this.program = program;
+	}
+
+	@Basic @Immutable
+	public Program getProgram() {
+		return this.program;
+	}
+
+	private final Program program;
+
+	/**
+	 * Return the ship running the program.
+	 */
+	protected Ship getShip() {
+		return this.program.getShipRunningProgram();
+	}
+
+	/**
+	 * Take over the values of the globals of the program and the state of its statements,
+	 * so this generated program continues where the statements of the program stopped.
+	 */
+	public void importState() {
+		List<Statement> statements = BytecodeCompiler.getStatements(this.getProgram());
+		boolean[] isFinished = new boolean[statements.size()];
+		int[] nmbOfDoneExecutions = new int[statements.size()];
+		for(int id = 0; id < statements.size(); id++) {
+			isFinished[id] = statements.get(id).isFinished();
+			if(statements.get(id) instanceof Sequence)
+				nmbOfDoneExecutions[id] = ((Sequence) statements.get(id)).getNmbOfDoneExecutions();
+		}
+		this.importState(isFinished, nmbOfDoneExecutions);
+	}
+
+	/**
+	 * Take over the values of the globals of the program and the given state of its statements.
+	 *
+	 * @param 	isFinished
+	 * 			Whether each statement finished, by number.
+	 * @param 	nmbOfDoneExecutions
+	 * 			The number of finished statements of each sequence, by number.
+	 */
+	protected abstract void importState(boolean[] isFinished, int[] nmbOfDoneExecutions);
+
+	protected boolean isValueSet(int slot) {
+		return this.getProgram().getGlobal(slot).isValueSet();
+	}
+
+	protected double importDouble(int slot) {
+		return this.getProgram().getGlobal(slot).evalDouble();
+	}
+
+	protected boolean importBoolean(int slot) {
+		return this.getProgram().getGlobal(slot).evalBoolean();
+	}
+
+	protected SpaceObject importEntity(int slot) {
+		return this.getProgram().getGlobal(slot).evalEntity();
+	}
+
+	/**
+	 * Return the given value of a global, if the global has a value.
+	 *
+	 * @throws	IllegalProgramException
+	 * 			| !isAssigned
+	 */
+	protected static double read(boolean isAssigned, double value) throws IllegalProgramException {
+		if(!isAssigned)
+			throw new IllegalProgramException("Variable not declared or assigned.");
+		return value;
+	}
+
+	protected static boolean read(boolean isAssigned, boolean value) throws IllegalProgramException {
+		if(!isAssigned)
+			throw new IllegalProgramException("Variable not declared or assigned.");
+		return value;
+	}
+
+	protected static SpaceObject read(boolean isAssigned, SpaceObject value) throws IllegalProgramException {
+		if(!isAssigned)
+			throw new IllegalProgramException("Variable not declared or assigned.");
+		return value;
+	}
+
+	/**
+	 * Return the given divisor, which is evaluated before the dividend like in a division of a program.
+	 *
+	 * @throws	IllegalProgramException
+	 * 			| Util.fuzzyEquals(divisor, 0)
+	 */
+	protected static double checkDivisor(double divisor) throws IllegalProgramException {
+		if(Util.fuzzyEquals(divisor, 0))
+			throw new IllegalProgramException("Dividing by 0");
+		return divisor;
+	}
+
+	/**
+	 * @return	...
+	 * 			| result == dividend / divisor
+	 */
+	protected static double divide(double divisor, double dividend) {
+		return dividend / divisor;
+	}
+
+	/**
+	 * @throws	IllegalProgramException
+	 * 			| Util.fuzzyLessThanOrEqualTo(value, 0) && !Util.fuzzyEquals(value, 0)
+	 */
+	protected static double squareRoot(double value) throws IllegalProgramException {
+		if(Util.fuzzyLessThanOrEqualTo(value, 0) && !Util.fuzzyEquals(value, 0))
+			throw new IllegalProgramException("Square root of negative value");
+		return Math.sqrt(value);
+	}
+
+	/**
+	 * Return the direction of the given object if it is a ship, or zero otherwise.
+	 */
+	protected static double getDirection(SpaceObject object) {
+		if(object instanceof Ship)
+			return ((Ship) object).getDirection();
+		return 0;
+	}
+
+	/**
+	 * Return the objects in the world of the ship over which a foreach loop of the given type iterates,
+	 * with type 0 for any, 1 for asteroids, 2 for bullets and 3 for ships.
+	 */
+	protected Set<? extends SpaceObject> getObjects(int type) {
+		World world = this.getShip().getWorld();
+		if(type == 0)
+			return world.getSpaceObjects();
+		if(type == 1)
+			return world.getObjects(Asteroid.class);
+		if(type == 2)
+			return world.getObjects(Bullet.class);
+		return world.getObjects(Ship.class);
+	}
+}
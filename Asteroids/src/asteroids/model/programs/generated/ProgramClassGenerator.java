@@ -0,0 +1,116 @@
+package asteroids.model.programs.generated;
+
+import java.io.*;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.*;
+
+import javax.tools.*;
+
+import asteroids.model.programs.Program;
+
+/**
+ * A generator of the classes of programs. The source of the class of a program is compiled by the Java compiler
+ * of the virtual machine, in memory and on a background thread, so that running the program does not wait for it.
+ * Programs with the same source, such as the programs of the ships that run the same program, share their class.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+public class ProgramClassGenerator {
+
+	/**
+	 * Return the class that is or will be generated for the given program.
+	 * The class has a constructor with the program as its only parameter. Getting the class fails with
+	 * an IllegalStateException if the virtual machine has no Java compiler or the source does not compile.
+	 *
+	 * @param 	program
+	 * 			The program to generate a class for.
+	 * @throws	IllegalArgumentException
+	 * 			| program == null || program.getStatement() == null
+	 * @throws	IllegalArgumentException
+	 * 			The program contains a variable that is not a global of the program or an entity literal
+	 * 			other than null, which does not happen in a program that is parsed and type checks.
+	 */
+	public static Future<Class<? extends GeneratedProgram>> generate(Program program) throws IllegalArgumentException {
+		final String source = SourceGenerator.generate(program);
+		Future<Class<? extends GeneratedProgram>> generatedClass = classes.get(source);
+		if(generatedClass != null)
+			return generatedClass;
+		FutureTask<Class<? extends GeneratedProgram>> task = new FutureTask<>(() -> compile(source));
+		generatedClass = classes.putIfAbsent(source, task);
+		if(generatedClass != null)
+			return generatedClass;
+		compiler.execute(task);
+		return task;
+	}
+
+	private static final ConcurrentMap<String, Future<Class<? extends GeneratedProgram>>> classes =
+			new ConcurrentHashMap<String, Future<Class<? extends GeneratedProgram>>>();
+
+	private static final Executor compiler = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "Program class generator");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		return thread;
+	});
+
+	/**
+	 * Compile the given source of the class of a program and return the class, loaded by a class loader of its own.
+	 *
+	 * @throws	IllegalStateException
+	 * 			The virtual machine has no Java compiler or the given source does not compile.
+	 */
+	static Class<? extends GeneratedProgram> compile(String source) throws IllegalStateException {
+		JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+		if(javac == null)
+			throw new IllegalStateException("There is no Java compiler in this virtual machine.");
+		final String name = SourceGenerator.PACKAGE + "." + SourceGenerator.CLASS;
+		final Map<String, ByteArrayOutputStream> classFiles = new HashMap<String, ByteArrayOutputStream>();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		JavaFileManager fileManager = new ForwardingJavaFileManager<JavaFileManager>(
+				javac.getStandardFileManager(diagnostics, null, null)) {
+			@Override
+			public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+					FileObject sibling) {
+				final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				classFiles.put(className, bytes);
+				return new SimpleJavaFileObject(URI.create("memory:///" + className.replace('.', '/') + kind.extension), kind) {
+					@Override
+					public OutputStream openOutputStream() {
+						return bytes;
+					}
+				};
+			}
+		};
+		JavaFileObject file = new SimpleJavaFileObject(
+				URI.create("memory:///" + name.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return source;
+			}
+		};
+		List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"), "-nowarn");
+		if(!javac.getTask(null, fileManager, diagnostics, options, null, Arrays.asList(file)).call())
+			throw new IllegalStateException("The class of the program does not compile: " + diagnostics.getDiagnostics());
+
+		ClassLoader loader = new ClassLoader(GeneratedProgram.class.getClassLoader()) {
+			@Override
+			protected Class<?> findClass(String className) throws ClassNotFoundException {
+				ByteArrayOutputStream bytes = classFiles.get(className);
+				if(bytes == null)
+					throw new ClassNotFoundException(className);
+				return this.defineClass(className, bytes.toByteArray(), 0, bytes.size());
+			}
+		};
+		try {
+			return loader.loadClass(name).asSubclass(GeneratedProgram.class);
+		}
+		catch(ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
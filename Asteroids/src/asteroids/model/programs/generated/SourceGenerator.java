@@ -0,0 +1,336 @@
+package asteroids.model.programs.generated;
+
+import java.util.*;
+
+import asteroids.model.programs.*;
+import asteroids.model.programs.expressions.*;
+import asteroids.model.programs.parsing.ProgramFactory.ForeachType;
+import asteroids.model.programs.statements.*;
+
+/**
+ * A generator of the Java source of the class of a type checked program, which is a subclass of generated program.
+ *
+ * The global in slot s is the field gs and whether it has a value is the field as. Statement i remembers
+ * whether it finished in the field fi and, if it is a sequence, how many of its statements finished in ci.
+ * Every statement that consists of other statements gets a method si that executes it exactly like the statement
+ * executes itself; the other statements are executed where they appear. The body of a while loop gets a method ri
+ * that resets it.
+ *
+ * @author 	Julie Wouters & Stijn Wellens
+ * 			Students Bachelor of Science in Engineering
+ * 			(Computer Science and electrical engineering)
+ * 			link to our code repository:
+ * 			https://github.com/StijnWellens/Asteroids.git
+ */
+class SourceGenerator {
+
+	static final String PACKAGE = "asteroids.model.programs.generated";
+	static final String CLASS = "ShipProgram";
+
+	/**
+	 * Return the source of the class for the given program.
+	 *
+	 * @throws	IllegalArgumentException
+	 * 			| program == null || program.getStatement() == null
+	 * @throws	IllegalArgumentException
+	 * 			The program contains a variable that is not a global of the program or an entity literal
+	 * 			other than null, which does not happen in a program that is parsed and type checks.
+	 */
+	static String generate(Program program) throws IllegalArgumentException {
+		if(program == null || program.getStatement() == null)
+			throw new IllegalArgumentException();
+		return new SourceGenerator(program).generate();
+	}
+
+	private SourceGenerator(Program program) {
+		this.program = program;
+	}
+
+	private final Program program;
+
+	private final StringBuilder fields = new StringBuilder();
+	private final StringBuilder methods = new StringBuilder();
+	private final StringBuilder importState = new StringBuilder();
+	private int nextStatement;
+	private final Set<Integer> sequences = new HashSet<Integer>();
+
+	private String generate() {
+		for(int slot = 0; slot < this.program.getNmbOfGlobals(); slot++) {
+			Type type = this.program.getGlobal(slot).getType();
+			this.fields.append("\tprivate ").append(getJavaType(type)).append(" g").append(slot).append(";\n");
+			this.fields.append("\tprivate boolean a").append(slot).append(";\n");
+			this.importState.append("\t\tthis.a").append(slot).append(" = this.isValueSet(").append(slot).append(");\n");
+			this.importState.append("\t\tif(this.a").append(slot).append(")\n");
+			this.importState.append("\t\t\tthis.g").append(slot).append(" = this.import")
+					.append(type == Type.DOUBLE ? "Double" : type == Type.BOOL ? "Boolean" : "Entity")
+					.append("(").append(slot).append(");\n");
+		}
+		String code = this.generateStatement(this.program.getStatement(), "\t\t");
+
+		StringBuilder source = new StringBuilder();
+		source.append("package ").append(PACKAGE).append(";\n\n");
+		source.append("import asteroids.model.*;\n");
+		source.append("import asteroids.model.programs.Program;\n\n");
+		source.append("public final class ").append(CLASS).append(" extends GeneratedProgram {\n\n");
+		source.append("\tpublic ").append(CLASS).append("(Program program) {\n\t\tsuper(program);\n\t}\n\n");
+		source.append(this.fields).append("\n");
+		source.append("\t@Override\n\tpublic boolean executeStep() {\n").append(code).append("\t\treturn this.f0;\n\t}\n\n");
+		source.append("\t@Override\n\tprotected void importState(boolean[] isFinished, int[] nmbOfDoneExecutions) {\n");
+		source.append(this.importState).append("\t}\n");
+		source.append(this.methods);
+		source.append("}\n");
+		return source.toString();
+	}
+
+	private static String getJavaType(Type type) {
+		if(type == Type.DOUBLE)
+			return "double";
+		if(type == Type.BOOL)
+			return "boolean";
+		return "SpaceObject";
+	}
+
+	private int getSlot(String name) throws IllegalArgumentException {
+		int slot = this.program.getSlot(name);
+		if(slot < 0)
+			throw new IllegalArgumentException("Unknown variable " + name);
+		return slot;
+	}
+
+	/**
+	 * Return the Java code of the given expression.
+	 */
+	private String generateExpression(Expression expression) throws IllegalArgumentException {
+		if(expression instanceof DoubleLiteral)
+			return getLiteral(expression.evalDouble());
+		if(expression instanceof BooleanLiteral)
+			return Boolean.toString(expression.evalBoolean());
+		if(expression instanceof EntityLiteral) {
+			if(expression.evalEntity() != null)
+				throw new IllegalArgumentException("Unknown expression " + expression);
+			return "((SpaceObject) null)";
+		}
+		if(expression instanceof Variable) {
+			int slot = this.getSlot(((Variable) expression).getName());
+			return "read(this.a" + slot + ", this.g" + slot + ")";
+		}
+		if(expression instanceof Self)
+			return "this.getShip()";
+		if(expression instanceof BinaryExpression) {
+			String left = this.generateExpression(((BinaryExpression) expression).getLeftPart());
+			String right = this.generateExpression(((BinaryExpression) expression).getRightPart());
+			if(expression instanceof Division) // the divisor is evaluated first
+				return "divide(checkDivisor(" + right + "), " + left + ")";
+			if(expression instanceof EqualityExpression && ((BinaryExpression) expression).getLeftPart().getType() == Type.DOUBLE)
+				return "(Double.compare(" + left + ", " + right + ")" + (expression instanceof EqualTo ? " == " : " != ") + "0)";
+			return "(" + left + " " + getOperator(expression) + " " + right + ")";
+		}
+		if(expression instanceof SingleExpression) {
+			String part = this.generateExpression(((SingleExpression) expression).getPart());
+			if(expression instanceof SquareRoot)
+				return "squareRoot(" + part + ")";
+			if(expression instanceof Sine)
+				return "Math.sin(" + part + ")";
+			if(expression instanceof Cosine)
+				return "Math.cos(" + part + ")";
+			if(expression instanceof Negation)
+				return "(!" + part + ")";
+			if(expression instanceof GetXOperator)
+				return part + ".getX()";
+			if(expression instanceof GetYOperator)
+				return part + ".getY()";
+			if(expression instanceof GetVxOperator)
+				return part + ".getXVelocity()";
+			if(expression instanceof GetVyOperator)
+				return part + ".getYVelocity()";
+			if(expression instanceof GetRadiusOperator)
+				return part + ".getRadius()";
+			if(expression instanceof GetDirectionOperator)
+				return "getDirection(" + part + ")";
+		}
+		throw new IllegalArgumentException("Unknown expression " + expression);
+	}
+
+	private static String getOperator(Expression expression) throws IllegalArgumentException {
+		if(expression instanceof Addition)
+			return "+";
+		if(expression instanceof Subtraction)
+			return "-";
+		if(expression instanceof Multiplication)
+			return "*";
+		if(expression instanceof LessThan)
+			return "<";
+		if(expression instanceof LessThanOrEqualTo)
+			return "<=";
+		if(expression instanceof LargerThan)
+			return ">";
+		if(expression instanceof LargerThanOrEqualTo)
+			return ">=";
+		if(expression instanceof EqualTo)
+			return "==";
+		if(expression instanceof NotEqualTo)
+			return "!=";
+		if(expression instanceof And)
+			return "&&";
+		if(expression instanceof Or)
+			return "||";
+		throw new IllegalArgumentException("Unknown expression " + expression);
+	}
+
+	private static String getLiteral(double value) {
+		if(Double.isNaN(value))
+			return "Double.NaN";
+		if(Double.isInfinite(value))
+			return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+		return "(" + Double.toString(value) + ")";
+	}
+
+	/**
+	 * Return the Java code that executes the given statement, which gets the next number, with the given indentation.
+	 */
+	private String generateStatement(Statement statement, String indent) throws IllegalArgumentException {
+		int id = this.nextStatement++;
+		this.fields.append("\tprivate boolean f").append(id).append(";\n");
+		this.importState.append("\t\tthis.f").append(id).append(" = isFinished[").append(id).append("];\n");
+		String finish = indent + "this.f" + id + " = true;\n";
+		if(statement instanceof Assignment) {
+			int slot = this.getSlot(((Assignment) statement).getVariable());
+			return indent + "this.g" + slot + " = " + this.generateExpression(((Assignment) statement).getExpression()) + ";\n"
+					+ indent + "this.a" + slot + " = true;\n" + finish;
+		}
+		if(statement instanceof PrintStatement)
+			return indent + "System.out.println(" + this.generateExpression(((PrintStatement) statement).getExpression()) + ");\n"
+					+ finish;
+		if(statement instanceof Fire)
+			return indent + "this.getShip().fireBullet();\n" + finish;
+		if(statement instanceof Turn)
+			return indent + "this.getShip().turn(" + this.generateExpression(((Turn) statement).getAngle()) + ");\n" + finish;
+		if(statement instanceof ThrusterEnabler)
+			return indent + "this.getShip().getThruster().setEnabled(true);\n" + finish;
+		if(statement instanceof ThrusterDisabler)
+			return indent + "this.getShip().getThruster().setEnabled(false);\n" + finish;
+		if(statement instanceof Skip)
+			return finish;
+
+		String body;
+		if(statement instanceof Sequence)
+			body = this.generateSequence((Sequence) statement, id);
+		else if(statement instanceof IfThenElse)
+			body = this.generateIfThenElse((IfThenElse) statement, id);
+		else if(statement instanceof WhileLoop)
+			body = this.generateWhileLoop((WhileLoop) statement, id);
+		else if(statement instanceof ForEachLoop)
+			body = this.generateForEachLoop((ForEachLoop) statement, id);
+		else
+			throw new IllegalArgumentException("Unknown statement " + statement);
+		this.methods.append("\n\tprivate void s").append(id).append("() {\n").append(body).append("\t}\n");
+		return indent + "this.s" + id + "();\n";
+	}
+
+	/**
+	 * A sequence goes on with the statement where it stopped. When a statement finishes, the sequence counts it
+	 * and goes on with the next one, unless the statement was an action. When a statement does not finish,
+	 * the sequence stops.
+	 */
+	private String generateSequence(Sequence sequence, int id) throws IllegalArgumentException {
+		this.sequences.add(id);
+		this.fields.append("\tprivate int c").append(id).append(";\n");
+		this.importState.append("\t\tthis.c").append(id).append(" = nmbOfDoneExecutions[").append(id).append("];\n");
+		List<Statement> statements = sequence.getStatements();
+		StringBuilder body = new StringBuilder();
+		body.append("\t\tif(!this.f").append(id).append(") {\n");
+		body.append("\t\t\tswitch(this.c").append(id).append(") {\n");
+		for(int i = 0; i < statements.size(); i++) {
+			Statement statement = statements.get(i);
+			int statementId = this.nextStatement;
+			body.append("\t\t\tcase ").append(i).append(":\n");
+			body.append(this.generateStatement(statement, "\t\t\t\t"));
+			if(statement instanceof ActionStatement) {
+				body.append("\t\t\t\tthis.c").append(id).append("++;\n");
+				body.append("\t\t\t\tbreak;\n");
+			}
+			else {
+				body.append("\t\t\t\tif(!this.f").append(statementId).append(")\n");
+				body.append("\t\t\t\t\tbreak;\n");
+				body.append("\t\t\t\tthis.c").append(id).append("++;\n");
+			}
+		}
+		body.append("\t\t\tdefault:\n");
+		body.append("\t\t\t\tthis.f").append(id).append(" = true;\n");
+		body.append("\t\t\t}\n");
+		body.append("\t\t}\n");
+		body.append("\t\tif(this.c").append(id).append(" >= ").append(statements.size()).append(")\n");
+		body.append("\t\t\tthis.f").append(id).append(" = true;\n");
+		return body.toString();
+	}
+
+	private String generateIfThenElse(IfThenElse ifThenElse, int id) throws IllegalArgumentException {
+		StringBuilder body = new StringBuilder();
+		body.append("\t\tif(").append(this.generateExpression(ifThenElse.getCondition())).append(") {\n");
+		int thenId = this.nextStatement;
+		body.append(this.generateStatement(ifThenElse.getThenStatement(), "\t\t\t"));
+		body.append("\t\t\tif(this.f").append(thenId).append(")\n");
+		body.append("\t\t\t\tthis.f").append(id).append(" = true;\n");
+		body.append("\t\t}\n");
+		body.append("\t\telse {\n");
+		int otherwiseId = this.nextStatement;
+		body.append(this.generateStatement(ifThenElse.getOtherwiseStatement(), "\t\t\t"));
+		body.append("\t\t\tif(this.f").append(otherwiseId).append(")\n");
+		body.append("\t\t\t\tthis.f").append(id).append(" = true;\n");
+		body.append("\t\t}\n");
+		return body.toString();
+	}
+
+	private String generateWhileLoop(WhileLoop loop, int id) throws IllegalArgumentException {
+		StringBuilder body = new StringBuilder();
+		body.append("\t\tboolean suddenStop = false;\n");
+		body.append("\t\twhile(").append(this.generateExpression(loop.getCondition())).append(" && !suddenStop) {\n");
+		int bodyId = this.nextStatement;
+		body.append(this.generateStatement(loop.getBody(), "\t\t\t"));
+		int bodyEnd = this.nextStatement;
+		if(loop.getBody() instanceof ActionStatement || !loop.containsActionStatement())
+			body.append("\t\t\tsuddenStop = true;\n");
+		else {
+			body.append("\t\t\tif(!this.f").append(bodyId).append(")\n");
+			body.append("\t\t\t\tsuddenStop = true;\n");
+		}
+		body.append("\t\t\tif(this.f").append(bodyId).append(")\n");
+		body.append("\t\t\t\tthis.r").append(bodyId).append("();\n");
+		body.append("\t\t}\n");
+		body.append("\t\tif(!suddenStop)\n");
+		body.append("\t\t\tthis.f").append(id).append(" = true;\n");
+
+		this.methods.append("\n\tprivate void r").append(bodyId).append("() {\n");
+		for(int statementId = bodyId; statementId < bodyEnd; statementId++) {
+			this.methods.append("\t\tthis.f").append(statementId).append(" = false;\n");
+			if(this.sequences.contains(statementId))
+				this.methods.append("\t\tthis.c").append(statementId).append(" = 0;\n");
+		}
+		this.methods.append("\t}\n");
+		return body.toString();
+	}
+
+	private String generateForEachLoop(ForEachLoop loop, int id) throws IllegalArgumentException {
+		StringBuilder body = new StringBuilder();
+		if(loop.getBody() != null) {
+			int slot = this.getSlot(loop.getVariableName());
+			body.append("\t\tfor(SpaceObject object: this.getObjects(").append(getTypeOperand(loop.getType())).append(")) {\n");
+			body.append("\t\t\tthis.g").append(slot).append(" = object;\n");
+			body.append("\t\t\tthis.a").append(slot).append(" = true;\n");
+			body.append(this.generateStatement(loop.getBody(), "\t\t\t"));
+			body.append("\t\t}\n");
+		}
+		body.append("\t\tthis.f").append(id).append(" = true;\n");
+		return body.toString();
+	}
+
+	private static int getTypeOperand(ForeachType type) {
+		if(type.equals(ForeachType.ANY))
+			return 0;
+		if(type.equals(ForeachType.ASTEROID))
+			return 1;
+		if(type.equals(ForeachType.BULLET))
+			return 2;
+		return 3;
+	}
+}
@@ -17,6 +17,8 @@ import org.antlr.v4.runtime.atn.ATNConfigSet;
 import org.antlr.v4.runtime.dfa.DFA;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 
+import asteroids.model.jfr.ProgramParseEvent;
+
 public class ProgramParser<E, S, T> {
   private ProgramFactory<E, S, T> factory;
   private Map<String, T> globals = null;
@@ -28,6 +30,8 @@ public class ProgramParser<E, S, T> {
   }
   
   public void parse(String text) throws RecognitionException {
+    ProgramParseEvent event = new ProgramParseEvent();
+    event.begin();
     globals = null;
     statement = null;
     CharStream cs = new ANTLRInputStream(text);
@@ -59,14 +63,17 @@ public class ProgramParser<E, S, T> {
       }
     });
     ParserRuleContext tree = parser.eval();
-    if(! errors.isEmpty())
+    if(! errors.isEmpty()) {
+      event.end(text.length(), errors.size());
       return;
+    }
     AsteroidsParserMyListener<E, S, T> listener = new AsteroidsParserMyListener<E, S, T>(factory);
     
     ParseTreeWalker.DEFAULT.walk(listener, tree);
     errors = listener.getErrors();
     globals = listener.getGlobals();
     statement = listener.getStatement();
+    event.end(text.length(), errors.size());
   }
   
   public List<String> getErrors() {
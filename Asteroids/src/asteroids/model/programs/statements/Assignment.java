@@ -8,13 +8,13 @@ public class Assignment extends StandardStatement {
 
 	private String variable;
 	private Expression exp;
-	private ProgramController controller;
+	private GlobalReference global;
 	
 	public Assignment(int line, int column, String variable, Expression exp, ProgramController controller){
 		super(line,column);
 		this.variable = variable;
 		this.exp = exp;
-		this.controller = controller;
+		this.global = new GlobalReference(variable, controller);
 	}
 	
 	@Basic
@@ -29,7 +29,7 @@ public class Assignment extends StandardStatement {
 	
 	@Override
 	public void execute() {
-		Variable global = this.controller.getProgram().getGlobal(this.getVariable());
+		Variable global = this.global.getGlobal();
 		global.setValue(exp);
 		
 		setFinished(true);
@@ -39,9 +39,9 @@ public class Assignment extends StandardStatement {
 	public boolean typeCheck() {
 		if(!this.getExpression().typeCheck())
 			return false;
-		Variable global = this.controller.getProgram().getGlobal(this.getVariable());
-		if(global == null)
+		if(!this.global.resolve())
 			return false;
+		Variable global = this.global.getGlobal();
 		if(!global.getType().equals(this.getExpression().getType()))
 			return false;
 		global.setWillBeAssigned(true);
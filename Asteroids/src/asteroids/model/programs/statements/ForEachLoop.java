@@ -22,6 +22,7 @@ public class ForEachLoop extends ComplexStatement {
 		this.variableName = variableName;
 		this.body = body;
 		this.controller = controller;
+		this.global = new GlobalReference(variableName, controller);
 	}
 	
 	@Basic
@@ -39,10 +40,12 @@ public class ForEachLoop extends ComplexStatement {
 		return this.body;
 	}
 	
+	private GlobalReference global;
+	
 	@SuppressWarnings("unchecked")
 	@Override
 	public void execute() { 
-		Variable global = this.controller.getProgram().getGlobal(getVariableName());
+		Variable global = this.global.getGlobal();
 		if(body != null) {
 			World world = controller.getProgram().getShipRunningProgram().getWorld();
 			Set<SpaceObject> objects;
@@ -57,7 +60,7 @@ public class ForEachLoop extends ComplexStatement {
 				objects = (Set<SpaceObject>) world.getObjects(Ship.class);
 			
 			for(SpaceObject object: objects) {
-				global.setValue(new EntityLiteral(this.getLine(),this.getColumn(),object));
+				global.setValue(object);
 				this.getBody().execute();
 			}
 		}
@@ -68,8 +71,10 @@ public class ForEachLoop extends ComplexStatement {
 	public boolean typeCheck() {
 		if(this.getBody().containsActionStatement())
 			return false;
-		Variable global = this.controller.getProgram().getGlobal(getVariableName());
-		if(global == null || !global.getType().equals(Type.ENTITY))
+		if(!this.global.resolve())
+			return false;
+		Variable global = this.global.getGlobal();
+		if(!global.getType().equals(Type.ENTITY))
 			return false;
 		global.setWillBeAssigned(true);
 		if(!this.getBody().typeCheck())
@@ -36,7 +36,7 @@ public class IfThenElse extends ComplexStatement {
 
 	@Override
 	public void execute() {
-		if((Boolean)this.getCondition().getValue()) {
+		if(this.getCondition().evalBoolean()) {
 			this.getThenStatement().execute();
 			if(this.getThenStatement().isFinished())
 				this.setFinished(true);
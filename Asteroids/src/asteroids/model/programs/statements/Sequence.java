@@ -20,6 +20,14 @@ public class Sequence extends ComplexStatement {
 		return new ArrayList<Statement>(this.statements);
 	}
 	
+	/**
+	 * Return the number of statements of this sequence that finished since it was last reset.
+	 */
+	@Basic
+	public int getNmbOfDoneExecutions(){
+		return this.nmbOfDoneExecutions;
+	}
+	
 	@Override
 	public void execute() {
 		boolean actionEncountered = false;
@@ -21,9 +21,11 @@ public class Turn extends ActionStatement {
 
 	@Override
 	public void execute() {
-		if(getAngle().getValue() != null && getAngle().getType() != null && this.getAngle().getType().equals(Type.DOUBLE)) {
-			Double turn = (Double)(angle.getValue());
-			this.getController().getProgram().getShipRunningProgram().turn(turn);
+		// A turn is an action, so it runs at most once per step and reading its angle boxed costs nothing.
+		if(getAngle().getType() != null && this.getAngle().getType().equals(Type.DOUBLE)) {
+			Double turn = (Double) this.getAngle().getValue();
+			if(turn != null)
+				this.getController().getProgram().getShipRunningProgram().turn(turn);
 		}
 		this.setFinished(true);
 	}
@@ -27,7 +27,7 @@ public class WhileLoop extends ComplexStatement {
 	@Override
 	public void execute() {
 		boolean suddenStop = false;
-		while((Boolean)(this.getCondition().getValue()) && !suddenStop){
+		while(this.getCondition().evalBoolean() && !suddenStop){
 			this.getBody().execute();
 			if(this.getBody() instanceof ActionStatement || !this.getBody().isFinished())
 				suddenStop = true;
@@ -0,0 +1,226 @@
+package asteroids.test;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import asteroids.Util;
+import asteroids.model.*;
+import asteroids.model.programs.*;
+import asteroids.model.programs.bytecode.VirtualMachine;
+import asteroids.model.programs.closures.ClosureProgram;
+import asteroids.model.programs.exceptions.IllegalProgramException;
+import asteroids.model.programs.generated.*;
+
+/**
+ * Runs every backend of programs against the statements of the program, which are the reference.
+ * The backend takes over at several steps, so it also has to continue where the statements stopped,
+ * also in the middle of a sequence that was interrupted by an action.
+ */
+@RunWith(Parameterized.class)
+public class ProgramBackendTest {
+
+	/**
+	 * The backends of programs, with the way to let each of them execute a program from the next execution on.
+	 */
+	enum Backend {
+		CLOSURES(ClosureProgram.class) {
+			@Override
+			void install(Program program) {
+				program.compile();
+			}
+		},
+		BYTECODE(VirtualMachine.class) {
+			@Override
+			void install(Program program) {
+				program.executeBytecode(program.compileBytecode());
+			}
+		},
+		GENERATED(GeneratedProgram.class) {
+			@Override
+			void install(Program program) throws Exception {
+				program.setGenerationThreshold(0);
+				ProgramClassGenerator.generate(program).get();
+			}
+		};
+
+		Backend(Class<? extends ProgramBackend> type) {
+			this.type = type;
+		}
+
+		final Class<? extends ProgramBackend> type;
+
+		abstract void install(Program program) throws Exception;
+	}
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> backends() {
+		List<Object[]> backends = new ArrayList<Object[]>();
+		for(Backend backend: Backend.values())
+			backends.add(new Object[] { backend });
+		return backends;
+	}
+
+	public ProgramBackendTest(Backend backend) {
+		this.backend = backend;
+	}
+
+	private final Backend backend;
+
+	static final String PROGRAM =
+			"double nearest; double d; double n; entity a; entity target; bool near;" +
+			"n := 0;" +
+			"while(true) do {" +
+			"  nearest := 10000;" +
+			"  target := null;" +
+			"  foreach(asteroid, a) do {" +
+			"    d := sqrt((((getx a) - (getx self)) * ((getx a) - (getx self))) + (((gety a) - (gety self)) * ((gety a) - (gety self))));" +
+			"    if(d < nearest) then { nearest := d; target := a; }" +
+			"  }" +
+			"  near := (nearest <= ((100 * 3) + n)) && (!(target == null));" +
+			"  if(near) then { turn (0.1 * (2 / 4)); fire; } else { thrust; turn 0.2; thrust_off; skip; }" +
+			"  n := n + 1;" +
+			"}";
+
+	static final String LOOPS =
+			"double x; double y; bool b; entity e;" +
+			"x := 0; b := false;" +
+			"while(x < 5) do { x := x + 1; b := b || (x == 3); }" +
+			"while(true) do {" +
+			"  y := 0;" +
+			"  foreach(asteroid, e) do { if(!(e == self)) then { y := y + (getradius e); } }" +
+			"  if(b && (y > (x * 2))) then { turn (y / (x * 100)); } else { fire; }" +
+			"  if(b) then { b := false; } else { b := true; }" +
+			"}";
+
+	/**
+	 * Iterates over every type of entity. Only counts and sums of radii are computed,
+	 * because the order of the iteration differs from world to world.
+	 */
+	private static final String FOREACH =
+			"double ships; double bullets; double radii; double others; entity e;" +
+			"while(true) do {" +
+			"  ships := 0; bullets := 0; radii := 0; others := 0;" +
+			"  foreach(ship, e) do { ships := ships + 1; }" +
+			"  foreach(bullet, e) do { bullets := bullets + 1; }" +
+			"  foreach(asteroid, e) do { radii := radii + (getradius e); }" +
+			"  foreach(any, e) do { if(e == null) then { others := 0; } else { others := others + 1; } }" +
+			"  print ships; print bullets; print radii; print others;" +
+			"  if(bullets < 3) then { fire; } else { turn (others / 10); skip; }" +
+			"}";
+
+	/**
+	 * Nests loops and conditionals inside sequences that are interrupted by actions at every level.
+	 */
+	private static final String NESTED =
+			"double i; double j; bool flip;" +
+			"i := 0; flip := true;" +
+			"while(i < 1000) do {" +
+			"  j := 0;" +
+			"  while(j < 3) do {" +
+			"    if(flip) then { turn 0.1; thrust; } else { thrust_off; skip; }" +
+			"    j := j + 1;" +
+			"    if(j == 2) then { print j; fire; } else { if(flip) then { flip := false; } else { flip := true; } print flip; }" +
+			"  }" +
+			"  i := i + 1;" +
+			"  print i;" +
+			"  if(i < 4) then { while(j > 0) do { j := j - 1; turn 6.2; } } else { print (i * j); }" +
+			"}";
+
+	private static final List<String> PROGRAMS = Arrays.asList(PROGRAM, LOOPS, FOREACH, NESTED);
+
+	/**
+	 * The steps before which the backend takes over the program.
+	 */
+	private static final int[] SWITCHES = { 0, 1, 2, 3, 5, 8, 13, 33 };
+
+	private static final int NMB_OF_EVOLUTIONS = 100;
+
+	/**
+	 * Return a ship that runs a parsed program in a world with another ship and one asteroid,
+	 * which is too small to split so that the world stays the same for every run.
+	 */
+	static Ship createShipRunningProgram(String text) {
+		World world = new World(1000, 1000);
+		Ship ship = new Ship(500, 500, 0, 0, 10, 0, 5E15);
+		world.addAll(Arrays.asList(ship, new Ship(100, 900, 0, 0, 10, 0, 1), new Asteroid(700, 550, -10, 0, 20, new Random(1))));
+		Program program = new Facade().parseProgram(text).getProgram();
+		ship.setProgram(program);
+		assertTrue(program.typeCheck());
+		return ship;
+	}
+
+	/**
+	 * Run the given program for a number of evolutions of its world, let this backend take over before the given
+	 * evolution if it is not negative, and return the state after every evolution followed by the printed output.
+	 */
+	private List<Object> run(String text, int switchStep) throws Exception {
+		Ship ship = createShipRunningProgram(text);
+		List<Object> states = new ArrayList<Object>();
+		PrintStream out = System.out;
+		ByteArrayOutputStream printed = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(printed, true));
+		try {
+			for(int i = 0; i < NMB_OF_EVOLUTIONS; i++) {
+				if(i == switchStep)
+					this.backend.install(ship.getProgram());
+				ship.getWorld().evolve(0.1, null);
+				states.add(getState(ship));
+			}
+		}
+		finally {
+			System.setOut(out);
+		}
+		if(switchStep >= 0)
+			assertTrue(this.backend.type.isInstance(ship.getProgram().getBackend()));
+		else
+			assertNull(ship.getProgram().getBackend());
+		states.add(printed.toString());
+		return states;
+	}
+
+	private static double[] getState(Ship ship) {
+		World world = ship.getWorld();
+		return new double[] { ship.getProgram().getNmbOfExecutedSteps(), ship.getDirection(), ship.getX(), ship.getY(),
+				world.getObjects(Ship.class).size(), world.getObjects(Bullet.class).size(), world.getObjects(Asteroid.class).size() };
+	}
+
+	private static void assertSameRun(String message, List<Object> expected, List<Object> actual) {
+		assertEquals(message, expected.size(), actual.size());
+		for(int i = 0; i < expected.size() - 1; i++)
+			assertArrayEquals(message + ", evolution " + i, (double[]) expected.get(i), (double[]) actual.get(i), Util.EPSILON);
+		assertEquals(message + ", printed output", expected.get(expected.size() - 1), actual.get(actual.size() - 1));
+	}
+
+	@Test
+	public void testExecute_LikeStatements() throws Exception {
+		for(String text: PROGRAMS) {
+			List<Object> expected = run(text, -1);
+			assertTrue(((double[]) expected.get(NMB_OF_EVOLUTIONS - 1))[0] > 0);
+			assertSameRun("Statements twice of " + text, expected, run(text, -1));
+			for(int switchStep: SWITCHES)
+				assertSameRun("Switch at " + switchStep + " of " + text, expected, run(text, switchStep));
+		}
+	}
+
+	@Test
+	public void testExecute_Prints() throws Exception {
+		for(String text: Arrays.asList(FOREACH, NESTED)) {
+			String printed = (String) run(text, 0).get(NMB_OF_EVOLUTIONS);
+			assertFalse(printed.isEmpty());
+		}
+	}
+
+	@Test(expected = IllegalProgramException.class)
+	public void testExecute_DivisionByZeroFails() throws Exception {
+		Ship ship = createShipRunningProgram("double x; double y; y := 0; x := 1 / y; skip;");
+		this.backend.install(ship.getProgram());
+		ship.getProgram().execute(1);
+	}
+}
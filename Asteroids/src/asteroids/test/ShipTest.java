@@ -8,6 +8,8 @@ import asteroids.Util;
 import asteroids.model.*;
 import asteroids.model.SpaceObject.State;
 import asteroids.model.programs.*;
+import asteroids.model.programs.bytecode.Bytecode;
+import asteroids.model.programs.generated.ProgramClassGenerator;
 
 public class ShipTest { 
 
@@ -392,6 +394,24 @@ public class ShipTest {
 		assertEquals(10000 * 20, ship.getX(),Util.EPSILON);
 	}
 	
+	@Test
+	public void testMove_KeepsMotionVersion(){
+		Ship ship = new Ship(0,0,10,10,11,3.14/2,10);
+		long version = ship.getMotionVersion();
+		ship.move(20);
+		assertEquals(version, ship.getMotionVersion());
+	}
+	
+	@Test
+	public void testSetVelocity_ChangesMotionVersion(){
+		Ship ship = new Ship(0,0,10,10,11,3.14/2,10);
+		long version = ship.getMotionVersion();
+		ship.setVelocity(10, 10);
+		assertEquals(version, ship.getMotionVersion());
+		ship.setVelocity(20, 10);
+		assertTrue(version != ship.getMotionVersion());
+	}
+	
 	@Test (expected=IllegalArgumentException.class)
 	public void testMove_IllegalCase(){
 		Ship ship = new Ship();
@@ -1014,4 +1034,57 @@ public class ShipTest {
 		ship.setProgram(program);
 		assertTrue(ship.hasProperProgram());		
 	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void testCompile_IllegalCase() {
+		Program program = new Facade().parseProgram("double x; x := true; skip;").getProgram();
+		new Ship(50, 50, 10, 20, 10, (3*Math.PI)/2, 1).setProgram(program);
+		program.compile();
+	}
+	
+	@Test
+	public void testExecuteBytecode_SharedByShips() {
+		Bytecode bytecode = ProgramBackendTest.createShipRunningProgram(ProgramBackendTest.PROGRAM).getProgram().compileBytecode();
+		Ship bytecodeShip1 = ProgramBackendTest.createShipRunningProgram(ProgramBackendTest.PROGRAM);
+		Ship bytecodeShip2 = ProgramBackendTest.createShipRunningProgram(ProgramBackendTest.PROGRAM);
+		bytecodeShip1.getProgram().executeBytecode(bytecode);
+		bytecodeShip2.getProgram().executeBytecode(bytecode);
+		for(int i = 0; i < 100; i++) {
+			bytecodeShip1.getWorld().evolve(0.1, null);
+			bytecodeShip2.getWorld().evolve(0.1, null);
+			assertEquals(bytecodeShip1.getProgram().getNmbOfExecutedSteps(), bytecodeShip2.getProgram().getNmbOfExecutedSteps());
+			assertEquals(bytecodeShip1.getDirection(), bytecodeShip2.getDirection(), Util.EPSILON);
+			assertEquals(bytecodeShip1.getX(), bytecodeShip2.getX(), Util.EPSILON);
+			assertEquals(bytecodeShip1.getY(), bytecodeShip2.getY(), Util.EPSILON);
+		}
+		assertTrue(bytecodeShip1.getProgram().getNmbOfExecutedSteps() > 0);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testExecuteBytecode_IllegalCase() {
+		Bytecode bytecode = ProgramBackendTest.createShipRunningProgram(ProgramBackendTest.LOOPS).getProgram().compileBytecode();
+		ProgramBackendTest.createShipRunningProgram(ProgramBackendTest.PROGRAM).getProgram().executeBytecode(bytecode);
+	}
+	
+	@Test
+	public void testGenerateClass_SharedByPrograms() throws Exception {
+		Program program1 = ProgramBackendTest.createShipRunningProgram(ProgramBackendTest.PROGRAM).getProgram();
+		Program program2 = ProgramBackendTest.createShipRunningProgram(ProgramBackendTest.PROGRAM).getProgram();
+		assertSame(ProgramClassGenerator.generate(program1).get(), ProgramClassGenerator.generate(program2).get());
+	}
+	
+	@Test
+	public void testGetGenerationThreshold_NoGenerationByDefault() {
+		Program program = ProgramBackendTest.createShipRunningProgram(ProgramBackendTest.PROGRAM).getProgram();
+		assertFalse(program.hasGenerationThreshold());
+		assertEquals(Program.NO_GENERATION, program.getGenerationThreshold());
+		for(int i = 0; i < 100; i++)
+			program.execute(1);
+		assertNull(program.getBackend());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetGenerationThreshold_IllegalCase() {
+		ProgramBackendTest.createShipRunningProgram(ProgramBackendTest.PROGRAM).getProgram().setGenerationThreshold(-2);
+	}
 }
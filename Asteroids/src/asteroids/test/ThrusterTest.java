@@ -18,5 +18,22 @@ public class ThrusterTest {
 		assertEquals((-1.1E18),acceleration.getYComp(),Util.EPSILON);
 	}
 	
+	@Test
+	public void testGenerateAcceleration_Components(){
+		Thruster thruster = new Thruster(true, 1.1E18);
+		Vector acceleration = thruster.generateAcceleration(1, 2);
+		
+		assertEquals(acceleration.getXComp(),thruster.generateXAcceleration(1, 2),0);
+		assertEquals(acceleration.getYComp(),thruster.generateYAcceleration(1, 2),0);
+	}
+	
+	@Test
+	public void testGenerateAcceleration_Disabled(){
+		Thruster thruster = new Thruster(false, 1.1E18);
+		
+		assertEquals(0,thruster.generateXAcceleration(1, 2),0);
+		assertEquals(0,thruster.generateYAcceleration(1, 2),0);
+	}
+	
 
 }
@@ -0,0 +1,49 @@
+package asteroids.test;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import asteroids.Util;
+
+public class UtilTest {
+
+	private static final double[] VALUES = { 0, -0.0, 1, 1 + Util.EPSILON / 2, 1 + 2 * Util.EPSILON, -1, Double.MAX_VALUE, -Double.MAX_VALUE,
+		Double.MIN_VALUE, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN };
+
+	@Test
+	public void testFuzzyEquals() {
+		assertTrue(Util.fuzzyEquals(1, 1 + Util.EPSILON / 2));
+		assertTrue(Util.fuzzyEquals(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY));
+		assertFalse(Util.fuzzyEquals(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY));
+		assertFalse(Util.fuzzyEquals(Double.NaN, Double.NaN));
+		assertFalse(Util.fuzzyEquals(1, 1 + 2 * Util.EPSILON));
+	}
+
+	@Test
+	public void testFuzzyEquals_Batch() {
+		int length = VALUES.length * VALUES.length;
+		double[] x = new double[length];
+		double[] y = new double[length];
+		for(int i = 0; i < length; i++)
+		{
+			x[i] = VALUES[i / VALUES.length];
+			y[i] = VALUES[i % VALUES.length];
+		}
+		boolean[] equals = new boolean[length];
+		boolean[] lessThanOrEqualTo = new boolean[length];
+		Util.fuzzyEquals(x, y, equals);
+		Util.fuzzyLessThanOrEqualTo(x, y, lessThanOrEqualTo);
+
+		for(int i = 0; i < length; i++)
+		{
+			assertEquals(x[i] + " == " + y[i], Util.fuzzyEquals(x[i], y[i]), equals[i]);
+			assertEquals(x[i] + " <= " + y[i], Util.fuzzyLessThanOrEqualTo(x[i], y[i]), lessThanOrEqualTo[i]);
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testFuzzyEquals_Batch_IllegalLength() {
+		Util.fuzzyEquals(new double[2], new double[3], new boolean[2]);
+	}
+}
@@ -102,6 +102,49 @@ public class VectorTest {
 	    Vector.dotProduct(vector1,vector2);
 	 }
 	
+	@Test
+	  public void testSumOfComponents_FastArithmetic() {
+		Vector.setArithmetic(Vector.Arithmetic.FAST);
+		try {
+			assertEquals(Double.POSITIVE_INFINITY, Vector.sumOfComponents(Double.MAX_VALUE, Double.MAX_VALUE), 0);
+			assertEquals(-0.5, Vector.sumOfComponents(3.5, -4), 0);
+			assertTrue(Double.isNaN(Vector.sumOfComponents(Double.NaN, 1)));
+		}
+		finally {
+			Vector.setArithmetic(Vector.Arithmetic.STRICT);
+		}
+	 }
+	
+	@Test
+	  public void testMultiplyComponents_FastArithmetic() {
+		Vector.setArithmetic(Vector.Arithmetic.FAST);
+		try {
+			assertEquals(0, Vector.multiplyComponents(Double.MIN_VALUE, 0.5), 0);
+			assertEquals(Double.POSITIVE_INFINITY, Vector.multiplyComponents(Double.MAX_VALUE, 2), 0);
+			assertEquals(-14, Vector.multiplyComponents(3.5, -4), 0);
+		}
+		finally {
+			Vector.setArithmetic(Vector.Arithmetic.STRICT);
+		}
+	 }
+	
+	@Test(expected=IllegalArgumentException.class)
+	  public void testSetArithmetic_IllegalCase() {
+		Vector.setArithmetic(null);
+	 }
+	
+	@Test
+	  public void testDotProduct_Components() {
+		Vector vector1 = new Vector(3.5,-2);
+		Vector vector2 = new Vector(-4.3,3.976);
+	    assertEquals(Vector.dotProduct(vector1,vector2), Vector.dotProduct(3.5,-2,-4.3,3.976), 0);
+	 }
+	
+	@Test(expected=IllegalArgumentException.class)
+	  public void testDotProduct_Components_IllegalCase() {
+	    Vector.dotProduct(3,Double.NaN,3,12);
+	 }
+	
 	@Test
 	  public void testMultiplyScalar() {
 		Vector vector1 = new Vector(0.333,-2);
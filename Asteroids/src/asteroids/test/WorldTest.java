@@ -2,11 +2,21 @@ package asteroids.test;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import org.junit.AfterClass;
 import org.junit.Test;
 
+import asteroids.CollisionListener;
 import asteroids.Util;
 import asteroids.model.*;
 
@@ -387,4 +397,664 @@ public class WorldTest {
 		 assertFalse(world.pointInWorld(vector));
 	 }
 	 
+	 @Test
+	 public void testGetPossibleCollisions_SpatialHashSkipsFarObjects(){
+		 World world = new World(1000,1000);
+		 SpaceObject asteroid1 = new Asteroid(50, 50, 10, 0, 5);
+		 SpaceObject asteroid2 = new Asteroid(900, 900, -10, 0, 5);
+		 asteroid1.flyIntoWorld(world);
+		 asteroid2.flyIntoWorld(world);
+		 for(Collision collision: world.getPossibleCollisions(1))
+			 assertNull(collision.getObject2());
+		 assertEquals(2, world.getPossibleCollisions(1).size());
+	 }
+	 
+	 @Test
+	 public void testEvolve_SpatialHashMatchesExhaustive(){
+		 World hashed = new World(500,500);
+		 World exhaustive = new World(500,500);
+		 exhaustive.setBroadPhase(new ExhaustiveBroadPhase());
+		 SpaceObject[] hashedObjects = new SpaceObject[20];
+		 SpaceObject[] exhaustiveObjects = new SpaceObject[20];
+		 for(int i = 0; i < 20; i++) {
+			 double x = 20 + (i % 5) * 100;
+			 double y = 20 + (i / 5) * 100;
+			 double vx = ((i * 37) % 23) - 11;
+			 double vy = ((i * 53) % 19) - 9;
+			 hashedObjects[i] = new Asteroid(x, y, vx, vy, 8, new java.util.Random(i));
+			 exhaustiveObjects[i] = new Asteroid(x, y, vx, vy, 8, new java.util.Random(i));
+			 hashedObjects[i].flyIntoWorld(hashed);
+			 exhaustiveObjects[i].flyIntoWorld(exhaustive);
+		 }
+		 for(int step = 0; step < 100; step++) {
+			 hashed.evolve(0.1, null);
+			 exhaustive.evolve(0.1, null);
+		 }
+		 for(int i = 0; i < 20; i++) {
+			 assertEquals(exhaustiveObjects[i].getX(), hashedObjects[i].getX(), Util.EPSILON);
+			 assertEquals(exhaustiveObjects[i].getY(), hashedObjects[i].getY(), Util.EPSILON);
+		 }
+	 }
+	 
+	 @Test
+	 public void testGetPossibleCollisions_SweepAndPruneSkipsFarObjects(){
+		 World world = new World(1000,1000);
+		 world.setBroadPhase(new SweepAndPruneBroadPhase());
+		 SpaceObject asteroid1 = new Asteroid(50, 50, 10, 0, 5);
+		 SpaceObject asteroid2 = new Asteroid(900, 50, -10, 0, 5);
+		 SpaceObject asteroid3 = new Asteroid(60, 900, 0, 0, 5);
+		 asteroid1.flyIntoWorld(world);
+		 asteroid2.flyIntoWorld(world);
+		 asteroid3.flyIntoWorld(world);
+		 for(Collision collision: world.getPossibleCollisions(1))
+			 assertNull(collision.getObject2());
+		 assertEquals(4, world.getPossibleCollisions(50).size());
+	 }
+	 
+	 @Test
+	 public void testEvolve_SweepAndPruneMatchesExhaustive(){
+		 World swept = new World(500,500);
+		 World exhaustive = new World(500,500);
+		 swept.setBroadPhase(new SweepAndPruneBroadPhase());
+		 exhaustive.setBroadPhase(new ExhaustiveBroadPhase());
+		 SpaceObject[] sweptObjects = new SpaceObject[20];
+		 SpaceObject[] exhaustiveObjects = new SpaceObject[20];
+		 for(int i = 0; i < 20; i++) {
+			 double x = 20 + (i % 5) * 100;
+			 double y = 20 + (i / 5) * 100;
+			 double vx = ((i * 37) % 23) - 11;
+			 double vy = ((i * 53) % 19) - 9;
+			 sweptObjects[i] = new Asteroid(x, y, vx, vy, 8, new java.util.Random(i));
+			 exhaustiveObjects[i] = new Asteroid(x, y, vx, vy, 8, new java.util.Random(i));
+			 sweptObjects[i].flyIntoWorld(swept);
+			 exhaustiveObjects[i].flyIntoWorld(exhaustive);
+		 }
+		 for(int step = 0; step < 100; step++) {
+			 swept.evolve(0.1, null);
+			 exhaustive.evolve(0.1, null);
+		 }
+		 for(int i = 0; i < 20; i++) {
+			 assertEquals(exhaustiveObjects[i].getX(), sweptObjects[i].getX(), Util.EPSILON);
+			 assertEquals(exhaustiveObjects[i].getY(), sweptObjects[i].getY(), Util.EPSILON);
+		 }
+	 }
+	 
+	 @Test
+	 public void testGetTime_Evolve(){
+		 World world = new World(100,100);
+		 world.evolve(0.5, null);
+		 world.evolve(0.25, null);
+		 assertEquals(0.75, world.getTime(), Util.EPSILON);
+	 }
+	 
+	 @Test
+	 public void testEvolve_SeveralBouncesWithinOneStep(){
+		 World world = new World(100,100);
+		 SpaceObject asteroid = new Asteroid(50, 50, 100, 0, 5);
+		 asteroid.flyIntoWorld(world);
+		 world.evolve(2, null);
+		 assertEquals(70, asteroid.getX(), Util.EPSILON);
+		 assertEquals(100, asteroid.getXVelocity(), Util.EPSILON);
+		 assertEquals(2, world.getTime(), Util.EPSILON);
+	 }
+	 
+	 @Test
+	 public void testGetTimeToCollision_FollowsTimeOfWorld(){
+		 World world = new World(100,100);
+		 SpaceObject asteroid = new Asteroid(50, 50, 10, 0, 5);
+		 asteroid.flyIntoWorld(world);
+		 Collision collision = world.getPossibleCollisions().get(0);
+		 assertEquals(4.5, collision.getTimeToCollision(), Util.EPSILON);
+		 world.evolve(1, null);
+		 assertTrue(collision.isPredictionUpToDate());
+		 assertEquals(3.5, collision.getTimeToCollision(), Util.EPSILON);
+		 asteroid.setVelocity(-10, 0);
+		 assertFalse(collision.isPredictionUpToDate());
+		 assertEquals(5.5, collision.getTimeToCollision(), Util.EPSILON);
+	 }
+	 
+	 @Test
+	 public void testRemoveSpaceObject_KeepsMotionOfOtherObjects(){
+		 World world = new World(1000,1000);
+		 SpaceObject asteroid1 = new Asteroid(100, 100, 10, 0, 5);
+		 SpaceObject asteroid2 = new Asteroid(300, 300, 0, 20, 10);
+		 SpaceObject asteroid3 = new Asteroid(500, 500, -30, 0, 15);
+		 asteroid1.flyIntoWorld(world);
+		 asteroid2.flyIntoWorld(world);
+		 asteroid3.flyIntoWorld(world);
+		 double mass1 = asteroid1.getMass();
+		 double mass2 = asteroid2.getMass();
+		 double mass3 = asteroid3.getMass();
+		 asteroid1.die();
+		 assertEquals(2, world.getWorldState().size());
+		 assertEquals(100, asteroid1.getX(), Util.EPSILON);
+		 assertEquals(10, asteroid1.getXVelocity(), Util.EPSILON);
+		 assertEquals(5, asteroid1.getRadius(), Util.EPSILON);
+		 assertEquals(mass1, asteroid1.getMass(), Util.EPSILON);
+		 assertEquals(300, asteroid2.getY(), Util.EPSILON);
+		 assertEquals(20, asteroid2.getYVelocity(), Util.EPSILON);
+		 assertEquals(mass2, asteroid2.getMass(), Util.EPSILON);
+		 assertEquals(500, asteroid3.getX(), Util.EPSILON);
+		 assertEquals(-30, asteroid3.getXVelocity(), Util.EPSILON);
+		 assertEquals(15, asteroid3.getRadius(), Util.EPSILON);
+		 assertEquals(mass3, asteroid3.getMass(), Util.EPSILON);
+	 }
+	 
+	 @Test
+	 public void testGetTimeToCollisionWithObject_WorldState(){
+		 World world = new World(1000,1000);
+		 SpaceObject asteroid1 = new Asteroid(100, 100, 10, 0, 5);
+		 SpaceObject asteroid2 = new Asteroid(300, 100, -10, 0, 5);
+		 asteroid1.flyIntoWorld(world);
+		 asteroid2.flyIntoWorld(world);
+		 assertEquals(9.5, new Collision(asteroid2, asteroid1).getTimeToCollisionWithObject(), Util.EPSILON);
+		 world.evolve(1, null);
+		 assertEquals(8.5, new Collision(asteroid2, asteroid1).getTimeToCollisionWithObject(), Util.EPSILON);
+	 }
+	 
+	 @Test
+	 public void testEvolve_ParallelMatchesSerial(){
+		 World serial = new World(800,800);
+		 World parallel = new World(800,800);
+		 parallel.setParallel(true);
+		 parallel.setParallelThreshold(1);
+		 SpaceObject[] serialObjects = new SpaceObject[64];
+		 SpaceObject[] parallelObjects = new SpaceObject[64];
+		 for(int i = 0; i < 64; i++) {
+			 double x = 50 + (i % 8) * 100;
+			 double y = 50 + (i / 8) * 100;
+			 double vx = ((i * 37) % 23) - 11;
+			 double vy = ((i * 53) % 19) - 9;
+			 if(i % 8 == 0) {
+				 serialObjects[i] = new Ship(x, y, vx, vy, 15, i, 10);
+				 parallelObjects[i] = new Ship(x, y, vx, vy, 15, i, 10);
+				 ((Ship)serialObjects[i]).getThruster().setEnabled(true);
+				 ((Ship)parallelObjects[i]).getThruster().setEnabled(true);
+			 }
+			 else {
+				 serialObjects[i] = new Asteroid(x, y, vx, vy, 10, new java.util.Random(i));
+				 parallelObjects[i] = new Asteroid(x, y, vx, vy, 10, new java.util.Random(i));
+			 }
+			 serialObjects[i].flyIntoWorld(serial);
+			 parallelObjects[i].flyIntoWorld(parallel);
+		 }
+		 CollisionRecorder serialRecorder = new CollisionRecorder();
+		 CollisionRecorder parallelRecorder = new CollisionRecorder();
+		 for(int step = 0; step < 200; step++) {
+			 serial.evolve(0.1, serialRecorder);
+			 parallel.evolve(0.1, parallelRecorder);
+		 }
+		 assertEquals(serialRecorder.positions, parallelRecorder.positions);
+		 for(int i = 0; i < 64; i++) {
+			 assertEquals(serialObjects[i].getWorld() == null, parallelObjects[i].getWorld() == null);
+			 assertEquals(serialObjects[i].getX(), parallelObjects[i].getX(), 0);
+			 assertEquals(serialObjects[i].getY(), parallelObjects[i].getY(), 0);
+			 assertEquals(serialObjects[i].getXVelocity(), parallelObjects[i].getXVelocity(), 0);
+			 assertEquals(serialObjects[i].getYVelocity(), parallelObjects[i].getYVelocity(), 0);
+		 }
+	 }
+	 
+	 @Test (expected = IllegalArgumentException.class)
+	 public void testSetParallelThreshold_IllegalCase(){
+		 World world = new World(100,100);
+		 world.setParallelThreshold(0);
+	 }
+	 
+	 private static class CollisionRecorder implements CollisionListener {
+		 
+		 private final List<Double> positions = new ArrayList<Double>();
+		 
+		 @Override
+		 public void boundaryCollision(Object entity, double x, double y) {
+			 positions.add(x);
+			 positions.add(y);
+		 }
+		 
+		 @Override
+		 public void objectCollision(Object entity1, Object entity2, double x, double y) {
+			 positions.add(x);
+			 positions.add(y);
+		 }
+	 }
+	 
+	 @Test
+	 public void testGetSpaceObjects_LiveView(){
+		 World world = new World(1000,1000);
+		 java.util.Set<SpaceObject> objects = world.getSpaceObjects();
+		 java.util.Set<? extends SpaceObject> ships = world.getObjects(Ship.class);
+		 SpaceObject asteroid = new Asteroid(100, 100, 10, 0, 5);
+		 SpaceObject ship = new Ship(300, 300, 0, 0, 15, 0, 10);
+		 asteroid.flyIntoWorld(world);
+		 ship.flyIntoWorld(world);
+		 assertEquals(2, objects.size());
+		 assertEquals(1, ships.size());
+		 assertTrue(ships.contains(ship));
+		 assertFalse(ships.contains(asteroid));
+		 ship.die();
+		 assertFalse(objects.contains(ship));
+		 assertTrue(ships.isEmpty());
+	 }
+	 
+	 @Test (expected = UnsupportedOperationException.class)
+	 public void testGetSpaceObjects_ReadOnly(){
+		 World world = new World(1000,1000);
+		 world.getSpaceObjects().add(new Asteroid(100, 100, 10, 0, 5));
+	 }
+	 
+	 @Test
+	 public void testGetObjects_TypeIndex(){
+		 World world = new World(1000,1000);
+		 Set<? extends SpaceObject> asteroids = world.getObjects(Asteroid.class);
+		 Asteroid asteroid = new Asteroid(100, 100, 10, 0, 5);
+		 Ship ship = new Ship(500, 500, 0, 0, 10, 0, 1000);
+		 asteroid.flyIntoWorld(world);
+		 ship.flyIntoWorld(world);
+		 assertSame(asteroids, world.getObjects(Asteroid.class));
+		 assertEquals(1, asteroids.size());
+		 assertTrue(asteroids.contains(asteroid));
+		 assertFalse(asteroids.contains(ship));
+		 asteroid.die();
+		 assertTrue(asteroids.isEmpty());
+		 assertTrue(world.getObjects(Ship.class).contains(ship));
+	 }
+	 
+	 @Test
+	 public void testAddAll_LegalCase(){
+		 World world = new World(1000,1000);
+		 Ship ship = new Ship(500, 500, 0, 0, 10, 0, 1000);
+		 ship.flyIntoWorld(world);
+		 Asteroid asteroid1 = new Asteroid(100, 100, 10, 0, 5);
+		 Asteroid asteroid2 = new Asteroid(200, 100, -10, 0, 5);
+		 Bullet bullet = new Bullet(ship);
+		 world.addAll(Arrays.asList(asteroid1, asteroid2, bullet));
+		 assertEquals(4, world.getSpaceObjects().size());
+		 assertEquals(2, world.getObjects(Asteroid.class).size());
+		 assertSame(world, asteroid1.getWorld());
+		 assertEquals(SpaceObject.State.ACTIVE, asteroid2.getState());
+		 assertTrue(ship.getActiveBulletsInWorld(world).contains(bullet));
+	 }
+	 
+	 @Test
+	 public void testAddAll_Collisions(){
+		 World world = new World(1000,1000);
+		 Asteroid asteroid1 = new Asteroid(100, 100, 10, 0, 5);
+		 Asteroid asteroid2 = new Asteroid(200, 100, -10, 0, 5);
+		 world.evolve(1, null);
+		 world.addAll(Arrays.asList(asteroid1, asteroid2));
+		 world.evolve(4.4, null);
+		 assertEquals(10, asteroid1.getXVelocity(), Util.EPSILON);
+		 world.evolve(0.2, null);
+		 assertEquals(-10, asteroid1.getXVelocity(), Util.EPSILON);
+		 assertEquals(10, asteroid2.getXVelocity(), Util.EPSILON);
+	 }
+	 
+	 @Test
+	 public void testAddAll_OverlapWithinCollection(){
+		 World world = new World(1000,1000);
+		 Asteroid asteroid1 = new Asteroid(100, 100, 10, 0, 5);
+		 Asteroid asteroid2 = new Asteroid(105, 100, -10, 0, 5);
+		 try{
+			 world.addAll(Arrays.asList(asteroid1, asteroid2));
+			 fail();
+		 }
+		 catch(IllegalArgumentException e){}
+		 assertTrue(world.getSpaceObjects().isEmpty());
+		 assertNull(asteroid1.getWorld());
+		 assertEquals(SpaceObject.State.CREATED, asteroid1.getState());
+	 }
+	 
+	 @Test(expected = IllegalArgumentException.class)
+	 public void testAddAll_OverlapWithWorldObject(){
+		 World world = new World(1000,1000);
+		 new Asteroid(100, 100, 10, 0, 50).flyIntoWorld(world);
+		 world.addAll(Arrays.asList(new Asteroid(500, 500, 0, 0, 5), new Asteroid(140, 100, 0, 0, 5)));
+	 }
+	 
+	 @Test(expected = IllegalStateException.class)
+	 public void testAddAll_ObjectInWorld(){
+		 World world = new World(1000,1000);
+		 Asteroid asteroid = new Asteroid(100, 100, 10, 0, 5);
+		 asteroid.flyIntoWorld(world);
+		 world.addAll(Arrays.asList(asteroid));
+	 }
+	 
+	 @Test
+	 public void testFixedStepSimulator_Accumulator(){
+		 World world = new World(1000,1000);
+		 Asteroid asteroid = new Asteroid(100, 100, 10, 0, 5);
+		 asteroid.flyIntoWorld(world);
+		 FixedStepSimulator simulator = new FixedStepSimulator(world, 0.1, 8);
+		 assertEquals(0, simulator.advance(0.05, null));
+		 assertEquals(0.5, simulator.getAlpha(), Util.EPSILON);
+		 assertEquals(100, asteroid.getX(), Util.EPSILON);
+		 assertEquals(1, simulator.advance(0.1, null));
+		 assertEquals(0.5, simulator.getAlpha(), Util.EPSILON);
+		 assertEquals(101, asteroid.getX(), Util.EPSILON);
+		 assertEquals(1, simulator.getStepCount());
+	 }
+	 
+	 @Test
+	 public void testFixedStepSimulator_MaxSubsteps(){
+		 World world = new World(1000,1000);
+		 Asteroid asteroid = new Asteroid(100, 100, 10, 0, 5);
+		 asteroid.flyIntoWorld(world);
+		 FixedStepSimulator simulator = new FixedStepSimulator(world, 0.1, 3);
+		 assertEquals(3, simulator.advance(1.05, null));
+		 assertEquals(103, asteroid.getX(), Util.EPSILON);
+		 assertEquals(0.7, simulator.getDroppedTime(), Util.EPSILON);
+		 assertEquals(0.5, simulator.getAlpha(), Util.EPSILON);
+	 }
+	 
+	 @Test
+	 public void testFixedStepSimulator_Reproducible(){
+		 World world1 = new World(1000,1000);
+		 World world2 = new World(1000,1000);
+		 Asteroid asteroid1 = new Asteroid(100, 100, 10, 5, 5);
+		 Asteroid asteroid2 = new Asteroid(100, 100, 10, 5, 5);
+		 asteroid1.flyIntoWorld(world1);
+		 asteroid2.flyIntoWorld(world2);
+		 FixedStepSimulator simulator1 = new FixedStepSimulator(world1);
+		 FixedStepSimulator simulator2 = new FixedStepSimulator(world2);
+		 for(int i = 0; i < 30; i++)
+			 simulator1.advance(0.033, null);
+		 for(int i = 0; i < 45; i++)
+			 simulator2.advance(0.022, null);
+		 assertEquals(simulator1.getStepCount(), simulator2.getStepCount());
+		 assertEquals(asteroid1.getX(), asteroid2.getX(), 0);
+		 assertEquals(asteroid1.getY(), asteroid2.getY(), 0);
+	 }
+	 
+	 @Test(expected = IllegalArgumentException.class)
+	 public void testFixedStepSimulator_IllegalStep(){
+		 new FixedStepSimulator(new World(1000,1000), 0, 8);
+	 }
+	 
+	 @Test
+	 public void testEvolve_KineticVelocityChangedBetweenSteps(){
+		 World world = new World(1000,1000);
+		 Asteroid asteroid1 = new Asteroid(100, 100, 0, 0, 5);
+		 Asteroid asteroid2 = new Asteroid(200, 100, 0, 0, 5);
+		 world.addAll(Arrays.asList(asteroid1, asteroid2));
+		 world.evolve(0.01, null);
+		 // The collision of the asteroids is only possible after the predictions of the first step.
+		 asteroid2.setVelocity(-300, 0);
+		 world.evolve(0.4, null);
+		 assertEquals(-300, asteroid1.getXVelocity(), Util.EPSILON);
+		 assertEquals(0, asteroid2.getXVelocity(), Util.EPSILON);
+	 }
+	 
+	 @Test
+	 public void testEvolve_KineticPositionChangedBetweenSteps(){
+		 World world = new World(1000,1000);
+		 Asteroid asteroid1 = new Asteroid(100, 100, 100, 0, 5);
+		 Asteroid asteroid2 = new Asteroid(400, 100, 0, 0, 5);
+		 world.addAll(Arrays.asList(asteroid1, asteroid2));
+		 world.evolve(0.01, null);
+		 asteroid2.setPosition(130, 100);
+		 world.evolve(0.3, null);
+		 assertEquals(0, asteroid1.getXVelocity(), Util.EPSILON);
+		 assertEquals(100, asteroid2.getXVelocity(), Util.EPSILON);
+	 }
+	 
+	 @Test
+	 public void testEvolve_KineticMatchesLookaheadOfOneStep(){
+		 World world1 = WorldTest.createAsteroidField();
+		 World world2 = WorldTest.createAsteroidField();
+		 world2.setCollisionLookahead(0);
+		 for(int i = 0; i < 60; i++)
+		 {
+			 world1.evolve(1d/60, null);
+			 world2.evolve(1d/60, null);
+		 }
+		 List<SpaceObject> objects1 = new ArrayList<SpaceObject>(world1.getWorldState().size());
+		 List<SpaceObject> objects2 = new ArrayList<SpaceObject>(world2.getWorldState().size());
+		 for(int handle = 0; handle < world1.getWorldState().size(); handle++)
+		 {
+			 objects1.add(world1.getWorldState().getSpaceObject(handle));
+			 objects2.add(world2.getWorldState().getSpaceObject(handle));
+		 }
+		 for(int i = 0; i < objects1.size(); i++)
+		 {
+			 assertEquals(objects2.get(i).getX(), objects1.get(i).getX(), Util.EPSILON);
+			 assertEquals(objects2.get(i).getY(), objects1.get(i).getY(), Util.EPSILON);
+		 }
+	 }
+	 
+	 /**
+	  * Return a world with a grid of 100 asteroids that fly into each other.
+	  */
+	 private static World createAsteroidField(){
+		 World world = new World(1000,1000);
+		 List<Asteroid> asteroids = new ArrayList<Asteroid>();
+		 for(int i = 0; i < 100; i++)
+			 asteroids.add(new Asteroid(50 + (i % 10) * 100, 50 + (i / 10) * 100, (i % 3 - 1) * 150, (i % 7 - 3) * 50, 10));
+		 world.addAll(asteroids);
+		 return world;
+	 }
+	 
+	 @Test
+	 public void testKineticCollisionQueue_ChangedObjects(){
+		 KineticCollisionQueue queue = new KineticCollisionQueue();
+		 Asteroid asteroid1 = new Asteroid(100, 100, 0, 0, 5);
+		 Asteroid asteroid2 = new Asteroid(200, 100, 0, 0, 5);
+		 queue.markChanged(asteroid2);
+		 queue.markChanged(asteroid1);
+		 queue.markChanged(asteroid2);
+		 assertTrue(queue.isChanged(asteroid1));
+		 queue.invalidate(asteroid1);
+		 assertFalse(queue.isChanged(asteroid1));
+		 assertEquals(1, queue.getEventCount(asteroid1));
+		 assertEquals(Arrays.asList(asteroid2), queue.takeChangedObjects());
+		 assertFalse(queue.hasChangedObjects());
+	 }
+	 
+	 @Test(expected = IllegalArgumentException.class)
+	 public void testSetCollisionLookahead_IllegalCase(){
+		 new World(1000,1000).setCollisionLookahead(-1);
+	 }
+	 
+	 @Test
+	 public void testCollisionIndex_AddAndGet(){
+		 World world = new World(1000,1000);
+		 Asteroid asteroid1 = new Asteroid(100, 100, 0, 0, 5);
+		 Asteroid asteroid2 = new Asteroid(200, 100, 0, 0, 5);
+		 world.addAll(Arrays.asList(asteroid1, asteroid2));
+		 CollisionIndex index = new CollisionIndex();
+		 Collision collision = new Collision(asteroid2, asteroid1);
+		 Collision border = new Collision(asteroid1);
+		 index.add(collision);
+		 index.add(border);
+		 assertEquals(2, index.size());
+		 assertSame(collision, index.get(asteroid1, asteroid2));
+		 assertSame(collision, index.get(asteroid2, asteroid1));
+		 assertSame(border, index.get(asteroid1, null));
+		 assertNull(index.get(asteroid2, null));
+		 assertEquals(Arrays.asList(collision, border), new ArrayList<Collision>(index.getCollisions(asteroid1)));
+		 assertEquals(Arrays.asList(collision), new ArrayList<Collision>(index.getCollisions(asteroid2)));
+		 assertEquals(2, index.getCollisions().size());
+	 }
+	 
+	 @Test
+	 public void testCollisionIndex_RemoveAll(){
+		 World world = new World(1000,1000);
+		 Asteroid asteroid1 = new Asteroid(100, 100, 0, 0, 5);
+		 Asteroid asteroid2 = new Asteroid(200, 100, 0, 0, 5);
+		 Asteroid asteroid3 = new Asteroid(300, 100, 0, 0, 5);
+		 world.addAll(Arrays.asList(asteroid1, asteroid2, asteroid3));
+		 CollisionIndex index = new CollisionIndex();
+		 Collision collision12 = new Collision(asteroid2, asteroid1);
+		 Collision collision13 = new Collision(asteroid3, asteroid1);
+		 Collision collision23 = new Collision(asteroid3, asteroid2);
+		 index.add(collision12);
+		 index.add(collision13);
+		 index.add(collision23);
+		 assertEquals(Arrays.asList(collision12, collision13), index.removeAll(asteroid1));
+		 assertEquals(1, index.size());
+		 assertTrue(index.getCollisions(asteroid1).isEmpty());
+		 assertEquals(Arrays.asList(collision23), new ArrayList<Collision>(index.getCollisions(asteroid2)));
+		 assertFalse(index.contains(collision13));
+		 assertTrue(index.remove(collision23));
+		 assertEquals(0, index.size());
+		 assertTrue(index.removeAll(asteroid2).isEmpty());
+	 }
+	 
+	 @Test
+	 public void testGetPossibleCollisions_SkipsObjectsMovingApart(){
+		 World world = new World(1000,1000);
+		 SpaceObject asteroid1 = new Asteroid(100, 100, -10, 0, 5);
+		 SpaceObject asteroid2 = new Asteroid(120, 100, 10, 0, 5);
+		 world.addAll(Arrays.asList(asteroid1, asteroid2));
+		 assertTrue(SpaceObject.areMovingApart(asteroid1, asteroid2));
+		 for(Collision collision: world.getPossibleCollisions(10))
+			 assertNull(collision.getObject2());
+		 assertEquals(2, world.getNmbOfStoredCollisions());
+		 asteroid1.setVelocity(10, 0);
+		 asteroid2.setVelocity(-10, 0);
+		 assertFalse(SpaceObject.areMovingApart(asteroid1, asteroid2));
+		 assertEquals(3, world.getPossibleCollisions(10).size());
+		 assertEquals(3, world.getNmbOfStoredCollisions());
+	 }
+	 
+	 @Test
+	 public void testGetNmbOfStoredCollisions_SweepAndPruneDropsObjectsMovingApart(){
+		 World world = new World(1000,1000);
+		 world.setBroadPhase(new SweepAndPruneBroadPhase());
+		 SpaceObject asteroid1 = new Asteroid(100, 100, 10, 0, 5);
+		 SpaceObject asteroid2 = new Asteroid(120, 100, -10, 0, 5);
+		 world.addAll(Arrays.asList(asteroid1, asteroid2));
+		 assertEquals(3, world.getPossibleCollisions(10).size());
+		 asteroid1.setVelocity(-10, 0);
+		 asteroid2.setVelocity(10, 0);
+		 assertEquals(2, world.getPossibleCollisions(10).size());
+		 assertEquals(2, world.getNmbOfStoredCollisions());
+	 }
+	 
+	 @Test(expected = IllegalArgumentException.class)
+	 public void testAreMovingApart_IllegalCase(){
+		 SpaceObject.areMovingApart(new Asteroid(100, 100, 0, 0, 5), null);
+	 }
+	 
+	 /**
+	  * A metrics listener that remembers the metrics of the last evolve.
+	  */
+	 private static class LastMetrics implements WorldMetricsListener {
+		 private WorldMetrics metrics;
+		 
+		 @Override
+		 public void evolved(World world, WorldMetrics metrics){
+			 this.metrics = metrics;
+		 }
+	 }
+	 
+	 @Test
+	 public void testEvolve_MetricsObjectCollision(){
+		 World world = new World(1000,1000);
+		 Asteroid asteroid1 = new Asteroid(100, 100, 100, 0, 5);
+		 Asteroid asteroid2 = new Asteroid(200, 100, 0, 0, 5);
+		 world.addAll(Arrays.asList(asteroid1, asteroid2));
+		 LastMetrics listener = new LastMetrics();
+		 world.addMetricsListener(listener);
+		 world.evolve(1, null);
+		 assertEquals(1, listener.metrics.getTimeStep(), Util.EPSILON);
+		 assertEquals(1, listener.metrics.getNmbOfObjectCollisions());
+		 assertEquals(0, listener.metrics.getNmbOfBorderCollisions());
+		 assertEquals(0, listener.metrics.getNmbOfKills());
+		 assertEquals(2, listener.metrics.getNmbOfIterations());
+		 assertTrue(listener.metrics.getNmbOfPredictions() > 0);
+		 assertTrue(listener.metrics.getAdvanceTime() > 0);
+		 assertEquals(0, listener.metrics.getNmbOfSpawnedObjects());
+	 }
+	 
+	 @Test
+	 public void testEvolve_MetricsKill(){
+		 World world = new World(1000,1000);
+		 Asteroid asteroid = new Asteroid(200, 100, 0, 0, 5);
+		 Bullet bullet = new Bullet(100, 100, 100, 0);
+		 world.addAll(Arrays.asList(asteroid, bullet));
+		 LastMetrics listener = new LastMetrics();
+		 world.addMetricsListener(listener);
+		 world.evolve(1, null);
+		 assertEquals(1, listener.metrics.getNmbOfKills());
+		 assertEquals(1, listener.metrics.getNmbOfCollisions());
+		 assertEquals(2, listener.metrics.getNmbOfRemovedObjects());
+	 }
+	 
+	 @Test
+	 public void testRemoveMetricsListener(){
+		 World world = new World(1000,1000);
+		 LastMetrics listener = new LastMetrics();
+		 world.addMetricsListener(listener);
+		 assertTrue(world.hasAsMetricsListener(listener));
+		 world.removeMetricsListener(listener);
+		 assertFalse(world.hasAsMetricsListener(listener));
+		 world.evolve(1, null);
+		 assertNull(listener.metrics);
+	 }
+	 
+	 @Test(expected = IllegalArgumentException.class)
+	 public void testAddMetricsListener_IllegalCase(){
+		 new World(1000,1000).addMetricsListener(null);
+	 }
+	 
+	 @Test
+	 public void testWorldStatistics_Register() throws Exception {
+		 World world = new World(1000,1000);
+		 world.addAll(Arrays.asList(new Asteroid(100, 100, 100, 0, 5), new Asteroid(200, 100, 0, 0, 5)));
+		 WorldStatistics statistics = new WorldStatistics();
+		 world.addMetricsListener(statistics);
+		 statistics.register("test");
+		 try {
+			 world.evolve(0.5, null);
+			 world.evolve(0.5, null);
+			 assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(WorldStatistics.getObjectName("test"), "NmbOfEvolves"));
+			 assertEquals(1L, statistics.getNmbOfObjectCollisions());
+			 statistics.reset();
+			 assertEquals(0, statistics.getNmbOfEvolves());
+		 }
+		 finally {
+			 WorldStatistics.unregister("test");
+		 }
+		 assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(WorldStatistics.getObjectName("test")));
+	 }
+	 
+	 @Test
+	 public void testEvolve_RecordsFlightRecorderEvents() throws Exception {
+		 World world = new World(1000,1000);
+		 world.addAll(Arrays.asList(new Asteroid(100, 100, 100, 0, 5), new Asteroid(200, 100, 0, 0, 5)));
+		 File file = File.createTempFile("evolve", ".jfr");
+		 Recording recording = new Recording();
+		 try {
+			 recording.enable("asteroids.Evolve");
+			 recording.enable("asteroids.CollisionExecution");
+			 recording.start();
+			 world.evolve(1, null);
+			 recording.stop();
+			 recording.dump(file.toPath());
+			 int nmbOfEvolves = 0;
+			 int nmbOfCollisions = 0;
+			 for(RecordedEvent event: RecordingFile.readAllEvents(file.toPath())) {
+				 if(event.getEventType().getName().equals("asteroids.Evolve")) {
+					 nmbOfEvolves++;
+					 assertEquals(2, event.getInt("nmbOfObjects"));
+					 assertEquals(1, event.getInt("nmbOfCollisions"));
+				 }
+				 else if(event.getEventType().getName().equals("asteroids.CollisionExecution")) {
+					 nmbOfCollisions++;
+					 assertEquals("Asteroid", event.getString("type1"));
+				 }
+			 }
+			 assertEquals(1, nmbOfEvolves);
+			 assertEquals(1, nmbOfCollisions);
+		 }
+		 finally {
+			 recording.close();
+			 file.delete();
+		 }
+	 }
+	 
+	 @Test(expected = IllegalArgumentException.class)
+	 public void testCollisionIndex_AddIllegalCase(){
+		 new CollisionIndex().add(null);
+	 }
+	 
 }